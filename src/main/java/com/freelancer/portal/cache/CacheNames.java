@@ -0,0 +1,17 @@
+package com.freelancer.portal.cache;
+
+/**
+ * Names of the service-level DTO caches. Each must be configured in {@code ehcache-services.xml}.
+ */
+public final class CacheNames {
+
+    public static final String CLIENTS = "clients";
+    public static final String COMPANIES = "companies";
+    public static final String PROJECTS = "projects";
+    public static final String CURRENT_USER = "currentUser";
+    /** Per-owner cache generations used by {@link OwnerCacheKeys}; not a Spring cache. */
+    public static final String GENERATIONS = "cacheGenerations";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,59 @@
+package com.freelancer.portal.cache;
+
+import com.freelancer.portal.event.ClientChangedEvent;
+import com.freelancer.portal.event.CompanyChangedEvent;
+import com.freelancer.portal.event.InvoiceChangedEvent;
+import com.freelancer.portal.event.ProjectChangedEvent;
+import com.freelancer.portal.event.UserChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalidates the DTO caches when domain data changes.
+ * <p>
+ * DTOs embed data from related entities (a project carries its client and invoice totals), so a
+ * change invalidates everything cached for the owning user rather than individual entries.
+ * Invalidation runs after commit, so a concurrent reader cannot re-cache the pre-commit state
+ * under the new generation.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DtoCacheInvalidationListener {
+
+    private final OwnerCacheKeys ownerCacheKeys;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        invalidate(event.ownerId(), "client", event.clientId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCompanyChanged(CompanyChangedEvent event) {
+        invalidate(event.ownerId(), "company", event.companyId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        invalidate(event.ownerId(), "project", event.projectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInvoiceChanged(InvoiceChangedEvent event) {
+        invalidate(event.ownerId(), "invoice", event.invoiceId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.userId(), "user", event.userId());
+    }
+
+    private void invalidate(Long ownerId, String type, Long id) {
+        ownerCacheKeys.invalidate(ownerId);
+        log.debug("Invalidated cached DTOs of user {} after {} {} changed", ownerId, type, id);
+    }
+}
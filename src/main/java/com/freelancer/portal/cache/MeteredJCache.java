@@ -0,0 +1,116 @@
+package com.freelancer.portal.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Spring {@link org.springframework.cache.Cache} backed by a JCache (JSR-107) cache, with
+ * hit, miss, put and eviction counters published to Micrometer.
+ * Null values are not cached.
+ */
+public class MeteredJCache extends AbstractValueAdaptingCache {
+
+    private final javax.cache.Cache<Object, Object> cache;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter putCounter;
+    private final Counter evictionCounter;
+
+    public MeteredJCache(javax.cache.Cache<Object, Object> cache, MeterRegistry meterRegistry) {
+        super(false);
+        this.cache = cache;
+        String name = cache.getName();
+        this.hitCounter = Counter.builder("cache.gets")
+                .description("DTO cache lookups")
+                .tags("cache", name, "result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("cache.gets")
+                .description("DTO cache lookups")
+                .tags("cache", name, "result", "miss")
+                .register(meterRegistry);
+        this.putCounter = Counter.builder("cache.puts")
+                .description("Entries added to the DTO cache")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("cache.evictions")
+                .description("Explicit DTO cache evictions")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return cache.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    protected Object lookup(@NonNull Object key) {
+        Object value = cache.get(key);
+        if (value != null) {
+            hitCounter.increment();
+        } else {
+            missCounter.increment();
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(@NonNull Object key, Object value) {
+        if (value != null) {
+            cache.put(key, value);
+            putCounter.increment();
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (cache.putIfAbsent(key, value)) {
+            putCounter.increment();
+            return null;
+        }
+        return new SimpleValueWrapper(cache.get(key));
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        cache.remove(key);
+        evictionCounter.increment();
+    }
+
+    @Override
+    public void clear() {
+        cache.removeAll();
+    }
+}
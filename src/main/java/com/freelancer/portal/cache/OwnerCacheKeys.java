@@ -0,0 +1,97 @@
+package com.freelancer.portal.cache;
+
+import com.freelancer.portal.model.User;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Builds owner-scoped keys for the DTO caches, for use in {@code @Cacheable} key expressions.
+ * <p>
+ * A key combines the authenticated user, that user's current cache generation and the requested
+ * ID, so cached results are never shared between users. Invalidating an owner bumps the generation:
+ * every entry cached for that owner becomes unreachable at once, including entries that readers
+ * still running are about to store. Unreachable entries age out through the cache size bound and TTL.
+ * </p>
+ * <p>
+ * Generations live in the {@value CacheNames#GENERATIONS} cache of the same JCache manager as the
+ * DTO caches, so a clustered provider shares them along with the entries they guard. They are
+ * bumped with compare-and-swap, which JCache providers implement atomically across nodes. A
+ * generation that is missing, for example because it was evicted, starts at a random value, so an
+ * evicted generation can never make an owner's older entries reachable again.
+ * </p>
+ */
+@Component("ownerCacheKeys")
+public class OwnerCacheKeys {
+
+    private final Cache<Object, Object> generations;
+
+    public OwnerCacheKeys(CacheManager dtoJCacheManager) {
+        this.generations = dtoJCacheManager.getCache(CacheNames.GENERATIONS);
+        if (generations == null) {
+            throw new IllegalStateException("Cache '" + CacheNames.GENERATIONS + "' is not configured");
+        }
+    }
+
+    /**
+     * Build a cache key for the current user.
+     *
+     * @param id what is being looked up, e.g. an entity ID
+     * @return the cache key
+     */
+    public String key(Object id) {
+        Object owner = currentOwner();
+        return owner + ":" + generation(owner) + ":" + id;
+    }
+
+    /**
+     * Invalidate everything cached for an owner.
+     *
+     * @param ownerId the ID of the user whose data changed
+     */
+    public void invalidate(Long ownerId) {
+        if (ownerId == null) {
+            return;
+        }
+        while (true) {
+            Object current = generations.get(ownerId);
+            if (current == null
+                    ? generations.putIfAbsent(ownerId, ThreadLocalRandom.current().nextLong())
+                    : generations.replace(ownerId, current, (Long) current + 1)) {
+                return;
+            }
+        }
+    }
+
+    private long generation(Object owner) {
+        Object generation = generations.get(owner);
+        if (generation != null) {
+            return (Long) generation;
+        }
+        long initial = ThreadLocalRandom.current().nextLong();
+        if (generations.putIfAbsent(owner, initial)) {
+            return initial;
+        }
+        Object winner = generations.get(owner);
+        return winner != null ? (Long) winner : initial;
+    }
+
+    /**
+     * Resolve the current user without a database lookup: the authenticated principal
+     * is the {@link User} entity loaded by the JWT filter.
+     */
+    private static Object currentOwner() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return "anonymous";
+        }
+        if (authentication.getPrincipal() instanceof User user && user.getId() != null) {
+            return user.getId();
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,70 @@
+package com.freelancer.portal.config;
+
+import com.freelancer.portal.cache.CacheNames;
+import com.freelancer.portal.cache.MeteredJCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for the service-level DTO caches.
+ * <p>
+ * Caches are created by a JCache provider from {@code app.cache.config}, which bounds each cache's
+ * size and TTL. The default is an in-process Ehcache; pointing {@code app.cache.provider} and
+ * {@code app.cache.config} at a clustered JCache provider shares the entries and the owner
+ * generations that invalidate them (see {@link com.freelancer.portal.cache.OwnerCacheKeys}), as long
+ * as that configuration also defines {@value CacheNames#GENERATIONS} without expiry.
+ * Entries are invalidated through domain events, see
+ * {@link com.freelancer.portal.cache.DtoCacheInvalidationListener}.
+ * </p>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final List<String> CACHE_NAMES = List.of(
+            CacheNames.CLIENTS, CacheNames.COMPANIES, CacheNames.PROJECTS, CacheNames.CURRENT_USER);
+
+    @Value("${app.cache.provider:org.ehcache.jsr107.EhcacheCachingProvider}")
+    private String provider;
+
+    @Value("${app.cache.config:classpath:ehcache-services.xml}")
+    private Resource config;
+
+    /**
+     * The JCache manager owning the DTO caches. Kept separate from the Hibernate second-level
+     * cache manager, which is created from a different configuration URI.
+     */
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager dtoJCacheManager() throws IOException {
+        CachingProvider cachingProvider = Caching.getCachingProvider(provider);
+        return cachingProvider.getCacheManager(config.getURI(), getClass().getClassLoader());
+    }
+
+    @Bean
+    public CacheManager cacheManager(javax.cache.CacheManager dtoJCacheManager, MeterRegistry meterRegistry) {
+        List<Cache> caches = new ArrayList<>();
+        for (String name : CACHE_NAMES) {
+            javax.cache.Cache<Object, Object> cache = dtoJCacheManager.getCache(name);
+            if (cache == null) {
+                throw new IllegalStateException("Cache '" + name + "' is not configured in " + config);
+            }
+            caches.add(new MeteredJCache(cache, meterRegistry));
+        }
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        return cacheManager;
+    }
+}
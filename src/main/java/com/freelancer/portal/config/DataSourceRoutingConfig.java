@@ -0,0 +1,149 @@
+package com.freelancer.portal.config;
+
+import com.freelancer.portal.datasource.CacheLoadRoutingAspect;
+import com.freelancer.portal.datasource.ReadWriteRoutingDataSource;
+import com.freelancer.portal.datasource.RecentWrites;
+import com.freelancer.portal.datasource.ReplicaHealthMonitor;
+import com.freelancer.portal.datasource.ReplicaReadJpaDialect;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write splitting between the primary database and a read replica.
+ * <p>
+ * When enabled, {@code @Transactional(readOnly = true)} work runs on a separate replica pool so
+ * heavy dashboard reads no longer compete with writes for primary connections. Each pool
+ * publishes its own {@code hikaricp.*} metrics, tagged {@code pool=primary} or
+ * {@code pool=replica}. The primary pool keeps the {@code spring.datasource.*} settings; the
+ * replica pool is configured under {@code app.datasource.replica.*}.
+ * </p>
+ * <p>
+ * Reads that must not see a lagging replica stay on the primary: {@code @Cacheable} loads, and
+ * the reads of a user for {@code read-your-writes-window} after they committed a write. Read-only
+ * sessions that may run on the replica do not populate the second-level cache.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Value("${app.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${app.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica.lag-query:}")
+    private String lagQuery;
+
+    @Value("${app.datasource.replica.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Value("${app.datasource.replica.read-your-writes-window:PT10S}")
+    private Duration readYourWritesWindow;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                                     MeterRegistry meterRegistry) {
+        return new ReplicaHealthMonitor(replica, lagQuery, maxLagSeconds, meterRegistry);
+    }
+
+    @Bean
+    public RecentWrites recentWrites() {
+        return new RecentWrites(DataSourceRoutingConfig::currentUsername, readYourWritesWindow);
+    }
+
+    @Bean
+    public CacheLoadRoutingAspect cacheLoadRoutingAspect() {
+        return new CacheLoadRoutingAspect();
+    }
+
+    /**
+     * Install the {@link ReplicaReadJpaDialect} on the entity manager factory, from which the JPA
+     * transaction manager takes its dialect.
+     */
+    @Bean
+    public static BeanPostProcessor replicaReadJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean factory) {
+                    factory.setJpaDialect(new ReplicaReadJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * The data source used by JPA and the transaction manager. The lazy proxy defers fetching a
+     * connection until the first statement, by which time the transaction's read-only flag is
+     * known to the routing data source.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaHealthMonitor replicaHealthMonitor,
+                                 RecentWrites recentWrites,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, replicaHealthMonitor, recentWrites, meterRegistry));
+    }
+
+    private static Object currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || authentication instanceof AnonymousAuthenticationToken
+                ? null
+                : authentication.getName();
+    }
+}
@@ -1,7 +1,7 @@
 package com.freelancer.portal.config;
 
-import io.micrometer.core.aop.TimedAspect;
-import io.micrometer.core.instrument.MeterRegistry;
+import com.freelancer.portal.monitoring.sql.StatementTimingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
@@ -9,6 +9,7 @@ import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
@@ -29,16 +30,6 @@ public class DatabasePerformanceMonitoringConfig {
         this.env = env;
     }
 
-    /**
-     * Configure metrics for timing database operations.
-     * @param registry The metrics registry
-     * @return TimedAspect for measuring operation duration
-     */
-    @Bean
-    public TimedAspect timedAspect(MeterRegistry registry) {
-        return new TimedAspect(registry);
-    }
-
     /**
      * Configure transaction manager with optimized settings.
      * @param entityManagerFactory The JPA entity manager factory
@@ -53,6 +44,26 @@ public class DatabasePerformanceMonitoringConfig {
         return transactionManager;
     }
 
+    /**
+     * Time statement executions on the data source JPA uses, for the slow query log and the JDBC
+     * profiling preset. Only the bean named {@code dataSource} is wrapped, so the pools behind the
+     * read/write routing data source are not timed twice.
+     * @return Post processor wrapping the application data source
+     */
+    @Bean
+    public static BeanPostProcessor statementTimingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof StatementTimingDataSource)) {
+                    return new StatementTimingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
     /**
      * Check if the current environment is a development environment.
      * @return true if in development environment
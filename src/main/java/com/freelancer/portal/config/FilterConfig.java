@@ -0,0 +1,56 @@
+package com.freelancer.portal.config;
+
+import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.model.Payment;
+import com.freelancer.portal.model.TimeEntry;
+import com.freelancer.portal.specification.filter.FilterAllowlist;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static com.freelancer.portal.specification.filter.FilterOperator.BETWEEN;
+import static com.freelancer.portal.specification.filter.FilterOperator.EQ;
+import static com.freelancer.portal.specification.filter.FilterOperator.GT;
+import static com.freelancer.portal.specification.filter.FilterOperator.GTE;
+import static com.freelancer.portal.specification.filter.FilterOperator.IN;
+import static com.freelancer.portal.specification.filter.FilterOperator.LT;
+import static com.freelancer.portal.specification.filter.FilterOperator.LTE;
+import static com.freelancer.portal.specification.filter.FilterOperator.PREFIX;
+
+/**
+ * Filter allowlists for the list endpoints.
+ * Each entry mirrors an index declared on the entity; lists without an allowlist reject all filters.
+ */
+@Configuration
+public class FilterConfig {
+
+    @Bean
+    public FilterAllowlist invoiceFilters() {
+        return FilterAllowlist.forEntity(Invoice.class)
+                .allow("status", EQ, IN)
+                .allow("dueDate", EQ, GT, GTE, LT, LTE, BETWEEN)
+                .allow("issueDate", EQ, GT, GTE, LT, LTE, BETWEEN)
+                .allow("invoiceNumber", EQ, PREFIX)
+                .allow("client.id", EQ, IN)
+                .allow("project.id", EQ, IN)
+                .build();
+    }
+
+    @Bean
+    public FilterAllowlist timeEntryFilters() {
+        return FilterAllowlist.forEntity(TimeEntry.class)
+                .allow("startTime", GT, GTE, LT, LTE, BETWEEN)
+                .allow("billable", EQ)
+                .allow("billed", EQ)
+                .allow("project.id", EQ, IN)
+                .build();
+    }
+
+    @Bean
+    public FilterAllowlist paymentFilters() {
+        return FilterAllowlist.forEntity(Payment.class)
+                .allow("status", EQ, IN)
+                .allow("paymentDate", GT, GTE, LT, LTE, BETWEEN)
+                .allow("invoice.id", EQ, IN)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.freelancer.portal.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Aligns the pooled ID generators in {@code id_sequences} with existing table data.
+ * <p>
+ * Entities that are inserted in batches take their IDs from a table generator instead of
+ * IDENTITY, because IDENTITY forces one INSERT round-trip per row. Tables that previously used
+ * AUTO_INCREMENT already contain IDs, so on startup each generator row is created or moved past
+ * {@code MAX(id)}. With the pooled-lo optimizer the stored value is the next unallocated ID,
+ * so raising it is always safe, also while other nodes are running.
+ * </p>
+ */
+@Component
+@Slf4j
+public class IdSequenceInitializer {
+
+    /**
+     * Generator names in {@code id_sequences} and the tables whose IDs they allocate.
+     */
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "invoice_items", "invoice_items"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Depends on the EntityManagerFactory so the schema update has created {@code id_sequences}.
+     */
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void alignSequences() {
+        SEQUENCES.forEach(this::align);
+    }
+
+    private void align(String sequenceName, String tableName) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + tableName, Long.class);
+        long nextId = (maxId == null ? 0 : maxId) + 1;
+
+        int updated = jdbcTemplate.update(
+                "UPDATE id_sequences SET next_val = ? WHERE sequence_name = ? AND next_val < ?",
+                nextId, sequenceName, nextId);
+        if (updated > 0) {
+            log.info("Moved ID sequence {} to {}", sequenceName, nextId);
+            return;
+        }
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM id_sequences WHERE sequence_name = ?", Integer.class, sequenceName);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO id_sequences (sequence_name, next_val) VALUES (?, ?)", sequenceName, nextId);
+            log.info("Created ID sequence {} starting at {}", sequenceName, nextId);
+        } catch (DuplicateKeyException ex) {
+            // Another node created it first; run once more in case it used an older MAX(id)
+            align(sequenceName, tableName);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.freelancer.portal.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration for background image processing.
+ * Image decoding and re-encoding is CPU and memory heavy, so it runs on a small
+ * bounded pool instead of the request threads.
+ */
+@Configuration
+public class ImageProcessingConfig {
+
+    @Value("${image.derivatives.pool-size:2}")
+    private int poolSize;
+
+    @Value("${image.derivatives.queue-capacity:100}")
+    private int queueCapacity;
+
+    /**
+     * Executor used to generate image derivatives such as profile picture thumbnails.
+     * Tasks submitted when the queue is full are rejected rather than queued without bound.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageDerivativeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-derivative-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,7 +1,5 @@
 package com.freelancer.portal.config;
 
-import io.micrometer.core.aop.TimedAspect;
-import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
 import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
 import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
@@ -67,13 +65,4 @@ public class MetricsConfig {
     public UptimeMetrics uptimeMetrics() {
         return new UptimeMetrics();
     }
-
-    /**
-     * Register timed aspect for method-level timing metrics using @Timed annotation
-     * Named differently to avoid conflict with DatabasePerformanceMonitoringConfig
-     */
-    @Bean
-    public TimedAspect metricsTimedAspect(MeterRegistry registry) {
-        return new TimedAspect(registry);
-    }
 }
\ No newline at end of file
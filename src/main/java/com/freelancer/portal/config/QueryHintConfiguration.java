@@ -1,5 +1,6 @@
 package com.freelancer.portal.config;
 
+import com.freelancer.portal.monitoring.sql.SqlStatementCountingInspector;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -42,8 +43,14 @@ public class QueryHintConfiguration {
             hibernateProperties.put("hibernate.connection.provider_disables_autocommit", true);
             hibernateProperties.put("hibernate.jdbc.batch_versioned_data", true);
             
+            // Pooled generators store the next free ID, see IdSequenceInitializer
+            hibernateProperties.put("hibernate.id.optimizer.pooled.preferred", "pooled-lo");
+            
             // Set fetch size for optimized data retrieval
             hibernateProperties.put("hibernate.jdbc.fetch_size", 50);
+            
+            // Count statements per request for the SQL budget and N+1 checks
+            hibernateProperties.put("hibernate.session_factory.statement_inspector", new SqlStatementCountingInspector());
         };
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.freelancer.portal.config;
+
+import com.freelancer.portal.service.storage.CachingStorageStrategy;
+import com.freelancer.portal.service.storage.LocalStorageStrategy;
+import com.freelancer.portal.service.storage.StorageStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration for the optional in-memory read cache in front of file storage.
+ * When enabled, the caching strategy becomes the primary {@link StorageStrategy}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "file.read-cache.enabled", havingValue = "true")
+public class StorageReadCacheConfig {
+
+    @Value("${app.file-storage.base-url:/api/v1/files/}")
+    private String baseUrl;
+
+    @Value("${file.read-cache.max-entry-size:256KB}")
+    private DataSize maxEntrySize;
+
+    @Value("${file.read-cache.max-size:64MB}")
+    private DataSize maxSize;
+
+    @Bean
+    @Primary
+    public StorageStrategy cachingStorageStrategy(LocalStorageStrategy localStorageStrategy,
+                                                  MeterRegistry meterRegistry) {
+        return new CachingStorageStrategy(localStorageStrategy, baseUrl,
+                maxEntrySize.toBytes(), maxSize.toBytes(), meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.freelancer.portal.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration for asynchronous upload processing.
+ * Hashing, scanning and thumbnailing run on their own bounded pool so they can be sized
+ * independently of the request threads.
+ */
+@Configuration
+public class UploadPipelineConfig {
+
+    @Value("${upload.pipeline.pool-size:2}")
+    private int poolSize;
+
+    @Value("${upload.pipeline.queue-capacity:200}")
+    private int queueCapacity;
+
+    /**
+     * Executor used to run the upload pipeline stages.
+     * Tasks submitted when the queue is full are rejected rather than queued without bound.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor uploadPipelineExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-pipeline-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
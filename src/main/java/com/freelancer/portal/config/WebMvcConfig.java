@@ -3,11 +3,13 @@ package com.freelancer.portal.config;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 
 /**
  * Web MVC configuration for serving static resources including uploaded files.
@@ -19,6 +21,12 @@ public class WebMvcConfig implements WebMvcConfigurer {
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
 
+    @Value("${file.profile-pictures-dir:uploads/profile-pictures}")
+    private String profilePicturesDir;
+
+    @Value("${image.derivatives.cache-max-age-days:365}")
+    private long derivativeCacheMaxAgeDays;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Resolve the absolute path for uploads directory
@@ -26,6 +34,23 @@ public class WebMvcConfig implements WebMvcConfigurer {
         String uploadPathString = uploadPath.toUri().toString();
         
         log.info("Configuring resource handler for uploads at: {}", uploadPathString);
+
+        // Thumbnails have fingerprinted names, so they never change and can be cached indefinitely
+        String thumbnailPathString = Paths.get(profilePicturesDir, "thumbnails")
+                .toAbsolutePath().normalize().toUri().toString();
+        registry.addResourceHandler("/uploads/profile-pictures/thumbnails/**")
+                .addResourceLocations(thumbnailPathString)
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(derivativeCacheMaxAgeDays))
+                        .cachePublic()
+                        .immutable());
+
+        // Upload previews are named after the file checksum and are equally immutable
+        String uploadThumbnailPathString = uploadPath.resolve("thumbnails").toUri().toString();
+        registry.addResourceHandler("/uploads/thumbnails/**")
+                .addResourceLocations(uploadThumbnailPathString)
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(derivativeCacheMaxAgeDays))
+                        .cachePublic()
+                        .immutable());
         
         // Serve uploaded files (including profile pictures)
         registry.addResourceHandler("/uploads/**")
@@ -1,5 +1,6 @@
 package com.freelancer.portal.config;
 
+import com.freelancer.portal.config.websocket.BrokerSendObservationInterceptor;
 import com.freelancer.portal.config.websocket.TokenHandshakeInterceptor;
 import com.freelancer.portal.config.websocket.WebSocketAuthInterceptor;
 import org.springframework.context.annotation.Configuration;
@@ -20,6 +21,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Autowired
     private  TokenHandshakeInterceptor tokenHandshakeInterceptor;
 
+    @Autowired
+    private BrokerSendObservationInterceptor brokerSendObservationInterceptor;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // Enable a simple in-memory message broker
@@ -30,6 +34,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
         // Prefix for user-specific messages
         registry.setUserDestinationPrefix("/user");
+
+        // Trace every message the server publishes
+        registry.configureBrokerChannel().interceptors(brokerSendObservationInterceptor);
     }
 
     @Override
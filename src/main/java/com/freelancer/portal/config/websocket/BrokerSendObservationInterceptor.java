@@ -0,0 +1,73 @@
+package com.freelancer.portal.config.websocket;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Interceptor that observes every message handed to the broker channel as {@code websocket.send},
+ * which covers both {@code SimpMessagingTemplate} sends and {@code @SendTo} replies.
+ * <p>
+ * The broker channel has no executor, so {@link #preSend} and {@link #afterSendCompletion} run on
+ * the sending thread and the span nests under the request or job that sent the message. Sends to
+ * {@code /user/...} are resolved into a second send to the session queue, which shows up as a
+ * child span.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class BrokerSendObservationInterceptor implements ChannelInterceptor {
+
+    static final String OBSERVATION_NAME = "websocket.send";
+
+    private final ObservationRegistry observationRegistry;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .contextualName("websocket send")
+                .lowCardinalityKeyValue("destination.type",
+                        destinationType(SimpMessageHeaderAccessor.getDestination(message.getHeaders())))
+                .start();
+        observation.openScope();
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        Observation.Scope scope = observationRegistry.getCurrentObservationScope();
+        if (scope == null || !OBSERVATION_NAME.equals(scope.getCurrentObservation().getContextView().getName())) {
+            return;
+        }
+        Observation observation = scope.getCurrentObservation();
+        scope.close();
+        if (ex != null) {
+            observation.error(ex);
+        }
+        observation.stop();
+    }
+
+    /**
+     * Reduce a destination to its prefix; full destinations contain user names and IDs.
+     */
+    private static String destinationType(String destination) {
+        if (destination == null) {
+            return "none";
+        }
+        if (destination.startsWith("/user/")) {
+            return "user";
+        }
+        if (destination.startsWith("/topic/")) {
+            return "topic";
+        }
+        if (destination.startsWith("/queue/")) {
+            return "queue";
+        }
+        return "other";
+    }
+}
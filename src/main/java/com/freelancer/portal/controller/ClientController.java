@@ -1,6 +1,7 @@
 package com.freelancer.portal.controller;
 
 import com.freelancer.portal.dto.ClientDto;
+import com.freelancer.portal.monitoring.sql.SqlBudget;
 
 import com.freelancer.portal.service.ClientService;
 import jakarta.validation.Valid;
@@ -26,6 +27,7 @@ public class ClientController {
      * Get all clients for the current user with pagination.
      */
     @GetMapping
+    @SqlBudget(8)
     public ResponseEntity<Page<ClientDto>> getAllClients(Pageable pageable) {
         return ResponseEntity.ok(clientService.getAllClients(pageable));
     }
@@ -1,6 +1,11 @@
 package com.freelancer.portal.controller;
 
+import com.freelancer.portal.controller.base.BaseFilterablePageableController;
 import com.freelancer.portal.dto.FileResponseDto;
+import com.freelancer.portal.dto.PaginatedResponse;
+import com.freelancer.portal.dto.SignedUrlDto;
+import com.freelancer.portal.model.File;
+import com.freelancer.portal.monitoring.sql.SqlBudget;
 import com.freelancer.portal.service.FileService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
@@ -15,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Map;
 
 /**
  * REST Controller for file operations.
@@ -22,7 +28,7 @@ import java.io.IOException;
 @RestController
 @RequestMapping("/files")
 @RequiredArgsConstructor
-public class FileController {
+public class FileController extends BaseFilterablePageableController {
 
     private final FileService fileService;
     
@@ -33,6 +39,22 @@ public class FileController {
     public ResponseEntity<Page<FileResponseDto>> getAllFiles(Pageable pageable) {
         return ResponseEntity.ok(fileService.getAllFiles(pageable));
     }
+
+    /**
+     * Get files for the current user with cursor pagination, without a total count.
+     * Opt in with mode=cursor and pass the returned nextCursor to fetch the following page.
+     */
+    @GetMapping(params = "mode=cursor")
+    @SqlBudget(8)
+    public ResponseEntity<PaginatedResponse<FileResponseDto>> getAllFilesByCursor(
+            @RequestParam Map<String, String> params,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "DESC") String direction,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return getCursorPaginatedResponse(File.class, fileService::scrollFiles, params, cursor, size, sortBy, direction, includeTotal);
+    }
     
     /**
      * Get files for a specific project with pagination.
@@ -72,6 +94,16 @@ public class FileController {
                 .body(resource);
     }
     
+    /**
+     * Get a short-lived signed URL for downloading a file without an Authorization header.
+     * Only accessible if the file belongs to the current user.
+     */
+    @GetMapping("/{id}/signed-url")
+    @PreAuthorize("hasAnyAuthority('ROLE_FREELANCER', 'ROLE_CLIENT')")
+    public ResponseEntity<SignedUrlDto> getSignedDownloadUrl(@PathVariable Long id) {
+        return ResponseEntity.ok(fileService.createSignedDownloadUrl(id));
+    }
+    
     /**
      * Upload a new file to a project.
      */
@@ -1,9 +1,13 @@
 package com.freelancer.portal.controller;
 
+import com.freelancer.portal.controller.base.BaseFilterablePageableController;
 import com.freelancer.portal.dto.InvoiceDto;
 import com.freelancer.portal.dto.InvoiceRequestDto;
 import com.freelancer.portal.dto.InvoiceResponseDto;
+import com.freelancer.portal.dto.PaginatedResponse;
 import com.freelancer.portal.dto.PaymentResponseDto;
+import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.monitoring.sql.SqlBudget;
 import com.freelancer.portal.service.InvoiceService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for invoice operations.
@@ -27,7 +32,7 @@ import java.util.List;
 @RestController
 @RequestMapping("/invoices")
 @RequiredArgsConstructor
-public class InvoiceController {
+public class InvoiceController extends BaseFilterablePageableController {
 
     private final InvoiceService invoiceService;
     private static final Logger log = LoggerFactory.getLogger(InvoiceController.class);
@@ -36,9 +41,26 @@ public class InvoiceController {
      * Get all invoices for the current user with pagination.
      */
     @GetMapping
+    @SqlBudget(8)
     public ResponseEntity<Page<InvoiceResponseDto>> getAllInvoices(Pageable pageable) {
         return ResponseEntity.ok(invoiceService.getAllInvoices(pageable));
     }
+
+    /**
+     * Get invoices for the current user with cursor pagination, without a total count.
+     * Opt in with mode=cursor and pass the returned nextCursor to fetch the following page.
+     */
+    @GetMapping(params = "mode=cursor")
+    @SqlBudget(8)
+    public ResponseEntity<PaginatedResponse<InvoiceResponseDto>> getAllInvoicesByCursor(
+            @RequestParam Map<String, String> params,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "DESC") String direction,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return getCursorPaginatedResponse(Invoice.class, invoiceService::scrollInvoices, params, cursor, size, sortBy, direction, includeTotal);
+    }
     
     /**
      * Get an invoice by ID.
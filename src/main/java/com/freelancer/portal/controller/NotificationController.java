@@ -1,6 +1,10 @@
 package com.freelancer.portal.controller;
 
+import com.freelancer.portal.controller.base.BaseFilterablePageableController;
 import com.freelancer.portal.dto.NotificationDto;
+import com.freelancer.portal.dto.PaginatedResponse;
+import com.freelancer.portal.model.Notification;
+import com.freelancer.portal.monitoring.sql.SqlBudget;
 import com.freelancer.portal.service.NotificationService;
 
 import lombok.RequiredArgsConstructor;
@@ -10,6 +14,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 /**
  * REST controller for managing notifications.
  */
@@ -17,7 +23,7 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/notifications")
 @RequiredArgsConstructor
 @Slf4j
-public class NotificationController {
+public class NotificationController extends BaseFilterablePageableController {
 
     private final NotificationService notificationService;
     
@@ -33,6 +39,33 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getCurrentUserNotifications(pageable));
     }
     
+    /**
+     * GET /notifications?mode=cursor : Get notifications for the current user with cursor pagination.
+     * Pass the returned nextCursor to fetch the following page; no total count is computed
+     * unless includeTotal is set.
+     *
+     * @param params the request parameters, including optional filter_ criteria
+     * @param cursor the cursor returned with the previous page
+     * @param size the page size
+     * @param sortBy the field to sort by
+     * @param direction the sort direction
+     * @param includeTotal whether to include an approximate total
+     * @return the ResponseEntity with status 200 (OK) and a slice of notifications in the body
+     */
+    @GetMapping(params = "mode=cursor")
+    @SqlBudget(8)
+    public ResponseEntity<PaginatedResponse<NotificationDto>> getNotificationsByCursor(
+            @RequestParam Map<String, String> params,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String direction,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        log.debug("REST request to get notifications for current user by cursor");
+        return getCursorPaginatedResponse(Notification.class, notificationService::scrollCurrentUserNotifications,
+                params, cursor, size, sortBy, direction, includeTotal);
+    }
+    
     /**
      * GET /notifications/unread : Get unread notifications for the current user.
      *
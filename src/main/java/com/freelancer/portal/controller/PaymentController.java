@@ -1,7 +1,11 @@
 package com.freelancer.portal.controller;
 
+import com.freelancer.portal.controller.base.BaseFilterablePageableController;
+import com.freelancer.portal.dto.PaginatedResponse;
 import com.freelancer.portal.dto.PaymentRequestDto;
 import com.freelancer.portal.dto.PaymentResponseDto;
+import com.freelancer.portal.model.Payment;
+import com.freelancer.portal.monitoring.sql.SqlBudget;
 import com.freelancer.portal.service.PaymentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for payment operations.
@@ -22,7 +27,7 @@ import java.util.List;
 @RestController
 @RequestMapping("/payments")
 @RequiredArgsConstructor
-public class PaymentController {
+public class PaymentController extends BaseFilterablePageableController {
 
     private final PaymentService paymentService;
     
@@ -30,9 +35,26 @@ public class PaymentController {
      * Get all payments for the current user with pagination.
      */
     @GetMapping
+    @SqlBudget(8)
     public ResponseEntity<Page<PaymentResponseDto>> getAllPayments(Pageable pageable) {
         return ResponseEntity.ok(paymentService.getAllPayments(pageable));
     }
+
+    /**
+     * Get payments for the current user with cursor pagination, without a total count.
+     * Opt in with mode=cursor and pass the returned nextCursor to fetch the following page.
+     */
+    @GetMapping(params = "mode=cursor")
+    @SqlBudget(8)
+    public ResponseEntity<PaginatedResponse<PaymentResponseDto>> getAllPaymentsByCursor(
+            @RequestParam Map<String, String> params,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "DESC") String direction,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return getCursorPaginatedResponse(Payment.class, paymentService::scrollPayments, params, cursor, size, sortBy, direction, includeTotal);
+    }
     
     /**
      * Get a payment by ID.
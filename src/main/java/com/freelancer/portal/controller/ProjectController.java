@@ -4,15 +4,23 @@ import com.freelancer.portal.dto.ProjectDto;
 import com.freelancer.portal.dto.ProjectDetailDto;
 import com.freelancer.portal.dto.ProjectRequestDto;
 import com.freelancer.portal.model.Project;
+import com.freelancer.portal.service.FileService;
 import com.freelancer.portal.service.ProjectService;
+import com.freelancer.portal.service.storage.ProjectArchiveWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.util.List;
 
 /**
  * REST Controller for project management operations.
@@ -23,6 +31,8 @@ import org.springframework.web.bind.annotation.*;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final FileService fileService;
+    private final ProjectArchiveWriter projectArchiveWriter;
     
     /**
      * Get all projects for the current user with pagination.
@@ -62,6 +72,30 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.getProjectById(id, includeRelated));
     }
     
+    /**
+     * Download all files of a project as a single ZIP archive.
+     * The archive is streamed while it is being built, so the response starts immediately
+     * and memory use stays constant regardless of the number or size of files. The download
+     * gets its own timeout ({@code file.archive.timeout}) rather than the MVC-wide one.
+     * Only accessible if the project belongs to the current user.
+     */
+    @GetMapping("/{id}/files/archive")
+    @PreAuthorize("hasAnyAuthority('ROLE_FREELANCER', 'ROLE_CLIENT')")
+    public WebAsyncTask<Void> downloadProjectFilesArchive(@PathVariable Long id, HttpServletResponse response) {
+        // Resolve and authorize on the request thread; streaming itself needs no database access
+        List<ProjectArchiveWriter.ArchiveEntry> entries = fileService.getProjectArchiveEntries(id);
+
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("project-" + id + "-files.zip")
+                .build()
+                .toString());
+        return new WebAsyncTask<>(projectArchiveWriter.getTimeout().toMillis(), () -> {
+            projectArchiveWriter.write(entries, response.getOutputStream());
+            return null;
+        });
+    }
+    
     /**
      * Create a new project.
      * Optional parameter to include related entities in the response.
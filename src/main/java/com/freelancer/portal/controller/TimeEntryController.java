@@ -1,7 +1,11 @@
 package com.freelancer.portal.controller;
 
+import com.freelancer.portal.controller.base.BaseFilterablePageableController;
+import com.freelancer.portal.dto.PaginatedResponse;
 import com.freelancer.portal.dto.TimeEntryDto;
 import com.freelancer.portal.dto.TimeEntrySummaryDto;
+import com.freelancer.portal.model.TimeEntry;
+import com.freelancer.portal.monitoring.sql.SqlBudget;
 import com.freelancer.portal.security.SecurityUtils;
 import com.freelancer.portal.service.TimeEntryService;
 import jakarta.validation.Valid;
@@ -29,7 +33,7 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/time-entries")
 @RequiredArgsConstructor
-public class TimeEntryController {
+public class TimeEntryController extends BaseFilterablePageableController {
 
     private final TimeEntryService timeEntryService;
     private final SecurityUtils securityUtils;
@@ -37,9 +41,26 @@ public class TimeEntryController {
      * Get all time entries for the current user with pagination.
      */
     @GetMapping
+    @SqlBudget(8)
     public ResponseEntity<Page<TimeEntryDto>> getAllTimeEntries(Pageable pageable) {
         return ResponseEntity.ok(timeEntryService.getAllTimeEntries(pageable));
     }
+
+    /**
+     * Get time entries for the current user with cursor pagination, without a total count.
+     * Opt in with mode=cursor and pass the returned nextCursor to fetch the following page.
+     */
+    @GetMapping(params = "mode=cursor")
+    @SqlBudget(8)
+    public ResponseEntity<PaginatedResponse<TimeEntryDto>> getAllTimeEntriesByCursor(
+            @RequestParam Map<String, String> params,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "DESC") String direction,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return getCursorPaginatedResponse(TimeEntry.class, timeEntryService::scrollTimeEntries, params, cursor, size, sortBy, direction, includeTotal);
+    }
     
     /**
      * Get a time entry by ID.
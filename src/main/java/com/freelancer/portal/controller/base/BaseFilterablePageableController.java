@@ -1,6 +1,11 @@
 package com.freelancer.portal.controller.base;
 
 import com.freelancer.portal.dto.PaginatedResponse;
+import com.freelancer.portal.pagination.CursorPageRequest;
+import com.freelancer.portal.pagination.CursorSlice;
+import com.freelancer.portal.specification.filter.DeprecatedFilter;
+import com.freelancer.portal.specification.filter.FilterCompiler;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -15,8 +20,30 @@ import java.util.stream.Collectors;
 /**
  * Base controller that combines pagination and filtering capabilities.
  * Provides consistent response format for paginated and filtered list endpoints.
+ * <p>
+ * Two modes are supported: offset paging, which reports exact totals at the cost of a COUNT
+ * query, and cursor paging, which seeks past the last row of the previous page and stays fast
+ * on deep pages. Endpoints opt in to cursor paging with the {@code mode=cursor} parameter.
+ * </p>
+ * <p>
+ * Responses to requests using deprecated filters carry a {@code Deprecation} header and a
+ * {@code Warning} explaining what will be rejected, see {@link DeprecatedFilter}.
+ * </p>
  */
 public abstract class BaseFilterablePageableController implements PageableController, FilterableController {
+
+    /**
+     * Largest page size accepted in either mode.
+     */
+    protected static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private FilterCompiler filterCompiler;
+
+    @Override
+    public FilterCompiler getFilterCompiler() {
+        return filterCompiler;
+    }
     
     /**
      * Creates a paginated and filtered response from a repository query.
@@ -43,7 +70,7 @@ public abstract class BaseFilterablePageableController implements PageableContro
         
         // Create pageable and specification objects
         Pageable pageable = createPageable(page, size, sortBy, direction);
-        Specification<T> spec = createSpecification(params);
+        Specification<T> spec = createSpecification(entityClass, params);
         
         // Fetch data using the provided function
         Page<T> resultPage = fetchFunction.apply(spec, pageable);
@@ -64,6 +91,52 @@ public abstract class BaseFilterablePageableController implements PageableContro
                 resultPage.isLast()
         );
         
-        return ResponseEntity.ok(response);
+        return okResponse(spec).body(response);
+    }
+
+    /**
+     * Creates a cursor-paginated and filtered response. No COUNT query is issued; an approximate
+     * total is computed only when {@code includeTotal} is set.
+     *
+     * @param entityClass The entity class being queried
+     * @param fetchFunction The function to fetch one page with the filter specification and page request
+     * @param params All request parameters for filtering
+     * @param cursor The cursor returned with the previous page, or null for the first page
+     * @param size Page size
+     * @param sortBy Field to sort by
+     * @param direction Sort direction
+     * @param includeTotal Whether to include an approximate total
+     * @return A ResponseEntity containing a PaginatedResponse with the results and the next cursor
+     */
+    protected <T, D> ResponseEntity<PaginatedResponse<D>> getCursorPaginatedResponse(
+            Class<T> entityClass,
+            BiFunction<Specification<T>, CursorPageRequest, CursorSlice<D>> fetchFunction,
+            Map<String, String> params,
+            String cursor,
+            int size,
+            String sortBy,
+            String direction,
+            boolean includeTotal) {
+
+        CursorPageRequest request = CursorPageRequest.of(cursor, size, MAX_PAGE_SIZE, sortBy, direction, includeTotal);
+        Specification<T> spec = createSpecification(entityClass, params);
+
+        CursorSlice<D> slice = fetchFunction.apply(spec, request);
+
+        return okResponse(spec).body(PaginatedResponse.ofCursor(
+                slice.content(),
+                slice.size(),
+                request.after() == null,
+                slice.nextCursor(),
+                slice.approximateTotal()));
+    }
+
+    private static ResponseEntity.BodyBuilder okResponse(Specification<?> spec) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (spec instanceof DeprecatedFilter<?> deprecated) {
+            response.header("Deprecation", "true")
+                    .header("Warning", "299 - \"" + deprecated.getWarning().replace('"', '\'') + "\"");
+        }
+        return response;
     }
-}
\ No newline at end of file
+}
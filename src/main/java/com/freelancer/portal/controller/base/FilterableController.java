@@ -1,6 +1,6 @@
 package com.freelancer.portal.controller.base;
 
-import com.freelancer.portal.specification.SpecificationBuilder;
+import com.freelancer.portal.specification.filter.FilterCompiler;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.web.bind.annotation.RequestParam;
 
@@ -13,16 +13,26 @@ import java.util.Map;
  */
 public interface FilterableController {
 
+    /**
+     * The compiler used to turn filter parameters into specifications.
+     *
+     * @return the filter compiler
+     */
+    FilterCompiler getFilterCompiler();
+
     /**
      * Creates a Specification object based on filter parameters.
      * This method extracts all filter parameters from the request
-     * and builds a specification for dynamic filtering.
+     * and compiles them against the entity's filter allowlist.
      * 
      * @param <T> The entity type for the specification
+     * @param entityClass The entity class being filtered
      * @param params The request parameters containing filter criteria
-     * @return A Specification object for use with Spring Data JPA
+     * @return A Specification object for use with Spring Data JPA, or null if there are no filters
+     * @throws com.freelancer.portal.exception.InvalidFilterException if a filter is not allowed
      */
     default <T> Specification<T> createSpecification(
+            Class<T> entityClass,
             @RequestParam(required = false) Map<String, String> params) {
         
         // Extract filter parameters (those starting with 'filter_')
@@ -38,8 +48,6 @@ public interface FilterableController {
             });
         }
         
-        // Build specification from filter parameters
-        SpecificationBuilder<T> builder = new SpecificationBuilder<>();
-        return builder.buildSpecification(filterParams);
+        return getFilterCompiler().compile(entityClass, filterParams);
     }
-}
\ No newline at end of file
+}
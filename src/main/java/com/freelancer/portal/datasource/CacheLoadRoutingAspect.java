@@ -0,0 +1,29 @@
+package com.freelancer.portal.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Runs {@code @Cacheable} methods with their reads pinned to the primary, see {@link PrimaryReads}.
+ * <p>
+ * Ordered ahead of the transaction and cache interceptors, so the pin is in place before the
+ * method's transaction begins. Cache hits pass through without touching the database.
+ * </p>
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CacheLoadRoutingAspect {
+
+    @Around("@annotation(org.springframework.cache.annotation.Cacheable)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        PrimaryReads.enter();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            PrimaryReads.exit();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.freelancer.portal.datasource;
+
+/**
+ * Pins the reads of the current thread to the primary, whatever the read-only flag of the
+ * transaction they run in.
+ * <p>
+ * Meant for reads whose results outlive the transaction, such as DTOs stored in a cache. Read
+ * from a lagging replica just after a write invalidated them, they would be cached in their state
+ * from before that write, and served as current until they expire. Scopes nest; every
+ * {@link #enter()} must be paired with an {@link #exit()} in a finally block.
+ * </p>
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Integer> DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    private PrimaryReads() {
+    }
+
+    public static void enter() {
+        DEPTH.set(DEPTH.get() + 1);
+    }
+
+    public static void exit() {
+        int depth = DEPTH.get() - 1;
+        if (depth > 0) {
+            DEPTH.set(depth);
+        } else {
+            DEPTH.remove();
+        }
+    }
+
+    /**
+     * @return true if the current thread's reads must go to the primary
+     */
+    public static boolean isActive() {
+        return DEPTH.get() > 0;
+    }
+}
@@ -0,0 +1,113 @@
+package com.freelancer.portal.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Routes connections of read-only transactions to the replica pool and everything else to
+ * the primary.
+ * <p>
+ * The read-only flag of a transaction is only visible once the transaction has started, so this
+ * data source must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * that defers fetching the connection to the first statement. Reads fall back to the primary
+ * while the {@link ReplicaHealthMonitor} reports the replica as lagging or down, and when a
+ * replica connection cannot be obtained.
+ * </p>
+ * <p>
+ * Reads that must see the latest writes go to the primary as well: reads pinned through
+ * {@link PrimaryReads}, such as cache loads, and the reads of a user who committed a write
+ * within the {@link RecentWrites} window.
+ * </p>
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaHealthMonitor replicaHealth;
+    private final RecentWrites recentWrites;
+    private final Counter primaryCounter;
+    private final Counter replicaCounter;
+    private final Counter unavailableFallbackCounter;
+    private final Counter errorFallbackCounter;
+    private final Counter consistencyCounter;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealthMonitor replicaHealth,
+                                      RecentWrites recentWrites, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaHealth = replicaHealth;
+        this.recentWrites = recentWrites;
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.primaryCounter = Counter.builder("datasource.routing")
+                .description("Connections handed out by the routing data source")
+                .tag("target", "primary")
+                .register(meterRegistry);
+        this.replicaCounter = Counter.builder("datasource.routing")
+                .description("Connections handed out by the routing data source")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        this.unavailableFallbackCounter = Counter.builder("datasource.replica.fallbacks")
+                .description("Read-only transactions served by the primary instead of the replica")
+                .tag("reason", "unavailable")
+                .register(meterRegistry);
+        this.errorFallbackCounter = Counter.builder("datasource.replica.fallbacks")
+                .description("Read-only transactions served by the primary instead of the replica")
+                .tag("reason", "error")
+                .register(meterRegistry);
+        this.consistencyCounter = Counter.builder("datasource.replica.fallbacks")
+                .description("Read-only transactions served by the primary instead of the replica")
+                .tag("reason", "consistency")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return DataSourceRole.PRIMARY;
+        }
+        if (PrimaryReads.isActive() || recentWrites.isRecentWriter()) {
+            consistencyCounter.increment();
+            return DataSourceRole.PRIMARY;
+        }
+        if (!replicaHealth.isAvailable()) {
+            unavailableFallbackCounter.increment();
+            return DataSourceRole.PRIMARY;
+        }
+        return DataSourceRole.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == DataSourceRole.REPLICA) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaCounter.increment();
+                return connection;
+            } catch (SQLException ex) {
+                replicaHealth.reportFailure(ex);
+                errorFallbackCounter.increment();
+            }
+        } else if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recentWrites.recordOnCommit();
+        }
+        primaryCounter.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Credentials are per pool; explicit credentials always go to the primary
+        primaryCounter.increment();
+        return primary.getConnection(username, password);
+    }
+}
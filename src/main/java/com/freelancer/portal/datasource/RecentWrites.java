@@ -0,0 +1,80 @@
+package com.freelancer.portal.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which users committed writes recently, so their reads go to the primary until the
+ * replica has had time to catch up, and a user never sees their own change undone.
+ * <p>
+ * The window should cover the largest lag the replica is kept in rotation with: the maximum lag
+ * plus the health check interval. Writes are remembered per node; a user whose next request is
+ * served by another instance may still read from the replica there.
+ * </p>
+ */
+public class RecentWrites {
+
+    // Expired entries are dropped on lookup; beyond this many, also when recording a write
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final Supplier<Object> currentUser;
+    private final long windowNanos;
+    private final Map<Object, Long> lastWrites = new ConcurrentHashMap<>();
+
+    /**
+     * @param currentUser identifies the user the current thread works for, or returns null if none
+     * @param window how long after a write the user's reads stay on the primary
+     */
+    public RecentWrites(Supplier<Object> currentUser, Duration window) {
+        this.currentUser = currentUser;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Remember the current user as a recent writer once the current transaction commits.
+     */
+    public void recordOnCommit() {
+        Object user = currentUser.get();
+        if (user == null || windowNanos <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(user);
+            }
+        });
+    }
+
+    /**
+     * @return true if the current user committed a write within the window
+     */
+    public boolean isRecentWriter() {
+        Object user = currentUser.get();
+        if (user == null) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(user);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt < windowNanos) {
+            return true;
+        }
+        lastWrites.remove(user, writtenAt);
+        return false;
+    }
+
+    private void record(Object user) {
+        long now = System.nanoTime();
+        lastWrites.put(user, now);
+        if (lastWrites.size() > PRUNE_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.freelancer.portal.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Tracks whether the read replica may serve read-only transactions.
+ * <p>
+ * The replica is checked periodically: it is taken out of rotation when it cannot be reached
+ * or, if a lag query is configured, when it lags further behind the primary than allowed.
+ * The lag query must return the lag in seconds as the first column of its first row, e.g.
+ * {@code SELECT TIMESTAMPDIFF(SECOND, MAX(ts), UTC_TIMESTAMP()) FROM heartbeat} for a
+ * pt-heartbeat table; a NULL result, as when replication is stopped, counts as unhealthy.
+ * Connection failures reported by the routing data source take the replica out immediately;
+ * it is put back by the next successful check.
+ * </p>
+ */
+@Slf4j
+public class ReplicaHealthMonitor {
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private volatile boolean available = true;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaHealthMonitor(DataSource replica, String lagQuery, long maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        Gauge.builder("datasource.replica.available", this, monitor -> monitor.available ? 1 : 0)
+                .description("Whether read-only transactions are routed to the replica")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .baseUnit("seconds")
+                .description("Replication lag reported by the last health check")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the replica may currently serve reads.
+     *
+     * @return true if the last check passed and no failure has been reported since
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Take the replica out of rotation after a failure outside the periodic check.
+     *
+     * @param cause the failure
+     */
+    public void reportFailure(Exception cause) {
+        if (available) {
+            log.warn("Replica failed, routing reads to the primary until it recovers: {}", cause.getMessage());
+        }
+        available = false;
+    }
+
+    /**
+     * Check connectivity and, if configured, replication lag.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.health-check-interval-ms:5000}")
+    public void check() {
+        boolean healthy;
+        try (Connection connection = replica.getConnection()) {
+            healthy = lagQuery == null ? connection.isValid(2) : checkLag(connection);
+        } catch (SQLException ex) {
+            log.debug("Replica health check failed: {}", ex.getMessage());
+            healthy = false;
+        }
+
+        if (healthy != available) {
+            if (healthy) {
+                log.info("Replica recovered, routing read-only transactions to it again");
+            } else {
+                log.warn("Replica unhealthy (lag {}s, allowed {}s), routing reads to the primary", lagSeconds, maxLagSeconds);
+            }
+        }
+        available = healthy;
+    }
+
+    private boolean checkLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                lagSeconds = Double.NaN;
+                return false;
+            }
+            double lag = resultSet.getDouble(1);
+            lagSeconds = resultSet.wasNull() ? Double.NaN : lag;
+            return !Double.isNaN(lagSeconds) && lagSeconds <= maxLagSeconds;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.freelancer.portal.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Keeps read-only transactions that may run on the replica from storing what they read in the
+ * second-level cache.
+ * <p>
+ * A lagging replica would otherwise put entities and query results there in their state from
+ * before a write the cache was just evicted for, and every node would serve that state until
+ * the entries expire. These sessions still read from the cache. Read-write transactions and
+ * reads pinned to the primary through {@link PrimaryReads} populate it as usual.
+ * </p>
+ */
+public class ReplicaReadJpaDialect extends HibernateJpaDialect {
+
+    private record ReplicaReadTransactionData(Object delegate, Session session, CacheMode previousCacheMode) {
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly() || PrimaryReads.isActive()) {
+            return transactionData;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        return new ReplicaReadTransactionData(transactionData, session, previousCacheMode);
+    }
+
+    @Override
+    public void cleanupTransaction(@Nullable Object transactionData) {
+        if (transactionData instanceof ReplicaReadTransactionData replicaRead) {
+            // The session outlives the transaction when it is bound to the request
+            replicaRead.session().setCacheMode(replicaRead.previousCacheMode());
+            super.cleanupTransaction(replicaRead.delegate());
+            return;
+        }
+        super.cleanupTransaction(transactionData);
+    }
+}
@@ -5,6 +5,10 @@ import java.util.List;
 /**
  * Data Transfer Object for paginated responses.
  * Provides a consistent format for all paginated API responses.
+ * <p>
+ * In cursor mode no COUNT query is run: {@code totalElements} and {@code totalPages} are -1,
+ * {@code nextCursor} continues the listing and {@code approximateTotal} is set only when requested.
+ * </p>
  *
  * @param <T> The type of items in the paginated response
  */
@@ -16,6 +20,9 @@ public class PaginatedResponse<T> {
     private int totalPages;
     private boolean first;
     private boolean last;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long approximateTotal;
     
     public PaginatedResponse() {
     }
@@ -30,6 +37,26 @@ public class PaginatedResponse<T> {
         this.totalPages = totalPages;
         this.first = first;
         this.last = last;
+        this.hasNext = !last;
+    }
+
+    /**
+     * Creates a response for a page fetched in cursor mode.
+     *
+     * @param content the items on this page
+     * @param pageSize the requested page size
+     * @param first whether this is the first page
+     * @param nextCursor the cursor for the next page, or null on the last page
+     * @param approximateTotal the approximate total number of items, or null if not requested
+     * @param <T> the type of the items
+     * @return the response
+     */
+    public static <T> PaginatedResponse<T> ofCursor(List<T> content, int pageSize, boolean first,
+                                                    String nextCursor, Long approximateTotal) {
+        PaginatedResponse<T> response = new PaginatedResponse<>(content, 0, pageSize, -1, -1, first, nextCursor == null);
+        response.setNextCursor(nextCursor);
+        response.setApproximateTotal(approximateTotal);
+        return response;
     }
 
     public List<T> getContent() {
@@ -87,4 +114,28 @@ public class PaginatedResponse<T> {
     public void setLast(boolean last) {
         this.last = last;
     }
-}
\ No newline at end of file
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Long getApproximateTotal() {
+        return approximateTotal;
+    }
+
+    public void setApproximateTotal(Long approximateTotal) {
+        this.approximateTotal = approximateTotal;
+    }
+}
@@ -0,0 +1,20 @@
+package com.freelancer.portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for a short-lived, pre-signed download URL.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SignedUrlDto {
+    private String url;
+    private Instant expiresAt;
+}
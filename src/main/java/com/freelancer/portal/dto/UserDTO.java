@@ -23,6 +23,7 @@ public class UserDTO {
     private String email;
     private String phone;
     private String profilePictureUrl;
+    private String profilePictureThumbnailUrl;
     private User.Role role;
     private String bio;
     private String website;
@@ -48,6 +49,7 @@ public class UserDTO {
                 .email(user.getEmail())
                 .phone(user.getPhone())
                 .profilePictureUrl(user.getProfilePictureUrl())
+                .profilePictureThumbnailUrl(user.getProfilePictureThumbnailUrl())
                 .role(user.getRole())
                 .bio(user.getBio())
                 .website(user.getWebsite())
@@ -0,0 +1,10 @@
+package com.freelancer.portal.event;
+
+/**
+ * Published when a client is created, updated or deleted.
+ *
+ * @param ownerId the ID of the freelancer owning the client
+ * @param clientId the ID of the client
+ */
+public record ClientChangedEvent(Long ownerId, Long clientId) {
+}
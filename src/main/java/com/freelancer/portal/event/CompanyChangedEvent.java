@@ -0,0 +1,10 @@
+package com.freelancer.portal.event;
+
+/**
+ * Published when a company is created, updated or deleted.
+ *
+ * @param ownerId the ID of the user owning the company
+ * @param companyId the ID of the company
+ */
+public record CompanyChangedEvent(Long ownerId, Long companyId) {
+}
@@ -0,0 +1,28 @@
+package com.freelancer.portal.event;
+
+import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.model.User;
+
+/**
+ * Published when an invoice's amounts change, including through payments.
+ *
+ * @param ownerId the ID of the freelancer owning the invoice
+ * @param invoiceId the ID of the invoice
+ */
+public record InvoiceChangedEvent(Long ownerId, Long invoiceId) {
+
+    /**
+     * Create an event for an invoice, falling back to the project's freelancer
+     * for invoices created before invoices had their own freelancer.
+     *
+     * @param invoice the changed invoice
+     * @return the event
+     */
+    public static InvoiceChangedEvent of(Invoice invoice) {
+        User owner = invoice.getFreelancer();
+        if (owner == null && invoice.getProject() != null) {
+            owner = invoice.getProject().getFreelancer();
+        }
+        return new InvoiceChangedEvent(owner != null ? owner.getId() : null, invoice.getId());
+    }
+}
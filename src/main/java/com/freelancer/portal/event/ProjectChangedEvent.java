@@ -0,0 +1,10 @@
+package com.freelancer.portal.event;
+
+/**
+ * Published when a project is created, updated or deleted, or when files are added to or removed from it.
+ *
+ * @param ownerId the ID of the freelancer owning the project
+ * @param projectId the ID of the project
+ */
+public record ProjectChangedEvent(Long ownerId, Long projectId) {
+}
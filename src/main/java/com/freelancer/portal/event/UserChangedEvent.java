@@ -0,0 +1,9 @@
+package com.freelancer.portal.event;
+
+/**
+ * Published when a user's profile is updated or the user is deleted.
+ *
+ * @param userId the ID of the user
+ */
+public record UserChangedEvent(Long userId) {
+}
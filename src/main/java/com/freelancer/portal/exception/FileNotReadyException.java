@@ -0,0 +1,20 @@
+package com.freelancer.portal.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a file is requested before upload processing has made it available.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class FileNotReadyException extends RuntimeException {
+
+    /**
+     * Constructs a new file not ready exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public FileNotReadyException(String message) {
+        super(message);
+    }
+}
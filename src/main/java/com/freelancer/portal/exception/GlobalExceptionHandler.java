@@ -232,6 +232,72 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handle FileNotReadyException.
+     *
+     * @param ex the exception
+     * @param request the web request
+     * @return the error response
+     */
+    @ExceptionHandler(FileNotReadyException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<ErrorResponse> handleFileNotReadyException(
+            FileNotReadyException ex, WebRequest request) {
+        
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "File Not Ready",
+                ex.getMessage(),
+                request.getDescription(false));
+        
+        log.warn("File not ready: {}", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handle InvalidCursorException.
+     *
+     * @param ex the exception
+     * @param request the web request
+     * @return the error response
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(
+            InvalidCursorException ex, WebRequest request) {
+        
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid Cursor",
+                ex.getMessage(),
+                request.getDescription(false));
+        
+        log.warn("Invalid pagination cursor: {}", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handle InvalidFilterException.
+     *
+     * @param ex the exception
+     * @param request the web request
+     * @return the error response
+     */
+    @ExceptionHandler(InvalidFilterException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponse> handleInvalidFilterException(
+            InvalidFilterException ex, WebRequest request) {
+        
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid Filter",
+                ex.getMessage(),
+                request.getDescription(false));
+        
+        log.warn("Invalid list filter: {}", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handle FileStorageException.
      *
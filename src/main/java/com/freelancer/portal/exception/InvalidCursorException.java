@@ -0,0 +1,20 @@
+package com.freelancer.portal.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a pagination cursor is malformed or does not match the requested sort.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * Constructs a new invalid cursor exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.freelancer.portal.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a list filter is malformed or not allowed for the entity.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFilterException extends RuntimeException {
+
+    /**
+     * Constructs a new invalid filter exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public InvalidFilterException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.freelancer.portal.logging;
 
+import com.freelancer.portal.monitoring.profiling.HttpRequestEvent;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,6 +8,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.lang.NonNull;
@@ -15,81 +17,140 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Filter for adding correlation IDs to requests for tracing and logging.
- * This filter adds a unique ID to each request and logs request/response details.
+ * <p>
+ * Each request gets a correlation ID (taken from {@code X-Correlation-ID} when the caller sends
+ * one) and produces exactly one access event on the {@value #ACCESS_LOGGER} logger once the
+ * response is complete. The event is a single line of {@code key=value} pairs built in a
+ * pre-sized, per-thread buffer; nothing is built at all when that logger is disabled or the
+ * request is not sampled. {@code logback-spring.xml} routes the logger to its own non-blocking
+ * async appender, so request threads never wait for disk I/O.
+ * </p>
+ * <p>
+ * The request is also recorded as an {@link HttpRequestEvent} for Java Flight Recorder, which
+ * ties profiling samples to the correlation ID.
+ * </p>
+ * <p>
+ * Successful (2xx) responses are logged at {@code app.access-log.success-sample-rate}; every
+ * other status is always logged.
+ * </p>
  */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class RequestLoggingFilter extends OncePerRequestFilter {
 
-    private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
-    
+    public static final String CORRELATION_ID_KEY = "correlationId";
+
+    static final String ACCESS_LOGGER = "com.freelancer.portal.access";
+
+    private static final Logger accessLog = LoggerFactory.getLogger(ACCESS_LOGGER);
+
     private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
-    private static final String CORRELATION_ID_KEY = "correlationId";
-    private static final String REQUEST_TIME_KEY = "requestStartTime";
+
+    private static final int LINE_CAPACITY = 256;
+    /** Buffers that grew past this (very long URIs) are dropped rather than kept per thread. */
+    private static final int MAX_RETAINED_CAPACITY = 4096;
+    private static final int MAX_URI_LENGTH = 1024;
+    private static final int MAX_USER_AGENT_LENGTH = 160;
+
+    private static final ThreadLocal<StringBuilder> LINE = ThreadLocal.withInitial(() -> new StringBuilder(LINE_CAPACITY));
+
+    private final double successSampleRate;
+
+    public RequestLoggingFilter(@Value("${app.access-log.success-sample-rate:1.0}") double successSampleRate) {
+        this.successSampleRate = successSampleRate;
+    }
 
     @Override
     protected void doFilterInternal(
-            @NonNull HttpServletRequest request, 
-            @NonNull HttpServletResponse response, 
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
-        
+
         // Get or generate correlation ID
         String correlationId = request.getHeader(CORRELATION_ID_HEADER);
         if (correlationId == null || correlationId.isEmpty()) {
             correlationId = generateCorrelationId();
         }
-        
+
         // Add correlation ID to MDC for logging
         MDC.put(CORRELATION_ID_KEY, correlationId);
-        
+
         // Add correlation ID to response headers
         response.addHeader(CORRELATION_ID_HEADER, correlationId);
-        
-        // Record request start time
-        request.setAttribute(REQUEST_TIME_KEY, System.currentTimeMillis());
-        
+
+        HttpRequestEvent event = new HttpRequestEvent();
+        event.begin();
+        long start = System.nanoTime();
         try {
-            // Log request details
-            logRequest(request, correlationId);
-            
-            // Continue with the filter chain
             filterChain.doFilter(request, response);
         } finally {
-            // Log response details
-            logResponse(request, response, correlationId);
-            
+            event.end();
+            if (event.shouldCommit()) {
+                event.correlationId = correlationId;
+                event.method = request.getMethod();
+                event.uri = request.getRequestURI();
+                event.status = response.getStatus();
+                event.commit();
+            }
+            if (accessLog.isInfoEnabled()) {
+                logAccess(request, response, System.nanoTime() - start);
+            }
+
             // Clean up MDC
             MDC.remove(CORRELATION_ID_KEY);
         }
     }
-    
-    private void logRequest(HttpServletRequest request, String correlationId) {
-        String userAgent = request.getHeader("User-Agent");
-        log.info("Request: {} {} [{}] from IP: {}, User-Agent: {}, Correlation-ID: {}",
-                request.getMethod(),
-                request.getRequestURI(),
-                request.getProtocol(),
-                request.getRemoteAddr(),
-                userAgent != null ? userAgent : "unknown",
-                correlationId);
+
+    private void logAccess(HttpServletRequest request, HttpServletResponse response, long elapsedNanos) {
+        int status = response.getStatus();
+        if (status >= 200 && status < 300 && successSampleRate < 1.0
+                && ThreadLocalRandom.current().nextDouble() >= successSampleRate) {
+            return;
+        }
+
+        StringBuilder line = LINE.get();
+        line.append("method=").append(request.getMethod())
+                .append(" uri=");
+        appendTruncated(line, request.getRequestURI(), MAX_URI_LENGTH);
+        line.append(" status=").append(status)
+                .append(" durationUs=").append(elapsedNanos / 1000)
+                .append(" protocol=").append(request.getProtocol())
+                .append(" ip=").append(request.getRemoteAddr())
+                .append(" userAgent=\"");
+        appendTruncated(line, request.getHeader("User-Agent"), MAX_USER_AGENT_LENGTH);
+        line.append('"');
+
+        // The async appender formats the event on another thread, so it needs an immutable copy
+        accessLog.info(line.toString());
+
+        if (line.capacity() > MAX_RETAINED_CAPACITY) {
+            LINE.remove();
+        } else {
+            line.setLength(0);
+        }
     }
-    
-    private void logResponse(HttpServletRequest request, HttpServletResponse response, String correlationId) {
-        Long startTime = (Long) request.getAttribute(REQUEST_TIME_KEY);
-        long duration = System.currentTimeMillis() - startTime;
-        
-        log.info("Response: {} {} - {} [{}ms] Correlation-ID: {}",
-                request.getMethod(),
-                request.getRequestURI(),
-                response.getStatus(),
-                duration,
-                correlationId);
+
+    /**
+     * Append up to {@code max} characters of a client-supplied value, replacing quotes and
+     * control characters so one request can never break the line format.
+     */
+    private static void appendTruncated(StringBuilder line, String value, int max) {
+        if (value == null) {
+            line.append('-');
+            return;
+        }
+        int length = Math.min(value.length(), max);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            line.append(c == '"' || Character.isISOControl(c) ? '_' : c);
+        }
     }
-    
+
     private String generateCorrelationId() {
         return UUID.randomUUID().toString();
     }
-}
\ No newline at end of file
+}
@@ -35,7 +35,7 @@ public class ConversationMapper {
                         .firstName(user.getFirstName())
                         .lastName(user.getLastName())
                         .email(user.getEmail())
-                        .profileImageUrl(user.getProfilePictureUrl())
+                        .profileImageUrl(user.getAvatarUrl())
                         .build())
                 .collect(Collectors.toSet());
         
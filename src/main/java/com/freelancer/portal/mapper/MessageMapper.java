@@ -30,7 +30,7 @@ public class MessageMapper {
                 .senderName(message.getSender() != null ? 
                         (message.getSender().getFirstName() != null ? message.getSender().getFirstName() : "") + " " + 
                         (message.getSender().getLastName() != null ? message.getSender().getLastName() : "").trim() : null)
-                .senderProfileImageUrl(message.getSender() != null ? message.getSender().getProfilePictureUrl(): null)
+                .senderProfileImageUrl(message.getSender() != null ? message.getSender().getAvatarUrl() : null)
                 // Message status fields
                 .isRead(message.getIsRead() != null ? message.getIsRead() : false)
                 // Attachment fields
@@ -5,6 +5,7 @@ import com.freelancer.portal.dto.PaymentRequestDto;
 import com.freelancer.portal.dto.PaymentResponseDto;
 import com.freelancer.portal.model.Invoice;
 import com.freelancer.portal.model.Payment;
+import com.freelancer.portal.repository.projection.PaymentListRow;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -123,6 +124,31 @@ public class PaymentMapper {
                 .build();
     }
 
+    /**
+     * Maps a payment list row to a PaymentResponseDto.
+     *
+     * @param row the payment list row
+     * @return the payment response DTO
+     */
+    public static PaymentResponseDto toResponseDto(PaymentListRow row) {
+        return PaymentResponseDto.builder()
+                .id(row.id())
+                .amount(row.amount())
+                .paymentMethod(row.paymentMethod())
+                .paymentDate(row.paymentDate())
+                .transactionId(row.transactionId())
+                .notes(row.notes())
+                .status(row.status())
+                .invoiceId(row.invoiceId())
+                .invoiceNumber(row.invoiceNumber())
+                .clientName(row.clientName())
+                .clientCompanyName(row.clientCompanyName())
+                .projectName(row.projectName())
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .build();
+    }
+
     /**
      * Maps a list of Payment entities to a list of PaymentResponseDto objects.
      *
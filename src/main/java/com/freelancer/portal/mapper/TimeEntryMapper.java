@@ -5,7 +5,10 @@ import com.freelancer.portal.model.Invoice;
 import com.freelancer.portal.model.Project;
 import com.freelancer.portal.model.TimeEntry;
 import com.freelancer.portal.model.User;
+import com.freelancer.portal.repository.projection.TimeEntryListRow;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -58,6 +61,52 @@ public class TimeEntryMapper {
         return dto;
     }
     
+    /**
+     * Convert a time entry list row to TimeEntryDto, filling in the same project, client,
+     * user and billable amount details as the entity-based enrichment.
+     *
+     * @param row the list row
+     * @return the time entry DTO
+     */
+    public static TimeEntryDto toDto(TimeEntryListRow row) {
+        String firstName = row.userFirstName() != null ? row.userFirstName() : "";
+        String lastName = row.userLastName() != null ? row.userLastName() : "";
+        Double hourlyRate = row.projectHourlyRate() != null ? row.projectHourlyRate().doubleValue() : null;
+        double hours = row.hours() != null ? row.hours() : 0.0;
+
+        double billableAmount = 0.0;
+        if (row.billable() && hourlyRate != null && hours > 0) {
+            billableAmount = BigDecimal.valueOf(hourlyRate)
+                    .multiply(BigDecimal.valueOf(hours))
+                    .setScale(2, RoundingMode.HALF_UP)
+                    .doubleValue();
+        }
+
+        return TimeEntryDto.builder()
+                .id(row.id())
+                .projectId(row.projectId())
+                .projectName(row.projectName() != null ? row.projectName() : "Unnamed Project")
+                .hourlyRate(hourlyRate)
+                .clientId(row.clientId())
+                .clientName(row.clientId() != null
+                        ? (row.clientName() != null ? row.clientName() : "Unnamed Client") : null)
+                .userId(row.userId())
+                .userName((firstName + " " + lastName).trim())
+                .description(row.description())
+                .startTime(row.startTime())
+                .endTime(row.endTime())
+                .durationSeconds(row.durationSeconds())
+                .hours(hours)
+                .billable(row.billable())
+                .billed(row.billed())
+                .billableAmount(billableAmount)
+                .invoiceId(row.invoiceId())
+                .invoiceNumber(row.invoiceNumber())
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .build();
+    }
+
     /**
      * Convert a list of TimeEntry entities to DTOs.
      *
@@ -27,6 +27,7 @@ public class UserMapper {
                 .email(user.getEmail())
                 .phone(user.getPhone())
                 .profilePictureUrl(user.getProfilePictureUrl())
+                .profilePictureThumbnailUrl(user.getProfilePictureThumbnailUrl())
                 .role(user.getRole())
                 .bio(user.getBio())
                 .website(user.getWebsite())
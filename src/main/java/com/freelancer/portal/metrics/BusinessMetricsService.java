@@ -8,7 +8,10 @@ import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service for tracking business-specific metrics in the application.
@@ -18,9 +21,12 @@ import java.util.concurrent.TimeUnit;
 public class BusinessMetricsService {
     
     private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, ConcurrentMap<Integer, Timer>> apiCallTimers = new ConcurrentHashMap<>();
+    private final AtomicLong activeSessions = new AtomicLong();
     
     public BusinessMetricsService(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("freelancer.users.active_sessions", activeSessions);
     }
     
     /**
@@ -98,19 +104,27 @@ public class BusinessMetricsService {
     }
     
     /**
-     * Record API call timing
+     * Record API call timing. Timers are created once per endpoint and status and reused, so the
+     * endpoint must be a URI template rather than a concrete path. Histogram buckets and SLOs come
+     * from the {@code management.metrics.distribution.*} properties.
      * 
-     * @param endpoint The API endpoint called
+     * @param endpoint The API endpoint template called
      * @param statusCode The HTTP status code returned
      * @param durationMs The duration of the call in milliseconds
      */
     public void recordApiCallTiming(String endpoint, int statusCode, long durationMs) {
-        Timer timer = Timer.builder("freelancer.api.request.duration")
-                .tag("endpoint", endpoint)
-                .tag("status", String.valueOf(statusCode))
-                .description("API call duration")
-                .register(meterRegistry);
-        
+        ConcurrentMap<Integer, Timer> byStatus = apiCallTimers.get(endpoint);
+        if (byStatus == null) {
+            byStatus = apiCallTimers.computeIfAbsent(endpoint, e -> new ConcurrentHashMap<>());
+        }
+        Timer timer = byStatus.get(statusCode);
+        if (timer == null) {
+            timer = byStatus.computeIfAbsent(statusCode, status -> Timer.builder("freelancer.api.request.duration")
+                    .tag("endpoint", endpoint)
+                    .tag("status", String.valueOf(status))
+                    .description("API call duration")
+                    .register(meterRegistry));
+        }
         timer.record(durationMs, TimeUnit.MILLISECONDS);
     }
     
@@ -140,6 +154,6 @@ public class BusinessMetricsService {
      * @param count The number of active sessions
      */
     public void recordActiveSessions(long count) {
-        meterRegistry.gauge("freelancer.users.active_sessions", count);
+        activeSessions.set(count);
     }
 }
\ No newline at end of file
@@ -10,6 +10,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -24,6 +26,7 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "clients")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "clients")
 public class Client {
 
     @Id
@@ -60,6 +63,7 @@ public class Client {
     private User user;
 
     @OneToMany(mappedBy = "client", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "clients.projects")
     @JsonManagedReference
     @Builder.Default
     private List<Project> projects = new ArrayList<>();
@@ -11,6 +11,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entity representing a company or business entity in the freelancing platform.
@@ -26,6 +28,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Entity
 @Table(name = "companies")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "companies")
 public class Company {
 
     @Id
@@ -142,6 +145,7 @@ public class Company {
      */
     @JsonManagedReference("company-clients")
     @OneToMany(mappedBy = "company")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "companies.clients")
     private List<Client> clients;
 
     /**
@@ -1,21 +1,30 @@
 package com.freelancer.portal.model;
 
+import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
 
 /**
- * Class representing metadata for a file.
- * This is a lightweight class used for storage operations and does not directly map to a database entity.
+ * Entity representing metadata for a stored file.
+ * Reads are served from the in-memory indexes of {@link com.freelancer.portal.repository.FileMetadataRepository};
+ * the table is the durable copy they are rebuilt from on startup.
  */
 @Getter
 @Setter
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
+@Entity
+@Table(name = "file_metadata", indexes = {
+        @Index(name = "idx_file_metadata_entity", columnList = "entity_type, entity_id"),
+        @Index(name = "idx_file_metadata_filename", columnList = "filename")
+})
 public class FileMetadata {
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String filename;
     private String originalFilename;
@@ -25,11 +34,37 @@ public class FileMetadata {
     private String uploadDir;
     private String fileUrl;
     private String url;  // Alternative URL field
+    @Column(name = "entity_type")
     private String entityType;  // Type of entity this file is associated with
+    @Column(name = "entity_id")
     private Long entityId;    // ID of the entity this file is associated with
     private String mimeType;  // MIME type of the file
     private Long userId;
     private Long projectId;
     private Long contentId;
     private String contentType2;
+    @Enumerated(EnumType.STRING)
+    private Status status;    // Processing state, see UploadPipeline
+    @Column(name = "status_reason")
+    private String statusReason;  // Why processing rejected or failed the file
+    private String checksum;  // SHA-256 of the file contents, hex encoded
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;  // URL of a generated preview image, if any
+
+    /**
+     * Processing states of an uploaded file.
+     */
+    public enum Status {
+        PENDING, READY, QUARANTINED, FAILED
+    }
+
+    /**
+     * Check whether the file has passed processing and may be downloaded.
+     * Metadata without a status never went through the upload pipeline and is not served.
+     *
+     * @return true if the file is ready to be served
+     */
+    public boolean isReady() {
+        return status == Status.READY;
+    }
 }
\ No newline at end of file
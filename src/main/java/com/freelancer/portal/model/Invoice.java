@@ -23,7 +23,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "invoices")
+@Table(name = "invoices", indexes = {
+        @Index(name = "idx_invoice_freelancer_status", columnList = "freelancer_id, status"),
+        @Index(name = "idx_invoice_freelancer_due_date", columnList = "freelancer_id, due_date"),
+        @Index(name = "idx_invoice_freelancer_issue_date", columnList = "freelancer_id, issue_date"),
+        @Index(name = "idx_invoice_client_status", columnList = "client_id, status"),
+        @Index(name = "idx_invoice_project_status", columnList = "project_id, status")
+})
 public class Invoice {
 
     @Id
@@ -28,8 +28,15 @@ import lombok.NoArgsConstructor;
 @Table(name = "invoice_items")
 public class InvoiceItem {
 
+    /**
+     * Items are created in groups with their invoice, so IDs come from a pooled table generator
+     * (see {@code IdSequenceInitializer}) rather than IDENTITY, which lets the inserts be batched.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "invoice_item_ids")
+    @TableGenerator(name = "invoice_item_ids", table = "id_sequences",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "invoice_items", allocationSize = 50)
     private Long id;
 
     /**
@@ -0,0 +1,31 @@
+package com.freelancer.portal.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-freelancer invoice number sequence.
+ * <p>
+ * {@code nextValue} is the first number not yet reserved by any application node. Nodes reserve
+ * blocks by advancing it under a row lock and hand the numbers out from memory, so numbers are
+ * unique and increasing per node, but may have gaps when a node stops before using its block.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "invoice_number_sequences")
+public class InvoiceNumberSequence {
+
+    @Id
+    @Column(name = "freelancer_id")
+    private Long freelancerId;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
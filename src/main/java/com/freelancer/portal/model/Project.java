@@ -11,6 +11,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -29,6 +31,7 @@ import java.util.Set;
 @AllArgsConstructor
 @Entity
 @Table(name = "projects")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
 public class Project {
 
     @Id
@@ -18,7 +18,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "time_entries")
+@Table(name = "time_entries", indexes = {
+        @Index(name = "idx_time_entry_user_start", columnList = "user_id, start_time"),
+        @Index(name = "idx_time_entry_user_billing", columnList = "user_id, is_billable, is_billed"),
+        @Index(name = "idx_time_entry_project_billing", columnList = "project_id, is_billable, is_billed")
+})
 public class TimeEntry {
 
     @Id
@@ -13,6 +13,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -38,6 +40,7 @@ import java.util.Set;
 @AllArgsConstructor
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @EqualsAndHashCode(exclude = {"conversations"})
 public class User implements UserDetails {
 
@@ -83,6 +86,13 @@ public class User implements UserDetails {
     @Column(name = "profile_picture_url")
     private String profilePictureUrl;
 
+    /**
+     * Fingerprinted URL of the downscaled avatar derived from the profile picture.
+     * Populated asynchronously once the thumbnail has been generated.
+     */
+    @Column(name = "profile_picture_thumbnail_url")
+    private String profilePictureThumbnailUrl;
+
     /**
      * The user's role in the system (FREELANCER or CLIENT).
      */
@@ -116,6 +126,7 @@ public class User implements UserDetails {
     private LocalDateTime updatedAt;
 
     @OneToMany(mappedBy = "freelancer", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users.projects")
     @JsonIgnore
     private List<Project> projects;
 
@@ -124,6 +135,7 @@ public class User implements UserDetails {
      */
     @JsonManagedReference("user-clients")
     @OneToMany(mappedBy = "freelancer", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users.clients")
     @JsonIgnore
     private List<Client> clients;
     
@@ -158,6 +170,17 @@ public class User implements UserDetails {
         USER, FREELANCER, CLIENT, ADMIN
     }
 
+    /**
+     * Get the URL to use when rendering the user's avatar in lists.
+     * Prefers the thumbnail and falls back to the original picture until it is available.
+     *
+     * @return the avatar URL, or null if the user has no profile picture
+     */
+    @JsonIgnore
+    public String getAvatarUrl() {
+        return profilePictureThumbnailUrl != null ? profilePictureThumbnailUrl : profilePictureUrl;
+    }
+
     /**
      * {@inheritDoc}
      */
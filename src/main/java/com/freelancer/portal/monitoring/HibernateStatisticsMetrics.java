@@ -0,0 +1,126 @@
+package com.freelancer.portal.monitoring;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Exports the session factory wide Hibernate statistics.
+ * <p>
+ * Sessions, transactions, flushes, statements, entity and collection operations and query
+ * executions are published as counters, so rates come from the monitoring system; the slowest
+ * query execution and the second-level and query cache hit ratios are gauges. Every meter reads
+ * the {@link Statistics} object when it is scraped, so nothing is added to the request path.
+ * Per-region cache statistics are published by {@link HibernateCacheMetrics}. Requires
+ * {@code hibernate.generate_statistics=true}.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            log.warn("Hibernate statistics are disabled, session and query metrics will not be published");
+            return;
+        }
+
+        counter(registry, statistics, "hibernate.sessions.open", "Sessions opened", Statistics::getSessionOpenCount);
+        counter(registry, statistics, "hibernate.sessions.closed", "Sessions closed", Statistics::getSessionCloseCount);
+        FunctionCounter.builder("hibernate.transactions", statistics, Statistics::getSuccessfulTransactionCount)
+                .description("Transactions completed")
+                .tag("result", "success")
+                .register(registry);
+        FunctionCounter.builder("hibernate.transactions", statistics,
+                        s -> s.getTransactionCount() - s.getSuccessfulTransactionCount())
+                .description("Transactions completed")
+                .tag("result", "failure")
+                .register(registry);
+        counter(registry, statistics, "hibernate.flushes", "Session flushes", Statistics::getFlushCount);
+        counter(registry, statistics, "hibernate.connections.obtained", "JDBC connections obtained",
+                Statistics::getConnectCount);
+        counter(registry, statistics, "hibernate.statements.prepared", "JDBC statements prepared",
+                Statistics::getPrepareStatementCount);
+        counter(registry, statistics, "hibernate.optimistic.failures", "Optimistic lock failures",
+                Statistics::getOptimisticFailureCount);
+
+        // Fetches are loads that needed their own SELECT; a rising fetch rate points at N+1 access
+        counter(registry, statistics, "hibernate.entities.loads", "Entities loaded", Statistics::getEntityLoadCount);
+        counter(registry, statistics, "hibernate.entities.fetches", "Entities fetched by a separate SELECT",
+                Statistics::getEntityFetchCount);
+        counter(registry, statistics, "hibernate.entities.inserts", "Entities inserted", Statistics::getEntityInsertCount);
+        counter(registry, statistics, "hibernate.entities.updates", "Entities updated", Statistics::getEntityUpdateCount);
+        counter(registry, statistics, "hibernate.entities.deletes", "Entities deleted", Statistics::getEntityDeleteCount);
+        counter(registry, statistics, "hibernate.collections.loads", "Collections loaded",
+                Statistics::getCollectionLoadCount);
+        counter(registry, statistics, "hibernate.collections.fetches", "Collections fetched by a separate SELECT",
+                Statistics::getCollectionFetchCount);
+
+        counter(registry, statistics, "hibernate.query.executions", "HQL and criteria queries executed",
+                Statistics::getQueryExecutionCount);
+        TimeGauge.builder("hibernate.query.executions.max", statistics, TimeUnit.MILLISECONDS,
+                        Statistics::getQueryExecutionMaxTime)
+                .description("Slowest query execution since startup; see /actuator/slowqueries for its shape")
+                .register(registry);
+
+        requests(registry, statistics, "hibernate.second.level.cache.requests", "Second-level cache lookups",
+                Statistics::getSecondLevelCacheHitCount, Statistics::getSecondLevelCacheMissCount);
+        ratio(registry, statistics, "hibernate.second.level.cache.hit.ratio",
+                Statistics::getSecondLevelCacheHitCount, Statistics::getSecondLevelCacheMissCount);
+        requests(registry, statistics, "hibernate.query.cache.requests", "Query cache lookups",
+                Statistics::getQueryCacheHitCount, Statistics::getQueryCacheMissCount);
+        ratio(registry, statistics, "hibernate.query.cache.hit.ratio",
+                Statistics::getQueryCacheHitCount, Statistics::getQueryCacheMissCount);
+        counter(registry, statistics, "hibernate.query.cache.puts", "Results put into the query cache",
+                Statistics::getQueryCachePutCount);
+    }
+
+    private static void counter(MeterRegistry registry, Statistics statistics, String name, String description,
+                                ToLongFunction<Statistics> count) {
+        FunctionCounter.builder(name, statistics, s -> count.applyAsLong(s))
+                .description(description)
+                .register(registry);
+    }
+
+    private static void requests(MeterRegistry registry, Statistics statistics, String name, String description,
+                                 ToLongFunction<Statistics> hits, ToLongFunction<Statistics> misses) {
+        FunctionCounter.builder(name, statistics, s -> hits.applyAsLong(s))
+                .description(description)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(name, statistics, s -> misses.applyAsLong(s))
+                .description(description)
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    private static void ratio(MeterRegistry registry, Statistics statistics, String name,
+                              ToLongFunction<Statistics> hits, ToLongFunction<Statistics> misses) {
+        ToDoubleFunction<Statistics> hitRatio = s -> {
+            long hit = hits.applyAsLong(s);
+            long total = hit + misses.applyAsLong(s);
+            return total == 0 ? Double.NaN : (double) hit / total;
+        };
+        Gauge.builder(name, statistics, hitRatio)
+                .description("Share of lookups answered by the cache since startup")
+                .register(registry);
+    }
+}
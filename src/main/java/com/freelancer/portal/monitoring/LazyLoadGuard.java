@@ -0,0 +1,97 @@
+package com.freelancer.portal.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+
+/**
+ * Detects lazy loading that happens outside a service transaction.
+ * <p>
+ * With open-session-in-view disabled, every endpoint is expected to fetch what it renders through
+ * an entity graph or a projection inside its service transaction. Proxy and collection
+ * initializations that run without an active transaction mean a fetch plan is missing. They are
+ * counted as {@code jpa.lazy.loads.outside.transaction} and, depending on
+ * {@code app.jpa.lazy-load-guard}, logged or rejected with an {@link IllegalStateException}.
+ * The lazy load harness runs with {@code fail} so a missing fetch plan breaks it.
+ * </p>
+ */
+@Component
+@Slf4j
+public class LazyLoadGuard implements LoadEventListener, InitializeCollectionEventListener {
+
+    public enum Mode {
+        OFF, LOG, FAIL
+    }
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    private final Mode mode;
+
+    public LazyLoadGuard(
+            EntityManagerFactory entityManagerFactory,
+            MeterRegistry meterRegistry,
+            @Value("${app.jpa.lazy-load-guard:log}") String mode) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+    }
+
+    @PostConstruct
+    void register() {
+        if (mode == Mode.OFF) {
+            log.info("Lazy load guard disabled");
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        // Prepend so a rejected load fails before any SQL is issued
+        registry.prependListeners(EventType.LOAD, (LoadEventListener) this);
+        registry.prependListeners(EventType.INIT_COLLECTION, (InitializeCollectionEventListener) this);
+        log.info("Lazy load guard registered in {} mode", mode);
+    }
+
+    @Override
+    public void onLoad(LoadEvent event, LoadType loadType) {
+        // IMMEDIATE_LOAD is what an uninitialized proxy uses; find() and queries use other load types
+        if (loadType == LoadEventListener.IMMEDIATE_LOAD) {
+            check(event.getEntityClassName());
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        check(event.getCollection().getRole());
+    }
+
+    /**
+     * Record a lazy load of the given entity or collection role, enforcing the configured mode
+     * when no transaction is active on the current thread.
+     *
+     * @param target the entity name or collection role being initialized
+     */
+    void check(String target) {
+        if (mode == Mode.OFF || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        meterRegistry.counter("jpa.lazy.loads.outside.transaction", "target", target).increment();
+        if (mode == Mode.FAIL) {
+            throw new IllegalStateException("Lazy load of " + target
+                    + " outside a transaction; add it to the fetch plan of the calling service");
+        }
+        log.warn("Lazy load of {} outside a transaction; add it to the fetch plan of the calling service", target);
+    }
+}
@@ -0,0 +1,234 @@
+package com.freelancer.portal.monitoring;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times service methods, repository methods and methods annotated with {@link Timed}.
+ * <p>
+ * The hot path does no registry lookups and no string building: timers are resolved once per
+ * proxied type and {@link Method} and kept in a concurrent map, durations are taken with
+ * {@link System#nanoTime()}, and calls that are not sampled go straight to the target. With
+ * {@code monitoring.method-timing.enabled=false} the aspect is not registered at all, so no
+ * proxy advice runs.
+ * </p>
+ * <p>
+ * Published timers are {@code service.execution.time}, {@code repository.execution.time} and,
+ * for {@code @Timed} methods, the annotation's name (default {@code method.execution.time}).
+ * Each carries an {@code outcome} tag of {@code success} or {@code error}. With a sample rate
+ * below 1, counts are sampled too; scale them by the rate.
+ * </p>
+ * <p>
+ * Timed repository calls made inside a trace also get a span named after the repository method,
+ * so slow traces show which queries they waited on. Calls outside a trace (startup, most jobs)
+ * never start one. They are off unless {@code monitoring.tracing.repository-spans=true}.
+ * </p>
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "monitoring.method-timing.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class MethodTimingAspect {
+
+    private static final String DEFAULT_TIMED_NAME = "method.execution.time";
+
+    private enum Kind {
+        SERVICE("service.execution.time", "service"),
+        REPOSITORY("repository.execution.time", "repository"),
+        TIMED(DEFAULT_TIMED_NAME, "class");
+
+        private final String metricName;
+        private final String typeTag;
+
+        Kind(String metricName, String typeTag) {
+            this.metricName = metricName;
+            this.typeTag = typeTag;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final double sampleRate;
+    private final boolean percentileHistogram;
+    private final long slowThresholdNanos;
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Method, MethodTimers>> timers = new ConcurrentHashMap<>();
+    private Tracer tracer;
+
+    public MethodTimingAspect(
+            MeterRegistry meterRegistry,
+            @Value("${monitoring.method-timing.sample-rate:1.0}") double sampleRate,
+            @Value("${monitoring.method-timing.percentile-histogram:false}") boolean percentileHistogram,
+            @Value("${monitoring.method-timing.slow-threshold-ms:500}") long slowThresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+        this.percentileHistogram = percentileHistogram;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+
+    @Autowired
+    void configureRepositorySpans(
+            ObjectProvider<Tracer> tracer,
+            @Value("${monitoring.tracing.repository-spans:false}") boolean repositorySpans) {
+        this.tracer = repositorySpans ? tracer.getIfAvailable() : null;
+    }
+
+    @Pointcut("execution(* com.freelancer.portal.service.*.*(..))")
+    public void serviceMethod() {}
+
+    @Pointcut("execution(* com.freelancer.portal.repository.*.*(..))")
+    public void repositoryMethod() {}
+
+    @Pointcut("@annotation(io.micrometer.core.annotation.Timed)")
+    public void timedMethod() {}
+
+    /**
+     * Times service methods. {@code @Timed} service methods are handled by {@link #timeAnnotated}.
+     */
+    @Around("serviceMethod() && !timedMethod()")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, Kind.SERVICE);
+    }
+
+    @Around("repositoryMethod() && !timedMethod()")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, Kind.REPOSITORY);
+    }
+
+    @Around("timedMethod()")
+    public Object timeAnnotated(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, Kind.TIMED);
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, Kind kind) throws Throwable {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return joinPoint.proceed();
+        }
+
+        MethodTimers methodTimers = resolve(joinPoint, kind);
+        Span span = kind == Kind.REPOSITORY ? startSpan(methodTimers) : null;
+        long start = System.nanoTime();
+        Timer timer = methodTimers.error;
+        try (Tracer.SpanInScope ignored = span != null ? tracer.withSpan(span) : null) {
+            Object result = joinPoint.proceed();
+            timer = methodTimers.success;
+            return result;
+        } catch (Throwable ex) {
+            if (span != null) {
+                span.error(ex);
+            }
+            throw ex;
+        } finally {
+            if (span != null) {
+                span.end();
+            }
+            long elapsed = System.nanoTime() - start;
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+            if (elapsed > slowThresholdNanos) {
+                log.warn("Slow {} method {} took {} ms",
+                        kind.typeTag, methodTimers.displayName, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+        }
+    }
+
+    private Span startSpan(MethodTimers methodTimers) {
+        if (tracer == null || tracer.currentSpan() == null) {
+            return null;
+        }
+        return tracer.nextSpan().name(methodTimers.displayName).start();
+    }
+
+    private MethodTimers resolve(ProceedingJoinPoint joinPoint, Kind kind) {
+        Object proxy = joinPoint.getThis();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        ConcurrentMap<Method, MethodTimers> byMethod = timers.get(proxy.getClass());
+        if (byMethod == null) {
+            byMethod = timers.computeIfAbsent(proxy.getClass(), type -> new ConcurrentHashMap<>());
+        }
+        MethodTimers methodTimers = byMethod.get(method);
+        if (methodTimers == null) {
+            methodTimers = byMethod.computeIfAbsent(method, m -> createTimers(proxy, m, kind));
+        }
+        return methodTimers;
+    }
+
+    private MethodTimers createTimers(Object proxy, Method method, Kind kind) {
+        String typeName = ownerName(proxy, method, kind);
+        Tags tags = Tags.of(kind.typeTag, typeName, "method", method.getName());
+
+        String metricName = kind.metricName;
+        boolean histogram = percentileHistogram;
+        double[] percentiles = new double[0];
+        if (kind == Kind.TIMED) {
+            Timed timed = AnnotationUtils.findAnnotation(method, Timed.class);
+            if (timed != null) {
+                if (!timed.value().isEmpty()) {
+                    metricName = timed.value();
+                }
+                tags = tags.and(timed.extraTags());
+                histogram = histogram || timed.histogram();
+                percentiles = timed.percentiles();
+            }
+        }
+        return new MethodTimers(typeName + "." + method.getName(),
+                timer(metricName, tags.and("outcome", "success"), histogram, percentiles),
+                timer(metricName, tags.and("outcome", "error"), histogram, percentiles));
+    }
+
+    private Timer timer(String name, Tags tags, boolean histogram, double[] percentiles) {
+        Timer.Builder builder = Timer.builder(name)
+                .tags(tags)
+                .description("Method execution time")
+                .publishPercentileHistogram(histogram);
+        if (histogram) {
+            builder.maximumExpectedValue(Duration.ofSeconds(30));
+        }
+        if (percentiles.length > 0) {
+            builder.publishPercentiles(percentiles);
+        }
+        return builder.register(meterRegistry);
+    }
+
+    /**
+     * Name the type a method is called on. Spring Data repositories are all backed by the same
+     * implementation class, so they are named after their repository interface instead.
+     */
+    private static String ownerName(Object proxy, Method method, Kind kind) {
+        if (kind == Kind.REPOSITORY) {
+            for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+                if (type.getPackageName().startsWith("com.freelancer.portal.repository")) {
+                    return type.getSimpleName();
+                }
+            }
+        }
+        if (kind == Kind.SERVICE) {
+            return method.getDeclaringClass().getSimpleName();
+        }
+        return AopProxyUtils.ultimateTargetClass(proxy).getSimpleName();
+    }
+
+    private record MethodTimers(String displayName, Timer success, Timer error) {
+    }
+}
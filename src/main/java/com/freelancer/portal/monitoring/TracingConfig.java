@@ -0,0 +1,75 @@
+package com.freelancer.portal.monitoring;
+
+import brave.Tracing;
+import brave.TracingCustomizer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.freelancer.portal.monitoring.tracing.FileSpanReporter;
+import com.freelancer.portal.monitoring.tracing.InMemorySpanReporter;
+import com.freelancer.portal.monitoring.tracing.TailSamplingSpanHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.brave.bridge.CompositeSpanHandler;
+import io.micrometer.tracing.exporter.SpanExportingPredicate;
+import io.micrometer.tracing.exporter.SpanFilter;
+import io.micrometer.tracing.exporter.SpanReporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration for trace sampling and local span exporters.
+ * <p>
+ * Head sampling ({@code management.tracing.sampling.probability}) picks traces when they begin,
+ * before it is known whether they will be interesting. With tail sampling on, every span is
+ * recorded locally and {@link TailSamplingSpanHandler} exports the traces that turned out slow or
+ * failed to the {@link SpanReporter}s below. Zipkin, when configured, still receives only the
+ * head-sampled traces.
+ * </p>
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "monitoring.tracing.tail-sampling.enabled", havingValue = "true")
+    public TracingCustomizer alwaysSampleLocalCustomizer() {
+        return Tracing.Builder::alwaysSampleLocal;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "monitoring.tracing.tail-sampling.enabled", havingValue = "true")
+    public TailSamplingSpanHandler tailSamplingSpanHandler(
+            ObjectProvider<SpanExportingPredicate> predicates,
+            ObjectProvider<SpanReporter> reporters,
+            ObjectProvider<SpanFilter> filters,
+            MeterRegistry meterRegistry,
+            @Value("${monitoring.tracing.tail-sampling.slow-threshold:PT0.5S}") Duration slowThreshold,
+            @Value("${monitoring.tracing.tail-sampling.max-pending-traces:2000}") int maxPendingTraces,
+            @Value("${monitoring.tracing.tail-sampling.max-spans-per-trace:500}") int maxSpansPerTrace,
+            @Value("${monitoring.tracing.tail-sampling.max-trace-age:PT2M}") Duration maxTraceAge) {
+        // Kept traces go through the same predicates, filters and reporters as head-sampled ones
+        CompositeSpanHandler exporter = new CompositeSpanHandler(predicates.orderedStream().toList(),
+                reporters.orderedStream().toList(), filters.orderedStream().toList());
+        return new TailSamplingSpanHandler(exporter, slowThreshold, maxPendingTraces, maxSpansPerTrace,
+                maxTraceAge, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnExpression("!'${monitoring.tracing.export.file:}'.isEmpty()")
+    public FileSpanReporter fileSpanReporter(@Value("${monitoring.tracing.export.file}") String file,
+                                             ObjectMapper objectMapper) throws IOException {
+        return new FileSpanReporter(Path.of(file), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnExpression("${monitoring.tracing.export.memory-capacity:0} > 0")
+    public InMemorySpanReporter inMemorySpanReporter(
+            @Value("${monitoring.tracing.export.memory-capacity}") int capacity) {
+        return new InMemorySpanReporter(capacity);
+    }
+}
@@ -0,0 +1,29 @@
+package com.freelancer.portal.monitoring.alerting;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A notification about a rule starting to fire, still firing after its cool-down, or resolving.
+ */
+public record Alert(String rule, Severity severity, State state, double value, double threshold,
+                    Duration window, Instant timestamp) {
+
+    public enum Severity {
+        WARNING, ERROR
+    }
+
+    public enum State {
+        FIRING, RESOLVED
+    }
+
+    /**
+     * A one-line human readable summary, used by the sinks.
+     */
+    public String summary() {
+        if (state == State.RESOLVED) {
+            return String.format("RESOLVED %s: %.4g is back under %.4g (%s window)", rule, value, threshold, window);
+        }
+        return String.format("%s %s: %.4g exceeds %.4g (%s window)", severity, rule, value, threshold, window);
+    }
+}
@@ -0,0 +1,189 @@
+package com.freelancer.portal.monitoring.alerting;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Evaluates the configured alert rules against the sliding-window signals.
+ * <p>
+ * Each rule fires once when its value crosses the threshold and resolves once when it drops
+ * back, so a sustained problem produces one notification rather than one per tick. While a rule
+ * keeps firing it is repeated only after its cool-down. Windows slide with every evaluation, so a
+ * regression is reported within one window of starting and a recovery within one window of
+ * ending, however long the process has been running.
+ * </p>
+ */
+@Slf4j
+public class AlertEvaluator {
+
+    private final List<RuleState> rules;
+    private final List<AlertSink> sinks;
+    private final LongSupplier clock;
+    private final Counter firedCounter;
+    private final Counter resolvedCounter;
+
+    public AlertEvaluator(AlertProperties properties, AlertSignals signals, List<AlertSink> sinks,
+                          MeterRegistry meterRegistry, LongSupplier clock) {
+        this.sinks = sinks;
+        this.clock = clock;
+        this.rules = new ArrayList<>(properties.getRules().size());
+        for (AlertProperties.Rule rule : properties.getRules()) {
+            rules.add(new RuleState(rule, signals));
+        }
+        this.firedCounter = Counter.builder("alerts.notifications")
+                .description("Alert notifications sent")
+                .tag("state", "firing")
+                .register(meterRegistry);
+        this.resolvedCounter = Counter.builder("alerts.notifications")
+                .description("Alert notifications sent")
+                .tag("state", "resolved")
+                .register(meterRegistry);
+        Gauge.builder("alerts.firing", this, AlertEvaluator::firingCount)
+                .description("Alert rules currently firing")
+                .register(meterRegistry);
+        log.info("Alert evaluator started with {} rules and {} sinks", rules.size(), sinks.size());
+    }
+
+    /**
+     * Evaluate every rule once and notify the sinks of state changes.
+     */
+    @Scheduled(fixedRateString = "${alerts.evaluation-interval:PT15S}")
+    public void evaluate() {
+        long now = clock.getAsLong();
+        for (RuleState state : rules) {
+            try {
+                Alert alert = state.evaluate(now);
+                if (alert != null) {
+                    notifySinks(alert);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Failed to evaluate alert rule {}", state.rule.getName(), ex);
+            }
+        }
+    }
+
+    int firingCount() {
+        int firing = 0;
+        for (RuleState state : rules) {
+            if (state.firing) {
+                firing++;
+            }
+        }
+        return firing;
+    }
+
+    private void notifySinks(Alert alert) {
+        if (alert.state() == Alert.State.FIRING) {
+            firedCounter.increment();
+            log.warn("Alert: {}", alert.summary());
+        } else {
+            resolvedCounter.increment();
+            log.info("Alert: {}", alert.summary());
+        }
+        for (AlertSink sink : sinks) {
+            try {
+                sink.send(alert);
+            } catch (Exception ex) {
+                log.error("Alert sink {} failed to deliver {}", sink.getClass().getSimpleName(), alert.rule(), ex);
+            }
+        }
+    }
+
+    /**
+     * A rule with its resolved inputs and notification state. Only the evaluator thread touches it.
+     */
+    private static final class RuleState {
+
+        private final AlertProperties.Rule rule;
+        private final SlidingWindow signal;
+        private final SlidingWindow denominator;
+        private final LatencyWindow latency;
+        private final DoubleSupplier gauge;
+        private boolean firing;
+        private long lastNotified;
+
+        RuleState(AlertProperties.Rule rule, AlertSignals signals) {
+            if (rule.getName() == null || rule.getType() == null || rule.getSignal() == null) {
+                throw new IllegalArgumentException("Alert rules need a name, a type and a signal: " + rule);
+            }
+            if (rule.getWindow().compareTo(signals.horizon()) > 0) {
+                throw new IllegalArgumentException("Alert rule " + rule.getName() + " has a window longer than "
+                        + "alerts.horizon (" + signals.horizon() + ")");
+            }
+            this.rule = rule;
+            AlertProperties.Rule.Type type = rule.getType();
+            this.signal = type == AlertProperties.Rule.Type.RATE || type == AlertProperties.Rule.Type.RATIO
+                    ? signals.counter(rule.getSignal()) : null;
+            if (type == AlertProperties.Rule.Type.RATIO && rule.getDenominator() == null) {
+                throw new IllegalArgumentException("Ratio alert rule " + rule.getName() + " needs a denominator");
+            }
+            this.denominator = type == AlertProperties.Rule.Type.RATIO ? signals.counter(rule.getDenominator()) : null;
+            this.latency = type == AlertProperties.Rule.Type.PERCENTILE ? signals.latency(rule.getSignal()) : null;
+            this.gauge = type == AlertProperties.Rule.Type.GAUGE ? signals.gauge(rule.getSignal()) : null;
+            if (type == AlertProperties.Rule.Type.GAUGE && gauge == null) {
+                throw new IllegalArgumentException("Alert rule " + rule.getName() + " refers to unknown gauge "
+                        + rule.getSignal());
+            }
+        }
+
+        /**
+         * @return the alert to send, or {@code null} if nothing changed or the cool-down is running
+         */
+        Alert evaluate(long now) {
+            double value = measure(now);
+            boolean breached = !Double.isNaN(value) && value > rule.getThreshold();
+            if (breached) {
+                boolean coolingDown = firing && now - lastNotified < rule.getCoolDown().toMillis();
+                firing = true;
+                if (coolingDown) {
+                    return null;
+                }
+                lastNotified = now;
+                return alert(Alert.State.FIRING, value, now);
+            }
+            if (firing) {
+                firing = false;
+                lastNotified = now;
+                return alert(Alert.State.RESOLVED, Double.isNaN(value) ? 0 : value, now);
+            }
+            return null;
+        }
+
+        /**
+         * @return the rule's current value, or NaN when the window has too few events to judge
+         */
+        private double measure(long now) {
+            Duration window = rule.getWindow();
+            return switch (rule.getType()) {
+                case RATE -> {
+                    long events = signal.sum(now, window)[0];
+                    yield events < rule.getMinEvents() ? Double.NaN : events / (window.toMillis() / 1000.0);
+                }
+                case RATIO -> {
+                    long total = denominator.sum(now, window)[0];
+                    yield total < rule.getMinEvents() ? Double.NaN : (double) signal.sum(now, window)[0] / total;
+                }
+                case PERCENTILE -> {
+                    LatencyWindow.Snapshot snapshot = latency.snapshot(now, window, rule.getQuantile());
+                    yield snapshot.count() < rule.getMinEvents() ? Double.NaN : snapshot.millis();
+                }
+                case GAUGE -> gauge.getAsDouble();
+            };
+        }
+
+        private Alert alert(Alert.State state, double value, long now) {
+            return new Alert(rule.getName(), rule.getSeverity(), state, value, rule.getThreshold(),
+                    rule.getWindow(), Instant.ofEpochMilli(now));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.freelancer.portal.monitoring.alerting;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Alerting settings and rules, bound from {@code alerts.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "alerts")
+@Data
+public class AlertProperties {
+
+    private boolean enabled = false;
+
+    /** How often rules are evaluated; keep it well below the shortest rule window. */
+    private Duration evaluationInterval = Duration.ofSeconds(15);
+
+    /** Time resolution of the sliding windows. */
+    private Duration bucket = Duration.ofSeconds(5);
+
+    /** Longest window a rule may use. */
+    private Duration horizon = Duration.ofMinutes(15);
+
+    private Slack slack = new Slack();
+
+    private File file = new File();
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Slack {
+        /** Incoming webhook URL; the Slack sink is disabled when empty. */
+        private String webhook = "";
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class File {
+        /** File alerts are appended to as JSON lines; the file sink is disabled when empty. */
+        private String path = "";
+    }
+
+    @Data
+    public static class Rule {
+
+        public enum Type {
+            /** Events per second of {@code signal}. */
+            RATE,
+            /** Events of {@code signal} divided by events of {@code denominator}. */
+            RATIO,
+            /** The {@code quantile} of the {@code signal} latency, in milliseconds. */
+            PERCENTILE,
+            /** The current value of the {@code signal} gauge. */
+            GAUGE
+        }
+
+        private String name;
+        private Type type;
+        private String signal;
+        private String denominator;
+        private double quantile = 0.95;
+        private Duration window = Duration.ofMinutes(5);
+        /** The rule fires while the measured value is above this threshold. */
+        private double threshold;
+        /** Minimum events in the window (denominator events for ratios) before the rule can fire. */
+        private long minEvents = 1;
+        private Alert.Severity severity = Alert.Severity.WARNING;
+        /** Minimum time between repeated notifications while the rule keeps firing. */
+        private Duration coolDown = Duration.ofMinutes(15);
+    }
+}
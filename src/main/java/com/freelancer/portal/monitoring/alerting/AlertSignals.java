@@ -0,0 +1,58 @@
+package com.freelancer.portal.monitoring.alerting;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Named inputs for alert rules: event counters and latency distributions over sliding windows,
+ * and sampled gauges. Producers look a signal up once and keep the reference, so recording on
+ * the request path is a clock read and an atomic add.
+ */
+public class AlertSignals {
+
+    /** Requests handled, as counted by {@link HttpAlertSignalHandler}. */
+    public static final String HTTP_REQUESTS = "http.requests";
+    /** Requests answered with a 5xx status or failed with an exception. */
+    public static final String HTTP_ERRORS = "http.errors";
+    /** Request latency. */
+    public static final String HTTP_LATENCY = "http.latency";
+    /** Used share of the maximum heap. */
+    public static final String JVM_HEAP_USAGE = "jvm.heap.usage";
+
+    private final Duration bucket;
+    private final Duration horizon;
+    private final ConcurrentMap<String, SlidingWindow> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * @param bucket  the time resolution of every window
+     * @param horizon the longest window rules may use
+     */
+    public AlertSignals(Duration bucket, Duration horizon) {
+        this.bucket = bucket;
+        this.horizon = horizon;
+    }
+
+    public SlidingWindow counter(String name) {
+        return counters.computeIfAbsent(name, n -> new SlidingWindow(bucket, horizon, 1));
+    }
+
+    public LatencyWindow latency(String name) {
+        return latencies.computeIfAbsent(name, n -> new LatencyWindow(bucket, horizon));
+    }
+
+    public void gauge(String name, DoubleSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    DoubleSupplier gauge(String name) {
+        return gauges.get(name);
+    }
+
+    Duration horizon() {
+        return horizon;
+    }
+}
@@ -0,0 +1,9 @@
+package com.freelancer.portal.monitoring.alerting;
+
+/**
+ * Delivers alerts. Every sink bean receives every alert; a failing sink does not stop the others.
+ */
+public interface AlertSink {
+
+    void send(Alert alert) throws Exception;
+}
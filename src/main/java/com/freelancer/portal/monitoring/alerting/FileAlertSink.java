@@ -0,0 +1,51 @@
+package com.freelancer.portal.monitoring.alerting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends alerts as JSON lines to {@code alerts.file.path}, for hosts without a chat webhook or
+ * for log shippers that forward the file.
+ */
+@Component
+@ConditionalOnExpression("!'${alerts.file.path:}'.isEmpty()")
+public class FileAlertSink implements AlertSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileAlertSink(AlertProperties properties, ObjectMapper objectMapper) throws IOException {
+        this.path = Path.of(properties.getFile().getPath());
+        this.objectMapper = objectMapper;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+
+    @Override
+    public synchronized void send(Alert alert) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("timestamp", alert.timestamp().toString());
+        line.put("rule", alert.rule());
+        line.put("severity", alert.severity());
+        line.put("state", alert.state());
+        line.put("value", alert.value());
+        line.put("threshold", alert.threshold());
+        line.put("window", alert.window().toString());
+        line.put("message", alert.summary());
+        byte[] json = objectMapper.writeValueAsBytes(line);
+        byte[] record = new byte[json.length + 1];
+        System.arraycopy(json, 0, record, 0, json.length);
+        record[json.length] = '\n';
+        Files.write(path, record, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,56 @@
+package com.freelancer.portal.monitoring.alerting;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Feeds the HTTP alert signals from the {@code http.server.requests} observation, so requests
+ * are counted once, by the same instrumentation that publishes the HTTP server metrics.
+ */
+public class HttpAlertSignalHandler implements ObservationHandler<ServerRequestObservationContext> {
+
+    private static final String START_KEY = HttpAlertSignalHandler.class.getName() + ".start";
+
+    private final LongSupplier clock;
+    private final SlidingWindow requests;
+    private final SlidingWindow errors;
+    private final LatencyWindow latency;
+
+    public HttpAlertSignalHandler(AlertSignals signals, LongSupplier clock) {
+        this.clock = clock;
+        this.requests = signals.counter(AlertSignals.HTTP_REQUESTS);
+        this.errors = signals.counter(AlertSignals.HTTP_ERRORS);
+        this.latency = signals.latency(AlertSignals.HTTP_LATENCY);
+    }
+
+    @Override
+    public void onStart(ServerRequestObservationContext context) {
+        context.put(START_KEY, System.nanoTime());
+    }
+
+    @Override
+    public void onStop(ServerRequestObservationContext context) {
+        Long start = context.get(START_KEY);
+        if (start == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        requests.add(now, 0, 1);
+        latency.record(now, System.nanoTime() - start);
+        HttpServletResponse response = context.getResponse();
+        int status = response != null ? response.getStatus() : 500;
+        // An exception that escaped the handler becomes a 500 even if no status was written yet
+        if (status >= 500 || (context.getError() != null && status < 400)) {
+            errors.add(now, 0, 1);
+        }
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ServerRequestObservationContext;
+    }
+}
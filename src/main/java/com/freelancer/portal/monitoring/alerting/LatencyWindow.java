@@ -0,0 +1,64 @@
+package com.freelancer.portal.monitoring.alerting;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution over a sliding window, kept as counts per fixed bucket boundary.
+ * Percentiles are read as the upper boundary of the bucket containing the requested rank, which
+ * is exact enough to compare against thresholds chosen from the same boundaries.
+ */
+public class LatencyWindow {
+
+    /** Upper bucket boundaries in milliseconds; one more bucket counts everything slower. */
+    static final long[] BOUNDARIES_MILLIS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final SlidingWindow window;
+
+    public LatencyWindow(Duration bucket, Duration horizon) {
+        this.window = new SlidingWindow(bucket, horizon, BOUNDARIES_MILLIS.length + 1);
+    }
+
+    public void record(long nowMillis, long elapsedNanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        int index = 0;
+        while (index < BOUNDARIES_MILLIS.length && millis > BOUNDARIES_MILLIS[index]) {
+            index++;
+        }
+        window.add(nowMillis, index, 1);
+    }
+
+    /**
+     * Estimate a percentile over the last {@code duration}.
+     *
+     * @param quantile the quantile, between 0 and 1
+     * @return the sample count and the estimate in milliseconds; infinite when the rank falls
+     *         into the overflow bucket, 0 without samples
+     */
+    public Snapshot snapshot(long nowMillis, Duration duration, double quantile) {
+        long[] counts = window.sum(nowMillis, duration);
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return new Snapshot(0, 0);
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BOUNDARIES_MILLIS.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return new Snapshot(total, BOUNDARIES_MILLIS[i]);
+            }
+        }
+        return new Snapshot(total, Double.POSITIVE_INFINITY);
+    }
+
+    Duration horizon() {
+        return window.horizon();
+    }
+
+    public record Snapshot(long count, double millis) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.freelancer.portal.monitoring.alerting;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+/**
+ * Posts alerts to a Slack incoming webhook, configured with {@code alerts.slack.webhook}.
+ */
+@Component
+@ConditionalOnExpression("!'${alerts.slack.webhook:}'.isEmpty()")
+public class SlackAlertSink implements AlertSink {
+
+    private final RestTemplate restTemplate;
+    private final String webhook;
+
+    public SlackAlertSink(AlertProperties properties) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getSlack().getTimeout());
+        requestFactory.setReadTimeout(properties.getSlack().getTimeout());
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.webhook = properties.getSlack().getWebhook();
+    }
+
+    @Override
+    public void send(Alert alert) {
+        String icon = alert.state() == Alert.State.RESOLVED ? ":white_check_mark:"
+                : alert.severity() == Alert.Severity.ERROR ? ":rotating_light:" : ":warning:";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        restTemplate.postForEntity(webhook, new HttpEntity<>(Map.of("text", icon + " " + alert.summary()), headers),
+                String.class);
+    }
+}
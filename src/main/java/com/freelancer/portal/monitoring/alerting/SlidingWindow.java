@@ -0,0 +1,88 @@
+package com.freelancer.portal.monitoring.alerting;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size ring buffer of time buckets, each holding {@code width} counters.
+ * <p>
+ * Recording is lock-free: the current bucket is found from the clock, reset by the first writer
+ * that sees it still holding an older epoch, and incremented atomically. Increments racing with
+ * that reset can be lost, which only matters for the few events landing exactly at a bucket
+ * boundary. Reading sums the buckets of the requested window whose epoch is still current, so
+ * stale buckets never need sweeping and memory stays constant however much traffic arrives.
+ * </p>
+ */
+public class SlidingWindow {
+
+    private final long bucketMillis;
+    private final int buckets;
+    private final int width;
+    private final AtomicLongArray epochs;
+    private final AtomicLongArray counts;
+
+    /**
+     * @param bucket  the time resolution
+     * @param horizon the longest window that can be read
+     * @param width   the number of counters per bucket
+     */
+    public SlidingWindow(Duration bucket, Duration horizon, int width) {
+        this.bucketMillis = bucket.toMillis();
+        if (bucketMillis <= 0 || horizon.toMillis() < bucketMillis) {
+            throw new IllegalArgumentException("The horizon must span at least one positive bucket");
+        }
+        // One extra bucket so a full horizon is readable while the current bucket is partly filled
+        this.buckets = (int) (horizon.toMillis() / bucketMillis) + 1;
+        this.width = width;
+        this.epochs = new AtomicLongArray(buckets);
+        this.counts = new AtomicLongArray(buckets * width);
+        for (int i = 0; i < buckets; i++) {
+            epochs.set(i, -1);
+        }
+    }
+
+    /**
+     * Add to one counter of the bucket covering {@code nowMillis}.
+     */
+    public void add(long nowMillis, int index, long delta) {
+        long epoch = nowMillis / bucketMillis;
+        int slot = (int) (epoch % buckets);
+        long seen = epochs.get(slot);
+        if (seen < epoch && epochs.compareAndSet(slot, seen, epoch)) {
+            int base = slot * width;
+            for (int i = 0; i < width; i++) {
+                counts.set(base + i, 0);
+            }
+        }
+        counts.addAndGet(slot * width + index, delta);
+    }
+
+    /**
+     * Sum each counter over the buckets of the last {@code window}, including the current one.
+     *
+     * @return one total per counter index
+     */
+    public long[] sum(long nowMillis, Duration window) {
+        long current = nowMillis / bucketMillis;
+        int span = (int) Math.min(buckets, Math.max(1, window.toMillis() / bucketMillis));
+        long[] totals = new long[width];
+        for (int i = 0; i < span; i++) {
+            long epoch = current - i;
+            int slot = (int) (epoch % buckets);
+            if (epochs.get(slot) == epoch) {
+                int base = slot * width;
+                for (int j = 0; j < width; j++) {
+                    totals[j] += counts.get(base + j);
+                }
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * The longest window this buffer can answer for.
+     */
+    public Duration horizon() {
+        return Duration.ofMillis((buckets - 1) * bucketMillis);
+    }
+}
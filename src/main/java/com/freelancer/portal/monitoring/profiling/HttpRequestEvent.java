@@ -0,0 +1,37 @@
+package com.freelancer.portal.monitoring.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event spanning one HTTP request on the thread that served it, committed by
+ * {@link com.freelancer.portal.logging.RequestLoggingFilter}. Samples taken on that thread during
+ * the event belong to the request, which is how recordings are narrowed to one correlation ID.
+ */
+@Name(HttpRequestEvent.NAME)
+@Label("HTTP Request")
+@Category({"Freelancer Portal", "HTTP"})
+@Description("An HTTP request handled by the application")
+@StackTrace(false)
+@Threshold("100 ms")
+public class HttpRequestEvent extends Event {
+
+    public static final String NAME = "com.freelancer.portal.HttpRequest";
+
+    @Label("Correlation ID")
+    public String correlationId;
+
+    @Label("Method")
+    public String method;
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,33 @@
+package com.freelancer.portal.monitoring.profiling;
+
+import com.freelancer.portal.monitoring.sql.StatementExecutionListener;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event spanning the execution of one JDBC statement or batch on the application data source,
+ * with the SQL text and the correlation ID of the request that issued it. Emitted by
+ * {@link StatementExecutionListener}.
+ */
+@Name(JdbcStatementEvent.NAME)
+@Label("JDBC Statement")
+@Category({"Freelancer Portal", "JDBC"})
+@Description("Execution of a JDBC statement on the application data source")
+@Threshold("50 ms")
+public class JdbcStatementEvent extends Event {
+
+    public static final String NAME = "com.freelancer.portal.JdbcStatement";
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Batch")
+    public boolean batch;
+
+    @Label("Correlation ID")
+    public String correlationId;
+}
@@ -0,0 +1,231 @@
+package com.freelancer.portal.monitoring.profiling;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Owns the Java Flight Recorder recordings of the application.
+ * <p>
+ * A rolling recording with the JDK {@code default} settings runs from startup, keeping the last
+ * {@code monitoring.profiling.continuous.max-age} on disk, so a slowdown can be looked at after
+ * the fact. It also keeps requests slower than 100ms and statements slower than 50ms. On-demand
+ * recordings use a {@link ProfilingPreset} and stop by themselves after their duration; stopped
+ * recordings are kept for download until discarded or pushed out by newer ones.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "monitoring.profiling.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class JfrRecordingManager {
+
+    static final String CONTINUOUS = "continuous";
+
+    /**
+     * @param preset   the preset name, or {@value #CONTINUOUS} for the rolling recording
+     * @param duration the configured length; null for the rolling recording
+     * @param size     bytes recorded so far
+     */
+    public record RecordingInfo(long id, String name, String preset, RecordingState state, Instant startTime,
+                                Duration duration, long size) {
+    }
+
+    private record Managed(Recording recording, String preset) {
+    }
+
+    private final boolean continuousEnabled;
+    private final Duration continuousMaxAge;
+    private final long continuousMaxSizeBytes;
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final int maxRecordings;
+    /** Guarded by {@code this}; insertion order is start order. */
+    private final Map<Long, Managed> recordings = new LinkedHashMap<>();
+
+    public JfrRecordingManager(
+            @Value("${monitoring.profiling.continuous.enabled:true}") boolean continuousEnabled,
+            @Value("${monitoring.profiling.continuous.max-age:PT30M}") Duration continuousMaxAge,
+            @Value("${monitoring.profiling.continuous.max-size-mb:100}") long continuousMaxSizeMb,
+            @Value("${monitoring.profiling.default-duration:PT1M}") Duration defaultDuration,
+            @Value("${monitoring.profiling.max-duration:PT15M}") Duration maxDuration,
+            @Value("${monitoring.profiling.max-recordings:4}") int maxRecordings) {
+        this.continuousEnabled = continuousEnabled;
+        this.continuousMaxAge = continuousMaxAge;
+        this.continuousMaxSizeBytes = continuousMaxSizeMb * 1024 * 1024;
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxRecordings = maxRecordings;
+    }
+
+    @PostConstruct
+    public void startContinuous() {
+        if (!continuousEnabled) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Java Flight Recorder is not available, the continuous recording is disabled");
+            return;
+        }
+        Map<String, String> settings = ProfilingPreset.defaultSettings();
+        settings.put(HttpRequestEvent.NAME + "#enabled", "true");
+        settings.put(HttpRequestEvent.NAME + "#threshold", "100 ms");
+        settings.put(JdbcStatementEvent.NAME + "#enabled", "true");
+        settings.put(JdbcStatementEvent.NAME + "#threshold", "50 ms");
+
+        Recording recording = new Recording(settings);
+        recording.setName("freelancer-portal-" + CONTINUOUS);
+        recording.setToDisk(true);
+        recording.setMaxAge(continuousMaxAge);
+        recording.setMaxSize(continuousMaxSizeBytes);
+        recording.start();
+        synchronized (this) {
+            recordings.put(recording.getId(), new Managed(recording, CONTINUOUS));
+        }
+        log.info("Started continuous JFR recording {} keeping the last {}", recording.getId(), continuousMaxAge);
+    }
+
+    @PreDestroy
+    public synchronized void closeAll() {
+        recordings.values().forEach(managed -> managed.recording().close());
+        recordings.clear();
+    }
+
+    /**
+     * Start an on-demand recording. When the retention limit is reached, the oldest stopped
+     * recording is discarded to make room.
+     *
+     * @param duration how long to record; {@code monitoring.profiling.default-duration} when null
+     * @throws IllegalArgumentException if the duration is out of range
+     * @throws IllegalStateException    if the limit is reached and every recording is still running
+     */
+    public synchronized RecordingInfo start(ProfilingPreset preset, Duration duration) {
+        Duration length = duration != null ? duration : defaultDuration;
+        if (length.isNegative() || length.isZero() || length.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("The duration must be positive and at most " + maxDuration);
+        }
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Java Flight Recorder is not available in this JVM");
+        }
+        makeRoom();
+
+        Recording recording = new Recording(preset.settings());
+        recording.setName("freelancer-portal-" + preset.name().toLowerCase(Locale.ROOT));
+        recording.setToDisk(true);
+        recording.setDuration(length);
+        recording.start();
+        Managed managed = new Managed(recording, preset.name());
+        recordings.put(recording.getId(), managed);
+        log.info("Started {} JFR recording {} for {}", preset, recording.getId(), length);
+        return info(managed);
+    }
+
+    public synchronized List<RecordingInfo> list() {
+        List<RecordingInfo> infos = new ArrayList<>(recordings.size());
+        recordings.values().forEach(managed -> infos.add(info(managed)));
+        return infos;
+    }
+
+    /**
+     * Stop an on-demand recording early and keep its data for download.
+     *
+     * @return the stopped recording, or empty if the ID is unknown
+     */
+    public synchronized Optional<RecordingInfo> stop(long id) {
+        Managed managed = onDemand(id);
+        if (managed == null) {
+            return Optional.empty();
+        }
+        if (managed.recording().getState() == RecordingState.RUNNING) {
+            managed.recording().stop();
+        }
+        return Optional.of(info(managed));
+    }
+
+    /**
+     * Stop and delete an on-demand recording.
+     *
+     * @return whether the recording existed
+     */
+    public synchronized boolean discard(long id) {
+        Managed managed = onDemand(id);
+        if (managed == null) {
+            return false;
+        }
+        recordings.remove(id);
+        managed.recording().close();
+        return true;
+    }
+
+    /**
+     * Write the data recorded so far to a new temporary file, which the caller must delete.
+     *
+     * @return the file, or empty if the ID is unknown
+     */
+    public Optional<Path> dump(long id) throws IOException {
+        Recording recording;
+        synchronized (this) {
+            Managed managed = recordings.get(id);
+            if (managed == null) {
+                return Optional.empty();
+            }
+            recording = managed.recording();
+        }
+        Path file = Files.createTempFile("freelancer-portal-" + id + "-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+        return Optional.of(file);
+    }
+
+    private Managed onDemand(long id) {
+        Managed managed = recordings.get(id);
+        if (managed != null && CONTINUOUS.equals(managed.preset())) {
+            throw new IllegalArgumentException("The continuous recording cannot be stopped or discarded; "
+                    + "set monitoring.profiling.continuous.enabled=false instead");
+        }
+        return managed;
+    }
+
+    private void makeRoom() {
+        List<Managed> onDemand = recordings.values().stream()
+                .filter(managed -> !CONTINUOUS.equals(managed.preset()))
+                .toList();
+        if (onDemand.size() < maxRecordings) {
+            return;
+        }
+        Managed oldestStopped = onDemand.stream()
+                .filter(managed -> managed.recording().getState() != RecordingState.RUNNING)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        maxRecordings + " recordings are already running; stop or discard one first"));
+        recordings.remove(oldestStopped.recording().getId());
+        oldestStopped.recording().close();
+    }
+
+    private static RecordingInfo info(Managed managed) {
+        Recording recording = managed.recording();
+        return new RecordingInfo(recording.getId(), recording.getName(), managed.preset(), recording.getState(),
+                recording.getStartTime(), recording.getDuration(), recording.getSize());
+    }
+}
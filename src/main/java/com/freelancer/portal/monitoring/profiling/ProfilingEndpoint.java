@@ -0,0 +1,118 @@
+package com.freelancer.portal.monitoring.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * {@code /actuator/profiling}: starts, stops and downloads JFR recordings. Restricted to admins
+ * in {@link com.freelancer.portal.security.SecurityConfig}.
+ * <ul>
+ *     <li>{@code GET /actuator/profiling} lists the recordings, the continuous one included</li>
+ *     <li>{@code POST /actuator/profiling} with {@code {"preset": "CPU", "duration": "2m"}} starts one</li>
+ *     <li>{@code GET /actuator/profiling/{id}?top=20&correlationId=...} returns a {@link RecordingSummary}</li>
+ *     <li>{@code GET /actuator/profiling/{id}/jfr} downloads the recording for JDK Mission Control</li>
+ *     <li>{@code POST /actuator/profiling/{id}} stops a recording early</li>
+ *     <li>{@code DELETE /actuator/profiling/{id}} discards it</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "profiling")
+@ConditionalOnProperty(name = "monitoring.profiling.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ProfilingEndpoint {
+
+    private static final int DEFAULT_TOP = 20;
+    private static final int MAX_TOP = 200;
+
+    private final JfrRecordingManager recordingManager;
+
+    @ReadOperation
+    public List<JfrRecordingManager.RecordingInfo> recordings() {
+        return recordingManager.list();
+    }
+
+    @WriteOperation
+    public JfrRecordingManager.RecordingInfo start(@Nullable String preset, @Nullable Duration duration) {
+        ProfilingPreset profile;
+        try {
+            profile = preset != null ? ProfilingPreset.valueOf(preset.toUpperCase(Locale.ROOT)) : ProfilingPreset.CPU;
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEndpointRequestException("Unknown preset " + preset, "Unknown preset");
+        }
+        try {
+            return recordingManager.start(profile, duration);
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+        }
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<RecordingSummary> summary(@Selector long id, @Nullable Integer top,
+                                                         @Nullable String correlationId) throws IOException {
+        Optional<Path> file = recordingManager.dump(id);
+        if (file.isEmpty()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        int limit = top != null ? Math.max(1, Math.min(top, MAX_TOP)) : DEFAULT_TOP;
+        try {
+            return new WebEndpointResponse<>(RecordingSummary.of(file.get(), limit, correlationId));
+        } finally {
+            Files.deleteIfExists(file.get());
+        }
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector long id, @Selector String format) throws IOException {
+        if (!"jfr".equals(format)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Optional<Path> file = recordingManager.dump(id);
+        if (file.isEmpty()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        // The temporary dump is deleted as soon as the response has been streamed
+        return new WebEndpointResponse<>(new InputStreamResource(
+                Files.newInputStream(file.get(), StandardOpenOption.DELETE_ON_CLOSE)));
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<JfrRecordingManager.RecordingInfo> stop(@Selector long id) {
+        try {
+            return recordingManager.stop(id)
+                    .map(WebEndpointResponse::new)
+                    .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+        }
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Void> discard(@Selector long id) {
+        try {
+            return new WebEndpointResponse<>(recordingManager.discard(id)
+                    ? WebEndpointResponse.STATUS_NO_CONTENT : WebEndpointResponse.STATUS_NOT_FOUND);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+        }
+    }
+}
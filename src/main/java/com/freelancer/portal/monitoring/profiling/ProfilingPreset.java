@@ -0,0 +1,76 @@
+package com.freelancer.portal.monitoring.profiling;
+
+import jdk.jfr.Configuration;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JFR settings for on-demand recordings. Every preset starts from the JDK {@code default}
+ * configuration (about 1% overhead), turns up the events it is about and records every HTTP
+ * request so samples can be attributed to correlation IDs.
+ */
+public enum ProfilingPreset {
+
+    /** Method samples every 10ms, for "where does the time go". */
+    CPU(Map.of(
+            "jdk.ExecutionSample#enabled", "true",
+            "jdk.ExecutionSample#period", "10 ms",
+            "jdk.NativeMethodSample#enabled", "true",
+            "jdk.NativeMethodSample#period", "20 ms")),
+
+    /** Sampled allocations with stack traces, for allocation hot spots and GC pressure. */
+    ALLOCATION(Map.of(
+            "jdk.ObjectAllocationSample#enabled", "true",
+            "jdk.ObjectAllocationSample#throttle", "500/s",
+            "jdk.ObjectAllocationSample#stackTrace", "true")),
+
+    /** Monitor and park waits above 1ms, for lock contention and pool exhaustion. */
+    LOCKS(Map.of(
+            "jdk.JavaMonitorEnter#enabled", "true",
+            "jdk.JavaMonitorEnter#threshold", "1 ms",
+            "jdk.JavaMonitorWait#enabled", "true",
+            "jdk.JavaMonitorWait#threshold", "1 ms",
+            "jdk.ThreadPark#enabled", "true",
+            "jdk.ThreadPark#threshold", "1 ms")),
+
+    /** Every Hibernate statement execution plus socket reads and writes above 1ms. */
+    JDBC(Map.of(
+            JdbcStatementEvent.NAME + "#enabled", "true",
+            JdbcStatementEvent.NAME + "#threshold", "0 ms",
+            JdbcStatementEvent.NAME + "#stackTrace", "true",
+            "jdk.SocketRead#enabled", "true",
+            "jdk.SocketRead#threshold", "1 ms",
+            "jdk.SocketWrite#enabled", "true",
+            "jdk.SocketWrite#threshold", "1 ms"));
+
+    private final Map<String, String> overrides;
+
+    ProfilingPreset(Map<String, String> overrides) {
+        this.overrides = overrides;
+    }
+
+    /**
+     * @return the complete JFR settings of this preset
+     */
+    public Map<String, String> settings() {
+        Map<String, String> settings = defaultSettings();
+        settings.put(HttpRequestEvent.NAME + "#enabled", "true");
+        settings.put(HttpRequestEvent.NAME + "#threshold", "0 ms");
+        settings.putAll(overrides);
+        return settings;
+    }
+
+    /**
+     * @return a mutable copy of the JDK {@code default} configuration
+     */
+    static Map<String, String> defaultSettings() {
+        try {
+            return new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        } catch (IOException | ParseException ex) {
+            throw new IllegalStateException("The JDK default JFR configuration is not readable", ex);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.freelancer.portal.monitoring.profiling;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Top-N summary of a JFR recording, small enough to read as JSON without JDK Mission Control.
+ * <p>
+ * {@code hotMethods} counts execution samples by their top frame and {@code hotApplicationMethods}
+ * by the innermost application frame, with {@code value} as the share of samples in percent.
+ * {@code allocationSites} sums sampled allocation weight in bytes per class and site,
+ * {@code lockContention} sums blocked milliseconds per monitor and site (only for threads running
+ * application code, so idle pool threads do not count), and {@code jdbcStatements} sums
+ * execution milliseconds per SQL. Which of these are filled depends on the recording's preset.
+ * </p>
+ * <p>
+ * With a correlation ID, only the events of that request are counted: samples taken on the
+ * request's thread while its {@link HttpRequestEvent} was open, and statements tagged with the ID.
+ * </p>
+ */
+public record RecordingSummary(Instant start, Instant end, String correlationId, long executionSamples,
+                               List<Hotspot> hotMethods, List<Hotspot> hotApplicationMethods,
+                               List<Hotspot> allocationSites, List<Hotspot> lockContention,
+                               List<Hotspot> jdbcStatements, List<Request> slowestRequests) {
+
+    private static final String APPLICATION_PACKAGE = "com.freelancer.portal.";
+    private static final int MAX_SQL_LENGTH = 500;
+
+    public record Hotspot(String name, long count, double value) {
+    }
+
+    public record Request(String correlationId, String method, String uri, int status, double millis,
+                          Instant start) {
+    }
+
+    /**
+     * Summarize a recording file.
+     *
+     * @param top           the maximum entries per list
+     * @param correlationId only count events of this request, or null for all
+     */
+    public static RecordingSummary of(Path file, int top, String correlationId) throws IOException {
+        List<Span> spans = correlationId != null ? requestSpans(file, correlationId) : null;
+        Aggregator aggregator = new Aggregator(spans, correlationId);
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                aggregator.accept(recording.readEvent());
+            }
+        }
+        return aggregator.summary(top);
+    }
+
+    private record Span(long threadId, Instant start, Instant end) {
+
+        boolean contains(RecordedThread thread, Instant time) {
+            return thread != null && thread.getJavaThreadId() == threadId
+                    && !time.isBefore(start) && !time.isAfter(end);
+        }
+    }
+
+    private static List<Span> requestSpans(Path file, String correlationId) throws IOException {
+        List<Span> spans = new ArrayList<>();
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                if (HttpRequestEvent.NAME.equals(event.getEventType().getName())
+                        && correlationId.equals(event.getString("correlationId")) && event.getThread() != null) {
+                    spans.add(new Span(event.getThread().getJavaThreadId(), event.getStartTime(), event.getEndTime()));
+                }
+            }
+        }
+        return spans;
+    }
+
+    private static final class Aggregator {
+
+        private final List<Span> spans;
+        private final String correlationId;
+        private final Map<String, long[]> topFrames = new HashMap<>();
+        private final Map<String, long[]> applicationFrames = new HashMap<>();
+        private final Map<String, long[]> allocations = new HashMap<>();
+        private final Map<String, long[]> locks = new HashMap<>();
+        private final Map<String, long[]> statements = new HashMap<>();
+        private final List<Request> requests = new ArrayList<>();
+        private Instant start;
+        private Instant end;
+        private long samples;
+
+        Aggregator(List<Span> spans, String correlationId) {
+            this.spans = spans;
+            this.correlationId = correlationId;
+        }
+
+        void accept(RecordedEvent event) {
+            Instant time = event.getStartTime();
+            if (start == null || time.isBefore(start)) {
+                start = time;
+            }
+            if (end == null || event.getEndTime().isAfter(end)) {
+                end = event.getEndTime();
+            }
+            switch (event.getEventType().getName()) {
+                case "jdk.ExecutionSample" -> {
+                    if (matches(event.getThread("sampledThread"), time)) {
+                        samples++;
+                        add(topFrames, frameName(topFrame(event.getStackTrace())), 1);
+                        add(applicationFrames, frameName(applicationFrame(event.getStackTrace())), 1);
+                    }
+                }
+                case "jdk.ObjectAllocationSample" -> {
+                    if (matches(event.getThread(), time)) {
+                        add(allocations, className(event.getClass("objectClass")) + " @ " + site(event),
+                                event.getLong("weight"));
+                    }
+                }
+                case "jdk.JavaMonitorEnter", "jdk.JavaMonitorWait" -> lock(event, event.getClass("monitorClass"));
+                case "jdk.ThreadPark" -> lock(event, event.getClass("parkedClass"));
+                case JdbcStatementEvent.NAME -> {
+                    if (correlationId == null || correlationId.equals(event.getString("correlationId"))) {
+                        add(statements, truncate(event.getString("sql")), event.getDuration().toNanos());
+                    }
+                }
+                case HttpRequestEvent.NAME -> {
+                    if (correlationId == null || correlationId.equals(event.getString("correlationId"))) {
+                        requests.add(new Request(event.getString("correlationId"), event.getString("method"),
+                                event.getString("uri"), event.getInt("status"),
+                                event.getDuration().toNanos() / 1e6, event.getStartTime()));
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        RecordingSummary summary(int top) {
+            requests.sort(Comparator.comparingDouble(Request::millis).reversed());
+            return new RecordingSummary(start, end, correlationId, samples,
+                    rank(topFrames, top, 100.0 / Math.max(1, samples)),
+                    rank(applicationFrames, top, 100.0 / Math.max(1, samples)),
+                    rank(allocations, top, 1),
+                    rank(locks, top, 1e-6),
+                    rank(statements, top, 1e-6),
+                    requests.subList(0, Math.min(top, requests.size())));
+        }
+
+        private void lock(RecordedEvent event, RecordedClass monitor) {
+            RecordedFrame site = applicationFrame(event.getStackTrace());
+            if (site != null && matches(event.getThread(), event.getStartTime())) {
+                add(locks, event.getEventType().getName().substring("jdk.".length()) + " " + className(monitor)
+                        + " @ " + frameName(site), event.getDuration().toNanos());
+            }
+        }
+
+        private boolean matches(RecordedThread thread, Instant time) {
+            if (spans == null) {
+                return true;
+            }
+            for (Span span : spans) {
+                if (span.contains(thread, time)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String site(RecordedEvent event) {
+            RecordedFrame frame = applicationFrame(event.getStackTrace());
+            return frameName(frame != null ? frame : topFrame(event.getStackTrace()));
+        }
+
+        private static void add(Map<String, long[]> totals, String key, long value) {
+            if (key == null) {
+                return;
+            }
+            long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+            total[0]++;
+            total[1] += value;
+        }
+
+        private static List<Hotspot> rank(Map<String, long[]> totals, int top, double scale) {
+            return totals.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[1]).reversed())
+                    .limit(top)
+                    .map(e -> new Hotspot(e.getKey(), e.getValue()[0], e.getValue()[1] * scale))
+                    .toList();
+        }
+    }
+
+    private static RecordedFrame topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return null;
+        }
+        return stackTrace.getFrames().get(0);
+    }
+
+    private static RecordedFrame applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            RecordedMethod method = frame.getMethod();
+            if (method != null) {
+                String type = method.getType().getName();
+                if (type.startsWith(APPLICATION_PACKAGE) && !type.contains("$$")) {
+                    return frame;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String frameName(RecordedFrame frame) {
+        if (frame == null || frame.getMethod() == null) {
+            return null;
+        }
+        RecordedMethod method = frame.getMethod();
+        return method.getType().getName() + "." + method.getName();
+    }
+
+    private static String className(RecordedClass type) {
+        return type != null ? type.getName() : "unknown";
+    }
+
+    private static String truncate(String sql) {
+        String text = Objects.requireNonNullElse(sql, "unknown");
+        return text.length() > MAX_SQL_LENGTH ? text.substring(0, MAX_SQL_LENGTH) + "..." : text;
+    }
+}
@@ -0,0 +1,86 @@
+package com.freelancer.portal.monitoring.sql;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@code /actuator/slowqueries}: the slowest statement shapes since startup. Restricted to admins
+ * in {@link com.freelancer.portal.security.SecurityConfig}.
+ * <ul>
+ *     <li>{@code GET /actuator/slowqueries?top=20} returns the top SQL shapes by maximum execution
+ *     time from the {@link SlowQueryLog}, the top HQL queries from Hibernate's query statistics,
+ *     and the recent executions over the threshold</li>
+ *     <li>{@code DELETE /actuator/slowqueries} clears the slow query log; Hibernate's statistics
+ *     are left alone because the published counters are read from them</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueriesEndpoint {
+
+    private static final int DEFAULT_TOP = 20;
+    private static final int MAX_TOP = 200;
+
+    private final SlowQueryLog slowQueryLog;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @ReadOperation
+    public SlowQueryReport report(@Nullable Integer top) {
+        int limit = top != null ? Math.max(1, Math.min(top, MAX_TOP)) : DEFAULT_TOP;
+        return new SlowQueryReport(slowQueryLog.threshold(), slowQueryLog.untrackedExecutions(),
+                slowQueryLog.slowest(limit), slowestHql(limit), slowQueryLog.recent());
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryLog.clear();
+    }
+
+    private List<HqlSummary> slowestHql(int limit) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return List.of();
+        }
+        String[] queries = statistics.getQueries();
+        return Arrays.stream(queries)
+                .map(hql -> summarize(hql, statistics.getQueryStatistics(hql)))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingLong(HqlSummary::maxMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static HqlSummary summarize(String hql, QueryStatistics statistics) {
+        if (statistics == null || statistics.getExecutionCount() == 0) {
+            return null;
+        }
+        return new HqlSummary(SlowQueryLog.normalize(hql), statistics.getExecutionCount(),
+                statistics.getExecutionAvgTime(), statistics.getExecutionMaxTime(), statistics.getExecutionRowCount());
+    }
+
+    /**
+     * Timings of one HQL or criteria query, in milliseconds as Hibernate measures them.
+     */
+    public record HqlSummary(String shape, long calls, long avgMs, long maxMs, long rows) {
+    }
+
+    public record SlowQueryReport(Duration threshold, long untrackedExecutions,
+                                  List<SlowQueryLog.ShapeSummary> slowestSql, List<HqlSummary> slowestHql,
+                                  List<SlowQueryLog.SlowExecution> recent) {
+    }
+}
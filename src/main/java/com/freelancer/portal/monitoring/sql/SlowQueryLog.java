@@ -0,0 +1,220 @@
+package com.freelancer.portal.monitoring.sql;
+
+import com.freelancer.portal.logging.RequestLoggingFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Aggregates JDBC statement executions by normalized shape and keeps the most recent slow ones.
+ * <p>
+ * {@link StatementExecutionListener} reports every execution through {@link #recordExecution}.
+ * Each distinct SQL string is normalized once (whitespace collapsed, literals and padded
+ * {@code IN} lists replaced) and then found again by a map lookup, so the cost per statement is
+ * a hash lookup and a few atomic adds. At most {@code max-shapes} shapes are tracked; statements
+ * of further shapes are only counted as untracked. Executions slower than {@code threshold} are
+ * also written to a ring buffer of {@code capacity} entries with the request's correlation ID.
+ * </p>
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.?])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_SHAPE_LENGTH = 2000;
+
+    /** The instance statement executions are reported to; null while the application is down. */
+    private static volatile SlowQueryLog active;
+
+    private final long thresholdNanos;
+    private final int maxShapes;
+    private final AtomicReferenceArray<SlowExecution> recent;
+    private final AtomicLong recentIndex = new AtomicLong();
+    private final ConcurrentMap<String, ShapeStats> byShape = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ShapeStats> bySql = new ConcurrentHashMap<>();
+    private final LongAdder slowExecutions = new LongAdder();
+    private final LongAdder untracked = new LongAdder();
+
+    public SlowQueryLog(
+            @Value("${monitoring.slow-queries.threshold:PT0.2S}") Duration threshold,
+            @Value("${monitoring.slow-queries.capacity:200}") int capacity,
+            @Value("${monitoring.slow-queries.max-shapes:1000}") int maxShapes,
+            MeterRegistry meterRegistry) {
+        if (capacity <= 0 || maxShapes <= 0) {
+            throw new IllegalArgumentException("The slow query capacity and max shapes must be positive");
+        }
+        this.thresholdNanos = threshold.toNanos();
+        this.maxShapes = maxShapes;
+        this.recent = new AtomicReferenceArray<>(capacity);
+        FunctionCounter.builder("sql.statements.slow", slowExecutions, LongAdder::sum)
+                .description("JDBC statement executions slower than monitoring.slow-queries.threshold")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void activate() {
+        active = this;
+    }
+
+    @PreDestroy
+    void deactivate() {
+        if (active == this) {
+            active = null;
+        }
+    }
+
+    /**
+     * Report one statement execution to the active log, if any.
+     */
+    static void recordExecution(String sql, long elapsedNanos) {
+        SlowQueryLog log = active;
+        if (log != null && sql != null) {
+            log.record(sql, elapsedNanos);
+        }
+    }
+
+    void record(String sql, long elapsedNanos) {
+        ShapeStats stats = bySql.get(sql);
+        if (stats == null) {
+            stats = resolve(sql);
+            if (stats == null) {
+                untracked.increment();
+                return;
+            }
+        }
+        stats.calls.increment();
+        stats.totalNanos.add(elapsedNanos);
+        stats.maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        if (elapsedNanos >= thresholdNanos) {
+            stats.slowCalls.increment();
+            slowExecutions.increment();
+            SlowExecution execution = new SlowExecution(Instant.now(), stats.shape, elapsedNanos / 1e6,
+                    MDC.get(RequestLoggingFilter.CORRELATION_ID_KEY));
+            recent.set((int) (recentIndex.getAndIncrement() % recent.length()), execution);
+        }
+    }
+
+    private ShapeStats resolve(String sql) {
+        String shape = normalize(sql);
+        ShapeStats stats = byShape.get(shape);
+        if (stats == null) {
+            if (byShape.size() >= maxShapes) {
+                return null;
+            }
+            stats = byShape.computeIfAbsent(shape, ShapeStats::new);
+        }
+        // Distinct strings per shape are few (IN padding, literals in native queries), but bounded anyway
+        if (bySql.size() < maxShapes * 4) {
+            bySql.putIfAbsent(sql, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Reduce a statement to its shape: literals become {@code ?}, bind lists in {@code IN} become
+     * one {@code (?...)} and whitespace is collapsed.
+     */
+    public static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) + "..." : shape;
+    }
+
+    /**
+     * The {@code top} shapes with the highest maximum execution time.
+     */
+    public List<ShapeSummary> slowest(int top) {
+        return byShape.values().stream()
+                .map(ShapeStats::summary)
+                .sorted(Comparator.comparingDouble(ShapeSummary::maxMs).reversed())
+                .limit(top)
+                .toList();
+    }
+
+    /**
+     * The executions over the threshold still in the ring buffer, newest first.
+     */
+    public List<SlowExecution> recent() {
+        long end = recentIndex.get();
+        int length = recent.length();
+        List<SlowExecution> executions = new ArrayList<>(length);
+        for (long i = end - 1; i >= Math.max(0, end - length); i--) {
+            SlowExecution execution = recent.get((int) (i % length));
+            if (execution != null) {
+                executions.add(execution);
+            }
+        }
+        return executions;
+    }
+
+    public Duration threshold() {
+        return Duration.ofNanos(thresholdNanos);
+    }
+
+    public long untrackedExecutions() {
+        return untracked.sum();
+    }
+
+    /**
+     * Forget all shapes and slow executions.
+     */
+    public void clear() {
+        bySql.clear();
+        byShape.clear();
+        for (int i = 0; i < recent.length(); i++) {
+            recent.set(i, null);
+        }
+        untracked.reset();
+    }
+
+    /**
+     * Statistics of one statement shape since startup or the last {@link #clear()}.
+     */
+    public record ShapeSummary(String shape, long calls, long slowCalls, double avgMs, double maxMs) {
+    }
+
+    /**
+     * One execution over the threshold.
+     */
+    public record SlowExecution(Instant timestamp, String shape, double durationMs, String correlationId) {
+    }
+
+    private static final class ShapeStats {
+
+        private final String shape;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private ShapeStats(String shape) {
+            this.shape = shape;
+        }
+
+        private ShapeSummary summary() {
+            long count = calls.sum();
+            return new ShapeSummary(shape, count, slowCalls.sum(),
+                    count == 0 ? 0 : totalNanos.sum() / 1e6 / count, maxNanos.get() / 1e6);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.freelancer.portal.monitoring.sql;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the maximum number of SQL statements a controller endpoint may issue per request,
+ * including the statements of the security filters. Requests over budget are logged and
+ * counted; with {@code monitoring.sql.budget.enforce=true}, as in tests, they fail with a
+ * {@link SqlBudgetExceededException}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlBudget {
+
+    /**
+     * @return the maximum number of statements per request
+     */
+    int value();
+}
@@ -0,0 +1,12 @@
+package com.freelancer.portal.monitoring.sql;
+
+/**
+ * Thrown when an endpoint issues more SQL statements than its {@link SqlBudget} allows and
+ * budgets are enforced.
+ */
+public class SqlBudgetExceededException extends IllegalStateException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,141 @@
+package com.freelancer.portal.monitoring.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Counts the SQL statements each request issues and attributes them to the matched endpoint.
+ * <p>
+ * Per request it records the statement count in the {@code http.server.requests.sql.statements}
+ * distribution, tagged with method and URI pattern. Statement shapes issued at least
+ * {@code monitoring.sql.repeated-statement-threshold} times within one request are logged as
+ * possible N+1 patterns and counted as {@code sql.statements.repeated}. Endpoints annotated with
+ * {@link SqlBudget} are checked against their budget.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final String UNMAPPED = "UNMAPPED";
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int repeatedStatementThreshold;
+    private final boolean enforceBudgets;
+    private final ConcurrentMap<String, EndpointMeters> endpointMeters = new ConcurrentHashMap<>();
+
+    public SqlStatementBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${monitoring.sql.enabled:true}") boolean enabled,
+            @Value("${monitoring.sql.repeated-statement-threshold:5}") int repeatedStatementThreshold,
+            @Value("${monitoring.sql.budget.enforce:false}") boolean enforceBudgets) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+        this.enforceBudgets = enforceBudgets;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementTracker.Statements statements = SqlStatementTracker.begin();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            SqlStatementTracker.end();
+            // Never mask an exception already on its way out
+            evaluate(request, statements, completed && enforceBudgets);
+        }
+    }
+
+    private void evaluate(HttpServletRequest request, SqlStatementTracker.Statements statements, boolean enforce) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNMAPPED;
+        String endpoint = request.getMethod() + " " + uri;
+        EndpointMeters meters = endpointMeters.computeIfAbsent(endpoint,
+                key -> new EndpointMeters(request.getMethod(), uri));
+
+        int total = statements.total();
+        meters.statements.record(total);
+
+        List<Map.Entry<String, Integer>> repeated = statements.repeatedShapes(repeatedStatementThreshold);
+        for (Map.Entry<String, Integer> shape : repeated) {
+            meters.repeated.increment();
+            log.warn("Possible N+1 on {}: {} executions of {}", endpoint, shape.getValue(), abbreviate(shape.getKey()));
+        }
+
+        SqlBudget budget = budgetOf(request);
+        if (budget != null && total > budget.value()) {
+            meters.budgetExceeded.increment();
+            String message = String.format("%s issued %d SQL statements, budget is %d", endpoint, total, budget.value());
+            if (enforce) {
+                throw new SqlBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+    }
+
+    private static SqlBudget budgetOf(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod handlerMethod ? handlerMethod.getMethodAnnotation(SqlBudget.class) : null;
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+
+    private final class EndpointMeters {
+        private final DistributionSummary statements;
+        private final Counter repeated;
+        private final Counter budgetExceeded;
+
+        private EndpointMeters(String method, String uri) {
+            this.statements = DistributionSummary.builder("http.server.requests.sql.statements")
+                    .description("SQL statements issued per request")
+                    .tags("method", method, "uri", uri)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(500.0)
+                    .register(meterRegistry);
+            this.repeated = Counter.builder("sql.statements.repeated")
+                    .description("Statement shapes repeated within a request, possible N+1 patterns")
+                    .tags("method", method, "uri", uri)
+                    .register(meterRegistry);
+            this.budgetExceeded = Counter.builder("sql.budget.exceeded")
+                    .description("Requests that issued more SQL statements than their endpoint budget")
+                    .tags("method", method, "uri", uri)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.freelancer.portal.monitoring.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that reports every prepared statement to the
+ * {@link SqlStatementTracker} of the current thread. The SQL is passed through unchanged.
+ */
+public class SqlStatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementTracker.record(sql);
+        return sql;
+    }
+}
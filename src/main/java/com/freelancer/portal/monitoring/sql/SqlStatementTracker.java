@@ -0,0 +1,84 @@
+package com.freelancer.portal.monitoring.sql;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the SQL statements issued on the current thread while a tracking scope is open.
+ * <p>
+ * {@link SqlStatementBudgetFilter} opens a scope per HTTP request; {@link SqlStatementCountingInspector}
+ * reports every statement Hibernate prepares. Statements are grouped by their text, which
+ * Hibernate always renders with bind parameters, so repeated shapes are the same SQL issued
+ * again with different values, the signature of an N+1 pattern. Outside a scope nothing is
+ * recorded.
+ * </p>
+ */
+public final class SqlStatementTracker {
+
+    private static final ThreadLocal<Statements> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementTracker() {
+    }
+
+    /**
+     * Open a tracking scope on the current thread, replacing any previous one.
+     *
+     * @return the statements recorded in the new scope
+     */
+    public static Statements begin() {
+        Statements statements = new Statements();
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    /**
+     * Close the tracking scope of the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return the statements recorded in the current scope, or null if none is open
+     */
+    public static Statements current() {
+        return CURRENT.get();
+    }
+
+    static void record(String sql) {
+        Statements statements = CURRENT.get();
+        if (statements != null) {
+            statements.record(sql);
+        }
+    }
+
+    /**
+     * Statements recorded within one scope.
+     */
+    public static final class Statements {
+
+        private final Map<String, Integer> countsByShape = new HashMap<>();
+        private int total;
+
+        private void record(String sql) {
+            total++;
+            countsByShape.merge(sql, 1, Integer::sum);
+        }
+
+        public int total() {
+            return total;
+        }
+
+        /**
+         * @param threshold the minimum number of executions
+         * @return the statement shapes issued at least {@code threshold} times, most frequent first
+         */
+        public List<Map.Entry<String, Integer>> repeatedShapes(int threshold) {
+            return countsByShape.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= threshold)
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .toList();
+        }
+    }
+}
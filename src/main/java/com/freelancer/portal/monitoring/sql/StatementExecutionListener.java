@@ -0,0 +1,73 @@
+package com.freelancer.portal.monitoring.sql;
+
+import com.freelancer.portal.logging.RequestLoggingFilter;
+import com.freelancer.portal.monitoring.profiling.JdbcStatementEvent;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.slf4j.MDC;
+
+import java.sql.SQLException;
+
+/**
+ * p6spy listener that times statement executions for the {@link SlowQueryLog} and records them
+ * as {@link JdbcStatementEvent}s.
+ * <p>
+ * {@link StatementTimingDataSource} creates one instance per connection, and a connection is
+ * used by one thread at a time, so executions on it never overlap. The SQL comes from the
+ * executed statement itself, so it is right for batches and for statements that bypass
+ * Hibernate's statement inspector. When no recording enables the JFR event, each execution
+ * costs one enabled check on top of p6spy's own timing.
+ * </p>
+ */
+public class StatementExecutionListener extends SimpleJdbcEventListener {
+
+    private JdbcStatementEvent current;
+
+    @Override
+    public void onBeforeAnyExecute(StatementInformation statementInformation) {
+        begin(false);
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        finish(statementInformation.getSql(), timeElapsedNanos);
+    }
+
+    @Override
+    public void onBeforeExecuteBatch(StatementInformation statementInformation) {
+        begin(true);
+    }
+
+    @Override
+    public void onAfterExecuteBatch(StatementInformation statementInformation, long timeElapsedNanos,
+                                    int[] updateCounts, SQLException e) {
+        finish(statementInformation.getSql(), timeElapsedNanos);
+    }
+
+    private void begin(boolean batch) {
+        JdbcStatementEvent event = new JdbcStatementEvent();
+        if (event.isEnabled()) {
+            event.batch = batch;
+            event.begin();
+            current = event;
+        } else {
+            current = null;
+        }
+    }
+
+    private void finish(String sql, long elapsedNanos) {
+        SlowQueryLog.recordExecution(sql, elapsedNanos);
+
+        JdbcStatementEvent event = current;
+        if (event == null) {
+            return;
+        }
+        current = null;
+        event.end();
+        if (event.shouldCommit()) {
+            event.sql = sql;
+            event.correlationId = MDC.get(RequestLoggingFilter.CORRELATION_ID_KEY);
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.freelancer.portal.monitoring.sql;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.wrapper.ConnectionWrapper;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Data source that wraps every connection with p6spy so each statement execution is reported to a
+ * {@link StatementExecutionListener} together with the SQL of the statement actually executed.
+ * <p>
+ * Timing at the JDBC level covers every statement on the connection, including those Hibernate
+ * issues outside the session's statement inspector (table-based ID generators) and each
+ * statement of a batch. Only the p6spy wrappers are used; its modules, driver and
+ * {@code spy.properties} logging are not involved.
+ * </p>
+ */
+public class StatementTimingDataSource extends DelegatingDataSource {
+
+    public StatementTimingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return ConnectionWrapper.wrap(connection, new StatementExecutionListener(),
+                ConnectionInformation.fromDataSource(obtainTargetDataSource(), connection, 0));
+    }
+}
@@ -0,0 +1,69 @@
+package com.freelancer.portal.monitoring.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.tracing.exporter.FinishedSpan;
+import io.micrometer.tracing.exporter.SpanReporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends finished spans as JSON lines to a file, for offline analysis without a Zipkin server.
+ * Each line holds the IDs, name, kind, start time, duration in microseconds, tags and error of
+ * one span; the spans of a trace share its {@code traceId}.
+ */
+@Slf4j
+public class FileSpanReporter implements SpanReporter {
+
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+
+    public FileSpanReporter(Path path, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void report(FinishedSpan span) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("traceId", span.getTraceId());
+        line.put("spanId", span.getSpanId());
+        line.put("parentId", span.getParentId());
+        line.put("name", span.getName());
+        line.put("kind", span.getKind());
+        line.put("start", span.getStartTimestamp().toString());
+        line.put("durationUs", span.getDuration().toNanos() / 1000);
+        line.put("tags", span.getTags());
+        if (span.getError() != null) {
+            line.put("error", span.getError().toString());
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(line);
+            ByteBuffer record = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+            synchronized (channel) {
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to write span {} of trace {}: {}", span.getName(), span.getTraceId(), ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,52 @@
+package com.freelancer.portal.monitoring.tracing;
+
+import io.micrometer.tracing.exporter.FinishedSpan;
+import io.micrometer.tracing.exporter.SpanReporter;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Keeps the most recent finished spans in memory, so tests and debugging sessions can inspect
+ * exported traces without a collector. Once {@code capacity} spans are held, the oldest are
+ * discarded.
+ */
+public class InMemorySpanReporter implements SpanReporter {
+
+    private final int capacity;
+    private final ArrayDeque<FinishedSpan> spans;
+
+    public InMemorySpanReporter(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(Math.min(capacity, 1024));
+    }
+
+    @Override
+    public synchronized void report(FinishedSpan span) {
+        if (spans.size() == capacity) {
+            spans.removeFirst();
+        }
+        spans.addLast(span);
+    }
+
+    /**
+     * The retained spans, oldest first.
+     */
+    public synchronized List<FinishedSpan> spans() {
+        return List.copyOf(spans);
+    }
+
+    /**
+     * The retained spans of one trace, oldest first.
+     */
+    public synchronized List<FinishedSpan> trace(String traceId) {
+        return spans.stream().filter(span -> traceId.equals(span.getTraceId())).toList();
+    }
+
+    public synchronized void clear() {
+        spans.clear();
+    }
+}
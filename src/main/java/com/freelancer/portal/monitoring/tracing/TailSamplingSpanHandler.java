@@ -0,0 +1,186 @@
+package com.freelancer.portal.monitoring.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Tail-based sampling for traces that head sampling did not select.
+ * <p>
+ * With {@code alwaysSampleLocal} every span is recorded in-process, but only head-sampled spans
+ * pass this handler to Zipkin and the other exporters. The spans of an unsampled trace are held
+ * per local root until the root finishes. The whole trace is then handed to {@code exporter} if
+ * the root took at least {@code slowThreshold} or any span failed, and dropped otherwise. So the
+ * slow and failing requests are exported in full at a head sampling rate of 0, and the fast
+ * successful ones cost only their in-memory spans.
+ * </p>
+ * <p>
+ * Memory is bounded: at most {@code maxPendingTraces} traces are held, each with at most
+ * {@code maxSpansPerTrace} spans, and traces whose root never finishes are purged after
+ * {@code maxTraceAge} when room is needed. The decisions are counted in
+ * {@code tracing.tail.traces{decision=kept_slow|kept_error|dropped|overflow}}.
+ * </p>
+ */
+@Slf4j
+public class TailSamplingSpanHandler extends SpanHandler implements Ordered {
+
+    private final SpanHandler exporter;
+    private final long slowThresholdMicros;
+    private final int maxPendingTraces;
+    private final int maxSpansPerTrace;
+    private final long maxTraceAgeMicros;
+    private final ConcurrentMap<Long, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final Counter keptSlow;
+    private final Counter keptError;
+    private final Counter dropped;
+    private final Counter overflow;
+
+    public TailSamplingSpanHandler(SpanHandler exporter, Duration slowThreshold, int maxPendingTraces,
+                                   int maxSpansPerTrace, Duration maxTraceAge, MeterRegistry meterRegistry) {
+        this.exporter = exporter;
+        this.slowThresholdMicros = slowThreshold.toNanos() / 1000;
+        this.maxPendingTraces = maxPendingTraces;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        this.maxTraceAgeMicros = maxTraceAge.toNanos() / 1000;
+        this.keptSlow = decisionCounter("kept_slow", meterRegistry);
+        this.keptError = decisionCounter("kept_error", meterRegistry);
+        this.dropped = decisionCounter("dropped", meterRegistry);
+        this.overflow = decisionCounter("overflow", meterRegistry);
+    }
+
+    private static Counter decisionCounter(String decision, MeterRegistry meterRegistry) {
+        return Counter.builder("tracing.tail.traces")
+                .description("Traces not selected by head sampling, by tail sampling decision")
+                .tag("decision", decision)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (Boolean.TRUE.equals(context.sampled())) {
+            // Head-sampled: exported by the regular handlers
+            return true;
+        }
+        if (cause == Cause.FINISHED) {
+            if (context.isLocalRoot()) {
+                complete(context, span);
+            } else {
+                buffer(context, span);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * Number of traces waiting for their root span.
+     */
+    int pendingTraces() {
+        return pending.size();
+    }
+
+    private void buffer(TraceContext context, MutableSpan span) {
+        long rootId = context.localRootId();
+        PendingTrace trace = pending.get(rootId);
+        if (trace == null) {
+            if (pending.size() >= maxPendingTraces) {
+                purgeOlderThan(span.finishTimestamp() - maxTraceAgeMicros);
+                if (pending.size() >= maxPendingTraces) {
+                    overflow.increment();
+                    return;
+                }
+            }
+            trace = pending.computeIfAbsent(rootId, id -> new PendingTrace(span.startTimestamp()));
+        }
+        trace.add(context, span, maxSpansPerTrace);
+    }
+
+    private void complete(TraceContext rootContext, MutableSpan root) {
+        PendingTrace trace = pending.remove(rootContext.localRootId());
+        boolean error = isError(root) || (trace != null && trace.hasError());
+        boolean slow = root.finishTimestamp() - root.startTimestamp() >= slowThresholdMicros;
+        if (!error && !slow) {
+            dropped.increment();
+            return;
+        }
+        (error ? keptError : keptSlow).increment();
+
+        if (trace != null) {
+            for (PendingSpan pendingSpan : trace.drain()) {
+                export(pendingSpan.context(), pendingSpan.span());
+            }
+        }
+        export(rootContext, root);
+    }
+
+    private void export(TraceContext context, MutableSpan span) {
+        try {
+            exporter.end(context, span, Cause.FINISHED);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to export tail-sampled span {}: {}", span.name(), ex.getMessage());
+        }
+    }
+
+    private void purgeOlderThan(long startedBeforeMicros) {
+        pending.values().removeIf(trace -> trace.startMicros < startedBeforeMicros);
+    }
+
+    /**
+     * A span failed when it recorded an exception, was tagged as an error, or served a 5xx.
+     */
+    static boolean isError(MutableSpan span) {
+        if (span.error() != null || span.tag("error") != null) {
+            return true;
+        }
+        String status = span.tag("http.status_code");
+        if (status == null) {
+            status = span.tag("status");
+        }
+        return (status != null && status.startsWith("5")) || "SERVER_ERROR".equals(span.tag("outcome"));
+    }
+
+    private record PendingSpan(TraceContext context, MutableSpan span) {
+    }
+
+    private static final class PendingTrace {
+
+        private final long startMicros;
+        private final List<PendingSpan> spans = new ArrayList<>();
+        private boolean error;
+
+        private PendingTrace(long startMicros) {
+            this.startMicros = startMicros;
+        }
+
+        synchronized void add(TraceContext context, MutableSpan span, int maxSpans) {
+            error |= isError(span);
+            if (spans.size() < maxSpans) {
+                spans.add(new PendingSpan(context, span));
+            }
+        }
+
+        synchronized boolean hasError() {
+            return error;
+        }
+
+        synchronized List<PendingSpan> drain() {
+            List<PendingSpan> drained = new ArrayList<>(spans);
+            spans.clear();
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.freelancer.portal.pagination;
+
+import com.freelancer.portal.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Request for one page of a cursor-paginated list.
+ *
+ * @param sortBy the attribute to order by; the entity ID is always added as a tie-breaker
+ * @param direction the sort direction
+ * @param size the maximum number of rows to return
+ * @param after the position to continue from, or null for the first page
+ * @param includeTotal whether to compute an approximate total
+ */
+public record CursorPageRequest(String sortBy, Sort.Direction direction, int size, PageCursor after,
+                                boolean includeTotal) {
+
+    /**
+     * Create a request from the raw request parameters.
+     * When a cursor is given it must have been issued for the same sort.
+     *
+     * @param cursor the opaque cursor token, or null for the first page
+     * @param size the requested page size, capped at {@code maxSize}
+     * @param maxSize the largest page size allowed
+     * @param sortBy the attribute to order by
+     * @param direction the sort direction, ASC or DESC
+     * @param includeTotal whether to compute an approximate total
+     * @return the request
+     * @throws InvalidCursorException if the cursor is malformed or was issued for a different sort
+     */
+    public static CursorPageRequest of(String cursor, int size, int maxSize, String sortBy, String direction,
+                                       boolean includeTotal) {
+        Sort.Direction sortDirection = "ASC".equalsIgnoreCase(direction) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        PageCursor after = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            after = PageCursor.decode(cursor);
+            if (!after.sortBy().equals(sortBy) || after.direction() != sortDirection) {
+                throw new InvalidCursorException("Cursor was issued for a different sort order");
+            }
+        }
+        return new CursorPageRequest(sortBy, sortDirection, Math.max(1, Math.min(size, maxSize)), after, includeTotal);
+    }
+}
@@ -0,0 +1,16 @@
+package com.freelancer.portal.pagination;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paginated list.
+ *
+ * @param content the rows on this page
+ * @param size the requested page size
+ * @param hasNext whether more rows follow
+ * @param nextCursor the cursor to request the next page with, or null on the last page
+ * @param approximateTotal the approximate total number of rows, or null if not requested
+ * @param <T> the type of the rows
+ */
+public record CursorSlice<T>(List<T> content, int size, boolean hasNext, String nextCursor, Long approximateTotal) {
+}
@@ -0,0 +1,210 @@
+package com.freelancer.portal.pagination;
+
+import com.freelancer.portal.exception.InvalidCursorException;
+import com.freelancer.portal.specification.AttributeValues;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.FetchParent;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.hibernate.query.NullPrecedence;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.hibernate.query.criteria.JpaOrder;
+import org.hibernate.query.criteria.JpaSubQuery;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Executes cursor-paginated (keyset) queries.
+ * <p>
+ * Rows are ordered by the requested attribute with the ID as a tie-breaker, and each page seeks
+ * past the last row of the previous one with a {@code WHERE (sort, id) > (:sort, :id)} predicate.
+ * Unlike OFFSET paging, the cost of a page does not grow with its depth, and one extra row is
+ * fetched to detect whether another page follows, so no COUNT query is issued. NULL sort keys
+ * are ordered first ascending and last descending, and the seek predicate follows the same rule.
+ * </p>
+ * <p>
+ * An approximate total can be requested: it counts matching rows up to a cap, so its cost is
+ * bounded as well. A total equal to the cap means "at least this many".
+ * </p>
+ */
+@Component
+public class KeysetSliceExecutor {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${pagination.cursor.total-cap:1000}")
+    private int totalCap;
+
+    /**
+     * Fetch one page of entities and map them while still inside the caller's transaction.
+     *
+     * @param entityClass the entity type to query
+     * @param specification the filter, e.g. restricting rows to the current user; may be null
+     * @param request the page to fetch
+     * @param mapper maps each entity to the returned type
+     * @param fetchPaths associations to fetch with the page to avoid lazy loading in the mapper
+     * @return the page
+     * @throws InvalidCursorException if the entity cannot be ordered by the requested attribute
+     */
+    public <T, D> CursorSlice<D> fetch(Class<T> entityClass, Specification<T> specification,
+                                       CursorPageRequest request, Function<T, D> mapper, String... fetchPaths) {
+        return fetchPage(entityClass, specification, request, rows -> rows.stream().map(mapper).toList(), fetchPaths);
+    }
+
+    /**
+     * Fetch one page of entities and map the page as a whole, so the mapper can load what the
+     * rows need with one query per page instead of one per row.
+     *
+     * @param entityClass the entity type to query
+     * @param specification the filter, e.g. restricting rows to the current user; may be null
+     * @param request the page to fetch
+     * @param pageMapper maps the page's entities, in order, to the returned type
+     * @param fetchPaths associations to fetch with the page, outer-joined; nested paths such as
+     *                   {@code client.company} fetch each association along the way
+     * @return the page
+     * @throws InvalidCursorException if the entity cannot be ordered by the requested attribute
+     */
+    public <T, D> CursorSlice<D> fetchPage(Class<T> entityClass, Specification<T> specification,
+                                           CursorPageRequest request, Function<List<T>, List<D>> pageMapper,
+                                           String... fetchPaths) {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
+        SingularAttribute<? super T, ?> sortAttribute = sortAttribute(entityType, request.sortBy());
+        String idName = entityType.getId(entityType.getIdType().getJavaType()).getName();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        for (String fetchPath : fetchPaths) {
+            fetch(root, fetchPath);
+        }
+
+        Predicate filter = specification != null ? specification.toPredicate(root, query, cb) : null;
+        Predicate seek = request.after() != null
+                ? seekPredicate(cb, root, sortAttribute, idName, request.after())
+                : null;
+        query.select(root).where(and(cb, filter, seek));
+        query.orderBy(order(cb, root.get(request.sortBy()), request.direction()),
+                order(cb, root.get(idName), request.direction()));
+
+        List<T> rows = entityManager.createQuery(query)
+                .setMaxResults(request.size() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > request.size();
+        List<T> page = hasNext ? rows.subList(0, request.size()) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            BeanWrapperImpl last = new BeanWrapperImpl(page.get(page.size() - 1));
+            nextCursor = new PageCursor(request.sortBy(), request.direction(),
+                    AttributeValues.format(last.getPropertyValue(request.sortBy())), (Long) last.getPropertyValue(idName)).encode();
+        }
+
+        Long approximateTotal = request.includeTotal() ? countUpToCap(entityClass, specification, idName) : null;
+        return new CursorSlice<>(pageMapper.apply(page), request.size(), hasNext, nextCursor, approximateTotal);
+    }
+
+    /**
+     * Count matching rows in the database, stopping at the cap:
+     * {@code SELECT COUNT(id) FROM (SELECT id FROM ... WHERE ... LIMIT :cap)}.
+     */
+    private <T> long countUpToCap(Class<T> entityClass, Specification<T> specification, String idName) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        JpaCriteriaQuery<Long> query = cb.createQuery(Long.class);
+        JpaSubQuery<Tuple> capped = query.subquery(Tuple.class);
+        Root<T> root = capped.from(entityClass);
+        capped.multiselect(root.get(idName).alias("id"));
+        if (specification != null) {
+            Predicate filter = specification.toPredicate(root, query, cb);
+            if (filter != null) {
+                capped.where(filter);
+            }
+        }
+        capped.fetch(totalCap);
+        query.select(cb.count(query.from(capped).get("id")));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void fetch(Root<?> root, String path) {
+        FetchParent<?, ?> parent = root;
+        for (String attribute : path.split("\\.")) {
+            parent = parent.fetch(attribute, JoinType.LEFT);
+        }
+    }
+
+    private static <T> SingularAttribute<? super T, ?> sortAttribute(EntityType<T> entityType, String sortBy) {
+        Attribute<? super T, ?> attribute;
+        try {
+            attribute = entityType.getAttribute(sortBy);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Unknown sort attribute: " + sortBy);
+        }
+        if (!(attribute instanceof SingularAttribute<? super T, ?> singular)
+                || attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC
+                || !Comparable.class.isAssignableFrom(AttributeValues.wrap(attribute.getJavaType()))
+                || AttributeValues.parserFor(attribute.getJavaType()) == null) {
+            throw new InvalidCursorException("Cannot paginate by attribute: " + sortBy);
+        }
+        return singular;
+    }
+
+    /**
+     * Rows strictly after the cursor in (sort, id) order, where NULL sorts lowest.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Predicate seekPredicate(CriteriaBuilder cb, Root<T> root,
+                                               SingularAttribute<? super T, ?> sortAttribute,
+                                               String idName, PageCursor after) {
+        Path sort = root.get(sortAttribute.getName());
+        Path<Long> id = root.get(idName);
+        boolean ascending = after.direction().isAscending();
+        Predicate idAfter = ascending ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id());
+
+        if (after.sortValue() == null) {
+            Predicate sameKey = cb.and(cb.isNull(sort), idAfter);
+            return ascending ? cb.or(sameKey, cb.isNotNull(sort)) : sameKey;
+        }
+
+        Comparable value;
+        try {
+            value = (Comparable) AttributeValues.parserFor(sortAttribute.getJavaType()).apply(after.sortValue());
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidCursorException("Malformed pagination cursor");
+        }
+        Predicate keyAfter = ascending ? cb.greaterThan(sort, value) : cb.lessThan(sort, value);
+        Predicate sameKey = cb.and(cb.equal(sort, value), idAfter);
+        return ascending ? cb.or(keyAfter, sameKey) : cb.or(keyAfter, sameKey, cb.isNull(sort));
+    }
+
+    private static JpaOrder order(CriteriaBuilder cb, Expression<?> expression, Sort.Direction direction) {
+        return direction.isAscending()
+                ? ((JpaOrder) cb.asc(expression)).nullPrecedence(NullPrecedence.FIRST)
+                : ((JpaOrder) cb.desc(expression)).nullPrecedence(NullPrecedence.LAST);
+    }
+
+    private static Predicate and(CriteriaBuilder cb, Predicate filter, Predicate seek) {
+        if (filter == null) {
+            return seek != null ? seek : cb.conjunction();
+        }
+        return seek != null ? cb.and(filter, seek) : filter;
+    }
+}
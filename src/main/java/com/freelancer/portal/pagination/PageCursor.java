@@ -0,0 +1,61 @@
+package com.freelancer.portal.pagination;
+
+import com.freelancer.portal.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row returned by a cursor-paginated query.
+ * <p>
+ * The cursor carries the sort it was produced for together with the sort key and ID of the
+ * last row, so the next page is a seek past that row instead of an OFFSET. It is sent to
+ * clients as an opaque URL-safe token; clients must not construct or modify it.
+ * </p>
+ *
+ * @param sortBy the attribute the results are ordered by
+ * @param direction the sort direction
+ * @param sortValue the sort key of the last row, or null if it had none
+ * @param id the ID of the last row, used as a tie-breaker
+ */
+public record PageCursor(String sortBy, Sort.Direction direction, String sortValue, Long id) {
+
+    private static final String VERSION = "1";
+    private static final char SEPARATOR = '\n';
+    private static final char VALUE_PRESENT = '=';
+    private static final char VALUE_NULL = '~';
+
+    /**
+     * Encode the cursor as an opaque token.
+     *
+     * @return the URL-safe token
+     */
+    public String encode() {
+        String raw = VERSION + SEPARATOR + sortBy + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR
+                + (sortValue == null ? String.valueOf(VALUE_NULL) : VALUE_PRESENT + sortValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @param token the token
+     * @return the cursor
+     * @throws InvalidCursorException if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The sort value comes last and may itself contain the separator
+            String[] parts = raw.split(String.valueOf(SEPARATOR), 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0]) || parts[4].isEmpty()) {
+                throw new InvalidCursorException("Malformed pagination cursor");
+            }
+            String value = parts[4].charAt(0) == VALUE_PRESENT ? parts[4].substring(1) : null;
+            return new PageCursor(parts[1], Sort.Direction.valueOf(parts[2]), value, Long.valueOf(parts[3]));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Malformed pagination cursor");
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.freelancer.portal.model.Client;
 import com.freelancer.portal.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -17,5 +18,12 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
     Optional<Client> findByIdAndFreelancer(Long id, User freelancer);
     boolean existsByEmailAndFreelancer(String email, User freelancer);
 
+    @EntityGraph(attributePaths = {"company", "user"})
     Page<Client> findAllByFreelancer(User currentUser, Pageable pageable);
+
+    /**
+     * Find a client with the associations shown on its detail view.
+     */
+    @EntityGraph(attributePaths = {"company", "user"})
+    Optional<Client> findDetailedById(Long id);
 }
\ No newline at end of file
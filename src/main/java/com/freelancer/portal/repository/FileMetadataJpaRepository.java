@@ -0,0 +1,43 @@
+package com.freelancer.portal.repository;
+
+import com.freelancer.portal.model.FileMetadata;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JPA repository backing {@link FileMetadataRepository}.
+ * Application code should use {@link FileMetadataRepository}, which keeps the in-memory indexes in sync.
+ */
+@Repository
+public interface FileMetadataJpaRepository extends JpaRepository<FileMetadata, Long> {
+
+    /**
+     * Find file metadata in ID order, starting after the given ID.
+     * Used to load the table in batches without OFFSET scans.
+     *
+     * @param id the last ID already loaded
+     * @param pageable the batch size; must sort by ID
+     * @return the next batch of file metadata
+     */
+    Slice<FileMetadata> findByIdGreaterThan(Long id, Pageable pageable);
+
+    /**
+     * Update only the fields written by upload processing.
+     * Unlike a merge, this never re-inserts a row deleted while the file was being processed.
+     *
+     * @return the number of rows updated, 0 if the file metadata no longer exists
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileMetadata f SET f.status = :#{#metadata.status}, f.statusReason = :#{#metadata.statusReason}, " +
+           "f.checksum = :#{#metadata.checksum}, f.mimeType = :#{#metadata.mimeType}, " +
+           "f.contentType = :#{#metadata.contentType}, f.thumbnailUrl = :#{#metadata.thumbnailUrl} " +
+           "WHERE f.id = :#{#metadata.id}")
+    int updateProcessingResult(@Param("metadata") FileMetadata metadata);
+}
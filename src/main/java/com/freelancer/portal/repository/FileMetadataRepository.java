@@ -9,7 +9,7 @@ import java.util.Optional;
 
 /**
  * Repository interface for file metadata operations.
- * This is not a JPA repository but an interface for storing and retrieving file metadata.
+ * Lookups are answered from in-memory indexes; writes go through to the database.
  */
 @Repository
 public interface FileMetadataRepository {
@@ -36,7 +36,7 @@ public interface FileMetadataRepository {
      * @param projectId the project ID
      * @return a list of file metadata
      */
-    List<FileMetadata> findAllByProjectId(String projectId);
+    List<FileMetadata> findAllByProjectId(Long projectId);
 
     /**
      * Find all file metadata by user ID.
@@ -44,7 +44,15 @@ public interface FileMetadataRepository {
      * @param userId the user ID
      * @return a list of file metadata
      */
-    List<FileMetadata> findAllByUserId(String userId);
+    List<FileMetadata> findAllByUserId(Long userId);
+
+    /**
+     * Find all file metadata in a processing status.
+     *
+     * @param status the processing status
+     * @return a list of file metadata
+     */
+    List<FileMetadata> findAllByStatus(FileMetadata.Status status);
 
     /**
      * Delete file metadata by filename.
@@ -70,6 +78,15 @@ public interface FileMetadataRepository {
      */
     Optional<FileMetadata> findById(Long id);
     
+    /**
+     * Save the results of upload processing: status, status reason, checksum, MIME type and thumbnail URL.
+     * Other fields are left untouched, and file metadata deleted in the meantime is not recreated.
+     *
+     * @param metadata the processed file metadata
+     * @return true if the file metadata still exists and was updated
+     */
+    boolean saveProcessingResult(FileMetadata metadata);
+    
     /**
      * Delete file metadata.
      * 
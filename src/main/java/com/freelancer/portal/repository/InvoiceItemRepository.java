@@ -2,9 +2,13 @@ package com.freelancer.portal.repository;
 
 import com.freelancer.portal.model.Invoice;
 import com.freelancer.portal.model.InvoiceItem;
+import com.freelancer.portal.repository.projection.InvoiceItemRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,6 +32,17 @@ public interface InvoiceItemRepository extends JpaRepository<InvoiceItem, Long>
      * @return A list of invoice items
      */
     List<InvoiceItem> findByInvoiceId(Long invoiceId);
+
+    /**
+     * Find the items of several invoices in one query, as read-only rows.
+     *
+     * @param invoiceIds The IDs of the invoices to find items for
+     * @return The items of all given invoices, ordered by ID
+     */
+    @Query("SELECT new com.freelancer.portal.repository.projection.InvoiceItemRow(" +
+           "it.invoice.id, it.id, it.description, it.quantity, it.unitPrice, it.amount) " +
+           "FROM InvoiceItem it WHERE it.invoice.id IN :invoiceIds ORDER BY it.id")
+    List<InvoiceItemRow> findRowsByInvoiceIdIn(@Param("invoiceIds") Collection<Long> invoiceIds);
     
     /**
      * Delete all invoice items for a specific invoice.
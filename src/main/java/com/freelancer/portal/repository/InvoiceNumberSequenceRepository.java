@@ -0,0 +1,41 @@
+package com.freelancer.portal.repository;
+
+import com.freelancer.portal.model.InvoiceNumberSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InvoiceNumberSequenceRepository extends JpaRepository<InvoiceNumberSequence, Long> {
+
+    /**
+     * Advance a freelancer's sequence by a block of numbers. The update takes the row lock, so
+     * concurrent reservations from any node are serialized and receive disjoint blocks.
+     *
+     * @param freelancerId the freelancer owning the sequence
+     * @param blockSize the number of values to reserve
+     * @return the number of rows updated, 0 if the sequence does not exist yet
+     */
+    @Modifying
+    @Query("UPDATE InvoiceNumberSequence s SET s.nextValue = s.nextValue + :blockSize " +
+           "WHERE s.freelancerId = :freelancerId")
+    int advance(@Param("freelancerId") Long freelancerId, @Param("blockSize") long blockSize);
+
+    /**
+     * Create a freelancer's sequence. Always an INSERT, so a sequence created concurrently by
+     * another node fails on the primary key instead of being overwritten.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO invoice_number_sequences (freelancer_id, next_value) VALUES (:freelancerId, :nextValue)",
+           nativeQuery = true)
+    int create(@Param("freelancerId") Long freelancerId, @Param("nextValue") long nextValue);
+
+    /**
+     * Read the sequence value; after {@link #advance} in the same transaction this is the end
+     * of the reserved block.
+     */
+    @Query("SELECT s.nextValue FROM InvoiceNumberSequence s WHERE s.freelancerId = :freelancerId")
+    Long findNextValue(@Param("freelancerId") Long freelancerId);
+}
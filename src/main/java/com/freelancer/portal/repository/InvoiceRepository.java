@@ -4,6 +4,7 @@ import com.freelancer.portal.model.Client;
 import com.freelancer.portal.model.Invoice;
 import com.freelancer.portal.model.Project;
 import com.freelancer.portal.model.User;
+import com.freelancer.portal.repository.projection.InvoiceListRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -25,7 +26,7 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpec
     /**
      * Find invoices by project with eager loading of related entities.
      */
-    @EntityGraph(attributePaths = {"items", "client"})
+    @EntityGraph(attributePaths = {"client", "client.company", "project"})
     Page<Invoice> findByProject(Project project, Pageable pageable);
     
     /**
@@ -43,7 +44,7 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpec
     /**
      * Find invoices for multiple projects with pagination and eager loading.
      */
-    @EntityGraph(attributePaths = {"items", "client"})
+    @EntityGraph(attributePaths = {"client", "client.company", "project"})
     Page<Invoice> findByProjectIn(List<Project> projects, Pageable pageable);
     
     /**
@@ -69,27 +70,40 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpec
             @Param("dueDate") LocalDateTime dueDate);
 
     /**
-     * Find all invoices for a freelancer with pagination and eager loading.
+     * Find the list view rows of a freelancer's invoices.
+     * Only the displayed columns are selected; no entities are loaded into the persistence context.
+     */
+    @Query(value = "SELECT new com.freelancer.portal.repository.projection.InvoiceListRow(" +
+            "i.id, i.invoiceNumber, c.id, c.name, co.name, p.id, p.name, i.status, i.issueDate, i.dueDate, " +
+            "i.subtotal, i.taxAmount, i.taxRate, i.discount, i.amount, i.amountPaid, i.amountDue, " +
+            "i.notes, i.currency, i.sentDate, i.paidDate, i.createdAt, i.updatedAt) " +
+            "FROM Invoice i JOIN i.client c LEFT JOIN c.company co LEFT JOIN i.project p " +
+            "WHERE i.freelancer = :freelancer",
+            countQuery = "SELECT COUNT(i) FROM Invoice i WHERE i.freelancer = :freelancer")
+    Page<InvoiceListRow> findListRowsByFreelancer(@Param("freelancer") User freelancer, Pageable pageable);
+
+    /**
+     * Find an invoice with the client, company and project shown on its detail view.
      */
-    @EntityGraph(attributePaths = {"client", "project"})
-    Page<Invoice> findAllByFreelancer(User freelancer, Pageable pageable);
+    @EntityGraph(attributePaths = {"client", "client.company", "project"})
+    Optional<Invoice> findDetailedById(Long id);
 
     /**
      * Find all invoices for a client with pagination and eager loading.
      */
-    @EntityGraph(attributePaths = {"project"})
+    @EntityGraph(attributePaths = {"client", "client.company", "project"})
     Page<Invoice> findAllByClient(Client client, Pageable pageable);
 
     /**
      * Find invoices by freelancer and status with eager loading.
      */
-    @EntityGraph(attributePaths = {"client", "project"})
+    @EntityGraph(attributePaths = {"client", "client.company", "project"})
     Page<Invoice> findAllByFreelancerAndStatus(User freelancer, Invoice.Status status, Pageable pageable);
 
     /**
      * Find invoices by freelancer and date range with eager loading.
      */
-    @EntityGraph(attributePaths = {"client", "project"})
+    @EntityGraph(attributePaths = {"client", "client.company", "project"})
     List<Invoice> findAllByFreelancerAndIssueDateBetween(User freelancer, LocalDate startDate, LocalDate endDate);
     
     /**
@@ -6,6 +6,7 @@ import com.freelancer.portal.model.Project;
 import com.freelancer.portal.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,6 +14,7 @@ import java.util.List;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
+    @EntityGraph(attributePaths = {"sender", "project", "conversation"})
     Page<Message> findByProject(Project project, Pageable pageable);
     List<Message> findByProjectOrderByCreatedAtDesc(Project project);
     Page<Message> findBySender(User sender, Pageable pageable);
@@ -23,6 +25,7 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     long countByProject(Project project);
     
     // Conversation-based messaging methods
+    @EntityGraph(attributePaths = {"sender", "project", "conversation"})
     Page<Message> findByConversation(Conversation conversation, Pageable pageable);
     Page<Message> findByConversationAndIsReadFalseAndSenderNot(Conversation conversation, User currentUser, Pageable pageable);
     long countByConversationAndIsReadFalseAndSenderNot(Conversation conversation, User currentUser);
@@ -3,6 +3,7 @@ package com.freelancer.portal.repository;
 import com.freelancer.portal.model.Invoice;
 import com.freelancer.portal.model.Payment;
 import com.freelancer.portal.model.User;
+import com.freelancer.portal.repository.projection.PaymentListRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for managing Payment entities with optimized queries.
@@ -28,7 +30,7 @@ public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpec
      * @param invoice The invoice to find payments for
      * @return A list of payments
      */
-    @EntityGraph(attributePaths = {"paymentMethod"})
+    @EntityGraph(attributePaths = {"invoice", "invoice.client", "invoice.client.company", "invoice.project"})
     List<Payment> findByInvoice(Invoice invoice);
     
     /**
@@ -37,8 +39,17 @@ public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpec
      * @param invoice The invoice to find payments for
      * @return A list of payments
      */
-    @EntityGraph(attributePaths = {"paymentMethod"})
+    @EntityGraph(attributePaths = {"invoice", "invoice.client", "invoice.client.company", "invoice.project"})
     List<Payment> findAllByInvoice(Invoice invoice);
+
+    /**
+     * Find a payment with the invoice details shown on its detail view.
+     *
+     * @param id The payment ID
+     * @return The payment, if found
+     */
+    @EntityGraph(attributePaths = {"invoice", "invoice.client", "invoice.client.company", "invoice.project"})
+    Optional<Payment> findDetailedById(Long id);
     
     /**
      * Find all payments for a specific invoice ID with pagination and eager loading.
@@ -88,14 +99,20 @@ public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpec
     List<Payment> findByPaymentDateBetween(LocalDateTime startDate, LocalDateTime endDate);
     
     /**
-     * Find all payments for invoices associated with a freelancer with optimized join.
+     * Find the list view rows of payments for invoices associated with a freelancer.
+     * Only the displayed columns are selected; no entities are loaded into the persistence context.
      *
      * @param freelancer The freelancer user
      * @param pageable Pagination information
-     * @return A page of payments
+     * @return A page of payment rows
      */
-    @Query("SELECT p FROM Payment p JOIN FETCH p.invoice i JOIN i.client c WHERE c.freelancer = :freelancer")
-    Page<Payment> findAllByInvoiceClientFreelancer(@Param("freelancer") User freelancer, Pageable pageable);
+    @Query(value = "SELECT new com.freelancer.portal.repository.projection.PaymentListRow(" +
+            "p.id, p.amount, p.paymentMethod, p.paymentDate, p.transactionId, p.notes, p.status, " +
+            "i.id, i.invoiceNumber, c.name, co.name, pr.name, p.createdAt, p.updatedAt) " +
+            "FROM Payment p JOIN p.invoice i JOIN i.client c LEFT JOIN c.company co LEFT JOIN i.project pr " +
+            "WHERE c.freelancer = :freelancer",
+            countQuery = "SELECT COUNT(p) FROM Payment p JOIN p.invoice i JOIN i.client c WHERE c.freelancer = :freelancer")
+    Page<PaymentListRow> findListRowsByFreelancer(@Param("freelancer") User freelancer, Pageable pageable);
     
     /**
      * Find all payments for invoices associated with a freelancer within a date range with optimized join.
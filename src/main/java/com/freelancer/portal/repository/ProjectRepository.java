@@ -5,6 +5,7 @@ import com.freelancer.portal.model.Project;
 import com.freelancer.portal.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,8 +14,11 @@ import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+    @EntityGraph(attributePaths = {"client"})
     Page<Project> findByFreelancer(User freelancer, Pageable pageable);
+    @EntityGraph(attributePaths = {"client"})
     Page<Project> findByClient(Client client, Pageable pageable);
+    @EntityGraph(attributePaths = {"client"})
     Optional<Project> findByIdAndFreelancer(Long id, User freelancer);
     Optional<Project> findByIdAndClient(Long id, Client client);
     List<Project> findByClientAndFreelancer(Client client, User freelancer);
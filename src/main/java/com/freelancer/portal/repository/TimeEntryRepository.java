@@ -1,20 +1,25 @@
 package com.freelancer.portal.repository;
 
+import com.freelancer.portal.model.Invoice;
 import com.freelancer.portal.model.Project;
 import com.freelancer.portal.model.TimeEntry;
 import com.freelancer.portal.model.User;
+import com.freelancer.portal.repository.projection.TimeEntryListRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for managing time entries with optimized queries
@@ -29,10 +34,23 @@ public interface TimeEntryRepository extends JpaRepository<TimeEntry, Long>, Jpa
     Page<TimeEntry> findByProjectId(Long projectId, Pageable pageable);
     
     /**
-     * Find all time entries for a specific user with eager loading of project
+     * Find a time entry with the project, client, user and invoice shown on its detail view.
      */
-    @EntityGraph(attributePaths = {"project"})
-    Page<TimeEntry> findByUserId(Long userId, Pageable pageable);
+    @EntityGraph(attributePaths = {"project", "project.client", "user", "invoice"})
+    Optional<TimeEntry> findDetailedById(Long id);
+
+    /**
+     * Find the list view rows of a user's time entries.
+     * Only the displayed columns are selected; no entities are loaded into the persistence context.
+     */
+    @Query(value = "SELECT new com.freelancer.portal.repository.projection.TimeEntryListRow(" +
+            "t.id, p.id, p.name, p.hourlyRate, c.id, c.name, u.id, u.firstName, u.lastName, " +
+            "t.description, t.startTime, t.endTime, t.duration, t.hours, t.billable, t.billed, " +
+            "inv.id, inv.invoiceNumber, t.createdAt, t.updatedAt) " +
+            "FROM TimeEntry t JOIN t.project p LEFT JOIN p.client c JOIN t.user u LEFT JOIN t.invoice inv " +
+            "WHERE u.id = :userId",
+            countQuery = "SELECT COUNT(t) FROM TimeEntry t WHERE t.user.id = :userId")
+    Page<TimeEntryListRow> findListRowsByUserId(@Param("userId") Long userId, Pageable pageable);
     
     /**
      * Find time entries for a specific user and project with eager loading
@@ -154,4 +172,24 @@ public interface TimeEntryRepository extends JpaRepository<TimeEntry, Long>, Jpa
     @Query(value = "SELECT t FROM TimeEntry t WHERE t.user.id = :userId ORDER BY t.startTime DESC")
     @EntityGraph(attributePaths = {"project"})
     List<TimeEntry> findRecentByUserId(@Param("userId") Long userId, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Count which of the given time entries belong to someone other than the user.
+     */
+    @Query("SELECT COUNT(t) FROM TimeEntry t WHERE t.id IN :ids AND t.user.id <> :userId")
+    long countByIdInAndUserIdNot(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    /**
+     * Mark a user's time entries as billed on an invoice in a single statement.
+     * IDs that do not exist or belong to another user are left untouched.
+     *
+     * @return the number of time entries updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TimeEntry t SET t.billed = true, t.invoice = :invoice, t.updatedAt = :updatedAt " +
+           "WHERE t.id IN :ids AND t.user.id = :userId")
+    int markBilled(@Param("ids") Collection<Long> ids,
+                   @Param("userId") Long userId,
+                   @Param("invoice") Invoice invoice,
+                   @Param("updatedAt") LocalDateTime updatedAt);
+}
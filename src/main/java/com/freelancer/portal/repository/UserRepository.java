@@ -1,8 +1,15 @@
 package com.freelancer.portal.repository;
 
 import com.freelancer.portal.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -14,18 +21,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     /**
      * Find a user by their email address.
+     * Runs on every authenticated request, so the result is kept in the query cache.
      * 
      * @param email the email address
      * @return an Optional containing the user if found, or empty if not found
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.users-by-email")
+    })
     Optional<User> findByEmail(String email);
     
     /**
      * Find a user by their email address, ignoring case sensitivity.
+     * Runs on every authenticated request, so the result is kept in the query cache.
      * 
      * @param email the email address
      * @return an Optional containing the user if found, or empty if not found
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.users-by-email")
+    })
     Optional<User> findByEmailIgnoreCase(String email);
     
     /**
@@ -35,4 +52,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if a user exists with the given email, false otherwise
      */
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Set the thumbnail URL of a user's profile picture, provided the picture it was
+     * derived from is still the current one.
+     *
+     * @param id the user ID
+     * @param profilePictureUrl the URL of the original picture the thumbnail was derived from
+     * @param thumbnailUrl the thumbnail URL
+     * @return the number of updated rows (0 if the picture has been replaced in the meantime)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.profilePictureThumbnailUrl = :thumbnailUrl " +
+           "WHERE u.id = :id AND u.profilePictureUrl = :profilePictureUrl")
+    int updateProfilePictureThumbnailUrl(@Param("id") Long id,
+                                         @Param("profilePictureUrl") String profilePictureUrl,
+                                         @Param("thumbnailUrl") String thumbnailUrl);
+}
@@ -0,0 +1,152 @@
+package com.freelancer.portal.repository.impl;
+
+import com.freelancer.portal.model.FileMetadata;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory lookup indexes over file metadata.
+ * <p>
+ * Every lookup is a hash probe instead of a scan over all files. Reads are lock-free; writes are
+ * serialized so an entry and its secondary index keys always change together. Entries are copied
+ * on the way in and on the way out, so a caller changing a {@link FileMetadata} it saved or looked
+ * up can never change what other threads see, or leave an entry filed under stale keys.
+ * </p>
+ */
+public class FileMetadataIndex {
+
+    private record EntityKey(String entityType, Long entityId) {
+    }
+
+    private final Map<Long, FileMetadata> byId = new ConcurrentHashMap<>();
+    private final Map<String, Long> byFilename = new ConcurrentHashMap<>();
+    private final Map<EntityKey, Set<Long>> byEntity = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> byProject = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> byUser = new ConcurrentHashMap<>();
+    private final Map<FileMetadata.Status, Set<Long>> byStatus = new ConcurrentHashMap<>();
+
+    /**
+     * Add or replace an entry. The metadata must have an ID; a copy of it is stored.
+     *
+     * @param metadata the file metadata
+     */
+    public synchronized void put(FileMetadata metadata) {
+        FileMetadata entry = copy(metadata);
+        Long id = entry.getId();
+        unindex(id);
+
+        byId.put(id, entry);
+        if (entry.getFilename() != null) {
+            byFilename.put(entry.getFilename(), id);
+        }
+        addTo(byEntity, entityKey(entry), id);
+        addTo(byProject, entry.getProjectId(), id);
+        addTo(byUser, entry.getUserId(), id);
+        addTo(byStatus, entry.getStatus(), id);
+    }
+
+    /**
+     * Remove an entry and all its index keys.
+     *
+     * @param id the file metadata ID
+     */
+    public synchronized void remove(Long id) {
+        unindex(id);
+    }
+
+    public Optional<FileMetadata> findById(Long id) {
+        return Optional.ofNullable(byId.get(id)).map(FileMetadataIndex::copy);
+    }
+
+    public Optional<FileMetadata> findByFilename(String filename) {
+        Long id = byFilename.get(filename);
+        return id != null ? findById(id) : Optional.empty();
+    }
+
+    public List<FileMetadata> findByEntity(String entityType, Long entityId) {
+        return resolve(byEntity.get(new EntityKey(entityType, entityId)));
+    }
+
+    public List<FileMetadata> findByProjectId(Long projectId) {
+        return resolve(byProject.get(projectId));
+    }
+
+    public List<FileMetadata> findByUserId(Long userId) {
+        return resolve(byUser.get(userId));
+    }
+
+    public List<FileMetadata> findByStatus(FileMetadata.Status status) {
+        return resolve(byStatus.get(status));
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Copy file metadata, so the copy can be changed without affecting the original.
+     *
+     * @param metadata the file metadata
+     * @return an equal, independent instance
+     */
+    static FileMetadata copy(FileMetadata metadata) {
+        return metadata.toBuilder().build();
+    }
+
+    private void unindex(Long id) {
+        FileMetadata previous = byId.remove(id);
+        if (previous == null) {
+            return;
+        }
+        // Only drop the filename mapping if it still points at this entry
+        if (previous.getFilename() != null) {
+            byFilename.remove(previous.getFilename(), id);
+        }
+        removeFrom(byEntity, entityKey(previous), id);
+        removeFrom(byProject, previous.getProjectId(), id);
+        removeFrom(byUser, previous.getUserId(), id);
+        removeFrom(byStatus, previous.getStatus(), id);
+    }
+
+    private List<FileMetadata> resolve(Collection<Long> ids) {
+        if (ids == null) {
+            return List.of();
+        }
+        List<FileMetadata> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            FileMetadata metadata = byId.get(id);
+            if (metadata != null) {
+                result.add(copy(metadata));
+            }
+        }
+        return result;
+    }
+
+    private static EntityKey entityKey(FileMetadata metadata) {
+        return metadata.getEntityType() != null && metadata.getEntityId() != null
+                ? new EntityKey(metadata.getEntityType(), metadata.getEntityId())
+                : null;
+    }
+
+    private static <K> void addTo(Map<K, Set<Long>> index, K key, Long id) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Long>> index, K key, Long id) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
@@ -1,92 +1,247 @@
 package com.freelancer.portal.repository.impl;
 
 import com.freelancer.portal.model.FileMetadata;
+import com.freelancer.portal.repository.FileMetadataJpaRepository;
 import com.freelancer.portal.repository.FileMetadataRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
- * In-memory implementation of FileMetadataRepository interface.
- * This repository stores file metadata in memory as a temporary solution.
- * In a production environment, this should be replaced with a persistent storage solution.
+ * Database-backed implementation of FileMetadataRepository interface.
+ * <p>
+ * File metadata is persisted through JPA and mirrored in a {@link FileMetadataIndex}, which is
+ * rebuilt from the table on startup. All lookups are answered from the index without a query.
+ * Writes inside a transaction reach the index only once it commits; until then they are kept
+ * with the transaction, so its own lookups see them and a rollback leaves the index untouched.
+ * </p>
+ * <p>
+ * The index is per node. Metadata written by another instance of the application is not seen
+ * here until this instance restarts, so file uploads and lookups must be served by a single
+ * instance, or this repository replaced by one that queries the table.
+ * </p>
  */
 @Repository
+@RequiredArgsConstructor
+@Slf4j
 public class FileMetadataRepositoryImpl implements FileMetadataRepository {
 
-    private final Map<String, FileMetadata> storage = new ConcurrentHashMap<>();
-    private final Map<Long, FileMetadata> idStorage = new ConcurrentHashMap<>();
-    private final AtomicLong idCounter = new AtomicLong(1);
+    private final FileMetadataJpaRepository jpaRepository;
+    private final MeterRegistry meterRegistry;
+    private final FileMetadataIndex index = new FileMetadataIndex();
+
+    @Value("${file.metadata.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    /**
+     * Rebuild the in-memory indexes from the database.
+     */
+    @PostConstruct
+    public void loadIndex() {
+        long startTime = System.nanoTime();
+        long lastId = 0L;
+        Slice<FileMetadata> batch;
+        do {
+            batch = jpaRepository.findByIdGreaterThan(lastId, PageRequest.of(0, loadBatchSize, Sort.by("id")));
+            for (FileMetadata metadata : batch) {
+                index.put(metadata);
+                lastId = metadata.getId();
+            }
+        } while (batch.hasNext());
+
+        Gauge.builder("files.metadata.indexed", index, FileMetadataIndex::size)
+                .description("File metadata entries held in the in-memory index")
+                .register(meterRegistry);
+        log.info("Loaded {} file metadata entries into the index in {}ms",
+                index.size(), (System.nanoTime() - startTime) / 1_000_000);
+    }
 
     @Override
     public FileMetadata save(FileMetadata metadata) {
-        // Assign an ID if it doesn't have one
-        if (metadata.getId() == null) {
-            metadata.setId(idCounter.getAndIncrement());
-        }
-        
-        // Store by filename and by ID
-        storage.put(metadata.getFilename(), metadata);
-        idStorage.put(metadata.getId(), metadata);
-        return metadata;
+        FileMetadata saved = jpaRepository.save(metadata);
+        write(saved.getId(), saved);
+        return saved;
     }
 
     @Override
     public Optional<FileMetadata> findByFilename(String filename) {
-        return Optional.ofNullable(storage.get(filename));
+        List<FileMetadata> committed = index.findByFilename(filename).map(List::of).orElse(List.of());
+        return withPendingWrites(committed, metadata -> filename.equals(metadata.getFilename()))
+                .stream()
+                .findFirst();
     }
 
     @Override
-    public List<FileMetadata> findAllByProjectId(String projectId) {
-        return storage.values().stream()
-                .filter(metadata -> projectId.equals(metadata.getProjectId()))
-                .collect(Collectors.toList());
+    public List<FileMetadata> findAllByProjectId(Long projectId) {
+        return withPendingWrites(index.findByProjectId(projectId),
+                metadata -> projectId.equals(metadata.getProjectId()));
     }
 
     @Override
-    public List<FileMetadata> findAllByUserId(String userId) {
-        return storage.values().stream()
-                .filter(metadata -> userId.equals(metadata.getUserId()))
-                .collect(Collectors.toList());
+    public List<FileMetadata> findAllByUserId(Long userId) {
+        return withPendingWrites(index.findByUserId(userId), metadata -> userId.equals(metadata.getUserId()));
+    }
+
+    @Override
+    public List<FileMetadata> findAllByStatus(FileMetadata.Status status) {
+        return withPendingWrites(index.findByStatus(status), metadata -> status == metadata.getStatus());
     }
 
     @Override
     public void deleteByFilename(String filename) {
-        FileMetadata metadata = storage.remove(filename);
-        if (metadata != null && metadata.getId() != null) {
-            idStorage.remove(metadata.getId());
-        }
+        findByFilename(filename).ifPresent(this::delete);
     }
     
     @Override
     public Collection<FileMetadata> findByEntityTypeAndEntityId(String entityType, Long entityId) {
-        return storage.values().stream()
-                .filter(metadata -> entityType.equals(metadata.getEntityType()) && 
-                        entityId.equals(metadata.getEntityId()))
-                .collect(Collectors.toList());
+        return withPendingWrites(index.findByEntity(entityType, entityId),
+                metadata -> entityType.equals(metadata.getEntityType()) && entityId.equals(metadata.getEntityId()));
     }
     
     @Override
     public Optional<FileMetadata> findById(Long id) {
-        return Optional.ofNullable(idStorage.get(id));
+        PendingWrites pending = pendingWrites();
+        if (pending != null && pending.touches(id)) {
+            return pending.get(id);
+        }
+        return index.findById(id);
+    }
+
+    @Override
+    public boolean saveProcessingResult(FileMetadata metadata) {
+        if (jpaRepository.updateProcessingResult(metadata) == 0) {
+            write(metadata.getId(), null);
+            return false;
+        }
+        write(metadata.getId(), metadata);
+        return true;
     }
     
     @Override
     public void delete(FileMetadata metadata) {
-        if (metadata == null) {
+        if (metadata == null || metadata.getId() == null) {
+            return;
+        }
+        jpaRepository.deleteById(metadata.getId());
+        write(metadata.getId(), null);
+    }
+
+    /**
+     * Apply a write to the index, or hold it until the surrounding transaction commits.
+     *
+     * @param metadata the new state, or null if the entry was deleted
+     */
+    private void write(Long id, FileMetadata metadata) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (metadata != null) {
+                index.put(metadata);
+            } else {
+                index.remove(id);
+            }
             return;
         }
-        
-        // Remove from both maps
-        if (metadata.getFilename() != null) {
-            storage.remove(metadata.getFilename());
+        PendingWrites pending = pendingWrites();
+        if (pending == null) {
+            pending = new PendingWrites();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.record(id, metadata);
+    }
+
+    /**
+     * The current transaction's pending writes. Looked up among its synchronizations rather than
+     * bound as a resource, because a suspended outer transaction's synchronizations are hidden
+     * while an inner REQUIRES_NEW transaction runs, but its resources are not.
+     */
+    private PendingWrites pendingWrites() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingWrites pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Overlay the current transaction's uncommitted writes on committed lookup results.
+     */
+    private List<FileMetadata> withPendingWrites(List<FileMetadata> committed, Predicate<FileMetadata> matches) {
+        PendingWrites pending = pendingWrites();
+        if (pending == null) {
+            return committed;
+        }
+        List<FileMetadata> result = new ArrayList<>(committed.size());
+        for (FileMetadata metadata : committed) {
+            if (!pending.touches(metadata.getId())) {
+                result.add(metadata);
+            }
+        }
+        pending.addSaved(matches, result);
+        return result;
+    }
+
+    /**
+     * Index changes made by one transaction, applied to the index when it commits.
+     */
+    private class PendingWrites implements TransactionSynchronization {
+
+        // Latest state per ID, null for deleted entries; only touched by the transaction's thread
+        private final Map<Long, FileMetadata> writes = new LinkedHashMap<>();
+
+        void record(Long id, FileMetadata metadata) {
+            writes.put(id, metadata != null ? FileMetadataIndex.copy(metadata) : null);
+        }
+
+        boolean touches(Long id) {
+            return writes.containsKey(id);
+        }
+
+        Optional<FileMetadata> get(Long id) {
+            return Optional.ofNullable(writes.get(id)).map(FileMetadataIndex::copy);
+        }
+
+        void addSaved(Predicate<FileMetadata> matches, List<FileMetadata> result) {
+            for (FileMetadata metadata : writes.values()) {
+                if (metadata != null && matches.test(metadata)) {
+                    result.add(FileMetadataIndex.copy(metadata));
+                }
+            }
         }
-        
-        if (metadata.getId() != null) {
-            idStorage.remove(metadata.getId());
+
+        @Override
+        public void afterCommit() {
+            writes.forEach((id, metadata) -> {
+                if (metadata != null) {
+                    index.put(metadata);
+                } else {
+                    index.remove(id);
+                }
+            });
+        }
+
+        FileMetadataRepositoryImpl owner() {
+            return FileMetadataRepositoryImpl.this;
         }
     }
-}
\ No newline at end of file
+}
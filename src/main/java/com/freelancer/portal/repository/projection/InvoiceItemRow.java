@@ -0,0 +1,15 @@
+package com.freelancer.portal.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of an invoice item, loaded for a whole page of invoices at once.
+ */
+public record InvoiceItemRow(
+        Long invoiceId,
+        Long id,
+        String description,
+        BigDecimal quantity,
+        BigDecimal unitPrice,
+        BigDecimal amount) {
+}
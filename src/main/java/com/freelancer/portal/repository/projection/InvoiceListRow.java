@@ -0,0 +1,37 @@
+package com.freelancer.portal.repository.projection;
+
+import com.freelancer.portal.model.Invoice;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of the invoice columns shown in invoice lists, with the client,
+ * company and project names resolved by joins. Rows are not managed entities.
+ */
+public record InvoiceListRow(
+        Long id,
+        String invoiceNumber,
+        Long clientId,
+        String clientName,
+        String clientCompanyName,
+        Long projectId,
+        String projectName,
+        Invoice.Status status,
+        LocalDate issueDate,
+        LocalDate dueDate,
+        BigDecimal subtotal,
+        BigDecimal taxAmount,
+        BigDecimal taxRate,
+        BigDecimal discount,
+        BigDecimal amount,
+        BigDecimal amountPaid,
+        BigDecimal amountDue,
+        String notes,
+        String currency,
+        LocalDate sentDate,
+        LocalDate paidDate,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,27 @@
+package com.freelancer.portal.repository.projection;
+
+import com.freelancer.portal.model.Payment;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of the payment columns shown in payment lists, with the invoice,
+ * client, company and project details resolved by joins. Rows are not managed entities.
+ */
+public record PaymentListRow(
+        Long id,
+        BigDecimal amount,
+        String paymentMethod,
+        LocalDateTime paymentDate,
+        String transactionId,
+        String notes,
+        Payment.Status status,
+        Long invoiceId,
+        String invoiceNumber,
+        String clientName,
+        String clientCompanyName,
+        String projectName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,31 @@
+package com.freelancer.portal.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of the time entry columns shown in time entry lists, with the
+ * project, client, user and invoice details resolved by joins. Rows are not managed entities.
+ */
+public record TimeEntryListRow(
+        Long id,
+        Long projectId,
+        String projectName,
+        BigDecimal projectHourlyRate,
+        Long clientId,
+        String clientName,
+        Long userId,
+        String userFirstName,
+        String userLastName,
+        String description,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Long durationSeconds,
+        Double hours,
+        boolean billable,
+        boolean billed,
+        Long invoiceId,
+        String invoiceNumber,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,155 @@
+package com.freelancer.portal.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Issues and verifies HMAC-signed file download URLs.
+ * <p>
+ * A signed URL carries everything needed to serve the file: the file ID, the stored path,
+ * the user it was issued to and an expiry time. Verification is a single HMAC computation,
+ * so signed downloads need no database access or user lookup.
+ * </p>
+ * <p>
+ * URLs are signed with their own key ({@code app.file-storage.signed-url.secret}), never the
+ * JWT key, so a leaked download link cannot help forge tokens and the keys can be rotated
+ * independently. Startup fails if the key is missing, shorter than {@value #MIN_SECRET_LENGTH}
+ * characters or the same as the JWT key.
+ * </p>
+ */
+@Component
+public class FileUrlSigner {
+
+    public static final String PATH_PREFIX = "/files/signed/";
+    public static final String PARAM_PATH = "path";
+    public static final String PARAM_USER = "uid";
+    public static final String PARAM_EXPIRES = "exp";
+    public static final String PARAM_SIGNATURE = "sig";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    static final int MIN_SECRET_LENGTH = 32;
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    // Mac instances are stateful and not thread-safe, so keep one per thread
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    public FileUrlSigner(
+            @Value("${app.file-storage.signed-url.secret:}") String secret,
+            @Value("${app.security.jwt.secret:}") String jwtSecret,
+            @Value("${app.file-storage.signed-url.ttl:5m}") Duration ttl) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException(
+                    "app.file-storage.signed-url.secret is not set; provide a random key via FILE_URL_SECRET");
+        }
+        if (secret.length() < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException(
+                    "app.file-storage.signed-url.secret must be at least " + MIN_SECRET_LENGTH + " characters");
+        }
+        if (secret.equals(jwtSecret)) {
+            throw new IllegalStateException(
+                    "app.file-storage.signed-url.secret must differ from app.security.jwt.secret");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.ttl = ttl;
+        // Fail at startup rather than on the first download if the key is unusable
+        newMac();
+    }
+
+    /**
+     * A verified download grant.
+     *
+     * @param fileId the ID of the file
+     * @param userId the ID of the user the URL was issued to
+     * @param storedPath the file path relative to the upload directory
+     */
+    public record Grant(Long fileId, Long userId, String storedPath) {
+    }
+
+    /**
+     * Get the time until newly signed URLs expire.
+     *
+     * @return the URL lifetime
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Build a signed download URL.
+     *
+     * @param fileId the ID of the file
+     * @param userId the ID of the user the URL is issued to
+     * @param storedPath the file path relative to the upload directory
+     * @param expiresAt when the URL stops being valid
+     * @return the URL path and query, encoded
+     */
+    public String sign(Long fileId, Long userId, String storedPath, Instant expiresAt) {
+        long expires = expiresAt.getEpochSecond();
+        return UriComponentsBuilder.fromPath(PATH_PREFIX + fileId)
+                .queryParam(PARAM_PATH, storedPath)
+                .queryParam(PARAM_USER, userId)
+                .queryParam(PARAM_EXPIRES, expires)
+                .queryParam(PARAM_SIGNATURE, signature(fileId, userId, storedPath, expires))
+                .encode()
+                .toUriString();
+    }
+
+    /**
+     * Verify the parts of a signed URL.
+     *
+     * @return the grant, or null if the signature does not match or the URL has expired
+     */
+    public Grant verify(String fileId, String storedPath, String userId, String expires, String signature) {
+        if (fileId == null || storedPath == null || userId == null || expires == null || signature == null) {
+            return null;
+        }
+        long parsedFileId;
+        long parsedUserId;
+        long expiresAt;
+        try {
+            parsedFileId = Long.parseLong(fileId);
+            parsedUserId = Long.parseLong(userId);
+            expiresAt = Long.parseLong(expires);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        if (Instant.now().getEpochSecond() > expiresAt) {
+            return null;
+        }
+
+        byte[] expected = signature(parsedFileId, parsedUserId, storedPath, expiresAt)
+                .getBytes(StandardCharsets.US_ASCII);
+        // Constant-time comparison so the signature cannot be guessed byte by byte
+        if (!MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII))) {
+            return null;
+        }
+        return new Grant(parsedFileId, parsedUserId, storedPath);
+    }
+
+    private String signature(long fileId, long userId, String storedPath, long expires) {
+        String payload = fileId + "\n" + userId + "\n" + expires + "\n" + storedPath;
+        byte[] mac = macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Cannot initialize " + ALGORITHM, ex);
+        }
+    }
+}
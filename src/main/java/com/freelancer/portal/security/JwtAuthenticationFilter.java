@@ -38,11 +38,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String userEmail;
         
         // Log the request path for debugging
-        log.debug("Processing request to: " + request.getRequestURI());
+        log.debug("Processing request to: {}", request.getRequestURI());
         
         // Skip authentication for permitted paths
         if (shouldSkipAuthentication(request)) {
-            log.debug("Skipping authentication for permitted path: " + request.getRequestURI());
+            log.debug("Skipping authentication for permitted path: {}", request.getRequestURI());
             filterChain.doFilter(request, response);
             return;
         }
@@ -54,7 +54,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         
-        log.debug("Auth header found: " + authHeader);
+        log.debug("Auth header found");
         
         // More tolerant extraction - trim and handle case where no space exists
         String authHeaderTrimmed = authHeader.trim();
@@ -73,15 +73,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         
-        log.debug("Extracted JWT token (partial): " + jwt.substring(0, Math.min(jwt.length(), 10)) + "...");
+        if (log.isDebugEnabled()) {
+            log.debug("Extracted JWT token (partial): {}...", jwt.substring(0, Math.min(jwt.length(), 10)));
+        }
         
         try {
             userEmail = jwtService.extractUsername(jwt);
-            log.debug("Extracted username from token: " + userEmail);
+            log.debug("Extracted username from token: {}", userEmail);
             
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-                log.debug("Loaded user details for: " + userEmail);
+                log.debug("Loaded user details for: {}", userEmail);
                 
                 if (jwtService.isTokenValid(jwt, userDetails)) {
                     log.debug("JWT token is valid");
@@ -90,7 +92,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     Collection<? extends GrantedAuthority> authorities = userDetails.getAuthorities();
                     
                     // Log roles for debugging
-                    logRoles(authorities);
+                    if (log.isDebugEnabled()) {
+                        logRoles(authorities);
+                    }
                     
                     // Create authentication token with authorities
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -104,14 +108,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     );
                     
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-                    log.debug("Authentication set in SecurityContext with authorities: " + authorities);
+                    log.debug("Authentication set in SecurityContext with authorities: {}", authorities);
                 } else {
                     log.debug("JWT token is not valid");
                 }
             }
         } catch (Exception e) {
             // Log token parsing errors but don't block the request
-            log.error("Invalid JWT token: " + e.getMessage(), e);
+            log.error("Invalid JWT token: {}", e.getMessage(), e);
         }
         
         filterChain.doFilter(request, response);
@@ -120,7 +124,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private void logRoles(Collection<? extends GrantedAuthority> authorities) {
         if (authorities != null && !authorities.isEmpty()) {
             authorities.forEach(authority -> 
-                log.debug("User has authority: " + authority.getAuthority())
+                log.debug("User has authority: {}", authority.getAuthority())
             );
         } else {
             log.debug("User has no authorities");
@@ -149,6 +153,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return true;
         }
         
+        // The Prometheus scrape authenticates with HTTP Basic in its own filter chain
+        if (path.equals(MetricsScrapeSecurityConfig.SCRAPE_PATH)) {
+            return true;
+        }
+        
         // Skip authentication for API docs and error pages
         return path.contains("/v3/api-docs") || 
                path.contains("/swagger-ui") || 
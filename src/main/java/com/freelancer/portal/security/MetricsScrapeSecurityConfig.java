@@ -0,0 +1,67 @@
+package com.freelancer.portal.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Protects the Prometheus scrape endpoint with its own HTTP Basic credential, separate from user
+ * accounts and JWTs, so the scraper needs no user in the database and no expiring token.
+ * <p>
+ * Without {@code app.metrics.scrape.password} the endpoint refuses every request.
+ * </p>
+ */
+@Configuration
+@Slf4j
+public class MetricsScrapeSecurityConfig {
+
+    public static final String SCRAPE_PATH = "/actuator/prometheus";
+
+    private static final String SCRAPE_ROLE = "METRICS";
+
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsScrapeFilterChain(
+            HttpSecurity http,
+            @Value("${app.metrics.scrape.username:prometheus}") String username,
+            @Value("${app.metrics.scrape.password:}") String password) throws Exception {
+        http
+            .securityMatcher(SCRAPE_PATH)
+            .csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(session -> session
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            );
+
+        if (password.isBlank()) {
+            log.warn("app.metrics.scrape.password is not set; {} refuses all requests", SCRAPE_PATH);
+            http.authorizeHttpRequests(auth -> auth.anyRequest().denyAll());
+            return http.build();
+        }
+
+        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        DaoAuthenticationProvider scrapeProvider = new DaoAuthenticationProvider();
+        scrapeProvider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                .password(passwordEncoder.encode(password))
+                .roles(SCRAPE_ROLE)
+                .build()));
+        scrapeProvider.setPasswordEncoder(passwordEncoder);
+
+        http
+            .authenticationManager(new ProviderManager(scrapeProvider))
+            .httpBasic(basic -> { })
+            .authorizeHttpRequests(auth -> auth.anyRequest().hasRole(SCRAPE_ROLE));
+        return http.build();
+    }
+}
@@ -1,7 +1,11 @@
 package com.freelancer.portal.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -53,6 +57,9 @@ public class SecurityConfig {
                 // Actuator endpoints for health checks
                 .requestMatchers("/actuator/health/**").permitAll()
                 .requestMatchers("/actuator/info").permitAll()
+                // JFR recordings and slow query shapes expose stack traces and SQL
+                .requestMatchers("/actuator/profiling", "/actuator/profiling/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/slowqueries", "/actuator/slowqueries/**").hasRole("ADMIN")
                 // Explicitly permit WebSocket endpoints
                 .requestMatchers("/api/v1/ws/**").permitAll()
                 .requestMatchers("/ws/**").permitAll()
@@ -83,6 +90,22 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Serve pre-signed file downloads before the security filter chain runs,
+     * so they skip JWT validation and user lookups entirely.
+     */
+    @Bean
+    public FilterRegistrationBean<SignedFileDownloadFilter> signedFileDownloadFilter(
+            FileUrlSigner fileUrlSigner,
+            MeterRegistry meterRegistry,
+            @Value("${file.upload-dir:uploads}") String uploadDir) {
+        FilterRegistrationBean<SignedFileDownloadFilter> registration = new FilterRegistrationBean<>(
+                new SignedFileDownloadFilter(fileUrlSigner, uploadDir, meterRegistry));
+        registration.addUrlPatterns(FileUrlSigner.PATH_PREFIX + "*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,142 @@
+package com.freelancer.portal.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+
+/**
+ * Serves files for pre-signed download URLs issued by {@link FileUrlSigner}.
+ * <p>
+ * Runs ahead of the Spring Security chain: the signature already proves the URL was issued to
+ * an authorized user, so there is no JWT parsing, user lookup or ownership query. Requests outside
+ * {@link FileUrlSigner#PATH_PREFIX} pass through untouched.
+ * </p>
+ * <p>
+ * Uploads are user content served from the application's origin. Only raster images and PDFs
+ * are shown inline; everything else, notably HTML and SVG, is sent as an
+ * {@code application/octet-stream} attachment like {@code /files/{id}/download}. Every response
+ * also carries {@code Content-Security-Policy: sandbox}, so even an inline file cannot run script
+ * with the application's origin.
+ * </p>
+ */
+@Slf4j
+public class SignedFileDownloadFilter extends OncePerRequestFilter {
+
+    // Stored names are "<uuid>_<original name>"
+    private static final int STORED_NAME_PREFIX_LENGTH = 37;
+
+    // Types browsers render without executing anything embedded in them
+    private static final Set<String> INLINE_CONTENT_TYPES = Set.of(
+            MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_GIF_VALUE,
+            "image/webp", MediaType.APPLICATION_PDF_VALUE);
+
+    private final FileUrlSigner signer;
+    private final Path uploadPath;
+    private final Counter servedCounter;
+    private final Counter rejectedCounter;
+
+    public SignedFileDownloadFilter(FileUrlSigner signer, String uploadDir, MeterRegistry meterRegistry) {
+        this.signer = signer;
+        this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.servedCounter = Counter.builder("files.signed.downloads")
+                .description("Downloads through pre-signed file URLs")
+                .tag("result", "served")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("files.signed.downloads")
+                .description("Downloads through pre-signed file URLs")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(FileUrlSigner.PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+
+        FileUrlSigner.Grant grant = signer.verify(
+                request.getRequestURI().substring(FileUrlSigner.PATH_PREFIX.length()),
+                request.getParameter(FileUrlSigner.PARAM_PATH),
+                request.getParameter(FileUrlSigner.PARAM_USER),
+                request.getParameter(FileUrlSigner.PARAM_EXPIRES),
+                request.getParameter(FileUrlSigner.PARAM_SIGNATURE));
+        if (grant == null) {
+            rejectedCounter.increment();
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Invalid or expired download link");
+            return;
+        }
+
+        Path filePath = uploadPath.resolve(grant.storedPath()).normalize();
+        if (!filePath.startsWith(uploadPath)) {
+            rejectedCounter.increment();
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        String filename = displayName(filePath.getFileName().toString());
+        String contentType = inlineContentType(filename);
+        ContentDisposition.Builder disposition = contentType != null
+                ? ContentDisposition.inline()
+                : ContentDisposition.attachment();
+        response.setContentType(contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                disposition.filename(filename, StandardCharsets.UTF_8).build().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=" + signer.getTtl().toSeconds());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader("Content-Security-Policy", "sandbox");
+
+        try {
+            response.setContentLengthLong(Files.size(filePath));
+            if ("GET".equals(request.getMethod())) {
+                Files.copy(filePath, response.getOutputStream());
+            }
+            servedCounter.increment();
+            log.debug("Served file {} to user {} via signed URL", grant.fileId(), grant.userId());
+        } catch (NoSuchFileException ex) {
+            response.reset();
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        }
+    }
+
+    /**
+     * The content type to serve the file inline with, or null if it must be downloaded.
+     */
+    private static String inlineContentType(String filename) {
+        String contentType = URLConnection.guessContentTypeFromName(filename);
+        return contentType != null && INLINE_CONTENT_TYPES.contains(contentType) ? contentType : null;
+    }
+
+    private static String displayName(String storedName) {
+        return storedName.length() > STORED_NAME_PREFIX_LENGTH && storedName.charAt(STORED_NAME_PREFIX_LENGTH - 1) == '_'
+                ? storedName.substring(STORED_NAME_PREFIX_LENGTH)
+                : storedName;
+    }
+}
@@ -1,13 +1,20 @@
 package com.freelancer.portal.service;
 
 import com.freelancer.portal.dto.FileResponseDto;
+import com.freelancer.portal.dto.SignedUrlDto;
+import com.freelancer.portal.model.File;
 import com.freelancer.portal.model.FileMetadata;
+import com.freelancer.portal.pagination.CursorPageRequest;
+import com.freelancer.portal.pagination.CursorSlice;
+import com.freelancer.portal.service.storage.ProjectArchiveWriter;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Service interface for file operations.
@@ -22,6 +29,15 @@ public interface FileService {
      */
     Page<FileResponseDto> getAllFiles(Pageable pageable);
 
+    /**
+     * Get files for the current user with cursor pagination, without counting all rows.
+     *
+     * @param filter additional filter criteria, may be null
+     * @param request the page to fetch
+     * @return a slice of file response DTOs with the cursor of the next page
+     */
+    CursorSlice<FileResponseDto> scrollFiles(Specification<File> filter, CursorPageRequest request);
+
     /**
      * Get files for a specific project with pagination.
      *
@@ -84,9 +100,29 @@ public interface FileService {
      * @return true if the current user is the owner, false otherwise
      */
     boolean isFileOwner(Long id);
+
+    /**
+     * Resolve the files of a project into archive entries.
+     * Ownership is checked once for the whole project, so the archive can be streamed
+     * afterwards without further database access.
+     *
+     * @param projectId the project ID
+     * @return the archive entries, with unique entry names
+     */
+    List<ProjectArchiveWriter.ArchiveEntry> getProjectArchiveEntries(Long projectId);
+    
+    /**
+     * Issue a short-lived signed URL for downloading a file.
+     * The URL can be fetched without an Authorization header, e.g. from an img tag.
+     *
+     * @param id the file ID
+     * @return the signed URL and its expiry time
+     */
+    SignedUrlDto createSignedDownloadUrl(Long id);
     
     /**
      * Upload a file associated with a specific entity type and ID.
+     * The file is processed asynchronously and can only be downloaded once its status is READY.
      *
      * @param entityType the type of entity this file is associated with
      * @param entityId the ID of the entity this file is associated with
@@ -102,6 +138,7 @@ public interface FileService {
      * @param fileId the ID of the file metadata
      * @return the file resource
      * @throws IOException if an I/O error occurs
+     * @throws com.freelancer.portal.exception.FileNotReadyException if the file is still being processed or was rejected
      */
     Resource download(Long fileId) throws IOException;
     
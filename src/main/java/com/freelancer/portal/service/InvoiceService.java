@@ -6,9 +6,12 @@ import com.freelancer.portal.dto.InvoiceResponseDto;
 import com.freelancer.portal.dto.PaymentResponseDto;
 import com.freelancer.portal.model.FileMetadata;
 import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.pagination.CursorPageRequest;
+import com.freelancer.portal.pagination.CursorSlice;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.io.IOException;
 import java.time.LocalDate;
@@ -27,6 +30,15 @@ public interface InvoiceService {
      */
     Page<InvoiceResponseDto> getAllInvoices(Pageable pageable);
 
+    /**
+     * Get invoices for the current user with cursor pagination, without counting all rows.
+     *
+     * @param filter additional filter criteria, may be null
+     * @param request the page to fetch
+     * @return a slice of invoice response DTOs with the cursor of the next page
+     */
+    CursorSlice<InvoiceResponseDto> scrollInvoices(Specification<Invoice> filter, CursorPageRequest request);
+
     /**
      * Get an invoice by ID.
      *
@@ -4,12 +4,16 @@ import com.freelancer.portal.dto.InvoiceNotificationDto;
 import com.freelancer.portal.dto.NotificationDto;
 import com.freelancer.portal.model.Invoice;
 import com.freelancer.portal.model.Message;
+import com.freelancer.portal.model.Notification;
 import com.freelancer.portal.model.Notification.NotificationType;
 import com.freelancer.portal.model.Project;
 import com.freelancer.portal.model.Client;
+import com.freelancer.portal.pagination.CursorPageRequest;
+import com.freelancer.portal.pagination.CursorSlice;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
 
@@ -40,6 +44,16 @@ public interface NotificationService {
      * @return A page of notification DTOs
      */
     Page<NotificationDto> getCurrentUserNotifications(Pageable pageable);
+
+    /**
+     * Get notifications for the current user with cursor pagination, without counting all rows.
+     *
+     * @param filter Additional filter criteria, may be null
+     * @param request The page to fetch
+     * @return A slice of notification DTOs with the cursor of the next page
+     */
+    CursorSlice<NotificationDto> scrollCurrentUserNotifications(Specification<Notification> filter,
+                                                                CursorPageRequest request);
     
     /**
      * Get unread notifications for the current user.
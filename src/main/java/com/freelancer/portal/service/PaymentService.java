@@ -2,8 +2,12 @@ package com.freelancer.portal.service;
 
 import com.freelancer.portal.dto.PaymentRequestDto;
 import com.freelancer.portal.dto.PaymentResponseDto;
+import com.freelancer.portal.model.Payment;
+import com.freelancer.portal.pagination.CursorPageRequest;
+import com.freelancer.portal.pagination.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,6 +25,15 @@ public interface PaymentService {
      */
     Page<PaymentResponseDto> getAllPayments(Pageable pageable);
 
+    /**
+     * Get payments for the current user with cursor pagination, without counting all rows.
+     *
+     * @param filter additional filter criteria, may be null
+     * @param request the page to fetch
+     * @return a slice of payment response DTOs with the cursor of the next page
+     */
+    CursorSlice<PaymentResponseDto> scrollPayments(Specification<Payment> filter, CursorPageRequest request);
+
     /**
      * Get a payment by ID.
      *
@@ -2,8 +2,12 @@ package com.freelancer.portal.service;
 
 import com.freelancer.portal.dto.TimeEntryDto;
 import com.freelancer.portal.dto.TimeEntrySummaryDto;
+import com.freelancer.portal.model.TimeEntry;
+import com.freelancer.portal.pagination.CursorPageRequest;
+import com.freelancer.portal.pagination.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -116,4 +120,13 @@ public interface TimeEntryService {
     boolean isTimeEntryOwner(Long timeEntryId);
 
     Page<TimeEntryDto> getAllTimeEntries(Pageable pageable);
+
+    /**
+     * Get time entries for the current user with cursor pagination, without counting all rows.
+     *
+     * @param filter additional filter criteria, may be null
+     * @param request the page to fetch
+     * @return a slice of time entry DTOs with the cursor of the next page
+     */
+    CursorSlice<TimeEntryDto> scrollTimeEntries(Specification<TimeEntry> filter, CursorPageRequest request);
 }
\ No newline at end of file
@@ -0,0 +1,249 @@
+package com.freelancer.portal.service.image;
+
+import com.freelancer.portal.event.UserChangedEvent;
+import com.freelancer.portal.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+
+/**
+ * Generates downscaled, re-encoded thumbnails of profile pictures.
+ * <p>
+ * Generation runs on the bounded {@code imageDerivativeExecutor} so uploads return as soon as the
+ * original is stored. Thumbnail file names contain a fingerprint of the source image, which lets
+ * them be served with long-lived immutable cache headers: a new picture always gets a new URL.
+ * </p>
+ */
+@Component
+@Slf4j
+public class ProfilePictureThumbnailGenerator {
+
+    private static final String THUMBNAIL_FORMAT = "jpg";
+    private static final int FINGERPRINT_LENGTH = 16;
+
+    private final UserRepository userRepository;
+    private final TaskExecutor executor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path thumbnailLocation;
+    private final String thumbnailUrlPrefix;
+    private final int thumbnailSize;
+    private final float jpegQuality;
+    private final long maxSourcePixels;
+
+    public ProfilePictureThumbnailGenerator(
+            UserRepository userRepository,
+            @Qualifier("imageDerivativeExecutor") TaskExecutor executor,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${file.profile-pictures-dir:uploads/profile-pictures}") String profilePicturesDir,
+            @Value("${image.derivatives.thumbnail-url-prefix:/uploads/profile-pictures/thumbnails/}") String thumbnailUrlPrefix,
+            @Value("${image.derivatives.thumbnail-size:128}") int thumbnailSize,
+            @Value("${image.derivatives.jpeg-quality:0.85}") float jpegQuality,
+            @Value("${image.derivatives.max-source-pixels:40000000}") long maxSourcePixels) {
+        this.userRepository = userRepository;
+        this.executor = executor;
+        this.eventPublisher = eventPublisher;
+        this.thumbnailLocation = Paths.get(profilePicturesDir, "thumbnails").toAbsolutePath().normalize();
+        this.thumbnailUrlPrefix = thumbnailUrlPrefix;
+        this.thumbnailSize = thumbnailSize;
+        this.jpegQuality = jpegQuality;
+        this.maxSourcePixels = maxSourcePixels;
+    }
+
+    /**
+     * Schedule thumbnail generation for a freshly stored profile picture.
+     * Once the thumbnail is written, the user's thumbnail URL is updated, unless the
+     * profile picture has been replaced in the meantime.
+     *
+     * @param userId the ID of the user owning the picture
+     * @param profilePictureUrl the URL under which the original picture is served
+     * @param source the stored original picture
+     */
+    public void scheduleThumbnail(Long userId, String profilePictureUrl, Path source) {
+        try {
+            executor.execute(() -> generateThumbnail(userId, profilePictureUrl, source));
+        } catch (TaskRejectedException ex) {
+            // The original picture is still served; the thumbnail is an optimization only
+            log.warn("Thumbnail generation queue is full, skipping thumbnail for user {}", userId);
+        }
+    }
+
+    /**
+     * Delete a previously generated thumbnail.
+     *
+     * @param thumbnailUrl the thumbnail URL
+     */
+    public void deleteThumbnail(String thumbnailUrl) {
+        if (thumbnailUrl == null || thumbnailUrl.isEmpty()) {
+            return;
+        }
+        String filename = thumbnailUrl.substring(thumbnailUrl.lastIndexOf('/') + 1);
+        try {
+            if (Files.deleteIfExists(thumbnailLocation.resolve(filename).normalize())) {
+                log.info("Deleted profile picture thumbnail: {}", filename);
+            }
+        } catch (IOException ex) {
+            log.error("Failed to delete profile picture thumbnail {}: {}", filename, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Decode an image, center-crop it to a square and scale it to the configured thumbnail size.
+     *
+     * @param in the encoded source image
+     * @return the JPEG-encoded thumbnail, or null if the input is not a supported image
+     * @throws IOException if the image cannot be read or encoded
+     */
+    public byte[] renderThumbnail(InputStream in) throws IOException {
+        BufferedImage source = readImage(in);
+        if (source == null) {
+            return null;
+        }
+        BufferedImage thumbnail = scaleAndCrop(source, thumbnailSize);
+        return encodeJpeg(thumbnail);
+    }
+
+    private void generateThumbnail(Long userId, String profilePictureUrl, Path source) {
+        long startTime = System.nanoTime();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] thumbnail;
+            try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest)) {
+                thumbnail = renderThumbnail(in);
+                // Drain whatever the decoder did not consume so the fingerprint covers the whole file
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            if (thumbnail == null) {
+                log.warn("Profile picture {} could not be decoded, no thumbnail generated", source.getFileName());
+                return;
+            }
+
+            String fingerprint = HexFormat.of().formatHex(digest.digest()).substring(0, FINGERPRINT_LENGTH);
+            String filename = "profile_" + userId + "_" + fingerprint + "_" + thumbnailSize + "." + THUMBNAIL_FORMAT;
+
+            Files.createDirectories(thumbnailLocation);
+            Path target = thumbnailLocation.resolve(filename);
+            // Write to a temporary file first so a partially written thumbnail is never served
+            Path tempFile = Files.createTempFile(thumbnailLocation, "thumb", ".tmp");
+            try {
+                Files.write(tempFile, thumbnail);
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+
+            String thumbnailUrl = thumbnailUrlPrefix + filename;
+            int updated = userRepository.updateProfilePictureThumbnailUrl(userId, profilePictureUrl, thumbnailUrl);
+            if (updated == 0) {
+                // Picture was replaced or removed while we were working; drop the orphan
+                Files.deleteIfExists(target);
+                log.debug("Discarded stale thumbnail for user {}", userId);
+                return;
+            }
+            eventPublisher.publishEvent(new UserChangedEvent(userId));
+
+            log.info("Generated {}px thumbnail for user {} ({} bytes) in {}ms",
+                    thumbnailSize, userId, thumbnail.length, (System.nanoTime() - startTime) / 1_000_000);
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException ex) {
+            log.error("Failed to generate thumbnail for user {}: {}", userId, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Read an image, letting the decoder subsample large sources so full-resolution
+     * pixels are never materialized when only a small thumbnail is needed.
+     */
+    private BufferedImage readImage(InputStream in) throws IOException {
+        try (ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+            if (imageInput == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    log.warn("Refusing to decode {}x{} image, exceeds {} pixels", width, height, maxSourcePixels);
+                    return null;
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                // Keep at least twice the target resolution so the final scale stays smooth
+                int subsampling = Math.max(1, Math.min(width, height) / (thumbnailSize * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scaleAndCrop(BufferedImage source, int size) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        int x = (source.getWidth() - side) / 2;
+        int y = (source.getHeight() - side) / 2;
+
+        BufferedImage target = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG has no alpha channel, flatten transparent pixels onto white
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, size, size);
+            graphics.drawImage(source, 0, 0, size, size, x, y, x + side, y + side, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(THUMBNAIL_FORMAT).next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(imageOutput);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -4,12 +4,15 @@ import com.freelancer.portal.dto.AuthenticationRequest;
 import com.freelancer.portal.dto.AuthenticationResponse;
 import com.freelancer.portal.dto.RegisterRequest;
 import com.freelancer.portal.dto.UserDTO;
+import com.freelancer.portal.event.UserChangedEvent;
 import com.freelancer.portal.model.User;
 import com.freelancer.portal.repository.UserRepository;
 import com.freelancer.portal.security.JwtService;
 import com.freelancer.portal.service.AuthenticationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -18,16 +21,26 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuthenticationServiceImpl implements AuthenticationService {
     
+    /**
+     * Roles anyone can pick when signing up. ADMIN guards the profiling and slow query
+     * endpoints and is only granted by an existing administrator.
+     */
+    private static final Set<User.Role> SELF_REGISTRATION_ROLES =
+            EnumSet.of(User.Role.USER, User.Role.FREELANCER, User.Role.CLIENT);
+    
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Register a new user.
@@ -36,13 +49,19 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     public AuthenticationResponse register(RegisterRequest request) {
         log.info("Registering new user with email: {}", request.getEmail());
         
+        User.Role role = request.getRole() != null ? request.getRole() : User.Role.USER;
+        if (!SELF_REGISTRATION_ROLES.contains(role)) {
+            log.warn("Rejected registration for {} requesting role {}", request.getEmail(), role);
+            throw new AccessDeniedException("Role " + role + " cannot be chosen at registration");
+        }
+        
         // Build user with more complete information from the request
         User.UserBuilder builder = User.builder()
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .email(request.getEmail())
                 .password(passwordEncoder.encode(request.getPassword()))
-                .role(request.getRole() != null ? request.getRole() : User.Role.USER)
+                .role(role)
                 .emailVerified(false)
                 .accountLocked(false);
         
@@ -115,6 +134,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         // Update last login timestamp
         user.setLastLogin(LocalDateTime.now());
         user = userRepository.save(user);
+        // The cached current user DTO carries lastLogin
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
         
         log.info("User authenticated successfully: {}", user.getEmail());
         
@@ -1,7 +1,9 @@
 package com.freelancer.portal.service.impl;
 
+import com.freelancer.portal.cache.CacheNames;
 import com.freelancer.portal.dto.ClientDto;
 import com.freelancer.portal.dto.ProjectDto;
+import com.freelancer.portal.event.ClientChangedEvent;
 import com.freelancer.portal.exception.ResourceNotFoundException;
 import com.freelancer.portal.mapper.ClientMapper;
 import com.freelancer.portal.model.Client;
@@ -17,6 +19,8 @@ import com.freelancer.portal.service.ClientService;
 import com.freelancer.portal.service.ProjectService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -35,6 +39,7 @@ public class ClientServiceImpl implements ClientService {
     private final UserRepository userRepository;
     private final SecurityUtils securityUtils;
     private final ProjectService projectService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -51,8 +56,9 @@ public class ClientServiceImpl implements ClientService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.CLIENTS, key = "@ownerCacheKeys.key(#id)")
     public ClientDto getClientById(Long id) {
-        Client client = clientRepository.findById(id)
+        Client client = clientRepository.findDetailedById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + id));
         
         if (!isClientOwner(id)) {
@@ -90,6 +96,7 @@ public class ClientServiceImpl implements ClientService {
         client.setFreelancer(currentUser);
         
         Client savedClient = clientRepository.save(client);
+        eventPublisher.publishEvent(new ClientChangedEvent(currentUser.getId(), savedClient.getId()));
         
         // Return client with project count (which will be 0 for new clients)
         List<Project> projects = projectRepository.findByClient(savedClient);
@@ -128,6 +135,7 @@ public class ClientServiceImpl implements ClientService {
         }
         
         Client updatedClient = clientRepository.save(client);
+        eventPublisher.publishEvent(new ClientChangedEvent(updatedClient.getFreelancer().getId(), id));
         List<Project> projects = projectRepository.findByClient(updatedClient);
         return ClientMapper.toDtoWithProjects(updatedClient, projects);
     }
@@ -149,6 +157,7 @@ public class ClientServiceImpl implements ClientService {
         }
         
         clientRepository.delete(client);
+        eventPublisher.publishEvent(new ClientChangedEvent(client.getFreelancer().getId(), id));
     }
 
     @Override
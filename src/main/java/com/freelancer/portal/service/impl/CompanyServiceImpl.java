@@ -1,6 +1,8 @@
 package com.freelancer.portal.service.impl;
 
+import com.freelancer.portal.cache.CacheNames;
 import com.freelancer.portal.dto.CompanyDto;
+import com.freelancer.portal.event.CompanyChangedEvent;
 import com.freelancer.portal.model.Company;
 import com.freelancer.portal.model.User;
 import com.freelancer.portal.repository.CompanyRepository;
@@ -9,6 +11,8 @@ import com.freelancer.portal.exception.ResourceNotFoundException;
 import com.freelancer.portal.security.SecurityUtils;
 import com.freelancer.portal.service.CompanyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,9 +28,11 @@ public class CompanyServiceImpl implements CompanyService {
     private final CompanyRepository companyRepository;
     private final UserRepository userRepository;
     private final SecurityUtils securityUtils;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.COMPANIES, key = "@ownerCacheKeys.key('current')")
     public CompanyDto getCurrentUserCompany() {
         User currentUser = securityUtils.getCurrentUser();
         Company company = companyRepository.findByOwnerId(currentUser.getId())
@@ -48,6 +54,7 @@ public class CompanyServiceImpl implements CompanyService {
         }
         
         company = companyRepository.save(company);
+        publishChanged(company);
         return mapToDto(company);
     }
 
@@ -67,6 +74,7 @@ public class CompanyServiceImpl implements CompanyService {
         updateCompanyFromDto(company, companyDto);
         company.setOwner(currentUser);
         company = companyRepository.save(company);
+        publishChanged(company);
         return mapToDto(company);
     }
 
@@ -77,6 +85,7 @@ public class CompanyServiceImpl implements CompanyService {
                 .orElseThrow(() -> new ResourceNotFoundException("Company not found with id: " + id));
         updateCompanyFromDto(company, companyDto);
         company = companyRepository.save(company);
+        publishChanged(company);
         return mapToDto(company);
     }
 
@@ -86,6 +95,7 @@ public class CompanyServiceImpl implements CompanyService {
         Company company = companyRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Company not found with id: " + id));
         companyRepository.delete(company);
+        publishChanged(company);
     }
 
     @Override
@@ -108,6 +118,11 @@ public class CompanyServiceImpl implements CompanyService {
         return companyRepository.findAll(pageable).map(this::mapToDto);
     }
 
+    private void publishChanged(Company company) {
+        Long ownerId = company.getOwner() != null ? company.getOwner().getId() : null;
+        eventPublisher.publishEvent(new CompanyChangedEvent(ownerId, company.getId()));
+    }
+
     /**
      * Maps a Company entity to a CompanyDto.
      *
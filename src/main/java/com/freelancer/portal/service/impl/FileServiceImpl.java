@@ -1,6 +1,9 @@
 package com.freelancer.portal.service.impl;
 
 import com.freelancer.portal.dto.FileResponseDto;
+import com.freelancer.portal.dto.SignedUrlDto;
+import com.freelancer.portal.event.ProjectChangedEvent;
+import com.freelancer.portal.exception.FileNotReadyException;
 import com.freelancer.portal.exception.FileStorageException;
 import com.freelancer.portal.exception.ResourceNotFoundException;
 import com.freelancer.portal.mapper.FileMapper;
@@ -8,19 +11,27 @@ import com.freelancer.portal.model.File;
 import com.freelancer.portal.model.FileMetadata;
 import com.freelancer.portal.model.Project;
 import com.freelancer.portal.model.User;
+import com.freelancer.portal.pagination.CursorPageRequest;
+import com.freelancer.portal.pagination.CursorSlice;
+import com.freelancer.portal.pagination.KeysetSliceExecutor;
 import com.freelancer.portal.repository.FileMetadataRepository;
 import com.freelancer.portal.repository.FileRepository;
 import com.freelancer.portal.repository.ProjectRepository;
+import com.freelancer.portal.security.FileUrlSigner;
 import com.freelancer.portal.security.SecurityUtils;
 import com.freelancer.portal.service.FileService;
+import com.freelancer.portal.service.storage.ProjectArchiveWriter;
 import com.freelancer.portal.service.storage.StorageStrategy;
+import com.freelancer.portal.service.storage.pipeline.UploadPipeline;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,12 +40,17 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
+import java.time.Instant;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -50,6 +66,10 @@ public class FileServiceImpl implements FileService {
     private final SecurityUtils securityUtils;
     private final FileMetadataRepository fileMetadataRepository;
     private final StorageStrategy storageStrategy;
+    private final UploadPipeline uploadPipeline;
+    private final FileUrlSigner fileUrlSigner;
+    private final KeysetSliceExecutor keysetSliceExecutor;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -59,6 +79,15 @@ public class FileServiceImpl implements FileService {
         return files.map(FileMapper::toResponseDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<FileResponseDto> scrollFiles(Specification<File> filter, CursorPageRequest request) {
+        User currentUser = securityUtils.getCurrentUser();
+        Specification<File> owned = (root, query, cb) -> cb.equal(root.get("owner"), currentUser);
+        return keysetSliceExecutor.fetch(File.class, owned.and(filter), request, FileMapper::toResponseDto,
+                "project", "owner");
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<FileResponseDto> getFilesByProject(Long projectId, Pageable pageable) {
@@ -161,6 +190,7 @@ public class FileServiceImpl implements FileService {
         try {
             File savedFile = fileRepository.save(file);
             log.info("File metadata saved successfully for file ID: {}", savedFile.getId());
+            publishProjectChanged(project);
             return FileMapper.toResponseDto(savedFile);
         } catch (Exception e) {
              log.error("Failed to save file metadata for {}: {}", originalFilename, e.getMessage(), e);
@@ -201,10 +231,13 @@ public class FileServiceImpl implements FileService {
                 throw new ResourceNotFoundException("Project not found with id: " + projectId);
             }
             
+            // The file leaves one cached project and joins another
+            publishProjectChanged(file.getProject());
             file.setProject(project);
         }
         
         File updatedFile = fileRepository.save(file);
+        publishProjectChanged(updatedFile.getProject());
         return FileMapper.toResponseDto(updatedFile);
     }
 
@@ -224,6 +257,7 @@ public class FileServiceImpl implements FileService {
         
         // Delete file metadata from database
         fileRepository.delete(file);
+        publishProjectChanged(file.getProject());
     }
 
     @Override
@@ -250,6 +284,35 @@ public class FileServiceImpl implements FileService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public SignedUrlDto createSignedDownloadUrl(Long id) {
+        File file = fileRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("File not found with id: " + id));
+        
+        User currentUser = securityUtils.getCurrentUser();
+        if (!file.getOwner().getId().equals(currentUser.getId())) {
+            throw new ResourceNotFoundException("File not found with id: " + id);
+        }
+        
+        Instant expiresAt = Instant.now().plus(fileUrlSigner.getTtl());
+        String url = fileUrlSigner.sign(file.getId(), currentUser.getId(), file.getFilePath(), expiresAt);
+        return SignedUrlDto.builder()
+                .url(url)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    /**
+     * Cached project details list the project's files, so file changes count as project changes.
+     */
+    private void publishProjectChanged(Project project) {
+        if (project != null) {
+            Long ownerId = project.getFreelancer() != null ? project.getFreelancer().getId() : null;
+            eventPublisher.publishEvent(new ProjectChangedEvent(ownerId, project.getId()));
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean isFileOwner(Long id) {
@@ -262,6 +325,49 @@ public class FileServiceImpl implements FileService {
         
         return file.getOwner().getId().equals(currentUser.getId());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectArchiveWriter.ArchiveEntry> getProjectArchiveEntries(Long projectId) {
+        User currentUser = securityUtils.getCurrentUser();
+        if (!projectRepository.existsByIdAndFreelancer(projectId, currentUser)) {
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+
+        Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        List<File> files = fileRepository.findByProjectId(projectId);
+        List<ProjectArchiveWriter.ArchiveEntry> entries = new ArrayList<>(files.size());
+        Set<String> usedNames = new HashSet<>();
+
+        for (File file : files) {
+            Path filePath = uploadPath.resolve(file.getFilePath()).normalize();
+            if (!filePath.startsWith(uploadPath)) {
+                log.warn("Skipping file {} with path outside the upload directory", file.getId());
+                continue;
+            }
+            entries.add(new ProjectArchiveWriter.ArchiveEntry(uniqueEntryName(file.getName(), usedNames), filePath));
+        }
+
+        log.debug("Prepared {} archive entries for project {}", entries.size(), projectId);
+        return entries;
+    }
+
+    /**
+     * ZIP archives cannot contain duplicate entry names, so suffix repeated
+     * file names with a counter, e.g. "report (2).pdf".
+     */
+    private String uniqueEntryName(String name, Set<String> usedNames) {
+        String candidate = name;
+        int counter = 2;
+        while (!usedNames.add(candidate)) {
+            int dotIndex = name.lastIndexOf('.');
+            candidate = dotIndex > 0
+                    ? name.substring(0, dotIndex) + " (" + counter + ")" + name.substring(dotIndex)
+                    : name + " (" + counter + ")";
+            counter++;
+        }
+        return candidate;
+    }
     
     @Override
     @Transactional
@@ -288,7 +394,8 @@ public class FileServiceImpl implements FileService {
             metadata.setProjectId(entityId);
         }
         
-        return fileMetadataRepository.save(metadata);
+        // Hashing, scanning and thumbnailing happen in the background; the file stays PENDING until then
+        return uploadPipeline.submit(metadata);
     }
     
     @Override
@@ -297,6 +404,13 @@ public class FileServiceImpl implements FileService {
         FileMetadata metadata = fileMetadataRepository.findById(fileId)
                 .orElseThrow(() -> new ResourceNotFoundException("File metadata not found with id: " + fileId));
         
+        if (!metadata.isReady()) {
+            if (metadata.getStatus() == FileMetadata.Status.PENDING) {
+                throw new FileNotReadyException("File " + fileId + " is still being processed");
+            }
+            throw new FileNotReadyException("File " + fileId + " is not available: " + metadata.getStatusReason());
+        }
+        
         // Use the storage strategy to retrieve the file
         // Try url first, fall back to fileUrl if url is null
         String fileLocation = metadata.getUrl() != null ? metadata.getUrl() : metadata.getFileUrl();
@@ -6,6 +6,7 @@ import com.freelancer.portal.dto.InvoiceItemResponseDto;
 import com.freelancer.portal.dto.InvoiceRequestDto;
 import com.freelancer.portal.dto.InvoiceResponseDto;
 import com.freelancer.portal.dto.PaymentResponseDto;
+import com.freelancer.portal.event.InvoiceChangedEvent;
 import com.freelancer.portal.exception.ResourceNotFoundException;
 import com.freelancer.portal.model.Client;
 import com.freelancer.portal.model.FileMetadata;
@@ -13,46 +14,51 @@ import com.freelancer.portal.model.Invoice;
 import com.freelancer.portal.model.InvoiceItem;
 import com.freelancer.portal.model.Project;
 import com.freelancer.portal.model.User;
+import com.freelancer.portal.pagination.CursorPageRequest;
+import com.freelancer.portal.pagination.CursorSlice;
+import com.freelancer.portal.pagination.KeysetSliceExecutor;
 import com.freelancer.portal.repository.ClientRepository;
 import com.freelancer.portal.repository.FileMetadataRepository;
 import com.freelancer.portal.repository.InvoiceItemRepository;
 import com.freelancer.portal.repository.InvoiceRepository;
 import com.freelancer.portal.repository.ProjectRepository;
 import com.freelancer.portal.repository.UserRepository;
+import com.freelancer.portal.repository.projection.InvoiceItemRow;
+import com.freelancer.portal.repository.projection.InvoiceListRow;
 import com.freelancer.portal.security.SecurityUtils;
 import com.freelancer.portal.service.FileService;
 import com.freelancer.portal.service.InvoiceService;
 import com.freelancer.portal.service.NotificationService;
 import com.freelancer.portal.service.PaymentService;
 import com.freelancer.portal.service.ProjectService;
+import com.freelancer.portal.service.invoice.InvoiceNumberAllocator;
+import com.freelancer.portal.service.invoice.InvoicePdfRenderer;
+import com.freelancer.portal.service.invoice.InvoiceTotals;
 import com.freelancer.portal.model.Notification;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -72,13 +78,37 @@ public class InvoiceServiceImpl implements InvoiceService {
     private final jakarta.persistence.EntityManager entityManager;
     private final NotificationService notificationService;
     private final PaymentService paymentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetSliceExecutor keysetSliceExecutor;
+    private final InvoiceNumberAllocator invoiceNumberAllocator;
+    private final ObservationRegistry observationRegistry;
+    private final InvoiceTotals invoiceTotals;
+    private final InvoicePdfRenderer invoicePdfRenderer;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     @Transactional(readOnly = true)
     public Page<InvoiceResponseDto> getAllInvoices(Pageable pageable) {
         User currentUser = securityUtils.getCurrentUser();
-        Page<Invoice> invoices = invoiceRepository.findAllByFreelancer(currentUser, pageable);
-        return invoices.map(this::mapToResponseDto);
+        Page<InvoiceListRow> rows = invoiceRepository.findListRowsByFreelancer(currentUser, pageable);
+        if (rows.isEmpty()) {
+            return rows.map(row -> mapToResponseDto(row, List.of()));
+        }
+
+        // One query for the items of the whole page instead of one per invoice
+        Map<Long, List<InvoiceItemRow>> itemsByInvoice = invoiceItemRepository
+                .findRowsByInvoiceIdIn(rows.map(InvoiceListRow::id).getContent()).stream()
+                .collect(Collectors.groupingBy(InvoiceItemRow::invoiceId));
+        return rows.map(row -> mapToResponseDto(row, itemsByInvoice.getOrDefault(row.id(), List.of())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<InvoiceResponseDto> scrollInvoices(Specification<Invoice> filter, CursorPageRequest request) {
+        User currentUser = securityUtils.getCurrentUser();
+        Specification<Invoice> owned = (root, query, cb) -> cb.equal(root.get("freelancer"), currentUser);
+        return keysetSliceExecutor.fetchPage(Invoice.class, owned.and(filter), request,
+                this::mapToResponseDtos, "client.company", "project");
     }
 
     @Override
@@ -134,7 +164,7 @@ public class InvoiceServiceImpl implements InvoiceService {
     @Override
     @Transactional(readOnly = true)
     public InvoiceResponseDto getInvoiceById(Long id) {
-        Invoice invoice = invoiceRepository.findById(id)
+        Invoice invoice = invoiceRepository.findDetailedById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Invoice not found with id: " + id));
         
         if (!isInvoiceOwner(id)) {
@@ -160,10 +190,20 @@ public class InvoiceServiceImpl implements InvoiceService {
     }
 
     @Override
-    @Transactional
     public InvoiceResponseDto createInvoice(InvoiceRequestDto invoiceRequestDto) {
         User currentUser = securityUtils.getCurrentUser();
-        
+
+        // Allocated before the transaction starts: reserving a new block of numbers takes a pool
+        // connection of its own, which must not be requested while this transaction holds one
+        String invoiceNumber = invoiceRequestDto.getInvoiceNumber();
+        if (invoiceNumber == null || invoiceNumber.trim().isEmpty()) {
+            invoiceNumber = invoiceNumberAllocator.nextInvoiceNumber(currentUser.getId());
+        }
+        String allocatedNumber = invoiceNumber;
+        return transactionTemplate.execute(status -> createInvoice(invoiceRequestDto, currentUser, allocatedNumber));
+    }
+
+    private InvoiceResponseDto createInvoice(InvoiceRequestDto invoiceRequestDto, User currentUser, String invoiceNumber) {
         // Fetch the project if it's provided
         Project project = null;
         if (invoiceRequestDto.getProjectId() != null) {
@@ -183,12 +223,7 @@ public class InvoiceServiceImpl implements InvoiceService {
         if (!client.getFreelancer().getId().equals(currentUser.getId())) {
             throw new ResourceNotFoundException("Client not found with id: " + invoiceRequestDto.getClientId());
         }
-        
-        // Generate invoice number if not provided
-        String invoiceNumber = invoiceRequestDto.getInvoiceNumber();
-        if (invoiceNumber == null || invoiceNumber.trim().isEmpty()) {
-            invoiceNumber = generateInvoiceNumber();
-        }
+
         
         // Create invoice entity
         Invoice invoice = new Invoice();
@@ -211,44 +246,33 @@ public class InvoiceServiceImpl implements InvoiceService {
             invoice.setTaxAmount(invoiceRequestDto.getTaxAmount());
         }
         
-        // Save the invoice first to generate ID
-        Invoice savedInvoice = invoiceRepository.save(invoice);
-        
-        // Process invoice items
-        if (invoiceRequestDto.getItems() != null && !invoiceRequestDto.getItems().isEmpty()) {
-            List<InvoiceItem> items = new ArrayList<>();
-            
+        // Build the whole aggregate in memory; the items cascade from the invoice and are
+        // inserted as one JDBC batch when the transaction flushes
+        if (invoiceRequestDto.getItems() != null) {
             for (InvoiceItemRequestDto itemDto : invoiceRequestDto.getItems()) {
                 InvoiceItem item = new InvoiceItem();
                 item.setDescription(itemDto.getDescription());
                 item.setQuantity(itemDto.getQuantity());
                 item.setUnitPrice(itemDto.getUnitPrice());
                 item.setAmount(itemDto.getQuantity().multiply(itemDto.getUnitPrice()));
-                item.setInvoice(savedInvoice);
-                items.add(item);
+                item.setInvoice(invoice);
+                invoice.getItems().add(item);
             }
-            
-            // Properly set the items on the invoice to maintain the relationship
-            savedInvoice.setItems(items);
-            
-            // Save the invoice with its items in a single transaction
-            savedInvoice = invoiceRepository.save(savedInvoice);
         }
         
-        // Calculate all totals after items are saved
-        if (savedInvoice.getSubtotal() == null || savedInvoice.getSubtotal().compareTo(BigDecimal.ZERO) == 0) {
-            calculateInvoiceTotals(savedInvoice);
-            savedInvoice = invoiceRepository.save(savedInvoice);
+        // Calculate totals before the insert so no follow-up UPDATE is needed
+        if (invoice.getSubtotal() == null || invoice.getSubtotal().compareTo(BigDecimal.ZERO) == 0) {
+            invoiceTotals.calculate(invoice);
         }
         
-        // Get a fresh copy of the invoice with all relationships loaded
-        Invoice refreshedInvoice = invoiceRepository.findById(savedInvoice.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Invoice not found after save"));
+        Invoice savedInvoice = invoiceRepository.save(invoice);
         
+        eventPublisher.publishEvent(InvoiceChangedEvent.of(savedInvoice));
+
         // Create notification for the new invoice
-        notificationService.createInvoiceNotification(refreshedInvoice, Notification.NotificationType.INVOICE_CREATED);
+        notificationService.createInvoiceNotification(savedInvoice, Notification.NotificationType.INVOICE_CREATED);
         
-        return mapToResponseDto(refreshedInvoice);
+        return mapToResponseDto(savedInvoice, savedInvoice.getItems());
     }
 
     @Override
@@ -331,9 +355,10 @@ public class InvoiceServiceImpl implements InvoiceService {
         invoice.setItems(items);
         
         // Calculate totals
-        calculateInvoiceTotals(invoice);
+        invoiceTotals.calculate(invoice);
         
         Invoice updatedInvoice = invoiceRepository.save(invoice);
+        eventPublisher.publishEvent(InvoiceChangedEvent.of(updatedInvoice));
         return mapToResponseDto(updatedInvoice);
     }
 
@@ -357,6 +382,7 @@ public class InvoiceServiceImpl implements InvoiceService {
         }
         
         Invoice updatedInvoice = invoiceRepository.save(existingInvoice);
+        eventPublisher.publishEvent(InvoiceChangedEvent.of(updatedInvoice));
         return mapToDto(updatedInvoice);
     }
 
@@ -380,6 +406,7 @@ public class InvoiceServiceImpl implements InvoiceService {
         }
         
         Invoice updatedInvoice = invoiceRepository.save(invoice);
+        eventPublisher.publishEvent(InvoiceChangedEvent.of(updatedInvoice));
         
         // Create notification for the paid invoice
         notificationService.createInvoiceNotification(updatedInvoice, Notification.NotificationType.INVOICE_PAID);
@@ -424,6 +451,7 @@ public class InvoiceServiceImpl implements InvoiceService {
         }
         
         invoiceRepository.delete(invoice);
+        eventPublisher.publishEvent(InvoiceChangedEvent.of(invoice));
     }
 
     @Override
@@ -504,8 +532,12 @@ public class InvoiceServiceImpl implements InvoiceService {
             }
         }
         
-        // Generate PDF content
-        byte[] pdfContent = generatePdfContent(invoice);
+        // Generate PDF content; rendering is CPU-bound and traced as its own span
+        byte[] pdfContent = Observation.createNotStarted("invoice.pdf.render", observationRegistry)
+                .contextualName("invoice pdf render")
+                .highCardinalityKeyValue("invoice.id", String.valueOf(invoiceId))
+                .highCardinalityKeyValue("invoice.items", String.valueOf(invoice.getItems().size()))
+                .observeChecked(() -> invoicePdfRenderer.render(invoice));
         
         // Create a temporary file to upload
         String fileName = "Invoice_" + invoice.getInvoiceNumber() + ".pdf";
@@ -524,6 +556,7 @@ public class InvoiceServiceImpl implements InvoiceService {
     }
     
     @Override
+    @Transactional
     public Resource downloadInvoicePdf(Long invoiceId) throws IOException {
         User currentUser = securityUtils.getCurrentUser();
         Invoice invoice = invoiceRepository.findById(invoiceId)
@@ -551,403 +584,84 @@ public class InvoiceServiceImpl implements InvoiceService {
         }
     }
     
-    /**
-     * Generates a unique invoice number with format INV-YYYY-MM-RANDOM
-     */
-    private String generateInvoiceNumber() {
-        LocalDateTime now = LocalDateTime.now();
-        String yearMonth = String.format("%d-%02d", now.getYear(), now.getMonthValue());
-        String randomPart = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        return "INV-" + yearMonth + "-" + randomPart;
+    private InvoiceResponseDto mapToResponseDto(InvoiceListRow row, List<InvoiceItemRow> items) {
+        List<InvoiceItemResponseDto> itemDtos = items.stream()
+                .map(item -> mapToItemResponseDto(item, row.projectId()))
+                .collect(Collectors.toList());
+
+        boolean isOverdue = row.dueDate() != null
+                && !Invoice.Status.PAID.equals(row.status())
+                && !Invoice.Status.CANCELLED.equals(row.status())
+                && row.dueDate().isBefore(LocalDate.now());
+
+        return InvoiceResponseDto.builder()
+                .id(row.id())
+                .invoiceNumber(row.invoiceNumber())
+                .clientId(row.clientId())
+                .clientName(row.clientName())
+                .clientCompanyName(row.clientCompanyName())
+                .projectId(row.projectId())
+                .projectName(row.projectName())
+                .status(row.status())
+                .issueDate(row.issueDate())
+                .dueDate(row.dueDate())
+                .items(itemDtos)
+                .subtotal(row.subtotal() != null ? row.subtotal() : BigDecimal.ZERO)
+                .taxAmount(row.taxAmount() != null ? row.taxAmount() : BigDecimal.ZERO)
+                .taxRate(row.taxRate() != null ? row.taxRate() : BigDecimal.ZERO)
+                .discount(row.discount())
+                .total(row.amount() != null ? row.amount() : BigDecimal.ZERO)
+                .amountPaid(row.amountPaid() != null ? row.amountPaid() : BigDecimal.ZERO)
+                .amountDue(row.amountDue() != null ? row.amountDue() : BigDecimal.ZERO)
+                .notes(row.notes())
+                .currency(row.currency())
+                .paidDate(row.paidDate())
+                .sentDate(row.sentDate())
+                .isOverdue(isOverdue)
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .build();
     }
-    
-    /**
-     * Generate PDF content from an invoice
-     */
-    private byte[] generatePdfContent(Invoice invoice) throws IOException {
-        // Use PdfBox for proper PDF generation
-        try {
-            PDDocument document = new PDDocument();
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
-            
-            PDPageContentStream contentStream = new PDPageContentStream(document, page);
-            
-            // Add invoice company logo/header
-            float margin = 50;
-            float yStart = page.getMediaBox().getHeight() - margin;
-            float tableWidth = page.getMediaBox().getWidth() - 2 * margin;
-            float yPosition = yStart;
-            
-            // Title
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 18);
-            contentStream.newLineAtOffset(margin, yPosition);
-            contentStream.showText("INVOICE");
-            contentStream.endText();
-            
-            yPosition -= 30;
-            
-            // Invoice details section
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.newLineAtOffset(margin, yPosition);
-            contentStream.showText("Invoice Number: " + invoice.getInvoiceNumber());
-            contentStream.endText();
-            
-            yPosition -= 20;
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.newLineAtOffset(margin, yPosition);
-            contentStream.showText("Status: " + invoice.getStatus());
-            contentStream.endText();
-            
-            yPosition -= 20;
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.newLineAtOffset(margin, yPosition);
-            contentStream.showText("Issue Date: " + invoice.getIssueDate().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy")));
-            contentStream.endText();
-            
-            yPosition -= 20;
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.newLineAtOffset(margin, yPosition);
-            contentStream.showText("Due Date: " + invoice.getDueDate().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy")));
-            contentStream.endText();
 
-            // Spacing
-            yPosition -= 40;
-            
-            // Client and company information
-            float colWidth = tableWidth / 2;
-            
-            // "Bill To" section
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.newLineAtOffset(margin, yPosition);
-            contentStream.showText("Bill To:");
-            contentStream.endText();
-            
-            yPosition -= 20;
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.newLineAtOffset(margin, yPosition);
-            contentStream.showText(invoice.getClient().getName());
-            contentStream.endText();
-            
-            if (invoice.getClient().getCompany() != null) {
-                yPosition -= 15;
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText(invoice.getClient().getCompany().getName());
-                contentStream.endText();
-            }
-            
-            if (invoice.getClient().getEmail() != null) {
-                yPosition -= 15;
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText(invoice.getClient().getEmail());
-                contentStream.endText();
-            }
-            
-            // From section
-            float rightColumnX = margin + colWidth;
-            float fromSectionY = yPosition + 70; // Align with "Bill To" section
-            
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.newLineAtOffset(rightColumnX, fromSectionY);
-            contentStream.showText("From:");
-            contentStream.endText();
-            
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.newLineAtOffset(rightColumnX, fromSectionY - 20);
-            contentStream.showText(invoice.getFreelancer().getFirstName() + " " + invoice.getFreelancer().getLastName());
-            contentStream.endText();
-            
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.newLineAtOffset(rightColumnX, fromSectionY - 35);
-            contentStream.showText(invoice.getFreelancer().getEmail());
-            contentStream.endText();
-            
-            // Project information if available
-            if (invoice.getProject() != null) {
-                yPosition -= 40;
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Project: " + invoice.getProject().getName());
-                contentStream.endText();
-            } else {
-                yPosition -= 40;
-            }
-            
-            // Invoice items table
-            yPosition -= 30;
-            float rowHeight = 20f;
-            float tableStartY = yPosition;
-            
-            // Draw table headers
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, tableStartY);
-            contentStream.showText("Description");
-            contentStream.endText();
-            
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + tableWidth * 0.5f, tableStartY);
-            contentStream.showText("Quantity");
-            contentStream.endText();
-            
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + tableWidth * 0.65f, tableStartY);
-            contentStream.showText("Unit Price");
-            contentStream.endText();
-            
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + tableWidth * 0.85f, tableStartY);
-            contentStream.showText("Amount");
-            contentStream.endText();
-            
-            // Draw horizontal line under headers
-            contentStream.setLineWidth(0.5f);
-            contentStream.moveTo(margin, tableStartY - 5);
-            contentStream.lineTo(margin + tableWidth, tableStartY - 5);
-            contentStream.stroke();
-            
-            // Draw the invoice items
-            yPosition = tableStartY - rowHeight;
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            
-            for (InvoiceItem item : invoice.getItems()) {
-                // Check if we need a new page
-                if (yPosition < 100) {
-                    contentStream.close();
-                    PDPage newPage = new PDPage(PDRectangle.A4);
-                    document.addPage(newPage);
-                    contentStream = new PDPageContentStream(document, newPage);
-                    yPosition = yStart - 50;
-                }
-                
-                // Item description
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.newLineAtOffset(margin, yPosition);
-                
-                // Limit description length to fit on page
-                String description = item.getDescription();
-                if (description.length() > 40) {
-                    description = description.substring(0, 37) + "...";
-                }
-                contentStream.showText(description);
-                contentStream.endText();
-                
-                // Item quantity
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin + tableWidth * 0.5f, yPosition);
-                contentStream.showText(item.getQuantity().toString());
-                contentStream.endText();
-                
-                // Item unit price
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin + tableWidth * 0.65f, yPosition);
-                contentStream.showText(String.format("%s %.2f", invoice.getCurrency(), item.getUnitPrice().doubleValue()));
-                contentStream.endText();
-                
-                // Item amount
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin + tableWidth * 0.85f, yPosition);
-                contentStream.showText(String.format("%s %.2f", invoice.getCurrency(), item.getAmount().doubleValue()));
-                contentStream.endText();
-                
-                yPosition -= rowHeight;
-            }
-            
-            // Draw horizontal line after items
-            contentStream.setLineWidth(0.5f);
-            contentStream.moveTo(margin, yPosition - 5);
-            contentStream.lineTo(margin + tableWidth, yPosition - 5);
-            contentStream.stroke();
-            
-            // Invoice totals
-            yPosition -= rowHeight;
-            
-            // Subtotal
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.newLineAtOffset(margin + tableWidth * 0.65f, yPosition);
-            contentStream.showText("Subtotal:");
-            contentStream.endText();
-            
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.newLineAtOffset(margin + tableWidth * 0.85f, yPosition);
-            contentStream.showText(String.format("%s %.2f", invoice.getCurrency(), invoice.getSubtotal().doubleValue()));
-            contentStream.endText();
-            
-            // Tax
-            yPosition -= rowHeight;
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.newLineAtOffset(margin + tableWidth * 0.65f, yPosition);
-            contentStream.showText("Tax (" + invoice.getTaxRate() + "%):");
-            contentStream.endText();
-            
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.newLineAtOffset(margin + tableWidth * 0.85f, yPosition);
-            contentStream.showText(String.format("%s %.2f", invoice.getCurrency(), invoice.getTaxAmount().doubleValue()));
-            contentStream.endText();
-            
-            // Total
-            yPosition -= rowHeight;
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.newLineAtOffset(margin + tableWidth * 0.65f, yPosition);
-            contentStream.showText("Total:");
-            contentStream.endText();
-            
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.newLineAtOffset(margin + tableWidth * 0.85f, yPosition);
-            contentStream.showText(String.format("%s %.2f", invoice.getCurrency(), invoice.getAmount().doubleValue()));
-            contentStream.endText();
-            
-            // Amount paid
-            if (invoice.getAmountPaid() != null && invoice.getAmountPaid().compareTo(BigDecimal.ZERO) > 0) {
-                yPosition -= rowHeight;
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.newLineAtOffset(margin + tableWidth * 0.65f, yPosition);
-                contentStream.showText("Amount Paid:");
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.newLineAtOffset(margin + tableWidth * 0.85f, yPosition);
-                contentStream.showText(String.format("%s %.2f", invoice.getCurrency(), invoice.getAmountPaid().doubleValue()));
-                contentStream.endText();
-                
-                // Balance due
-                yPosition -= rowHeight;
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.newLineAtOffset(margin + tableWidth * 0.65f, yPosition);
-                contentStream.showText("Balance Due:");
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.newLineAtOffset(margin + tableWidth * 0.85f, yPosition);
-                contentStream.showText(String.format("%s %.2f", invoice.getCurrency(), invoice.getAmountDue().doubleValue()));
-                contentStream.endText();
-            }
-            
-            // Notes
-            if (invoice.getNotes() != null && !invoice.getNotes().isEmpty()) {
-                yPosition -= rowHeight * 2;
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Notes:");
-                contentStream.endText();
-                
-                yPosition -= rowHeight;
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.newLineAtOffset(margin, yPosition);
-                
-                // Limit notes length and handle potential multi-line display
-                String notes = invoice.getNotes();
-                if (notes.length() > 100) {
-                    contentStream.showText(notes.substring(0, 97) + "...");
-                } else {
-                    contentStream.showText(notes);
-                }
-                contentStream.endText();
-            }
-            
-            // Payment information
-            if (invoice.getPaymentMethod() != null && !invoice.getPaymentMethod().isEmpty()) {
-                yPosition -= rowHeight * 2;
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Payment Method:");
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.newLineAtOffset(margin + 120, yPosition);
-                contentStream.showText(invoice.getPaymentMethod());
-                contentStream.endText();
-            }
-            
-            // Footer with thank you message
-            yPosition = 50;
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD_OBLIQUE, 12);
-            contentStream.newLineAtOffset(margin, yPosition);
-            contentStream.showText("Thank you for your business!");
-            contentStream.endText();
-            
-            contentStream.close();
-            
-            // Save the document to byte array
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            document.save(baos);
-            document.close();
-            
-            return baos.toByteArray();
-        } catch (IOException e) {
-            log.error("Error generating PDF: {}", e.getMessage(), e);
-            throw e;
-        }
+    private InvoiceItemResponseDto mapToItemResponseDto(InvoiceItemRow item, Long projectId) {
+        return InvoiceItemResponseDto.builder()
+                .id(item.id())
+                .description(item.description())
+                .quantity(item.quantity())
+                .unitPrice(item.unitPrice())
+                .amount(item.amount())
+                .projectId(projectId)
+                .build();
     }
-    
-    private void calculateInvoiceTotals(Invoice invoice) {
-        // Calculate subtotal
-        BigDecimal subtotal = invoice.getItems().stream()
-                .map(item -> {
-                    // Calculate and set item amount
-                    BigDecimal amount = item.getUnitPrice().multiply(new BigDecimal(item.getQuantity().toString()));
-                    item.setAmount(amount);
-                    return amount;
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        invoice.setSubtotal(subtotal);
-        
-        // Calculate tax amount
-        BigDecimal taxAmount = BigDecimal.ZERO;
-        if (invoice.getTaxRate() != null && invoice.getTaxRate().compareTo(BigDecimal.ZERO) > 0) {
-            taxAmount = subtotal.multiply(invoice.getTaxRate()).divide(BigDecimal.valueOf(100));
-        }
-        invoice.setTaxAmount(taxAmount);
-        
-        // Calculate total - set directly to amount field instead of calling setTotal
-        BigDecimal total = subtotal.add(taxAmount);
-        invoice.setAmount(total);
-        
-        // Initialize paid amount if not set
-        if (invoice.getAmountPaid() == null) {
-            invoice.setAmountPaid(BigDecimal.ZERO);
-        }
-        
-        // Calculate amount due
-        invoice.setAmountDue(total.subtract(invoice.getAmountPaid()));
+
+    /**
+     * Map a page of invoices, loading the items of the whole page with one query.
+     */
+    private List<InvoiceResponseDto> mapToResponseDtos(List<Invoice> invoices) {
+        if (invoices.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<InvoiceItemRow>> itemsByInvoice = invoiceItemRepository
+                .findRowsByInvoiceIdIn(invoices.stream().map(Invoice::getId).toList()).stream()
+                .collect(Collectors.groupingBy(InvoiceItemRow::invoiceId));
+        return invoices.stream().map(invoice -> {
+            Long projectId = invoice.getProject() != null ? invoice.getProject().getId() : null;
+            List<InvoiceItemResponseDto> itemDtos = itemsByInvoice.getOrDefault(invoice.getId(), List.of()).stream()
+                    .map(item -> mapToItemResponseDto(item, projectId))
+                    .collect(Collectors.toList());
+            return buildResponseDto(invoice, itemDtos);
+        }).toList();
     }
-    
+
     private InvoiceResponseDto mapToResponseDto(Invoice invoice) {
         // Explicitly fetch invoice items from repository to ensure they're loaded
-        List<InvoiceItem> items = invoiceItemRepository.findByInvoiceId(invoice.getId());
-        
+        return mapToResponseDto(invoice, invoiceItemRepository.findByInvoiceId(invoice.getId()));
+    }
+
+    /**
+     * Map an invoice whose items are already at hand, e.g. one that was just created.
+     */
+    private InvoiceResponseDto mapToResponseDto(Invoice invoice, List<InvoiceItem> items) {
         List<InvoiceItemResponseDto> itemDtos = items.stream().map(item -> 
             InvoiceItemResponseDto.builder()
                 .id(item.getId())
@@ -958,7 +672,10 @@ public class InvoiceServiceImpl implements InvoiceService {
                 .projectId(invoice.getProject() != null ? invoice.getProject().getId() : null)
                 .build()
         ).collect(Collectors.toList());
+        return buildResponseDto(invoice, itemDtos);
+    }
 
+    private InvoiceResponseDto buildResponseDto(Invoice invoice, List<InvoiceItemResponseDto> itemDtos) {
         // Check for client information
         String clientName = invoice.getClient() != null ? invoice.getClient().getName() : null;
         // Get company name from client's company if available
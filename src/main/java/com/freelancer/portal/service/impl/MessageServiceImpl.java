@@ -34,6 +34,7 @@ public class MessageServiceImpl implements MessageService {
     private final NotificationService notificationService;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<MessageDto> getMessagesByProject(Long projectId, Pageable pageable) {
         User currentUser = getCurrentUser();
         Project project = getProjectForUser(projectId, currentUser);
@@ -43,6 +44,7 @@ public class MessageServiceImpl implements MessageService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public MessageDto getMessageById(Long id) {
         User currentUser = getCurrentUser();
         Message message = messageRepository.findById(id)
@@ -169,6 +171,7 @@ public class MessageServiceImpl implements MessageService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public long countUnreadMessages(Long projectId) {
         User currentUser = getCurrentUser();
         Project project = getProjectForUser(projectId, currentUser);
@@ -244,6 +247,7 @@ public class MessageServiceImpl implements MessageService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public long countUnreadConversationMessages(Long conversationId) {
         User currentUser = getCurrentUser();
         
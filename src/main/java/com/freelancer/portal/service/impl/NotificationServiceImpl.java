@@ -3,6 +3,7 @@ package com.freelancer.portal.service.impl;
 import com.freelancer.portal.controller.WebSocketMessageController;
 import com.freelancer.portal.dto.InvoiceNotificationDto;
 import com.freelancer.portal.dto.NotificationDto;
+import com.freelancer.portal.event.InvoiceChangedEvent;
 import com.freelancer.portal.mapper.NotificationMapper;
 import com.freelancer.portal.model.Client;
 import com.freelancer.portal.model.Invoice;
@@ -11,17 +12,24 @@ import com.freelancer.portal.model.Notification;
 import com.freelancer.portal.model.Notification.NotificationType;
 import com.freelancer.portal.model.Project;
 import com.freelancer.portal.model.User;
+import com.freelancer.portal.pagination.CursorPageRequest;
+import com.freelancer.portal.pagination.CursorSlice;
+import com.freelancer.portal.pagination.KeysetSliceExecutor;
 import com.freelancer.portal.repository.InvoiceRepository;
 import com.freelancer.portal.repository.NotificationRepository;
 import com.freelancer.portal.repository.UserRepository;
 import com.freelancer.portal.service.NotificationService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
 import jakarta.persistence.EntityNotFoundException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -46,6 +54,9 @@ public class NotificationServiceImpl implements NotificationService {
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final ApplicationContext applicationContext;
+    private final KeysetSliceExecutor keysetSliceExecutor;
+    private final ObservationRegistry observationRegistry;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     public boolean sendInvoiceOverdueNotification(InvoiceNotificationDto notification) {
@@ -77,12 +88,20 @@ public class NotificationServiceImpl implements NotificationService {
     @Scheduled(cron = "0 0 8 * * ?") // Run daily at 8:00 AM
     @Transactional
     public int sendOverdueAlerts() {
+        // The sweep has no request to hang off, so it is traced as a root span of its own
+        Observation observation = Observation.createNotStarted("invoice.overdue.sweep", observationRegistry)
+                .contextualName("invoice overdue sweep");
+        return observation.observe(() -> sweepOverdueInvoices(observation));
+    }
+
+    private int sweepOverdueInvoices(Observation observation) {
         LocalDateTime now = LocalDateTime.now();
         
         // Get all invoices with status SENT or OVERDUE and due date in the past
         List<Invoice> overdueInvoices = invoiceRepository.findByStatusInAndDueDateBefore(
                 List.of(Invoice.Status.SENT, Invoice.Status.OVERDUE), 
                 now);
+        observation.highCardinalityKeyValue("invoices.found", String.valueOf(overdueInvoices.size()));
         
         int notificationsSent = 0;
         List<Long> successfulIds = new ArrayList<>();
@@ -119,6 +138,8 @@ public class NotificationServiceImpl implements NotificationService {
                         if (invoice.getStatus() != Invoice.Status.OVERDUE) {
                             invoice.setStatus(Invoice.Status.OVERDUE);
                             invoiceRepository.save(invoice);
+                            // Cached project details embed the invoice's status
+                            eventPublisher.publishEvent(InvoiceChangedEvent.of(invoice));
                         }
                         
                         // Create in-app notification
@@ -135,6 +156,7 @@ public class NotificationServiceImpl implements NotificationService {
         if (notificationsSent > 0) {
             log.info("Sent {} overdue invoice notifications", notificationsSent);
         }
+        observation.highCardinalityKeyValue("notifications.sent", String.valueOf(notificationsSent));
         
         return notificationsSent;
     }
@@ -146,6 +168,15 @@ public class NotificationServiceImpl implements NotificationService {
         return notificationRepository.findByRecipientOrderByCreatedAtDesc(currentUser, pageable)
                 .map(NotificationMapper::toDto);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<NotificationDto> scrollCurrentUserNotifications(Specification<Notification> filter,
+                                                                       CursorPageRequest request) {
+        User currentUser = getCurrentUser();
+        Specification<Notification> received = (root, query, cb) -> cb.equal(root.get("recipient"), currentUser);
+        return keysetSliceExecutor.fetch(Notification.class, received.and(filter), request, NotificationMapper::toDto);
+    }
     
     @Override
     @Transactional(readOnly = true)
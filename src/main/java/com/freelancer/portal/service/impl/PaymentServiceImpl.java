@@ -2,19 +2,25 @@ package com.freelancer.portal.service.impl;
 
 import com.freelancer.portal.dto.PaymentRequestDto;
 import com.freelancer.portal.dto.PaymentResponseDto;
+import com.freelancer.portal.event.InvoiceChangedEvent;
 import com.freelancer.portal.exception.ResourceNotFoundException;
 import com.freelancer.portal.mapper.PaymentMapper;
 import com.freelancer.portal.model.Invoice;
 import com.freelancer.portal.model.Payment;
 import com.freelancer.portal.model.User;
+import com.freelancer.portal.pagination.CursorPageRequest;
+import com.freelancer.portal.pagination.CursorSlice;
+import com.freelancer.portal.pagination.KeysetSliceExecutor;
 import com.freelancer.portal.repository.InvoiceRepository;
 import com.freelancer.portal.repository.PaymentRepository;
 import com.freelancer.portal.security.SecurityUtils;
 import com.freelancer.portal.service.PaymentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,19 +37,31 @@ public class PaymentServiceImpl implements PaymentService {
     private final PaymentRepository paymentRepository;
     private final InvoiceRepository invoiceRepository;
     private final SecurityUtils securityUtils;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetSliceExecutor keysetSliceExecutor;
 
     @Override
     @Transactional(readOnly = true)
     public Page<PaymentResponseDto> getAllPayments(Pageable pageable) {
         User currentUser = securityUtils.getCurrentUser();
-        Page<Payment> payments = paymentRepository.findAllByInvoiceClientFreelancer(currentUser, pageable);
-        return payments.map(PaymentMapper::toResponseDto);
+        return paymentRepository.findListRowsByFreelancer(currentUser, pageable)
+                .map(PaymentMapper::toResponseDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<PaymentResponseDto> scrollPayments(Specification<Payment> filter, CursorPageRequest request) {
+        User currentUser = securityUtils.getCurrentUser();
+        Specification<Payment> owned = (root, query, cb) ->
+                cb.equal(root.get("invoice").get("client").get("freelancer"), currentUser);
+        return keysetSliceExecutor.fetch(Payment.class, owned.and(filter), request,
+                PaymentMapper::toResponseDto, "invoice.client.company", "invoice.project");
     }
 
     @Override
     @Transactional(readOnly = true)
     public PaymentResponseDto getPaymentById(Long id) {
-        Payment payment = paymentRepository.findById(id)
+        Payment payment = paymentRepository.findDetailedById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + id));
         
         if (!isPaymentOwner(id)) {
@@ -126,6 +144,7 @@ public class PaymentServiceImpl implements PaymentService {
         
         // Save the invoice to persist payment method and status changes
         invoiceRepository.save(invoice);
+        eventPublisher.publishEvent(InvoiceChangedEvent.of(invoice));
         
         return PaymentMapper.toResponseDto(savedPayment);
     }
@@ -194,6 +213,8 @@ public class PaymentServiceImpl implements PaymentService {
             // Save both invoices
             invoiceRepository.save(currentInvoice);
             invoiceRepository.save(targetInvoice);
+            eventPublisher.publishEvent(InvoiceChangedEvent.of(currentInvoice));
+            eventPublisher.publishEvent(InvoiceChangedEvent.of(targetInvoice));
         } else {
             // Update payment fields
             payment.setAmount(requestDto.getAmount());
@@ -218,6 +239,7 @@ public class PaymentServiceImpl implements PaymentService {
             
             // Save payment
             Payment updatedPayment = paymentRepository.save(payment);
+            eventPublisher.publishEvent(InvoiceChangedEvent.of(currentInvoice));
             
             // Update invoice if needed
            /* if (needsRecalculation) {
@@ -265,6 +287,7 @@ public class PaymentServiceImpl implements PaymentService {
         
         // Delete payment
         paymentRepository.delete(payment);
+        eventPublisher.publishEvent(InvoiceChangedEvent.of(invoice));
     }
     
     @Override
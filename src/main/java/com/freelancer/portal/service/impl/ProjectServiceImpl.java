@@ -1,6 +1,8 @@
 package com.freelancer.portal.service.impl;
 
+import com.freelancer.portal.cache.CacheNames;
 import com.freelancer.portal.dto.*;
+import com.freelancer.portal.event.ProjectChangedEvent;
 import com.freelancer.portal.mapper.ProjectMapper;
 import com.freelancer.portal.model.Client;
 import com.freelancer.portal.model.Conversation;
@@ -21,6 +23,8 @@ import com.freelancer.portal.service.NotificationService;
 import com.freelancer.portal.service.ProjectService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -44,6 +48,7 @@ public class ProjectServiceImpl implements ProjectService {
     private final MessageRepository messageRepository;
     private final ConversationRepository conversationRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -246,6 +251,7 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.PROJECTS, key = "@ownerCacheKeys.key(#id)", condition = "!#includeRelated")
     public ProjectDetailDto getProjectById(Long id, boolean includeRelated) {
         User currentUser = getCurrentUser();
         Project project = projectRepository.findByIdAndFreelancer(id, currentUser)
@@ -294,6 +300,7 @@ public class ProjectServiceImpl implements ProjectService {
 
         // Save the project
         Project savedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(currentUser.getId(), savedProject.getId()));
         
         // Create notification for project creation
         notificationService.createProjectNotification(savedProject, NotificationType.PROJECT_CREATED);
@@ -339,6 +346,7 @@ public class ProjectServiceImpl implements ProjectService {
         final Project updatedProject = projectRepository.save(
                 ProjectMapper.updateFromDto(existingProject, projectRequest, client)
         );
+        eventPublisher.publishEvent(new ProjectChangedEvent(currentUser.getId(), id));
 
         // Create notification for project update
         notificationService.createProjectNotification(updatedProject, NotificationType.PROJECT_UPDATED);
@@ -371,6 +379,7 @@ public class ProjectServiceImpl implements ProjectService {
                 .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + id));
         
         projectRepository.delete(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(currentUser.getId(), id));
     }
     
     @Override
@@ -394,6 +403,7 @@ public class ProjectServiceImpl implements ProjectService {
         }
         
         Project updatedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(currentUser.getId(), id));
         
         if (includeRelated) {
             loadRelatedEntitiesForProject(updatedProject);
@@ -6,6 +6,9 @@ import com.freelancer.portal.exception.ResourceNotFoundException;
 
 import com.freelancer.portal.mapper.TimeEntryMapper;
 import com.freelancer.portal.model.*;
+import com.freelancer.portal.pagination.CursorPageRequest;
+import com.freelancer.portal.pagination.CursorSlice;
+import com.freelancer.portal.pagination.KeysetSliceExecutor;
 import com.freelancer.portal.repository.InvoiceRepository;
 import com.freelancer.portal.repository.ProjectRepository;
 import com.freelancer.portal.repository.TimeEntryRepository;
@@ -16,6 +19,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -42,28 +46,35 @@ public class TimeEntryServiceImpl implements TimeEntryService {
     private final ProjectRepository projectRepository;
     private final InvoiceRepository invoiceRepository;
     private final SecurityUtils securityUtils;
+    private final KeysetSliceExecutor keysetSliceExecutor;
     
     // Define constants for error messages to avoid duplication
     private static final String TIME_ENTRY_NOT_FOUND = "Time entry not found with id: ";
     private static final String PROJECT_NOT_FOUND = "Project not found with id: ";
 
     @Override
-    @Transactional(readOnly = true) // Keep transactional for lazy loading
+    @Transactional(readOnly = true)
     public Page<TimeEntryDto> getAllTimeEntries(Pageable pageable) {
         Long userId = securityUtils.getCurrentUserId();
-        return timeEntryRepository.findByUserId(userId, pageable)
-                // Update the call here: map entity to DTO, then enrich
-                .map(timeEntry -> {
-                    TimeEntryDto dto = TimeEntryMapper.toDto(timeEntry);
-                    return enrichTimeEntryWithDetails(dto, timeEntry); // Pass both
-                });
+        return timeEntryRepository.findListRowsByUserId(userId, pageable)
+                .map(TimeEntryMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<TimeEntryDto> scrollTimeEntries(Specification<TimeEntry> filter, CursorPageRequest request) {
+        Long userId = securityUtils.getCurrentUserId();
+        Specification<TimeEntry> owned = (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+        return keysetSliceExecutor.fetch(TimeEntry.class, owned.and(filter), request,
+                timeEntry -> enrichTimeEntryWithDetails(TimeEntryMapper.toDto(timeEntry), timeEntry),
+                "project.client", "user", "invoice");
     }
 
     @Override
     @Transactional(readOnly = true)
     public TimeEntryDto getTimeEntry(Long id) {
         // ... (This method already correctly calls the updated enrich method) ...
-        Optional<TimeEntry> timeEntryOpt = timeEntryRepository.findById(id);
+        Optional<TimeEntry> timeEntryOpt = timeEntryRepository.findDetailedById(id);
         if (timeEntryOpt.isEmpty()) {
             throw new ResourceNotFoundException(TIME_ENTRY_NOT_FOUND + id);
         }
@@ -73,19 +84,15 @@ public class TimeEntryServiceImpl implements TimeEntryService {
     }
 
     @Override
-    @Transactional(readOnly = true) // Keep transactional for lazy loading
+    @Transactional(readOnly = true)
     public Page<TimeEntryDto> getTimeEntriesByUser(Long userId, Pageable pageable) {
         Long currentUserId = securityUtils.getCurrentUserId();
         if (!currentUserId.equals(userId)) {
             throw new AccessDeniedException("You do not have permission to view these time entries");
         }
 
-        return timeEntryRepository.findByUserId(userId, pageable)
-                // Update the call here
-                .map(timeEntry -> {
-                    TimeEntryDto dto = TimeEntryMapper.toDto(timeEntry);
-                    return enrichTimeEntryWithDetails(dto, timeEntry); // Pass both
-                });
+        return timeEntryRepository.findListRowsByUserId(userId, pageable)
+                .map(TimeEntryMapper::toDto);
     }
 
     @Override
@@ -315,24 +322,20 @@ public class TimeEntryServiceImpl implements TimeEntryService {
             throw new AccessDeniedException("You do not have permission to access this invoice");
         }
         
-        // Mark each time entry as billed and associate with invoice
-        for (Long timeEntryId : timeEntryIds) {
-            timeEntryRepository.findById(timeEntryId)
-                    .ifPresent(timeEntry -> {
-                        // Check ownership
-                        if (!timeEntry.getUser().getId().equals(userId)) {
-                            throw new AccessDeniedException("You do not have permission to update time entry with id: " + timeEntryId);
-                        }
-                        
-                        timeEntry.setBilled(true);
-                        timeEntry.setInvoice(invoice);
-                        timeEntry.setUpdatedAt(LocalDateTime.now());
-                        timeEntryRepository.save(timeEntry);
-                    });
+        if (timeEntryIds.isEmpty()) {
+            return;
         }
+
+        // One ownership check and one set-based UPDATE, however many entries are billed
+        if (timeEntryRepository.countByIdInAndUserIdNot(timeEntryIds, userId) > 0) {
+            throw new AccessDeniedException("You do not have permission to update some of these time entries");
+        }
+        int updated = timeEntryRepository.markBilled(timeEntryIds, userId, invoice, LocalDateTime.now());
+        log.debug("Marked {} of {} time entries as billed on invoice {}", updated, timeEntryIds.size(), invoiceId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Double calculateUnbilledHours(Long projectId) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException(PROJECT_NOT_FOUND + projectId));
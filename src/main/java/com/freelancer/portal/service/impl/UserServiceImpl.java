@@ -1,21 +1,28 @@
 package com.freelancer.portal.service.impl;
 
+import com.freelancer.portal.cache.CacheNames;
 import com.freelancer.portal.dto.UserDTO;
 import com.freelancer.portal.dto.UserUpdateDto;
+import com.freelancer.portal.event.UserChangedEvent;
 import com.freelancer.portal.exception.FileStorageException;
 import com.freelancer.portal.mapper.UserMapper;
 import com.freelancer.portal.model.User;
 import com.freelancer.portal.repository.UserRepository;
 import com.freelancer.portal.security.SecurityUtils;
 import com.freelancer.portal.service.UserService;
+import com.freelancer.portal.service.image.ProfilePictureThumbnailGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -35,6 +42,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final SecurityUtils securityUtils;
+    private final ProfilePictureThumbnailGenerator thumbnailGenerator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
@@ -43,6 +52,7 @@ public class UserServiceImpl implements UserService {
     private String profilePicturesDir;
 
     @Override
+    @Cacheable(cacheNames = CacheNames.CURRENT_USER, key = "@ownerCacheKeys.key('me')")
     public UserDTO getCurrentUser() {
         User user = securityUtils.getCurrentUser();
         return UserDTO.fromEntity(user);
@@ -104,6 +114,7 @@ public class UserServiceImpl implements UserService {
         // Password changes should be handled by a separate service method with proper security
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
         return UserDTO.fromEntity(savedUser);
     }
 
@@ -111,18 +122,23 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(Long id) {
         log.debug("Deleting user with id: {}", id);
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
 
     @Override
     public User saveUser(User user) {
         log.debug("Saving user: {}", user.getEmail());
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
+        return savedUser;
     }
 
     @Override
     public User updateUser(User user) {
         log.debug("Updating user: {}", user.getEmail());
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
+        return savedUser;
     }
 
     @Override
@@ -185,6 +201,7 @@ public class UserServiceImpl implements UserService {
         // Email and role changes are typically handled separately with additional security
         
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
         return UserDTO.fromEntity(savedUser);
     }
 
@@ -220,6 +237,7 @@ public class UserServiceImpl implements UserService {
         if (currentUser.getProfilePictureUrl() != null && !currentUser.getProfilePictureUrl().isEmpty()) {
             deleteOldProfilePicture(currentUser.getProfilePictureUrl());
         }
+        thumbnailGenerator.deleteThumbnail(currentUser.getProfilePictureThumbnailUrl());
 
         // Generate unique filename
         String originalFilename = StringUtils.cleanPath(Objects.requireNonNull(file.getOriginalFilename()));
@@ -251,9 +269,14 @@ public class UserServiceImpl implements UserService {
             // Store relative path that can be served by the application
             String profilePictureUrl = "/uploads/profile-pictures/" + storedFilename;
             currentUser.setProfilePictureUrl(profilePictureUrl);
+            // Cleared until the thumbnail of the new picture has been generated
+            currentUser.setProfilePictureThumbnailUrl(null);
             
             User savedUser = userRepository.save(currentUser);
+            eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
             log.info("User profile picture URL updated successfully");
+
+            scheduleThumbnailAfterCommit(savedUser.getId(), profilePictureUrl, targetLocation);
             
             return UserDTO.fromEntity(savedUser);
 
@@ -273,9 +296,12 @@ public class UserServiceImpl implements UserService {
 
         if (currentUser.getProfilePictureUrl() != null && !currentUser.getProfilePictureUrl().isEmpty()) {
             deleteOldProfilePicture(currentUser.getProfilePictureUrl());
+            thumbnailGenerator.deleteThumbnail(currentUser.getProfilePictureThumbnailUrl());
             currentUser.setProfilePictureUrl(null);
+            currentUser.setProfilePictureThumbnailUrl(null);
             
             User savedUser = userRepository.save(currentUser);
+            eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
             log.info("User profile picture deleted successfully");
             
             return UserDTO.fromEntity(savedUser);
@@ -285,6 +311,23 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    /**
+     * Schedule thumbnail generation once the new profile picture URL is committed,
+     * so the background update never races the surrounding transaction.
+     */
+    private void scheduleThumbnailAfterCommit(Long userId, String profilePictureUrl, Path source) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    thumbnailGenerator.scheduleThumbnail(userId, profilePictureUrl, source);
+                }
+            });
+        } else {
+            thumbnailGenerator.scheduleThumbnail(userId, profilePictureUrl, source);
+        }
+    }
+
     /**
      * Helper method to delete old profile picture file.
      */
@@ -0,0 +1,116 @@
+package com.freelancer.portal.service.invoice;
+
+import com.freelancer.portal.repository.InvoiceNumberSequenceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Allocates per-freelancer invoice numbers of the form {@code INV-<freelancerId>-<sequence>}.
+ * <p>
+ * Numbers are reserved from the database in blocks: a single row-locked update advances the
+ * freelancer's sequence by {@code invoice.number.block-size} and the block is then handed out
+ * from memory, so most invoices need no sequence round-trip at all. Reservations run in their
+ * own short transaction, which keeps the row lock brief and means a rolled back invoice or a
+ * crashed node only leaves a gap. Several nodes can allocate concurrently; each works from its
+ * own disjoint block.
+ * </p>
+ */
+@Component
+@Slf4j
+public class InvoiceNumberAllocator {
+
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    private final InvoiceNumberSequenceRepository sequenceRepository;
+    private final TransactionTemplate reserveTransaction;
+    private final String prefix;
+    private final int blockSize;
+    private final ConcurrentMap<Long, Block> blocks = new ConcurrentHashMap<>();
+    private final Counter reservationCounter;
+
+    public InvoiceNumberAllocator(
+            InvoiceNumberSequenceRepository sequenceRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${invoice.number.prefix:INV}") String prefix,
+            @Value("${invoice.number.block-size:50}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("invoice.number.block-size must be positive");
+        }
+        this.sequenceRepository = sequenceRepository;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.prefix = prefix;
+        this.blockSize = blockSize;
+        this.reservationCounter = Counter.builder("invoice.number.blocks.reserved")
+                .description("Invoice number blocks reserved from the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Allocate the next invoice number for a freelancer.
+     * Call this before starting the transaction that uses the number: when a new block has to
+     * be reserved, its transaction takes a pool connection of its own.
+     *
+     * @param freelancerId the ID of the freelancer issuing the invoice
+     * @return a formatted invoice number, unique across all freelancers and nodes
+     */
+    public String nextInvoiceNumber(Long freelancerId) {
+        return String.format("%s-%d-%06d", prefix, freelancerId, nextValue(freelancerId));
+    }
+
+    long nextValue(Long freelancerId) {
+        Block block = blocks.computeIfAbsent(freelancerId, id -> new Block());
+        synchronized (block) {
+            if (block.next >= block.end) {
+                long end = reserve(freelancerId);
+                block.next = end - blockSize;
+                block.end = end;
+            }
+            return block.next++;
+        }
+    }
+
+    /**
+     * Reserve the next block for a freelancer, creating the sequence on first use.
+     *
+     * @return the exclusive end of the reserved block
+     */
+    private long reserve(Long freelancerId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Long end = reserveTransaction.execute(status -> {
+                    if (sequenceRepository.advance(freelancerId, blockSize) == 0) {
+                        // The first block is [1, blockSize]; a concurrent insert from another node fails on the key
+                        sequenceRepository.create(freelancerId, 1L + blockSize);
+                        return 1L + blockSize;
+                    }
+                    return sequenceRepository.findNextValue(freelancerId);
+                });
+                reservationCounter.increment();
+                log.debug("Reserved invoice numbers [{}, {}) for freelancer {}", end - blockSize, end, freelancerId);
+                return end;
+            } catch (DataIntegrityViolationException ex) {
+                if (attempt >= MAX_RESERVE_ATTEMPTS) {
+                    throw ex;
+                }
+                log.debug("Invoice number sequence for freelancer {} created concurrently, retrying", freelancerId);
+            }
+        }
+    }
+
+    private static final class Block {
+        private long next;
+        private long end;
+    }
+}
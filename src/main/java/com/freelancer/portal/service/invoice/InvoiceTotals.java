@@ -0,0 +1,51 @@
+package com.freelancer.portal.service.invoice;
+
+import com.freelancer.portal.model.Invoice;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Calculates the amounts of an invoice from its items, tax rate and payments.
+ */
+@Component
+public class InvoiceTotals {
+
+    /**
+     * Set the amount of each item, and the subtotal, tax, total and amount due of the invoice.
+     *
+     * @param invoice the invoice, changed in place
+     */
+    public void calculate(Invoice invoice) {
+        // Calculate subtotal
+        BigDecimal subtotal = invoice.getItems().stream()
+                .map(item -> {
+                    // Calculate and set item amount
+                    BigDecimal amount = item.getUnitPrice().multiply(new BigDecimal(item.getQuantity().toString()));
+                    item.setAmount(amount);
+                    return amount;
+                })
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        
+        invoice.setSubtotal(subtotal);
+        
+        // Calculate tax amount
+        BigDecimal taxAmount = BigDecimal.ZERO;
+        if (invoice.getTaxRate() != null && invoice.getTaxRate().compareTo(BigDecimal.ZERO) > 0) {
+            taxAmount = subtotal.multiply(invoice.getTaxRate()).divide(BigDecimal.valueOf(100));
+        }
+        invoice.setTaxAmount(taxAmount);
+        
+        // Calculate total - set directly to amount field instead of calling setTotal
+        BigDecimal total = subtotal.add(taxAmount);
+        invoice.setAmount(total);
+        
+        // Initialize paid amount if not set
+        if (invoice.getAmountPaid() == null) {
+            invoice.setAmountPaid(BigDecimal.ZERO);
+        }
+        
+        // Calculate amount due
+        invoice.setAmountDue(total.subtract(invoice.getAmountPaid()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.freelancer.portal.service.storage;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link org.springframework.core.io.Resource} backed by an in-memory buffer.
+ * Every stream reads from an independent view of the buffer, so one instance can be shared
+ * between concurrent requests.
+ */
+public class ByteBufferResource extends AbstractResource {
+
+    private final ByteBuffer buffer;
+    private final String filename;
+
+    /**
+     * @param buffer the contents, from its position to its limit; never modified by this class
+     * @param filename the file name reported to callers
+     */
+    public ByteBufferResource(ByteBuffer buffer, String filename) {
+        this.buffer = buffer.asReadOnlyBuffer();
+        this.filename = filename;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        ByteBuffer view = buffer.duplicate();
+        return new InputStream() {
+            @Override
+            public int read() {
+                return view.hasRemaining() ? view.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (len == 0) {
+                    return 0;
+                }
+                if (!view.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(len, view.remaining());
+                view.get(b, off, count);
+                return count;
+            }
+
+            @Override
+            public long skip(long n) {
+                int count = (int) Math.max(0, Math.min(n, view.remaining()));
+                view.position(view.position() + count);
+                return count;
+            }
+
+            @Override
+            public int available() {
+                return view.remaining();
+            }
+        };
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Cached file [" + filename + "]";
+    }
+}
@@ -0,0 +1,203 @@
+package com.freelancer.portal.service.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Storage strategy decorator that keeps small, frequently read files in an LRU cache of
+ * direct (off-heap) buffers.
+ * <p>
+ * Stored files get unique names and are never rewritten in place, so a cached copy only has to
+ * be dropped when the file is deleted. A cache hit is served entirely from memory without opening
+ * or stat-ing the file. Files larger than the per-entry limit always go to the delegate.
+ * </p>
+ * <p>
+ * A miss reads the file outside the lock, so a delete can land between the read and the
+ * insert. Deleting a key that is being loaded leaves a tombstone, and loads that started before
+ * the tombstone do not cache what they read. Tombstones are dropped with the last load of their
+ * key, so they never outlive the loads they guard.
+ * </p>
+ */
+@Slf4j
+public class CachingStorageStrategy implements StorageStrategy {
+
+    private final StorageStrategy delegate;
+    private final String baseUrl;
+    private final long maxEntryBytes;
+    private final long maxTotalBytes;
+
+    // Access-ordered, so iteration starts at the least recently used entry; guarded by "this"
+    private final LinkedHashMap<String, ByteBuffer> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+    // Loads in progress per key, and keys deleted while a load was in progress; guarded by "this"
+    private final Map<String, Integer> loadsInFlight = new HashMap<>();
+    private final Set<String> tombstones = new HashSet<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public CachingStorageStrategy(
+            StorageStrategy delegate,
+            String baseUrl,
+            long maxEntryBytes,
+            long maxTotalBytes,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.baseUrl = baseUrl;
+        this.maxEntryBytes = maxEntryBytes;
+        this.maxTotalBytes = maxTotalBytes;
+
+        this.hitCounter = Counter.builder("storage.read.cache.requests")
+                .description("File reads served by the storage read cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("storage.read.cache.requests")
+                .description("File reads served by the storage read cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("storage.read.cache.evictions")
+                .description("Files evicted from the storage read cache to stay within its size limit")
+                .register(meterRegistry);
+        Gauge.builder("storage.read.cache.bytes", this, CachingStorageStrategy::cachedBytes)
+                .baseUnit("bytes")
+                .description("Off-heap bytes held by the storage read cache")
+                .register(meterRegistry);
+        Gauge.builder("storage.read.cache.entries", this, CachingStorageStrategy::cachedEntries)
+                .description("Files held by the storage read cache")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String store(MultipartFile file, String entityType, Long entityId) throws IOException {
+        return delegate.store(file, entityType, entityId);
+    }
+
+    @Override
+    public Resource retrieve(String fileUrl) throws IOException {
+        String key = keyOf(fileUrl);
+        ByteBuffer cached;
+        synchronized (this) {
+            cached = entries.get(key);
+            if (cached == null) {
+                loadsInFlight.merge(key, 1, Integer::sum);
+            }
+        }
+        if (cached != null) {
+            hitCounter.increment();
+            return new ByteBufferResource(cached, key);
+        }
+
+        missCounter.increment();
+        try {
+            Resource resource = delegate.retrieve(fileUrl);
+            if (!resource.isFile()) {
+                return resource;
+            }
+
+            ByteBuffer contents = load(resource);
+            if (contents == null) {
+                return resource;
+            }
+            put(key, contents);
+            return new ByteBufferResource(contents, key);
+        } finally {
+            loadFinished(key);
+        }
+    }
+
+    @Override
+    public void delete(String fileUrl) throws IOException {
+        delegate.delete(fileUrl);
+        invalidate(keyOf(fileUrl));
+    }
+
+    /**
+     * Read a small file into a direct buffer, or return null if it is too large to cache.
+     */
+    private ByteBuffer load(Resource resource) throws IOException {
+        try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > maxEntryBytes) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    // File shrank while reading; it is being replaced, so do not cache it
+                    return null;
+                }
+            }
+            buffer.flip();
+            return buffer.asReadOnlyBuffer();
+        }
+    }
+
+    private synchronized void put(String key, ByteBuffer contents) {
+        if (tombstones.contains(key)) {
+            log.debug("Not caching {}, it was deleted while being read", key);
+            return;
+        }
+        ByteBuffer previous = entries.put(key, contents);
+        if (previous != null) {
+            totalBytes -= previous.capacity();
+        }
+        totalBytes += contents.capacity();
+
+        Iterator<Map.Entry<String, ByteBuffer>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxTotalBytes && eldest.hasNext()) {
+            Map.Entry<String, ByteBuffer> entry = eldest.next();
+            totalBytes -= entry.getValue().capacity();
+            eldest.remove();
+            evictionCounter.increment();
+        }
+    }
+
+    private synchronized void invalidate(String key) {
+        ByteBuffer removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.capacity();
+            log.debug("Invalidated cached file {}", key);
+        }
+        if (loadsInFlight.containsKey(key)) {
+            tombstones.add(key);
+        }
+    }
+
+    private synchronized void loadFinished(String key) {
+        if (loadsInFlight.merge(key, -1, Integer::sum) == 0) {
+            loadsInFlight.remove(key);
+            tombstones.remove(key);
+        }
+    }
+
+    private synchronized double cachedBytes() {
+        return totalBytes;
+    }
+
+    private synchronized double cachedEntries() {
+        return entries.size();
+    }
+
+    /**
+     * Files are stored under either their full URL or their bare file name; both map to the same key.
+     */
+    private String keyOf(String fileUrl) {
+        return fileUrl.startsWith(baseUrl) ? fileUrl.substring(baseUrl.length()) : fileUrl;
+    }
+}
@@ -1,8 +1,8 @@
 package com.freelancer.portal.service.storage;
 
 import com.freelancer.portal.exception.FileStorageException;
-import com.freelancer.portal.model.FileMetadata;
-import com.freelancer.portal.repository.FileMetadataRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
@@ -17,27 +17,40 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
  * Implementation of StorageStrategy that stores files on the local filesystem.
+ * It only manages the bytes; the caller owns the file metadata row.
+ * <p>
+ * Files are kept in {@code app.file-storage.location}, outside the statically served
+ * {@code file.upload-dir}, so bytes that have not passed the upload pipeline can only be reached
+ * through the download endpoint, which checks their status. Files stored in the upload directory
+ * before it moved are still read and deleted from there.
+ * </p>
+ * <p>
+ * Every operation is observed as {@code storage.operation}, so slow disks show up as their own
+ * span in a request trace and as a timer tagged with the operation.
+ * </p>
  */
 @Component
 @Slf4j
 public class LocalStorageStrategy implements StorageStrategy {
 
     private final Path fileStorageLocation;
-    private final FileMetadataRepository fileMetadataRepository;
+    private final Path legacyStorageLocation;
     private final String baseUrl;
+    private final ObservationRegistry observationRegistry;
 
     public LocalStorageStrategy(
-            @Value("${file.upload-dir:uploads}") String uploadDir,
+            @Value("${app.file-storage.location:storage/files}") String storageDir,
+            @Value("${file.upload-dir:uploads}") String legacyUploadDir,
             @Value("${app.file-storage.base-url:/api/v1/files/}") String baseUrl,
-            FileMetadataRepository fileMetadataRepository) {
-        this.fileMetadataRepository = fileMetadataRepository;
+            ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
         this.baseUrl = baseUrl;
-        this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.fileStorageLocation = Paths.get(storageDir).toAbsolutePath().normalize();
+        this.legacyStorageLocation = Paths.get(legacyUploadDir).toAbsolutePath().normalize();
         try {
             Files.createDirectories(this.fileStorageLocation);
         } catch (IOException ex) {
@@ -47,6 +60,13 @@ public class LocalStorageStrategy implements StorageStrategy {
 
     @Override
     public String store(MultipartFile file, String entityType, Long entityId) throws IOException {
+        return observe("store")
+                .lowCardinalityKeyValue("entity.type", String.valueOf(entityType))
+                .highCardinalityKeyValue("file.size", file == null ? "0" : String.valueOf(file.getSize()))
+                .observeChecked(() -> storeFile(file, entityType, entityId));
+    }
+
+    private String storeFile(MultipartFile file, String entityType, Long entityId) throws IOException {
         if (file == null || file.isEmpty()) {
             throw new FileStorageException("Failed to store empty file");
         }
@@ -72,25 +92,10 @@ public class LocalStorageStrategy implements StorageStrategy {
             // Save the file
             Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
             
-            // Keep file metadata in database for lookup
-            FileMetadata metadata = new FileMetadata();
-            metadata.setEntityType(entityType);
-            metadata.setEntityId(entityId);
-            metadata.setFilename(uniqueFilename);
-            metadata.setOriginalFilename(originalFilename);
-            metadata.setFileUrl(uniqueFilename);
-            metadata.setUrl(baseUrl + uniqueFilename);  // Store full URL for direct access
-            metadata.setContentType(file.getContentType());
-            metadata.setMimeType(file.getContentType());
-            metadata.setSize(file.getSize());
-            metadata.setUploadedAt(LocalDateTime.now());
-            
-            fileMetadataRepository.save(metadata);
-            
             log.info("Successfully stored file {} for {}/{}", uniqueFilename, entityType, entityId);
             
             // Return the URL for the file
-            return metadata.getUrl();
+            return baseUrl + uniqueFilename;
         } catch (IOException ex) {
             log.error("Failed to store file {} for {}/{}: {}", 
                       originalFilename, entityType, entityId, ex.getMessage(), ex);
@@ -100,14 +105,12 @@ public class LocalStorageStrategy implements StorageStrategy {
 
     @Override
     public Resource retrieve(String fileLocation) throws IOException {
+        return observe("retrieve").observeChecked(() -> retrieveFile(fileLocation));
+    }
+
+    private Resource retrieveFile(String fileLocation) {
         try {
-            // If the fileLocation is a full URL, extract just the filename part
-            String filename = fileLocation;
-            if (fileLocation.startsWith(baseUrl)) {
-                filename = fileLocation.substring(baseUrl.length());
-            }
-            
-            Path filePath = this.fileStorageLocation.resolve(filename).normalize();
+            Path filePath = resolve(fileLocation);
             Resource resource = new UrlResource(filePath.toUri());
             
             if (resource.exists()) {
@@ -124,19 +127,45 @@ public class LocalStorageStrategy implements StorageStrategy {
 
     @Override
     public void delete(String fileLocation) throws IOException {
+        observe("delete").observeChecked(() -> deleteFile(fileLocation));
+    }
+
+    private void deleteFile(String fileLocation) throws IOException {
+        Path filePath = resolve(fileLocation);
+        boolean deleted = Files.deleteIfExists(filePath);
+        
+        if (deleted) {
+            log.info("Successfully deleted file: {}", filePath.getFileName());
+        } else {
+            log.warn("File not found for deletion: {}", fileLocation);
+        }
+    }
+
+    /**
+     * Resolve a stored file's URL or name to its path, falling back to the legacy upload
+     * directory for files stored there before storage moved.
+     */
+    private Path resolve(String fileLocation) {
         // If the fileLocation is a full URL, extract just the filename part
         String filename = fileLocation;
         if (fileLocation.startsWith(baseUrl)) {
             filename = fileLocation.substring(baseUrl.length());
         }
-        
-        Path filePath = this.fileStorageLocation.resolve(filename).normalize();
-        boolean deleted = Files.deleteIfExists(filePath);
-        
-        if (deleted) {
-            log.info("Successfully deleted file: {}", filename);
-        } else {
-            log.warn("File not found for deletion: {}", filename);
+
+        Path filePath = fileStorageLocation.resolve(filename).normalize();
+        if (!Files.exists(filePath)) {
+            Path legacyPath = legacyStorageLocation.resolve(filename).normalize();
+            if (Files.exists(legacyPath)) {
+                return legacyPath;
+            }
         }
+        return filePath;
+    }
+
+    private Observation observe(String operation) {
+        return Observation.createNotStarted("storage.operation", observationRegistry)
+                .contextualName("storage " + operation)
+                .lowCardinalityKeyValue("storage", "local")
+                .lowCardinalityKeyValue("operation", operation);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,181 @@
+package com.freelancer.portal.service.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams a set of stored files into a ZIP archive.
+ * <p>
+ * The archive is built on the fly directly into the response stream: there is no temporary
+ * file and memory use is bounded by a single copy buffer, regardless of archive size. If the
+ * client disconnects, the next write fails and the remaining entries are skipped. Aborted
+ * downloads and archives that fail because a stored file could not be read are counted
+ * separately, so a failing disk is not mistaken for impatient clients.
+ * </p>
+ */
+@Component
+@Slf4j
+public class ProjectArchiveWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int compressionLevel;
+    private final Duration timeout;
+    private final Counter bytesCounter;
+    private final Counter cancelledCounter;
+    private final Counter failedCounter;
+    private final Timer durationTimer;
+    private final DistributionSummary throughputSummary;
+
+    public ProjectArchiveWriter(
+            MeterRegistry meterRegistry,
+            @Value("${file.archive.compression-level:1}") int compressionLevel,
+            @Value("${file.archive.timeout:10m}") Duration timeout) {
+        this.compressionLevel = compressionLevel;
+        this.timeout = timeout;
+        this.bytesCounter = Counter.builder("files.archive.bytes")
+                .baseUnit("bytes")
+                .description("Uncompressed bytes streamed into file archives")
+                .register(meterRegistry);
+        this.cancelledCounter = Counter.builder("files.archive.cancelled")
+                .description("File archives aborted by the client disconnecting or the download timing out")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("files.archive.failed")
+                .description("File archives aborted because a stored file could not be read")
+                .register(meterRegistry);
+        this.durationTimer = Timer.builder("files.archive.duration")
+                .description("Time taken to stream a file archive")
+                .register(meterRegistry);
+        this.throughputSummary = DistributionSummary.builder("files.archive.throughput")
+                .baseUnit("bytes_per_second")
+                .description("Streaming throughput of completed file archives")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A file to include in an archive.
+     *
+     * @param name the entry name inside the archive
+     * @param path the location of the file on disk
+     */
+    public record ArchiveEntry(String name, Path path) {
+    }
+
+    /**
+     * How long a single archive download may take before the request is timed out.
+     * Archives are large and slow by nature, so this is applied per download instead of raising
+     * the MVC-wide async request timeout.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Write the given files as a ZIP archive to the output stream.
+     * Files missing from storage are skipped rather than failing the whole archive.
+     *
+     * @param entries the files to include
+     * @param outputStream the stream to write the archive to; not closed by this method
+     * @return the number of uncompressed bytes written
+     * @throws IOException if writing fails, including when the client has disconnected, or if a
+     *                     stored file exists but cannot be read
+     */
+    public long write(List<ArchiveEntry> entries, OutputStream outputStream) throws IOException {
+        long startTime = System.nanoTime();
+        long totalBytes = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        try {
+            ZipOutputStream zip = new ZipOutputStream(outputStream);
+            zip.setLevel(compressionLevel);
+
+            for (ArchiveEntry entry : entries) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Archive streaming interrupted");
+                }
+                try (InputStream in = open(entry)) {
+                    zip.putNextEntry(new ZipEntry(entry.name()));
+                    int read;
+                    while ((read = read(entry, in, buffer)) != -1) {
+                        zip.write(buffer, 0, read);
+                        totalBytes += read;
+                    }
+                    zip.closeEntry();
+                } catch (NoSuchFileException ex) {
+                    log.warn("Skipping archive entry {}, file missing from storage: {}", entry.name(), entry.path());
+                }
+            }
+
+            // Writes the central directory; the underlying stream is owned by the caller
+            zip.finish();
+            zip.flush();
+        } catch (SourceReadException ex) {
+            failedCounter.increment();
+            bytesCounter.increment(totalBytes);
+            log.warn("Archive streaming failed after {} bytes: {}", totalBytes, ex.getMessage(), ex.getCause());
+            throw ex;
+        } catch (IOException ex) {
+            cancelledCounter.increment();
+            bytesCounter.increment(totalBytes);
+            log.info("Archive streaming aborted after {} bytes: {}", totalBytes, ex.getMessage());
+            throw ex;
+        }
+
+        long elapsedNanos = System.nanoTime() - startTime;
+        bytesCounter.increment(totalBytes);
+        durationTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (elapsedNanos > 0) {
+            throughputSummary.record(totalBytes * 1_000_000_000d / elapsedNanos);
+        }
+
+        log.debug("Streamed archive of {} entries ({} bytes) in {}ms",
+                entries.size(), totalBytes, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return totalBytes;
+    }
+
+    private static InputStream open(ArchiveEntry entry) throws IOException {
+        try {
+            return Files.newInputStream(entry.path());
+        } catch (NoSuchFileException ex) {
+            throw ex;
+        } catch (IOException ex) {
+            throw new SourceReadException(entry, ex);
+        }
+    }
+
+    private static int read(ArchiveEntry entry, InputStream in, byte[] buffer) throws SourceReadException {
+        try {
+            return in.read(buffer);
+        } catch (IOException ex) {
+            throw new SourceReadException(entry, ex);
+        }
+    }
+
+    /**
+     * A stored file could not be read, as opposed to the archive not being deliverable.
+     */
+    private static class SourceReadException extends IOException {
+
+        SourceReadException(ArchiveEntry entry, IOException cause) {
+            super("Could not read " + entry.path() + " for archive entry " + entry.name(), cause);
+        }
+    }
+}
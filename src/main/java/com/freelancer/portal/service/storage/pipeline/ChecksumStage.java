@@ -0,0 +1,39 @@
+package com.freelancer.portal.service.storage.pipeline;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes the SHA-256 checksum of a stored upload.
+ */
+@Component
+@Order(100)
+public class ChecksumStage implements UploadStage {
+
+    @Override
+    public String getName() {
+        return "checksum";
+    }
+
+    @Override
+    public void process(UploadContext context) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+        try (InputStream in = new DigestInputStream(context.openStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        context.getMetadata().setChecksum(HexFormat.of().formatHex(digest.digest()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.freelancer.portal.service.storage.pipeline;
+
+import com.freelancer.portal.model.FileMetadata;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.util.Arrays;
+
+/**
+ * Detects the MIME type of a stored upload from its leading bytes.
+ * The content type sent by the client is only a hint, so when the sniffed type is known
+ * it replaces the declared one.
+ */
+@Component
+@Order(200)
+@Slf4j
+public class MimeTypeSniffingStage implements UploadStage {
+
+    private static final int HEADER_LENGTH = 16;
+    private static final byte[] PDF_MAGIC = {'%', 'P', 'D', 'F', '-'};
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
+
+    @Override
+    public String getName() {
+        return "mime-type";
+    }
+
+    @Override
+    public void process(UploadContext context) throws IOException {
+        String sniffedType;
+        try (InputStream in = new BufferedInputStream(context.openStream(), HEADER_LENGTH)) {
+            in.mark(HEADER_LENGTH);
+            byte[] header = in.readNBytes(HEADER_LENGTH);
+            in.reset();
+            sniffedType = sniff(header, in);
+        }
+        if (sniffedType == null) {
+            return;
+        }
+
+        FileMetadata metadata = context.getMetadata();
+        if (!sniffedType.equals(metadata.getMimeType())) {
+            log.info("File {} declared as {} but detected as {}",
+                    metadata.getId(), metadata.getMimeType(), sniffedType);
+        }
+        metadata.setMimeType(sniffedType);
+        metadata.setContentType(sniffedType);
+    }
+
+    private static String sniff(byte[] header, InputStream in) throws IOException {
+        if (startsWith(header, PDF_MAGIC)) {
+            return "application/pdf";
+        }
+        if (startsWith(header, ZIP_MAGIC)) {
+            return "application/zip";
+        }
+        // Covers common image formats, HTML and XML
+        return URLConnection.guessContentTypeFromStream(in);
+    }
+
+    private static boolean startsWith(byte[] header, byte[] magic) {
+        return header.length >= magic.length
+                && Arrays.equals(header, 0, magic.length, magic, 0, magic.length);
+    }
+}
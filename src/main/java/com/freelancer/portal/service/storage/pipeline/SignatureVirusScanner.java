@@ -0,0 +1,40 @@
+package com.freelancer.portal.service.storage.pipeline;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Local stand-in for a real virus scanner.
+ * It only detects the EICAR anti-virus test file, which is enough to exercise the quarantine
+ * path end to end. Set {@code upload.pipeline.scanner} to another value and provide a
+ * different {@link VirusScanner} bean to use a real engine.
+ */
+@Component
+@ConditionalOnProperty(name = "upload.pipeline.scanner", havingValue = "signature", matchIfMissing = true)
+public class SignatureVirusScanner implements VirusScanner {
+
+    private static final String EICAR_NAME = "EICAR-Test-File";
+    private static final byte[] EICAR_SIGNATURE =
+            "X5O!P%@AP[4\\PZX54(P^)7CC)7}$EICAR-STANDARD-ANTIVIRUS-TEST-FILE!$H+H*"
+                    .getBytes(StandardCharsets.US_ASCII);
+    // The test file is defined as the signature optionally followed by whitespace, at most 128 bytes
+    private static final int EICAR_MAX_LENGTH = 128;
+
+    @Override
+    public String scan(InputStream in) throws IOException {
+        byte[] head = in.readNBytes(EICAR_MAX_LENGTH + 1);
+        if (head.length > EICAR_MAX_LENGTH || head.length < EICAR_SIGNATURE.length) {
+            return null;
+        }
+        for (int i = 0; i < EICAR_SIGNATURE.length; i++) {
+            if (head[i] != EICAR_SIGNATURE[i]) {
+                return null;
+            }
+        }
+        return EICAR_NAME;
+    }
+}
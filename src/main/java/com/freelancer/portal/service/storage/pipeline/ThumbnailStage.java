@@ -0,0 +1,78 @@
+package com.freelancer.portal.service.storage.pipeline;
+
+import com.freelancer.portal.model.FileMetadata;
+import com.freelancer.portal.service.image.ProfilePictureThumbnailGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Generates a preview thumbnail for image uploads.
+ * Thumbnails are named after the file checksum, so identical images share one thumbnail
+ * and the URL can be cached indefinitely.
+ */
+@Component
+@Order(400)
+public class ThumbnailStage implements UploadStage {
+
+    private static final int FINGERPRINT_LENGTH = 16;
+
+    private final ProfilePictureThumbnailGenerator thumbnailRenderer;
+    private final Path thumbnailLocation;
+    private final String thumbnailUrlPrefix;
+    private final int thumbnailSize;
+
+    public ThumbnailStage(
+            ProfilePictureThumbnailGenerator thumbnailRenderer,
+            @Value("${file.upload-dir:uploads}") String uploadDir,
+            @Value("${upload.pipeline.thumbnail-url-prefix:/uploads/thumbnails/}") String thumbnailUrlPrefix,
+            @Value("${image.derivatives.thumbnail-size:128}") int thumbnailSize) {
+        this.thumbnailRenderer = thumbnailRenderer;
+        this.thumbnailLocation = Paths.get(uploadDir, "thumbnails").toAbsolutePath().normalize();
+        this.thumbnailUrlPrefix = thumbnailUrlPrefix;
+        this.thumbnailSize = thumbnailSize;
+    }
+
+    @Override
+    public String getName() {
+        return "thumbnail";
+    }
+
+    @Override
+    public void process(UploadContext context) throws IOException {
+        FileMetadata metadata = context.getMetadata();
+        if (metadata.getMimeType() == null || !metadata.getMimeType().startsWith("image/")
+                || metadata.getChecksum() == null) {
+            return;
+        }
+
+        String filename = metadata.getChecksum().substring(0, FINGERPRINT_LENGTH) + "_" + thumbnailSize + ".jpg";
+        Path target = thumbnailLocation.resolve(filename);
+        if (!Files.exists(target)) {
+            byte[] thumbnail;
+            try (InputStream in = context.openStream()) {
+                thumbnail = thumbnailRenderer.renderThumbnail(in);
+            }
+            if (thumbnail == null) {
+                return;
+            }
+            Files.createDirectories(thumbnailLocation);
+            // Write to a temporary file first so a partially written thumbnail is never served
+            Path tempFile = Files.createTempFile(thumbnailLocation, "thumb", ".tmp");
+            try {
+                Files.write(tempFile, thumbnail);
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+        metadata.setThumbnailUrl(thumbnailUrlPrefix + filename);
+    }
+}
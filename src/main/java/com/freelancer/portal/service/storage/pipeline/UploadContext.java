@@ -0,0 +1,58 @@
+package com.freelancer.portal.service.storage.pipeline;
+
+import com.freelancer.portal.model.FileMetadata;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * State shared by the stages processing one upload.
+ */
+public class UploadContext {
+
+    private final FileMetadata metadata;
+    private final Resource resource;
+    private String rejectionReason;
+
+    public UploadContext(FileMetadata metadata, Resource resource) {
+        this.metadata = metadata;
+        this.resource = resource;
+    }
+
+    /**
+     * Get the metadata of the file being processed. Stages update it in place.
+     *
+     * @return the file metadata
+     */
+    public FileMetadata getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Open a new stream over the stored file contents. The caller must close it.
+     *
+     * @return the file contents
+     * @throws IOException if the file cannot be opened
+     */
+    public InputStream openStream() throws IOException {
+        return resource.getInputStream();
+    }
+
+    /**
+     * Mark the file as unsafe to serve. No further stages run after a rejection.
+     *
+     * @param reason why the file was rejected
+     */
+    public void reject(String reason) {
+        this.rejectionReason = reason;
+    }
+
+    public boolean isRejected() {
+        return rejectionReason != null;
+    }
+
+    public String getRejectionReason() {
+        return rejectionReason;
+    }
+}
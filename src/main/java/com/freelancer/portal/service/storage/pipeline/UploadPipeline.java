@@ -0,0 +1,287 @@
+package com.freelancer.portal.service.storage.pipeline;
+
+import com.freelancer.portal.model.FileMetadata;
+import com.freelancer.portal.repository.FileMetadataRepository;
+import com.freelancer.portal.service.storage.StorageStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Post-processes stored uploads off the request thread.
+ * <p>
+ * Files are stored as {@link FileMetadata.Status#PENDING} and handed to the bounded
+ * {@code uploadPipelineExecutor}, which runs every {@link UploadStage} in order. A file becomes
+ * {@link FileMetadata.Status#READY} once all stages pass, {@link FileMetadata.Status#QUARANTINED}
+ * if a stage rejects it, or {@link FileMetadata.Status#FAILED} if processing errors out.
+ * Downloads are only served for ready files.
+ * </p>
+ * <p>
+ * Inside a transaction the file is only handed to the executor after the commit, because the
+ * worker looks it up by ID and must not process metadata that is rolled back.
+ * </p>
+ * <p>
+ * The executor's queue is not durable. Files still pending when the application stopped, or
+ * that were never handed off, are resubmitted on startup, and files pending for longer than
+ * {@code upload.pipeline.pending-timeout} without being queued here are resubmitted by a
+ * periodic sweep.
+ * </p>
+ */
+@Component
+@Slf4j
+public class UploadPipeline {
+
+    private final List<UploadStage> stages;
+    private final TaskExecutor executor;
+    private final StorageStrategy storageStrategy;
+    private final FileMetadataRepository fileMetadataRepository;
+    private final Set<String> trustedEntityTypes;
+    private final Duration pendingTimeout;
+    private final TransactionTemplate separateTransaction;
+    // Files handed to the executor and not yet processed, which the sweep must not resubmit
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<UploadStage, Timer> stageTimers = new LinkedHashMap<>();
+    private final Map<FileMetadata.Status, Counter> outcomeCounters = new EnumMap<>(FileMetadata.Status.class);
+
+    public UploadPipeline(
+            List<UploadStage> stages,
+            @Qualifier("uploadPipelineExecutor") TaskExecutor executor,
+            StorageStrategy storageStrategy,
+            FileMetadataRepository fileMetadataRepository,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${upload.pipeline.trusted-entity-types:invoice}") Set<String> trustedEntityTypes,
+            @Value("${upload.pipeline.pending-timeout:PT10M}") Duration pendingTimeout) {
+        this.stages = stages;
+        this.executor = executor;
+        this.storageStrategy = storageStrategy;
+        this.fileMetadataRepository = fileMetadataRepository;
+        this.trustedEntityTypes = trustedEntityTypes.stream()
+                .map(String::toLowerCase)
+                .collect(Collectors.toSet());
+        this.pendingTimeout = pendingTimeout;
+        // Records a rejected hand-off, which happens after the uploading transaction has committed
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        for (UploadStage stage : stages) {
+            stageTimers.put(stage, Timer.builder("upload.pipeline.stage.duration")
+                    .description("Time taken by an upload pipeline stage")
+                    .tag("stage", stage.getName())
+                    .register(meterRegistry));
+        }
+        for (FileMetadata.Status status : FileMetadata.Status.values()) {
+            if (status != FileMetadata.Status.PENDING) {
+                outcomeCounters.put(status, Counter.builder("upload.pipeline.outcome")
+                        .description("Uploads that finished processing, by final status")
+                        .tag("status", status.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+        }
+        log.info("Upload pipeline configured with stages {}",
+                stages.stream().map(UploadStage::getName).toList());
+    }
+
+    /**
+     * Queue a stored file for processing.
+     * Files generated by the application itself, such as invoice PDFs, skip the pipeline and
+     * are ready immediately.
+     *
+     * @param metadata the saved metadata of the stored file
+     * @return the metadata with its initial status
+     */
+    public FileMetadata submit(FileMetadata metadata) {
+        if (metadata.getEntityType() != null
+                && trustedEntityTypes.contains(metadata.getEntityType().toLowerCase())) {
+            metadata.setStatus(FileMetadata.Status.READY);
+            return fileMetadataRepository.save(metadata);
+        }
+
+        metadata.setStatus(FileMetadata.Status.PENDING);
+        FileMetadata saved = fileMetadataRepository.save(metadata);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            FileMetadata pending = saved.toBuilder().build();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(pending);
+                }
+            });
+            return saved;
+        }
+        return dispatch(saved);
+    }
+
+    /**
+     * Resubmit every pending file on startup. None of them can be queued yet, so they were
+     * left behind by a previous run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resubmitPendingOnStartup() {
+        resubmitPending(LocalDateTime.now());
+    }
+
+    /**
+     * Resubmit files pending for longer than the timeout that are not queued here, such as those
+     * whose hand-off was lost when the executor shut down.
+     */
+    @Scheduled(fixedDelayString = "${upload.pipeline.recovery-interval:PT5M}",
+            initialDelayString = "${upload.pipeline.recovery-interval:PT5M}")
+    public void resubmitStalePending() {
+        resubmitPending(LocalDateTime.now().minus(pendingTimeout));
+    }
+
+    /**
+     * Hand pending files uploaded before the cutoff back to the executor. Stops at the first
+     * rejection and leaves the rest pending for the next sweep, rather than failing them.
+     *
+     * @return the number of files resubmitted
+     */
+    int resubmitPending(LocalDateTime uploadedBefore) {
+        int resubmitted = 0;
+        for (FileMetadata metadata : fileMetadataRepository.findAllByStatus(FileMetadata.Status.PENDING)) {
+            if (inFlight.contains(metadata.getId())
+                    || (metadata.getUploadedAt() != null && !metadata.getUploadedAt().isBefore(uploadedBefore))) {
+                continue;
+            }
+            if (!handOff(metadata.getId())) {
+                log.warn("Upload pipeline queue is full, leaving the remaining pending files for the next sweep");
+                break;
+            }
+            resubmitted++;
+        }
+        if (resubmitted > 0) {
+            log.info("Resubmitted {} pending files to the upload pipeline", resubmitted);
+        }
+        return resubmitted;
+    }
+
+    /**
+     * Hand a saved file to the executor, or mark it as failed if the queue is full.
+     *
+     * @return the metadata with its status after the hand-off
+     */
+    private FileMetadata dispatch(FileMetadata metadata) {
+        Long fileId = metadata.getId();
+        if (!handOff(fileId)) {
+            log.warn("Upload pipeline queue is full, rejecting file {}", fileId);
+            metadata.setStatus(FileMetadata.Status.FAILED);
+            metadata.setStatusReason("Upload processing is at capacity, please retry");
+            discard(metadata);
+            separateTransaction.executeWithoutResult(status -> fileMetadataRepository.saveProcessingResult(metadata));
+            outcomeCounters.get(FileMetadata.Status.FAILED).increment();
+        }
+        return metadata;
+    }
+
+    /**
+     * Queue a file for processing unless it is already queued.
+     *
+     * @return false if the executor rejected the file
+     */
+    private boolean handOff(Long fileId) {
+        if (!inFlight.add(fileId)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(fileId);
+                } finally {
+                    inFlight.remove(fileId);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException ex) {
+            inFlight.remove(fileId);
+            return false;
+        }
+    }
+
+    private void process(Long fileId) {
+        FileMetadata metadata = fileMetadataRepository.findById(fileId).orElse(null);
+        if (metadata == null) {
+            log.debug("File {} was deleted before processing", fileId);
+            return;
+        }
+        if (metadata.getStatus() != FileMetadata.Status.PENDING) {
+            log.debug("File {} was already processed as {}", fileId, metadata.getStatus());
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        try {
+            UploadContext context = new UploadContext(metadata, storageStrategy.retrieve(locationOf(metadata)));
+            for (UploadStage stage : stages) {
+                long stageStart = System.nanoTime();
+                stage.process(context);
+                stageTimers.get(stage).record(System.nanoTime() - stageStart, TimeUnit.NANOSECONDS);
+                if (context.isRejected()) {
+                    break;
+                }
+            }
+
+            if (context.isRejected()) {
+                metadata.setStatus(FileMetadata.Status.QUARANTINED);
+                metadata.setStatusReason(context.getRejectionReason());
+                discard(metadata);
+            } else {
+                metadata.setStatus(FileMetadata.Status.READY);
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.error("Upload processing failed for file {}: {}", fileId, ex.getMessage(), ex);
+            metadata.setStatus(FileMetadata.Status.FAILED);
+            metadata.setStatusReason("Upload processing failed");
+        }
+
+        // Field-level update, so metadata deleted while the file was being processed is not resurrected
+        if (!fileMetadataRepository.saveProcessingResult(metadata)) {
+            log.debug("File {} was deleted during processing", fileId);
+        }
+        outcomeCounters.get(metadata.getStatus()).increment();
+        log.info("Processed file {} as {} in {}ms",
+                fileId, metadata.getStatus(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+    }
+
+    /**
+     * Remove the stored bytes of a file that must never be served. The metadata is kept so the
+     * uploader can see why the file is unavailable.
+     */
+    private void discard(FileMetadata metadata) {
+        try {
+            storageStrategy.delete(locationOf(metadata));
+        } catch (IOException ex) {
+            log.error("Failed to delete rejected file {}: {}", metadata.getId(), ex.getMessage(), ex);
+        }
+    }
+
+    private static String locationOf(FileMetadata metadata) {
+        return metadata.getUrl() != null ? metadata.getUrl() : metadata.getFileUrl();
+    }
+}
@@ -0,0 +1,29 @@
+package com.freelancer.portal.service.storage.pipeline;
+
+import java.io.IOException;
+
+/**
+ * A single post-processing step applied to a stored upload.
+ * <p>
+ * Stages are Spring beans ordered with {@link org.springframework.core.annotation.Order} and run
+ * one after another on the upload pipeline executor. A stage records its results on the file
+ * metadata, or calls {@link UploadContext#reject(String)} to quarantine the file and stop processing.
+ * </p>
+ */
+public interface UploadStage {
+
+    /**
+     * Get the name of this stage, used in logs and metrics.
+     *
+     * @return the stage name
+     */
+    String getName();
+
+    /**
+     * Process the stored file.
+     *
+     * @param context the file being processed
+     * @throws IOException if the file cannot be read or derived files cannot be written
+     */
+    void process(UploadContext context) throws IOException;
+}
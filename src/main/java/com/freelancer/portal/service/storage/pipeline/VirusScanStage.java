@@ -0,0 +1,38 @@
+package com.freelancer.portal.service.storage.pipeline;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Rejects uploads flagged by the configured {@link VirusScanner}.
+ */
+@Component
+@Order(300)
+@RequiredArgsConstructor
+@Slf4j
+public class VirusScanStage implements UploadStage {
+
+    private final VirusScanner virusScanner;
+
+    @Override
+    public String getName() {
+        return "virus-scan";
+    }
+
+    @Override
+    public void process(UploadContext context) throws IOException {
+        String threat;
+        try (InputStream in = context.openStream()) {
+            threat = virusScanner.scan(in);
+        }
+        if (threat != null) {
+            log.warn("Virus scan detected {} in file {}", threat, context.getMetadata().getId());
+            context.reject("Virus scan detected " + threat);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.freelancer.portal.service.storage.pipeline;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Scans file contents for malware. Implementations can wrap a local engine or a remote scanning service.
+ */
+public interface VirusScanner {
+
+    /**
+     * Scan the given contents.
+     *
+     * @param in the file contents; closed by the caller
+     * @return the name of the detected threat, or null if the contents are clean
+     * @throws IOException if the contents cannot be read or the scanner is unavailable
+     */
+    String scan(InputStream in) throws IOException;
+}
@@ -0,0 +1,103 @@
+package com.freelancer.portal.specification;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Conversion between entity attribute values and their string form in request parameters and cursors.
+ */
+public final class AttributeValues {
+
+    private static final Map<Class<?>, Function<String, Object>> PARSERS = Map.ofEntries(
+            Map.entry(String.class, value -> value),
+            Map.entry(Long.class, Long::valueOf),
+            Map.entry(Integer.class, Integer::valueOf),
+            Map.entry(Short.class, Short::valueOf),
+            Map.entry(Double.class, Double::valueOf),
+            Map.entry(Float.class, Float::valueOf),
+            Map.entry(Boolean.class, AttributeValues::parseBoolean),
+            Map.entry(BigDecimal.class, BigDecimal::new),
+            Map.entry(LocalDate.class, LocalDate::parse),
+            Map.entry(LocalDateTime.class, LocalDateTime::parse),
+            Map.entry(LocalTime.class, LocalTime::parse),
+            Map.entry(Instant.class, Instant::parse),
+            Map.entry(OffsetDateTime.class, OffsetDateTime::parse),
+            Map.entry(ZonedDateTime.class, ZonedDateTime::parse),
+            Map.entry(UUID.class, UUID::fromString));
+
+    private static final Map<Class<?>, Class<?>> WRAPPERS = Map.of(
+            long.class, Long.class,
+            int.class, Integer.class,
+            short.class, Short.class,
+            double.class, Double.class,
+            float.class, Float.class,
+            boolean.class, Boolean.class);
+
+    private AttributeValues() {
+    }
+
+    /**
+     * Resolve the parser for an attribute type once, so per-request parsing involves no type checks.
+     * Parsers throw {@link IllegalArgumentException} or
+     * {@link java.time.format.DateTimeParseException} for malformed input.
+     *
+     * @param type the attribute's Java type
+     * @return the parser, or null if the type is not supported
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Function<String, Object> parserFor(Class<?> type) {
+        Class<?> wrapped = wrap(type);
+        if (wrapped.isEnum()) {
+            Class<Enum> enumType = (Class<Enum>) wrapped;
+            return value -> Enum.valueOf(enumType, value);
+        }
+        return PARSERS.get(wrapped);
+    }
+
+    /**
+     * Format an attribute value so that the parser for its type reads it back unchanged.
+     *
+     * @param value the value, may be null
+     * @return the string form, or null
+     */
+    public static String format(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value.toString();
+    }
+
+    /**
+     * Box a primitive type.
+     *
+     * @param type the type
+     * @return the wrapper type for primitives, otherwise the type itself
+     */
+    public static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? WRAPPERS.getOrDefault(type, type) : type;
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Not a boolean: " + value);
+    }
+}
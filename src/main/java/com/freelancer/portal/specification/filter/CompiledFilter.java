@@ -0,0 +1,130 @@
+package com.freelancer.portal.specification.filter;
+
+import com.freelancer.portal.exception.InvalidFilterException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * A validated filter plan for one filter shape: the set of attribute and operator pairs,
+ * independent of the values. Attribute paths and value parsers are resolved once when the
+ * plan is compiled; binding values only parses them and builds the predicates.
+ *
+ * @param <T> the entity type
+ */
+public final class CompiledFilter<T> {
+
+    private final List<Term> terms;
+    private final int maxInValues;
+    private final String deprecation;
+
+    private CompiledFilter(List<Term> terms, int maxInValues, String deprecation) {
+        this.terms = terms;
+        this.maxInValues = maxInValues;
+        this.deprecation = deprecation;
+    }
+
+    static <T> CompiledFilter<T> of(List<Term> terms, int maxInValues) {
+        return new CompiledFilter<>(List.copyOf(terms), maxInValues, null);
+    }
+
+    /**
+     * A plan accepted only for compatibility; its specifications are {@link DeprecatedFilter}s.
+     */
+    static <T> CompiledFilter<T> deprecated(List<Term> terms, int maxInValues, String warning) {
+        return new CompiledFilter<>(List.copyOf(terms), maxInValues, warning);
+    }
+
+    /**
+     * Bind values to the plan.
+     *
+     * @param rawValues the raw parameter values, in the order of the plan's terms
+     * @return the specification
+     * @throws InvalidFilterException if a value is malformed
+     */
+    Specification<T> bind(List<String> rawValues) {
+        Object[][] values = new Object[terms.size()][];
+        for (int i = 0; i < terms.size(); i++) {
+            values[i] = terms.get(i).parse(rawValues.get(i), maxInValues);
+        }
+        Specification<T> specification = (root, query, cb) -> {
+            Predicate[] predicates = new Predicate[terms.size()];
+            for (int i = 0; i < predicates.length; i++) {
+                predicates[i] = terms.get(i).toPredicate(root, cb, values[i]);
+            }
+            return cb.and(predicates);
+        };
+        return deprecation != null ? new DeprecatedFilter<>(specification, deprecation) : specification;
+    }
+
+    /**
+     * One attribute and operator of a compiled filter.
+     *
+     * @param name the attribute path as written in the request, for error messages
+     * @param path the attribute path split into segments
+     * @param operator the operator
+     * @param parser the parser for the attribute's type
+     */
+    record Term(String name, String[] path, FilterOperator operator, Function<String, Object> parser) {
+
+        Object[] parse(String raw, int maxInValues) {
+            if (operator.getArity() == 0) {
+                return new Object[0];
+            }
+            String[] parts = operator.getArity() == 1 ? new String[] {raw} : raw.split(",");
+            if (operator.getArity() > 1 && parts.length != operator.getArity()) {
+                throw new InvalidFilterException("Filter " + name + "_" + operator.name().toLowerCase()
+                        + " takes " + operator.getArity() + " comma-separated values");
+            }
+            if (parts.length > maxInValues) {
+                throw new InvalidFilterException("Filter " + name + " accepts at most " + maxInValues + " values");
+            }
+            Object[] values = new Object[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                try {
+                    values[i] = switch (operator) {
+                        case PREFIX -> escapeLike(parts[i]) + "%";
+                        case LIKE -> "%" + escapeLike(parts[i].toLowerCase(Locale.ROOT)) + "%";
+                        default -> parser.apply(parts[i].trim());
+                    };
+                } catch (IllegalArgumentException | DateTimeParseException ex) {
+                    throw new InvalidFilterException("Invalid value for filter " + name + ": " + parts[i]);
+                }
+            }
+            return values;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Predicate toPredicate(Root<?> root, CriteriaBuilder cb, Object[] values) {
+            Path attribute = root;
+            for (String segment : path) {
+                attribute = attribute.get(segment);
+            }
+            return switch (operator) {
+                case EQ -> cb.equal(attribute, values[0]);
+                case IN -> attribute.in(values);
+                case GT -> cb.greaterThan(attribute, (Comparable) values[0]);
+                case GTE -> cb.greaterThanOrEqualTo(attribute, (Comparable) values[0]);
+                case LT -> cb.lessThan(attribute, (Comparable) values[0]);
+                case LTE -> cb.lessThanOrEqualTo(attribute, (Comparable) values[0]);
+                case BETWEEN -> cb.between(attribute, (Comparable) values[0], (Comparable) values[1]);
+                case PREFIX -> cb.like(attribute, (String) values[0], '\\');
+                case NEQ -> cb.notEqual(attribute, values[0]);
+                case LIKE -> cb.like(cb.lower(attribute), (String) values[0], '\\');
+                case ISNULL -> cb.isNull(attribute);
+                case NOTNULL -> cb.isNotNull(attribute);
+            };
+        }
+
+        private static String escapeLike(String value) {
+            return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.freelancer.portal.specification.filter;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * A compiled filter that uses a deprecated operator or a field outside the entity's allowlist.
+ * It filters like any other specification; list endpoints additionally send its warning to the
+ * client, see {@link com.freelancer.portal.controller.base.BaseFilterablePageableController}.
+ *
+ * @param <T> the entity type
+ */
+public final class DeprecatedFilter<T> implements Specification<T> {
+
+    private final Specification<T> delegate;
+    private final String warning;
+
+    DeprecatedFilter(Specification<T> delegate, String warning) {
+        this.delegate = delegate;
+        this.warning = warning;
+    }
+
+    /**
+     * Why the filter is deprecated, for the client.
+     *
+     * @return the warning
+     */
+    public String getWarning() {
+        return warning;
+    }
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        return delegate.toPredicate(root, query, criteriaBuilder);
+    }
+}
@@ -0,0 +1,97 @@
+package com.freelancer.portal.specification.filter;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The attributes of one entity that list filters may use, and the operators allowed on each.
+ * <p>
+ * Every entry must be backed by an index whose leading columns, after the owner column the
+ * services always filter on, include the attribute. {@code FilterIndexUsageTest} checks this
+ * against the entity mappings and, when run against MySQL, against {@code EXPLAIN} output.
+ * </p>
+ */
+public final class FilterAllowlist {
+
+    private final Class<?> entityClass;
+    private final Map<String, Set<FilterOperator>> operators;
+
+    private FilterAllowlist(Class<?> entityClass, Map<String, Set<FilterOperator>> operators) {
+        this.entityClass = entityClass;
+        this.operators = Collections.unmodifiableMap(operators);
+    }
+
+    /**
+     * Start an allowlist for an entity.
+     *
+     * @param entityClass the entity type
+     * @return a builder
+     */
+    public static Builder forEntity(Class<?> entityClass) {
+        return new Builder(entityClass);
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * The allowed attribute paths and their operators.
+     *
+     * @return an unmodifiable map keyed by attribute path, e.g. {@code client.id}
+     */
+    public Map<String, Set<FilterOperator>> getOperators() {
+        return operators;
+    }
+
+    /**
+     * Check whether an operator may be used on an attribute.
+     *
+     * @param path the attribute path
+     * @param operator the operator
+     * @return true if allowed
+     */
+    public boolean allows(String path, FilterOperator operator) {
+        Set<FilterOperator> allowed = operators.get(path);
+        return allowed != null && allowed.contains(operator);
+    }
+
+    /**
+     * Builder for {@link FilterAllowlist}.
+     */
+    public static final class Builder {
+
+        private final Class<?> entityClass;
+        private final Map<String, Set<FilterOperator>> operators = new LinkedHashMap<>();
+
+        private Builder(Class<?> entityClass) {
+            this.entityClass = entityClass;
+        }
+
+        /**
+         * Allow filtering on an attribute.
+         *
+         * @param path the attribute path
+         * @param first the first allowed operator
+         * @param rest further allowed operators
+         * @return this builder
+         */
+        public Builder allow(String path, FilterOperator first, FilterOperator... rest) {
+            EnumSet<FilterOperator> allowed = EnumSet.of(first, rest);
+            for (FilterOperator operator : allowed) {
+                if (operator.isDeprecated()) {
+                    throw new IllegalArgumentException("Deprecated filter operator " + operator + " cannot be allowlisted");
+                }
+            }
+            operators.put(path, allowed);
+            return this;
+        }
+
+        public FilterAllowlist build() {
+            return new FilterAllowlist(entityClass, new LinkedHashMap<>(operators));
+        }
+    }
+}
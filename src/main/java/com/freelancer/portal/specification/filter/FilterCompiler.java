@@ -0,0 +1,264 @@
+package com.freelancer.portal.specification.filter;
+
+import com.freelancer.portal.exception.InvalidFilterException;
+import com.freelancer.portal.specification.AttributeValues;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Compiles list filter parameters into JPA specifications.
+ * <p>
+ * Filters are validated against the entity's {@link FilterAllowlist}, so only attributes backed by
+ * an index can be filtered on, and a filter may contain at most one range condition, the most a
+ * single index can serve. The compiled plan is cached per filter shape, i.e. the sorted set of
+ * attribute and operator pairs, so repeated requests skip validation and type resolution and only
+ * parse their values. Only accepted shapes are cached, so the cache is bounded by the allowlists
+ * and cannot be filled with junk keys.
+ * </p>
+ * <p>
+ * Filters outside the allowlists used to be accepted: {@code neq}, {@code like}, {@code isnull},
+ * {@code notnull}, ranges on any attribute, and any filter on lists without an allowlist. While
+ * {@code filter.legacy.enabled} is on, such filters are still compiled, without caching, as a
+ * {@link DeprecatedFilter} whose warning is sent to the client. They are limited to attributes of
+ * the entity itself and the IDs of its associations. Switching the flag off rejects them.
+ * </p>
+ */
+@Component
+@Slf4j
+public class FilterCompiler {
+
+    private final Map<Class<?>, Map<String, Function<String, Object>>> parsersByEntity = new HashMap<>();
+    private final Map<FilterShape, CompiledFilter<?>> plans = new ConcurrentHashMap<>();
+    private final Map<Class<?>, FilterAllowlist> allowlists = new HashMap<>();
+    private final int maxPlans;
+    private final int maxInValues;
+    private final boolean legacyEnabled;
+    private final Counter planHitCounter;
+    private final Counter planMissCounter;
+    private final Counter rejectedCounter;
+    private final Counter deprecatedCounter;
+
+    public FilterCompiler(
+            List<FilterAllowlist> allowlists,
+            MeterRegistry meterRegistry,
+            @Value("${filter.plan-cache.max-size:1024}") int maxPlans,
+            @Value("${filter.max-in-values:50}") int maxInValues,
+            @Value("${filter.legacy.enabled:true}") boolean legacyEnabled) {
+        this.maxPlans = maxPlans;
+        this.maxInValues = maxInValues;
+        this.legacyEnabled = legacyEnabled;
+        for (FilterAllowlist allowlist : allowlists) {
+            this.allowlists.put(allowlist.getEntityClass(), allowlist);
+            this.parsersByEntity.put(allowlist.getEntityClass(), resolveParsers(allowlist));
+        }
+        this.planHitCounter = Counter.builder("filter.plan.cache")
+                .description("Filter plan cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.planMissCounter = Counter.builder("filter.plan.cache")
+                .description("Filter plan cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("filter.rejected")
+                .description("List filters rejected as not allowed or not indexable")
+                .register(meterRegistry);
+        this.deprecatedCounter = Counter.builder("filter.deprecated")
+                .description("List filters accepted only through the deprecated legacy operators and fields")
+                .register(meterRegistry);
+        Gauge.builder("filter.plan.cache.size", plans, Map::size)
+                .description("Number of cached filter plans")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compile filter parameters for an entity.
+     *
+     * @param entityClass the entity type
+     * @param filterParams filters as {@code <field>[_<operator>]} to value, e.g. {@code dueDate_lt=2024-01-31};
+     *                     entries with empty values are ignored
+     * @return the specification, or null if there are no filters; a {@link DeprecatedFilter} if
+     *         the filters are only accepted through the legacy operators and fields
+     * @throws InvalidFilterException if a filter is malformed, not allowed or not indexable
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Specification<T> compile(Class<T> entityClass, Map<String, String> filterParams) {
+        List<Map.Entry<FilterShape.Key, String>> entries = new ArrayList<>(filterParams.size());
+        filterParams.forEach((key, value) -> {
+            if (value != null && !value.isEmpty()) {
+                entries.add(Map.entry(FilterShape.Key.parse(key), value));
+            }
+        });
+        if (entries.isEmpty()) {
+            return null;
+        }
+        entries.sort(Map.Entry.comparingByKey());
+
+        List<FilterShape.Key> keys = new ArrayList<>(entries.size());
+        List<String> values = new ArrayList<>(entries.size());
+        for (Map.Entry<FilterShape.Key, String> entry : entries) {
+            keys.add(entry.getKey());
+            values.add(entry.getValue());
+        }
+
+        FilterShape shape = new FilterShape(entityClass, keys);
+        CompiledFilter<T> plan = (CompiledFilter<T>) plans.get(shape);
+        if (plan != null) {
+            planHitCounter.increment();
+        } else {
+            planMissCounter.increment();
+            try {
+                plan = compilePlan(shape);
+            } catch (InvalidFilterException rejection) {
+                try {
+                    return this.<T>compileDeprecatedPlan(shape, rejection).bind(values);
+                } catch (InvalidFilterException ex) {
+                    rejectedCounter.increment();
+                    throw ex;
+                }
+            }
+            // Accepted shapes are bounded by the allowlists; the cap is a safety net
+            if (plans.size() < maxPlans) {
+                plans.putIfAbsent(shape, plan);
+            }
+        }
+        return plan.bind(values);
+    }
+
+    private <T> CompiledFilter<T> compilePlan(FilterShape shape) {
+        FilterAllowlist allowlist = allowlists.get(shape.entityClass());
+        if (allowlist == null) {
+            throw new InvalidFilterException("Filtering is not supported on this list");
+        }
+        Map<String, Function<String, Object>> parsers = parsersByEntity.get(shape.entityClass());
+
+        List<CompiledFilter.Term> terms = new ArrayList<>(shape.keys().size());
+        FilterShape.Key rangeKey = null;
+        FilterShape.Key previous = null;
+        for (FilterShape.Key key : shape.keys()) {
+            checkKey(key, previous);
+            if (!allowlist.allows(key.path(), key.operator())) {
+                throw new InvalidFilterException("Filter " + key.raw() + " is not allowed; allowed filters: "
+                        + describe(allowlist));
+            }
+            if (key.operator().isRange()) {
+                if (rangeKey != null) {
+                    // An index can serve only one range; the second would filter row by row
+                    throw new InvalidFilterException("Filters " + rangeKey.raw() + " and " + key.raw()
+                            + " cannot be combined: only one range filter is allowed");
+                }
+                rangeKey = key;
+            }
+            terms.add(new CompiledFilter.Term(key.path(), key.path().split("\\."), key.operator(),
+                    parsers.get(key.path())));
+            previous = key;
+        }
+        log.debug("Compiled filter plan for {}: {}", shape.entityClass().getSimpleName(), shape.keys());
+        return CompiledFilter.of(terms, maxInValues);
+    }
+
+    /**
+     * Compile a shape the allowlists reject the way filters were compiled before there were
+     * allowlists, if legacy filters are still enabled.
+     *
+     * @param rejection why the allowlists reject the shape
+     * @throws InvalidFilterException with the allowlist rejection if legacy filters are disabled,
+     *                                or if the shape was not valid before either
+     */
+    private <T> CompiledFilter<T> compileDeprecatedPlan(FilterShape shape, InvalidFilterException rejection) {
+        if (!legacyEnabled) {
+            throw rejection;
+        }
+        List<CompiledFilter.Term> terms = new ArrayList<>(shape.keys().size());
+        FilterShape.Key previous = null;
+        for (FilterShape.Key key : shape.keys()) {
+            checkKey(key, previous);
+            String[] segments = key.path().split("\\.");
+            if (segments.length > 2 || (segments.length == 2 && !"id".equals(segments[1]))) {
+                throw rejection;
+            }
+            Class<?> type = resolveType(shape.entityClass(), segments);
+            Function<String, Object> parser = type != null ? AttributeValues.parserFor(type) : null;
+            if (parser == null) {
+                throw rejection;
+            }
+            boolean textOperator = key.operator() == FilterOperator.LIKE || key.operator() == FilterOperator.PREFIX;
+            if (textOperator && type != String.class) {
+                throw new InvalidFilterException("Filter " + key.raw() + " needs a text field");
+            }
+            terms.add(new CompiledFilter.Term(key.path(), segments, key.operator(), parser));
+            previous = key;
+        }
+        deprecatedCounter.increment();
+        log.debug("Accepted deprecated filter for {}: {}", shape.entityClass().getSimpleName(), shape.keys());
+        return CompiledFilter.deprecated(terms, maxInValues, "Deprecated list filter, it will be rejected in a "
+                + "future release: " + rejection.getMessage());
+    }
+
+    private static void checkKey(FilterShape.Key key, FilterShape.Key previous) {
+        if (key.operator() == null) {
+            throw new InvalidFilterException("Unknown filter operator in " + key.raw());
+        }
+        if (key.equals(previous)) {
+            throw new InvalidFilterException("Duplicate filter " + key.raw());
+        }
+    }
+
+    /**
+     * Resolve the value parser of every allowlisted path up front, so a misconfigured
+     * allowlist fails at startup rather than on the first request using it.
+     * Entities use field access, so the mapped type is the declared field type.
+     */
+    private static Map<String, Function<String, Object>> resolveParsers(FilterAllowlist allowlist) {
+        Map<String, Function<String, Object>> parsers = new HashMap<>();
+        for (String path : allowlist.getOperators().keySet()) {
+            Class<?> type = resolveType(allowlist.getEntityClass(), path.split("\\."));
+            if (type == null) {
+                throw new IllegalStateException("Filter path " + path + " does not resolve on "
+                        + allowlist.getEntityClass().getSimpleName());
+            }
+            Function<String, Object> parser = AttributeValues.parserFor(type);
+            if (parser == null) {
+                throw new IllegalStateException("Filter path " + path + " on "
+                        + allowlist.getEntityClass().getSimpleName() + " has an unsupported type");
+            }
+            parsers.put(path, parser);
+        }
+        return parsers;
+    }
+
+    /**
+     * Resolve the mapped type of an attribute path, or null if it does not resolve.
+     */
+    private static Class<?> resolveType(Class<?> entityClass, String[] path) {
+        Class<?> type = entityClass;
+        for (String segment : path) {
+            Field field = ReflectionUtils.findField(type, segment);
+            if (field == null) {
+                return null;
+            }
+            type = field.getType();
+        }
+        return type;
+    }
+
+    private static String describe(FilterAllowlist allowlist) {
+        List<String> allowed = new ArrayList<>();
+        allowlist.getOperators().forEach((path, operators) ->
+                operators.forEach(operator -> allowed.add(path + "_" + operator.name().toLowerCase())));
+        return String.join(", ", allowed);
+    }
+}
@@ -0,0 +1,91 @@
+package com.freelancer.portal.specification.filter;
+
+import java.util.Locale;
+
+/**
+ * Comparison operators accepted in list filters, written as {@code filter_<field>_<operator>=<value>}.
+ * <p>
+ * Only operators a B-tree index can serve can be allowlisted. Negations, null checks and
+ * infix {@code LIKE} force a scan of every row the owner has; they are deprecated and only
+ * accepted while {@code filter.legacy.enabled} is on, see {@link FilterCompiler}.
+ * </p>
+ */
+public enum FilterOperator {
+
+    /** Equality; the default when no operator is given. */
+    EQ(false, 1, false),
+    /** Membership in a comma-separated list of values. */
+    IN(false, -1, false),
+    /** Strictly greater than. */
+    GT(true, 1, false),
+    /** Greater than or equal. */
+    GTE(true, 1, false),
+    /** Strictly less than. */
+    LT(true, 1, false),
+    /** Less than or equal. */
+    LTE(true, 1, false),
+    /** Inclusive range given as {@code from,to}. */
+    BETWEEN(true, 2, false),
+    /** String starts with the value; the only pattern match an index can serve. */
+    PREFIX(true, 1, false),
+    /** Not equal. Deprecated. */
+    NEQ(false, 1, true),
+    /** Case-insensitive substring match. Deprecated; use {@link #PREFIX} where allowed. */
+    LIKE(false, 1, true),
+    /** Attribute is null; the value is ignored. Deprecated. */
+    ISNULL(false, 0, true),
+    /** Attribute is not null; the value is ignored. Deprecated. */
+    NOTNULL(false, 0, true);
+
+    private final boolean range;
+    private final int arity;
+    private final boolean deprecated;
+
+    FilterOperator(boolean range, int arity, boolean deprecated) {
+        this.range = range;
+        this.arity = arity;
+        this.deprecated = deprecated;
+    }
+
+    /**
+     * Whether the operator scans a range of the index rather than seeking single keys.
+     * An index serves at most one range condition, after equality conditions on its leading columns.
+     *
+     * @return true for range operators
+     */
+    public boolean isRange() {
+        return range;
+    }
+
+    /**
+     * Whether the operator is only accepted by the deprecated legacy filters.
+     *
+     * @return true for operators no index can serve
+     */
+    public boolean isDeprecated() {
+        return deprecated;
+    }
+
+    /**
+     * The number of comma-separated values the operator takes.
+     *
+     * @return the arity, 0 if the value is ignored, or -1 for a variable number of values
+     */
+    public int getArity() {
+        return arity;
+    }
+
+    /**
+     * Look up an operator by its name in a filter parameter.
+     *
+     * @param name the operator name, case-insensitive
+     * @return the operator, or null if there is no such operator
+     */
+    public static FilterOperator fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
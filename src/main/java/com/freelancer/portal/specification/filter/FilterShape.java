@@ -0,0 +1,46 @@
+package com.freelancer.portal.specification.filter;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The normalized shape of a filter: the entity and its sorted attribute and operator pairs,
+ * without the values. Requests with the same shape share a compiled plan.
+ *
+ * @param entityClass the entity type
+ * @param keys the filter keys in sorted order
+ */
+record FilterShape(Class<?> entityClass, List<Key> keys) {
+
+    /**
+     * One filter key, e.g. {@code dueDate_lt}.
+     *
+     * @param path the attribute path
+     * @param operator the operator, or null if the suffix is not a known operator
+     * @param raw the key as written in the request
+     */
+    record Key(String path, FilterOperator operator, String raw) implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::path)
+                .thenComparing(Key::raw);
+
+        /**
+         * Parse a filter key; a key without an operator suffix means equality.
+         */
+        static Key parse(String raw) {
+            String key = raw.trim();
+            int separator = key.lastIndexOf('_');
+            if (separator < 0) {
+                return new Key(key, FilterOperator.EQ, key + "_eq");
+            }
+            String path = key.substring(0, separator);
+            FilterOperator operator = FilterOperator.fromName(key.substring(separator + 1));
+            return new Key(path, operator, operator != null ? path + "_" + operator.name().toLowerCase() : key);
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
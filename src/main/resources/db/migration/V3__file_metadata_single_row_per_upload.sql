@@ -0,0 +1,9 @@
+-- The local storage strategy used to save its own file_metadata row for every upload, next to
+-- the row saved by the upload pipeline. Those extra rows have no status and the same URL.
+DELETE FROM file_metadata
+WHERE status IS NULL
+  AND url IN (SELECT url FROM (SELECT url FROM file_metadata WHERE status IS NOT NULL) AS processed);
+
+-- Files uploaded before the upload pipeline existed were already being served; only READY files
+-- are served now, so mark them explicitly
+UPDATE file_metadata SET status = 'READY' WHERE status IS NULL;
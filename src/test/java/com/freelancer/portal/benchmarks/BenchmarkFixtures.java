@@ -0,0 +1,135 @@
+package com.freelancer.portal.benchmarks;
+
+import com.freelancer.portal.dto.InvoiceItemResponseDto;
+import com.freelancer.portal.dto.InvoiceResponseDto;
+import com.freelancer.portal.model.Client;
+import com.freelancer.portal.model.Company;
+import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.model.InvoiceItem;
+import com.freelancer.portal.model.Payment;
+import com.freelancer.portal.model.Project;
+import com.freelancer.portal.model.User;
+import com.freelancer.portal.repository.projection.PaymentListRow;
+import com.freelancer.portal.repository.projection.TimeEntryListRow;
+import com.freelancer.portal.service.invoice.InvoiceTotals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Detached sample data shared by the benchmarks. Nothing here touches a database.
+ */
+final class BenchmarkFixtures {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 15, 10, 30);
+
+    private BenchmarkFixtures() {
+    }
+
+    static User freelancer() {
+        User user = new User();
+        user.setId(1L);
+        user.setFirstName("Ada");
+        user.setLastName("Lovelace");
+        user.setEmail("ada@example.com");
+        user.setRole(User.Role.FREELANCER);
+        return user;
+    }
+
+    static Invoice invoice(int itemCount) {
+        Company company = new Company();
+        company.setId(3L);
+        company.setName("Analytical Engines Ltd");
+
+        Client client = new Client();
+        client.setId(2L);
+        client.setName("Charles Babbage");
+        client.setEmail("charles@example.com");
+        client.setCompany(company);
+
+        Project project = new Project();
+        project.setId(4L);
+        project.setName("Difference Engine");
+        project.setClient(client);
+
+        Invoice invoice = new Invoice();
+        invoice.setId(5L);
+        invoice.setInvoiceNumber("INV-1-000042");
+        invoice.setStatus(Invoice.Status.SENT);
+        invoice.setIssueDate(LocalDate.of(2024, 3, 1));
+        invoice.setDueDate(LocalDate.of(2024, 3, 31));
+        invoice.setCurrency("USD");
+        invoice.setTaxRate(new BigDecimal("20.00"));
+        invoice.setNotes("Payable within 30 days");
+        invoice.setClient(client);
+        invoice.setProject(project);
+        invoice.setFreelancer(freelancer());
+        invoice.setCreatedAt(NOW);
+        invoice.setUpdatedAt(NOW);
+
+        List<InvoiceItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            InvoiceItem item = new InvoiceItem();
+            item.setId((long) i);
+            item.setDescription("Development work, week " + (i + 1));
+            item.setQuantity(new BigDecimal("7.5"));
+            item.setUnitPrice(new BigDecimal("95.00"));
+            item.setInvoice(invoice);
+            items.add(item);
+        }
+        invoice.setItems(items);
+        // Amounts as a stored invoice has them
+        new InvoiceTotals().calculate(invoice);
+        return invoice;
+    }
+
+    static TimeEntryListRow timeEntryRow(long id) {
+        return new TimeEntryListRow(id, 4L, "Difference Engine", new BigDecimal("95.00"), 2L, "Charles Babbage",
+                1L, "Ada", "Lovelace", "Gear train design", NOW.minusHours(3), NOW, 10_800L, 3.0,
+                true, false, null, null, NOW, NOW);
+    }
+
+    static PaymentListRow paymentRow(long id) {
+        return new PaymentListRow(id, new BigDecimal("1250.00"), "BANK_TRANSFER", NOW, "TX-" + id, null,
+                Payment.Status.COMPLETED, 5L, "INV-1-000042", "Charles Babbage", "Analytical Engines Ltd",
+                "Difference Engine", NOW, NOW);
+    }
+
+    static List<InvoiceResponseDto> invoiceResponses(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> InvoiceResponseDto.builder()
+                        .id((long) i)
+                        .invoiceNumber("INV-1-" + String.format("%06d", i))
+                        .clientId(2L)
+                        .clientName("Charles Babbage")
+                        .clientCompanyName("Analytical Engines Ltd")
+                        .projectId(4L)
+                        .projectName("Difference Engine")
+                        .status(Invoice.Status.SENT)
+                        .issueDate(LocalDate.of(2024, 3, 1))
+                        .dueDate(LocalDate.of(2024, 3, 31))
+                        .items(List.of(InvoiceItemResponseDto.builder()
+                                .id((long) i)
+                                .description("Development work")
+                                .quantity(new BigDecimal("7.5"))
+                                .unitPrice(new BigDecimal("95.00"))
+                                .amount(new BigDecimal("712.50"))
+                                .build()))
+                        .subtotal(new BigDecimal("712.50"))
+                        .taxAmount(new BigDecimal("142.50"))
+                        .taxRate(new BigDecimal("20.00"))
+                        .total(new BigDecimal("855.00"))
+                        .amountPaid(BigDecimal.ZERO)
+                        .amountDue(new BigDecimal("855.00"))
+                        .currency("USD")
+                        .isOverdue(false)
+                        .createdAt(NOW)
+                        .updatedAt(NOW)
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,35 @@
+package com.freelancer.portal.benchmarks;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of this package and writes the results as JSON, so runs of different
+ * releases can be compared. Started by {@code mvn -Pbenchmarks test}; {@code jmh.include}
+ * selects benchmarks by regular expression and {@code jmh.result} sets the result file.
+ */
+class BenchmarkSuite {
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        run();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        run();
+    }
+
+    private static void run() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("jmh.include", BenchmarkSuite.class.getPackageName() + "\\..*"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("jmh.result", "target/jmh-result.json"))
+                .shouldFailOnError(true)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,58 @@
+package com.freelancer.portal.benchmarks;
+
+import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.service.invoice.InvoicePdfRenderer;
+import com.freelancer.portal.service.invoice.InvoiceTotals;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invoice totals calculation and PDF rendering, the CPU-bound steps of creating an invoice and
+ * downloading it. Both are components of their own, so they run here exactly as the invoice
+ * service calls them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvoiceServiceBenchmark {
+
+    @Param({"5", "50"})
+    public int itemCount;
+
+    private final InvoiceTotals invoiceTotals = new InvoiceTotals();
+    private final InvoicePdfRenderer invoicePdfRenderer = new InvoicePdfRenderer();
+    private Invoice invoice;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        invoice = BenchmarkFixtures.invoice(itemCount);
+    }
+
+    @Benchmark
+    public Invoice calculateInvoiceTotals() {
+        invoiceTotals.calculate(invoice);
+        return invoice;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public byte[] renderInvoicePdf() throws IOException {
+        return invoicePdfRenderer.render(invoice);
+    }
+}
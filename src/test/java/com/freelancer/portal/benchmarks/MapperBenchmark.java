@@ -0,0 +1,61 @@
+package com.freelancer.portal.benchmarks;
+
+import com.freelancer.portal.dto.InvoiceDto;
+import com.freelancer.portal.dto.PaymentResponseDto;
+import com.freelancer.portal.dto.TimeEntryDto;
+import com.freelancer.portal.mapper.InvoiceMapper;
+import com.freelancer.portal.mapper.PaymentMapper;
+import com.freelancer.portal.mapper.TimeEntryMapper;
+import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.repository.projection.PaymentListRow;
+import com.freelancer.portal.repository.projection.TimeEntryListRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity and projection to DTO mapping as done for every row of the list endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private Invoice invoice;
+    private TimeEntryListRow timeEntryRow;
+    private PaymentListRow paymentRow;
+
+    @Setup
+    public void setUp() {
+        invoice = BenchmarkFixtures.invoice(5);
+        timeEntryRow = BenchmarkFixtures.timeEntryRow(7L);
+        paymentRow = BenchmarkFixtures.paymentRow(9L);
+    }
+
+    @Benchmark
+    public InvoiceDto invoiceToDto() {
+        return InvoiceMapper.toDto(invoice);
+    }
+
+    @Benchmark
+    public TimeEntryDto timeEntryRowToDto() {
+        return TimeEntryMapper.toDto(timeEntryRow);
+    }
+
+    @Benchmark
+    public PaymentResponseDto paymentRowToDto() {
+        return PaymentMapper.toResponseDto(paymentRow);
+    }
+}
@@ -0,0 +1,80 @@
+package com.freelancer.portal.benchmarks;
+
+import com.freelancer.portal.monitoring.MethodTimingAspect;
+import com.freelancer.portal.service.ProjectBudgetService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the method timing aspect on a service proxy: a plain Spring proxy, the aspect
+ * timing every call, and the aspect sampling 10% of calls. The difference between
+ * {@code timed} and {@code plainProxy} is the overhead each timed call adds; it should stay
+ * below 300ns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodTimingBenchmark {
+
+    private ProjectBudgetService plain;
+    private ProjectBudgetService timed;
+    private ProjectBudgetService sampled;
+    private long projectId;
+
+    @Setup
+    public void setUp() {
+        ProjectBudgetService target = (ProjectBudgetService) Proxy.newProxyInstance(
+                ProjectBudgetService.class.getClassLoader(), new Class<?>[]{ProjectBudgetService.class},
+                (proxy, method, args) -> method.getReturnType() == boolean.class ? Boolean.FALSE : BigDecimal.ONE);
+
+        ProxyFactory plainFactory = new ProxyFactory(target);
+        plainFactory.addInterface(ProjectBudgetService.class);
+        plain = (ProjectBudgetService) plainFactory.getProxy();
+        timed = timedProxy(target, 1.0);
+        sampled = timedProxy(target, 0.1);
+    }
+
+    @Benchmark
+    public BigDecimal plainProxy() {
+        return plain.calculateRemainingBudget(nextProjectId());
+    }
+
+    @Benchmark
+    public BigDecimal timed() {
+        return timed.calculateRemainingBudget(nextProjectId());
+    }
+
+    @Benchmark
+    public BigDecimal sampled() {
+        return sampled.calculateRemainingBudget(nextProjectId());
+    }
+
+    private long nextProjectId() {
+        return projectId++ & 1023;
+    }
+
+    private static ProjectBudgetService timedProxy(ProjectBudgetService target, double sampleRate) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(ProjectBudgetService.class);
+        factory.addAspect(new MethodTimingAspect(new SimpleMeterRegistry(), sampleRate, false, 500));
+        return factory.getProxy();
+    }
+}
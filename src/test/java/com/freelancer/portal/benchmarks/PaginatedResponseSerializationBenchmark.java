@@ -0,0 +1,52 @@
+package com.freelancer.portal.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.freelancer.portal.config.JacksonConfig;
+import com.freelancer.portal.dto.InvoiceResponseDto;
+import com.freelancer.portal.dto.PaginatedResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a page of invoices with the application's Jackson configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginatedResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PaginatedResponse<InvoiceResponseDto> page;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().jsonCustomizer().customize(builder);
+        objectMapper = builder.build();
+        page = PaginatedResponse.ofCursor(BenchmarkFixtures.invoiceResponses(pageSize), pageSize, true,
+                "eyJpZCI6MTAwfQ", null);
+    }
+
+    @Benchmark
+    public byte[] serializeInvoicePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
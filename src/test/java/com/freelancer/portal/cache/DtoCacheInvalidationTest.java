@@ -0,0 +1,276 @@
+package com.freelancer.portal.cache;
+
+import com.freelancer.portal.config.CacheConfig;
+import com.freelancer.portal.dto.AuthenticationRequest;
+import com.freelancer.portal.event.ProjectChangedEvent;
+import com.freelancer.portal.model.Client;
+import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.model.Project;
+import com.freelancer.portal.model.User;
+import com.freelancer.portal.pagination.KeysetSliceExecutor;
+import com.freelancer.portal.repository.InvoiceRepository;
+import com.freelancer.portal.repository.NotificationRepository;
+import com.freelancer.portal.repository.UserRepository;
+import com.freelancer.portal.security.JwtService;
+import com.freelancer.portal.service.impl.AuthenticationServiceImpl;
+import com.freelancer.portal.service.impl.NotificationServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that a cached DTO is never more than one write stale: a read issued after a change
+ * event has been published always sees that change, even when a slower reader that loaded the
+ * previous state stores its result afterwards.
+ */
+public class DtoCacheInvalidationTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final long OTHER_OWNER_ID = 2L;
+    private static final long PROJECT_ID = 10L;
+
+    private AnnotationConfigApplicationContext context;
+    private ProjectStore store;
+    private CachedProjectReader reader;
+
+    @BeforeEach
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(TestConfig.class);
+        store = context.getBean(ProjectStore.class);
+        reader = context.getBean(CachedProjectReader.class);
+        authenticate(OWNER_ID);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Test
+    public void testReadAfterWriteEventIsFresh() {
+        store.write(PROJECT_ID, "v1");
+        assertEquals("v1", reader.read(PROJECT_ID));
+        assertEquals("v1", reader.read(PROJECT_ID));
+        assertEquals(1, store.loads.get(), "second read should be served from the cache");
+
+        for (int version = 2; version <= 20; version++) {
+            store.write(PROJECT_ID, "v" + version);
+            context.publishEvent(new ProjectChangedEvent(OWNER_ID, PROJECT_ID));
+            assertEquals("v" + version, reader.read(PROJECT_ID));
+        }
+    }
+
+    @Test
+    public void testLoadStartedBeforeInvalidationCannotPoisonLaterReads() throws Exception {
+        store.write(PROJECT_ID, "v1");
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        store.pauseNextLoad(loaded, written);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> slowRead = executor.submit(() -> {
+                authenticate(OWNER_ID);
+                return reader.read(PROJECT_ID);
+            });
+
+            // The slow reader has loaded v1 but not yet stored it
+            assertTrue(loaded.await(5, TimeUnit.SECONDS));
+            store.write(PROJECT_ID, "v2");
+            context.publishEvent(new ProjectChangedEvent(OWNER_ID, PROJECT_ID));
+            written.countDown();
+
+            // At most one write stale, and only for a read that overlapped the write
+            assertEquals("v1", slowRead.get(5, TimeUnit.SECONDS));
+            assertEquals("v2", reader.read(PROJECT_ID));
+            assertEquals("v2", reader.read(PROJECT_ID));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testOverdueSweepInvalidatesTheOwnersEntries() {
+        store.write(PROJECT_ID, "SENT");
+        assertEquals("SENT", reader.read(PROJECT_ID));
+
+        User owner = User.builder().id(OWNER_ID).build();
+        Client client = Client.builder().id(5L).name("Acme").email("billing@acme.example").build();
+        Project project = Project.builder().id(PROJECT_ID).name("Website").client(client).freelancer(owner).build();
+        Invoice invoice = Invoice.builder().id(20L).invoiceNumber("INV-0001").freelancer(owner).client(client)
+                .project(project).status(Invoice.Status.SENT).amount(BigDecimal.TEN)
+                .dueDate(LocalDate.now().minusDays(3)).build();
+        InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
+        when(invoiceRepository.findByStatusInAndDueDateBefore(any(), any())).thenReturn(List.of(invoice));
+        NotificationServiceImpl notificationService = new NotificationServiceImpl(invoiceRepository,
+                mock(NotificationRepository.class), mock(UserRepository.class), context,
+                mock(KeysetSliceExecutor.class), ObservationRegistry.NOOP, context);
+
+        // The embedded invoice status as a project detail shows it after the sweep
+        store.write(PROJECT_ID, "OVERDUE");
+        notificationService.sendOverdueAlerts();
+
+        assertEquals(Invoice.Status.OVERDUE, invoice.getStatus());
+        assertEquals("OVERDUE", reader.read(PROJECT_ID));
+    }
+
+    @Test
+    public void testLoginInvalidatesTheUsersEntries() {
+        store.write(PROJECT_ID, "last login yesterday");
+        assertEquals("last login yesterday", reader.read(PROJECT_ID));
+
+        User user = User.builder().id(OWNER_ID).email("user1@example.com").build();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmailIgnoreCase(user.getEmail())).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+        AuthenticationServiceImpl authenticationService = new AuthenticationServiceImpl(userRepository,
+                mock(PasswordEncoder.class), mock(JwtService.class), mock(AuthenticationManager.class), context);
+
+        store.write(PROJECT_ID, "last login now");
+        authenticationService.authenticate(new AuthenticationRequest(user.getEmail(), "correct-horse"));
+
+        assertEquals("last login now", reader.read(PROJECT_ID));
+    }
+
+    @Test
+    public void testEntriesAreScopedToOwner() {
+        store.write(PROJECT_ID, "v1");
+        assertEquals("v1", reader.read(PROJECT_ID));
+
+        authenticate(OTHER_OWNER_ID);
+        store.write(PROJECT_ID, "v2");
+        assertEquals("v2", reader.read(PROJECT_ID), "another user must not see the first user's entry");
+
+        // Invalidating the first owner leaves the second owner's entry in place
+        context.publishEvent(new ProjectChangedEvent(OWNER_ID, PROJECT_ID));
+        int loads = store.loads.get();
+        reader.read(PROJECT_ID);
+        assertEquals(loads, store.loads.get());
+    }
+
+    @Test
+    public void testCacheStatisticsArePublished() {
+        store.write(PROJECT_ID, "v1");
+        reader.read(PROJECT_ID);
+        reader.read(PROJECT_ID);
+        reader.read(PROJECT_ID);
+
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        assertEquals(2.0, registry.get("cache.gets").tags("cache", CacheNames.PROJECTS, "result", "hit").counter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", CacheNames.PROJECTS, "result", "miss").counter().count());
+        assertEquals(1.0, registry.get("cache.puts").tag("cache", CacheNames.PROJECTS).counter().count());
+    }
+
+    private static void authenticate(long userId) {
+        User user = User.builder().id(userId).email("user" + userId + "@example.com").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import({CacheConfig.class, OwnerCacheKeys.class, DtoCacheInvalidationListener.class})
+    static class TestConfig {
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        public ProjectStore projectStore() {
+            return new ProjectStore();
+        }
+
+        @Bean
+        public CachedProjectReader cachedProjectReader(ProjectStore projectStore) {
+            return new CachedProjectReader(projectStore);
+        }
+    }
+
+    /**
+     * Stands in for the database, with a hook to stall a load between reading and returning.
+     */
+    static class ProjectStore {
+
+        private final Map<Long, String> rows = new ConcurrentHashMap<>();
+        private final AtomicInteger loads = new AtomicInteger();
+        private volatile CountDownLatch loaded;
+        private volatile CountDownLatch resume;
+
+        void write(long id, String value) {
+            rows.put(id, value);
+        }
+
+        void pauseNextLoad(CountDownLatch loaded, CountDownLatch resume) {
+            this.loaded = loaded;
+            this.resume = resume;
+        }
+
+        String load(long id) {
+            loads.incrementAndGet();
+            String value = rows.get(id);
+            CountDownLatch pauseAfter = resume;
+            if (pauseAfter != null) {
+                resume = null;
+                loaded.countDown();
+                try {
+                    pauseAfter.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Cached reader using the same key expression as the service methods.
+     */
+    static class CachedProjectReader {
+
+        private final ProjectStore store;
+
+        CachedProjectReader(ProjectStore store) {
+            this.store = store;
+        }
+
+        @Cacheable(cacheNames = CacheNames.PROJECTS, key = "@ownerCacheKeys.key(#id)")
+        public String read(Long id) {
+            return store.load(id);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.freelancer.portal.cache;
+
+import com.freelancer.portal.config.CacheConfig;
+import com.freelancer.portal.dto.FileResponseDto;
+import com.freelancer.portal.dto.ProjectDetailDto;
+import com.freelancer.portal.model.File;
+import com.freelancer.portal.model.Project;
+import com.freelancer.portal.model.User;
+import com.freelancer.portal.pagination.KeysetSliceExecutor;
+import com.freelancer.portal.repository.ClientRepository;
+import com.freelancer.portal.repository.ConversationRepository;
+import com.freelancer.portal.repository.FileMetadataRepository;
+import com.freelancer.portal.repository.FileRepository;
+import com.freelancer.portal.repository.InvoiceRepository;
+import com.freelancer.portal.repository.MessageRepository;
+import com.freelancer.portal.repository.ProjectRepository;
+import com.freelancer.portal.repository.UserRepository;
+import com.freelancer.portal.security.FileUrlSigner;
+import com.freelancer.portal.security.SecurityUtils;
+import com.freelancer.portal.service.FileService;
+import com.freelancer.portal.service.NotificationService;
+import com.freelancer.portal.service.ProjectService;
+import com.freelancer.portal.service.impl.FileServiceImpl;
+import com.freelancer.portal.service.impl.ProjectServiceImpl;
+import com.freelancer.portal.service.storage.StorageStrategy;
+import com.freelancer.portal.service.storage.pipeline.UploadPipeline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that cached project details, which list the project's files, are invalidated by file
+ * uploads and deletes made through {@link FileServiceImpl}.
+ */
+class ProjectFileCacheInvalidationTest {
+
+    private static final long PROJECT_ID = 10L;
+
+    @TempDir
+    Path uploadDir;
+
+    private final User owner = User.builder().id(1L).email("owner@example.com").firstName("Ada").lastName("Lovelace").build();
+    private final List<File> fileRows = new CopyOnWriteArrayList<>();
+    private final AtomicLong fileIds = new AtomicLong();
+
+    private AnnotationConfigApplicationContext context;
+    private ProjectRepository projectRepository;
+    private ProjectService projectService;
+    private FileService fileService;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(
+                new MapPropertySource("test", Map.of("file.upload-dir", uploadDir.toString())));
+        context.register(TestConfig.class);
+        context.refresh();
+
+        projectRepository = context.getBean(ProjectRepository.class);
+        projectService = context.getBean(ProjectService.class);
+        fileService = context.getBean(FileService.class);
+        stubDatabase();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(owner, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Test
+    void uploadRefreshesCachedProjectFiles() throws IOException {
+        assertEquals(List.of(), fileNames(projectService.getProjectById(PROJECT_ID, false)));
+        projectService.getProjectById(PROJECT_ID, false);
+        verify(projectRepository, times(1)).findByIdAndFreelancer(eq(PROJECT_ID), any());
+
+        fileService.storeFile(upload("brief.txt"), PROJECT_ID, "Project brief");
+
+        assertEquals(List.of("brief.txt"), fileNames(projectService.getProjectById(PROJECT_ID, false)));
+    }
+
+    @Test
+    void deleteRefreshesCachedProjectFiles() throws IOException {
+        Long fileId = fileService.storeFile(upload("brief.txt"), PROJECT_ID, "Project brief").getId();
+        assertEquals(List.of("brief.txt"), fileNames(projectService.getProjectById(PROJECT_ID, false)));
+
+        fileService.deleteFile(fileId);
+
+        assertEquals(List.of(), fileNames(projectService.getProjectById(PROJECT_ID, false)));
+    }
+
+    /**
+     * Every project lookup builds a fresh entity from the current file rows, like a new query would.
+     */
+    private void stubDatabase() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(owner));
+        when(projectRepository.findById(PROJECT_ID)).thenAnswer(invocation -> Optional.of(project()));
+        when(projectRepository.findByIdAndFreelancer(eq(PROJECT_ID), any()))
+                .thenAnswer(invocation -> Optional.of(project()));
+
+        FileRepository fileRepository = context.getBean(FileRepository.class);
+        when(fileRepository.save(any())).thenAnswer(invocation -> {
+            File file = invocation.getArgument(0);
+            if (file.getId() == null) {
+                file.setId(fileIds.incrementAndGet());
+                fileRows.add(file);
+            }
+            return file;
+        });
+        when(fileRepository.findById(any())).thenAnswer(invocation -> fileRows.stream()
+                .filter(file -> file.getId().equals(invocation.getArgument(0)))
+                .findFirst());
+        doAnswer(invocation -> fileRows.remove(invocation.<File>getArgument(0)))
+                .when(fileRepository).delete(any());
+    }
+
+    private Project project() {
+        Project project = Project.builder().id(PROJECT_ID).name("Website").freelancer(owner).build();
+        project.getFiles().addAll(fileRows);
+        return project;
+    }
+
+    private static List<String> fileNames(ProjectDetailDto project) {
+        return project.getFiles().stream().map(FileResponseDto::getName).toList();
+    }
+
+    private static MockMultipartFile upload(String name) {
+        return new MockMultipartFile("file", name, "text/plain", "content".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import({CacheConfig.class, OwnerCacheKeys.class, DtoCacheInvalidationListener.class,
+            ProjectServiceImpl.class, FileServiceImpl.class, SecurityUtils.class})
+    static class TestConfig {
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager() {
+            return new NoOpTransactionManager();
+        }
+
+        @Bean
+        public ProjectRepository projectRepository() {
+            return mock(ProjectRepository.class);
+        }
+
+        @Bean
+        public FileRepository fileRepository() {
+            return mock(FileRepository.class);
+        }
+
+        @Bean
+        public UserRepository userRepository() {
+            return mock(UserRepository.class);
+        }
+
+        @Bean
+        public ClientRepository clientRepository() {
+            return mock(ClientRepository.class);
+        }
+
+        @Bean
+        public InvoiceRepository invoiceRepository() {
+            return mock(InvoiceRepository.class);
+        }
+
+        @Bean
+        public MessageRepository messageRepository() {
+            return mock(MessageRepository.class);
+        }
+
+        @Bean
+        public ConversationRepository conversationRepository() {
+            return mock(ConversationRepository.class);
+        }
+
+        @Bean
+        public NotificationService notificationService() {
+            return mock(NotificationService.class);
+        }
+
+        @Bean
+        public FileMetadataRepository fileMetadataRepository() {
+            return mock(FileMetadataRepository.class);
+        }
+
+        @Bean
+        public StorageStrategy storageStrategy() {
+            return mock(StorageStrategy.class);
+        }
+
+        @Bean
+        public UploadPipeline uploadPipeline() {
+            return mock(UploadPipeline.class);
+        }
+
+        @Bean
+        public FileUrlSigner fileUrlSigner() {
+            return mock(FileUrlSigner.class);
+        }
+
+        @Bean
+        public KeysetSliceExecutor keysetSliceExecutor() {
+            return mock(KeysetSliceExecutor.class);
+        }
+
+        /** Satisfies the persistence context the mocked executor inherits; never used. */
+        @Bean
+        public EntityManagerFactory entityManagerFactory() {
+            return mock(EntityManagerFactory.class);
+        }
+    }
+
+    /**
+     * Runs transaction synchronizations, so change events are delivered after commit as in production.
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
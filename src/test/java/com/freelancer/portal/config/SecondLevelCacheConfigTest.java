@@ -0,0 +1,28 @@
+package com.freelancer.portal.config;
+
+import com.freelancer.portal.model.User;
+import com.freelancer.portal.support.OfflineJpa;
+import com.freelancer.portal.support.RecordingDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Boots Hibernate with the second-level cache settings from application.properties, so a cache
+ * configuration Hibernate cannot load, or a region missing from ehcache.xml, fails the build
+ * instead of application startup.
+ */
+public class SecondLevelCacheConfigTest {
+
+    @Test
+    public void testApplicationCacheSettingsStartTheRegionFactory() {
+        EntityManagerFactory entityManagerFactory = OfflineJpa.entityManagerFactory(new RecordingDataSource("primary"),
+                OfflineJpa.applicationProperties("hibernate.cache.", "hibernate.javax.cache."));
+        try {
+            assertFalse(entityManagerFactory.getCache().contains(User.class, 1L));
+        } finally {
+            entityManagerFactory.close();
+        }
+    }
+}
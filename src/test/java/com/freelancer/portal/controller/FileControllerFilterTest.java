@@ -0,0 +1,56 @@
+package com.freelancer.portal.controller;
+
+import com.freelancer.portal.config.FilterConfig;
+import com.freelancer.portal.exception.GlobalExceptionHandler;
+import com.freelancer.portal.pagination.CursorSlice;
+import com.freelancer.portal.service.FileService;
+import com.freelancer.portal.specification.filter.DeprecatedFilter;
+import com.freelancer.portal.specification.filter.FilterCompiler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class FileControllerFilterTest {
+
+    private final FileService fileService = mock(FileService.class);
+
+    @Test
+    void deprecatedFiltersAreServedWithADeprecationWarning() throws Exception {
+        when(fileService.scrollFiles(any(), any())).thenReturn(new CursorSlice<>(List.of(), 20, false, null, null));
+
+        mockMvc(true).perform(get("/files").param("mode", "cursor").param("filter_name_like", "brief"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Deprecation", "true"))
+                .andExpect(header().string("Warning", startsWith("299 - \"Deprecated list filter")));
+        verify(fileService).scrollFiles(isA(DeprecatedFilter.class), any());
+    }
+
+    @Test
+    void deprecatedFiltersAreRejectedOnceLegacyFiltersAreDisabled() throws Exception {
+        mockMvc(false).perform(get("/files").param("mode", "cursor").param("filter_name_like", "brief"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockMvc mockMvc(boolean legacyEnabled) {
+        FileController controller = new FileController(fileService);
+        ReflectionTestUtils.setField(controller, "filterCompiler", new FilterCompiler(
+                List.of(new FilterConfig().invoiceFilters()), new SimpleMeterRegistry(), 1024, 50, legacyEnabled));
+        return MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.freelancer.portal.controller;
+
+import com.freelancer.portal.service.FileService;
+import com.freelancer.portal.service.ProjectService;
+import com.freelancer.portal.service.storage.ProjectArchiveWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProjectControllerArchiveTest {
+
+    @TempDir
+    Path storage;
+
+    private final FileService fileService = mock(FileService.class);
+    private final ProjectArchiveWriter archiveWriter =
+            new ProjectArchiveWriter(new SimpleMeterRegistry(), 1, Duration.ofSeconds(42));
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new ProjectController(mock(ProjectService.class), fileService, archiveWriter))
+            .build();
+
+    @Test
+    void archiveIsStreamedAsynchronouslyWithItsOwnTimeout() throws Exception {
+        Path brief = Files.writeString(storage.resolve("brief.txt"), "project brief");
+        when(fileService.getProjectArchiveEntries(5L))
+                .thenReturn(List.of(new ProjectArchiveWriter.ArchiveEntry("brief.txt", brief)));
+
+        MvcResult started = mockMvc.perform(get("/projects/5/files/archive"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(42_000L, started.getRequest().getAsyncContext().getTimeout());
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/zip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"project-5-files.zip\""))
+                .andReturn();
+        try (ZipInputStream zip = new ZipInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertEquals("brief.txt", zip.getNextEntry().getName());
+            assertEquals("project brief", new String(zip.readAllBytes()));
+        }
+    }
+}
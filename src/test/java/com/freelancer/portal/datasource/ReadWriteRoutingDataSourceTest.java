@@ -0,0 +1,159 @@
+package com.freelancer.portal.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private SimpleMeterRegistry meterRegistry;
+    private String currentUser;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testRoutesByTransactionReadOnlyFlag() throws SQLException {
+        ReadWriteRoutingDataSource routing = newRoutingDataSource(monitor(null));
+
+        assertSame(primaryConnection, routing.getConnection());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(replicaConnection, routing.getConnection());
+
+        assertEquals(1, meterRegistry.counter("datasource.routing", "target", "primary").count());
+        assertEquals(1, meterRegistry.counter("datasource.routing", "target", "replica").count());
+    }
+
+    @Test
+    public void testFallsBackToPrimaryWhenReplicaFails() throws SQLException {
+        ReplicaHealthMonitor monitor = monitor(null);
+        ReadWriteRoutingDataSource routing = newRoutingDataSource(monitor);
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routing.getConnection());
+        assertFalse(monitor.isAvailable());
+
+        // Further reads skip the replica until a health check passes
+        assertSame(primaryConnection, routing.getConnection());
+        verify(replica, times(1)).getConnection();
+        assertEquals(1, meterRegistry.counter("datasource.replica.fallbacks", "reason", "error").count());
+        assertEquals(1, meterRegistry.counter("datasource.replica.fallbacks", "reason", "unavailable").count());
+    }
+
+    @Test
+    public void testLaggingReplicaIsTakenOutOfRotation() throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(30.0, 1.0);
+
+        ReplicaHealthMonitor monitor = monitor("SELECT lag FROM heartbeat");
+        ReadWriteRoutingDataSource routing = newRoutingDataSource(monitor);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        monitor.check();
+        assertFalse(monitor.isAvailable());
+        assertSame(primaryConnection, routing.getConnection());
+
+        monitor.check();
+        assertTrue(monitor.isAvailable());
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    public void testPinnedReadsGoToThePrimary() throws SQLException {
+        ReadWriteRoutingDataSource routing = newRoutingDataSource(monitor(null));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        PrimaryReads.enter();
+        try {
+            assertSame(primaryConnection, routing.getConnection());
+        } finally {
+            PrimaryReads.exit();
+        }
+        assertSame(replicaConnection, routing.getConnection());
+        assertEquals(1, meterRegistry.counter("datasource.replica.fallbacks", "reason", "consistency").count());
+    }
+
+    @Test
+    public void testReadsOfARecentWriterGoToThePrimary() throws SQLException {
+        ReadWriteRoutingDataSource routing = newRoutingDataSource(monitor(null));
+        currentUser = "ada";
+
+        TransactionSynchronizationManager.initSynchronization();
+        routing.getConnection();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, routing.getConnection());
+        currentUser = "grace";
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    public void testUncommittedWritesDoNotMoveReads() throws SQLException {
+        ReadWriteRoutingDataSource routing = newRoutingDataSource(monitor(null));
+        currentUser = "ada";
+
+        TransactionSynchronizationManager.initSynchronization();
+        routing.getConnection();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    private ReplicaHealthMonitor monitor(String lagQuery) {
+        return new ReplicaHealthMonitor(replica, lagQuery, 5, meterRegistry);
+    }
+
+    private ReadWriteRoutingDataSource newRoutingDataSource(ReplicaHealthMonitor monitor) {
+        return new ReadWriteRoutingDataSource(primary, replica, monitor,
+                new RecentWrites(() -> currentUser, Duration.ofSeconds(10)), meterRegistry);
+    }
+}
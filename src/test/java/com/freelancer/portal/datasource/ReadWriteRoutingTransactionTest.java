@@ -0,0 +1,253 @@
+package com.freelancer.portal.datasource;
+
+import com.freelancer.portal.config.DataSourceRoutingConfig;
+import com.freelancer.portal.model.User;
+import com.freelancer.portal.support.OfflineJpa;
+import com.freelancer.portal.support.RecordingDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs JPA transactions through the routing data source as {@link DataSourceRoutingConfig} wires
+ * it, over two separate data sources, and checks which one receives each transaction's statements.
+ */
+public class ReadWriteRoutingTransactionTest {
+
+    private final RecordingDataSource primary = new RecordingDataSource("primary");
+    private final RecordingDataSource replica = new RecordingDataSource("replica");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReplicaHealthMonitor replicaHealth;
+    private String currentUser;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private JpaTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() {
+        replicaHealth = new ReplicaHealthMonitor(replica, null, 5, meterRegistry);
+        RecentWrites recentWrites = new RecentWrites(() -> currentUser, Duration.ofSeconds(10));
+        DataSource dataSource = new DataSourceRoutingConfig()
+                .dataSource(primary, replica, replicaHealth, recentWrites, meterRegistry);
+        entityManagerFactory = OfflineJpa.entityManagerFactory(dataSource, Map.of());
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        transactionManager = new JpaTransactionManager(entityManagerFactory);
+        // The configuration installs it on the entity manager factory, which OfflineJpa builds itself
+        transactionManager.setJpaDialect(new ReplicaReadJpaDialect());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    @Test
+    public void testReadOnlyTransactionsRunOnTheReplica() {
+        inTransaction(true, () -> entityManager.find(User.class, 1L));
+
+        assertEquals(List.of(), primary.statements());
+        assertEquals(1, replica.statements().size());
+        assertTrue(replica.statements().get(0).contains("from users"), replica.statements().get(0));
+    }
+
+    @Test
+    public void testReadWriteTransactionsRunOnThePrimary() {
+        inTransaction(false, () -> {
+            entityManager.find(User.class, 1L);
+            return entityManager.createQuery("UPDATE User u SET u.firstName = :name WHERE u.id = :id")
+                    .setParameter("name", "Ada")
+                    .setParameter("id", 1L)
+                    .executeUpdate();
+        });
+
+        assertEquals(List.of(), replica.statements());
+        assertEquals(2, primary.statements().size());
+        assertTrue(primary.statements().get(1).startsWith("update users"), primary.statements().get(1));
+    }
+
+    @Test
+    public void testReadOnlyTransactionsRunOnThePrimaryWhileTheReplicaIsOut() {
+        replicaHealth.reportFailure(new SQLException("Connection refused"));
+
+        inTransaction(true, () -> entityManager.find(User.class, 1L));
+
+        assertEquals(List.of(), replica.statements());
+        assertEquals(1, primary.statements().size());
+        assertEquals(1, meterRegistry.counter("datasource.replica.fallbacks", "reason", "unavailable").count());
+    }
+
+    @Test
+    public void testCacheReloadAfterAWriteReadsThePrimaryWhileTheReplicaLags() {
+        answerFirstName(primary, "Augusta");
+        answerFirstName(replica, "Augusta");
+        try (AnnotationConfigApplicationContext context = cachedReadsContext()) {
+            UserNames userNames = context.getBean(UserNames.class);
+            assertEquals("Augusta", userNames.firstName(1L));
+
+            userNames.rename(1L, "Ada");
+            // The replica has not replayed the update yet
+            answerFirstName(primary, "Ada");
+            replica.clear();
+
+            assertEquals("Ada", userNames.firstName(1L));
+            assertEquals("Ada", userNames.firstName(1L));
+            assertEquals(List.of(), replica.statements());
+        }
+    }
+
+    @Test
+    public void testWritersReadTheirWritesFromThePrimary() {
+        currentUser = "ada";
+        inTransaction(false, () -> entityManager.createQuery("UPDATE User u SET u.firstName = :name WHERE u.id = :id")
+                .setParameter("name", "Ada")
+                .setParameter("id", 1L)
+                .executeUpdate());
+        primary.clear();
+
+        inTransaction(true, () -> entityManager.find(User.class, 1L));
+        assertEquals(1, primary.statements().size());
+        assertEquals(List.of(), replica.statements());
+
+        currentUser = "grace";
+        inTransaction(true, () -> entityManager.find(User.class, 1L));
+        assertEquals(1, replica.statements().size());
+    }
+
+    @Test
+    public void testReplicaReadsDoNotPopulateTheSecondLevelCache() {
+        assertEquals(CacheMode.GET, inTransaction(true, this::cacheMode));
+        assertEquals(CacheMode.NORMAL, inTransaction(false, this::cacheMode));
+
+        PrimaryReads.enter();
+        try {
+            assertEquals(CacheMode.NORMAL, inTransaction(true, this::cacheMode));
+        } finally {
+            PrimaryReads.exit();
+        }
+    }
+
+    @Test
+    public void testTheDialectIsInstalledOnTheEntityManagerFactory() {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+
+        DataSourceRoutingConfig.replicaReadJpaDialectPostProcessor()
+                .postProcessBeforeInitialization(factory, "entityManagerFactory");
+
+        assertInstanceOf(ReplicaReadJpaDialect.class, factory.getJpaDialect());
+    }
+
+    private CacheMode cacheMode() {
+        return entityManager.unwrap(Session.class).getCacheMode();
+    }
+
+    private static void answerFirstName(RecordingDataSource dataSource, String firstName) {
+        dataSource.answer(sql -> List.<Object[]>of(new Object[]{firstName}));
+    }
+
+    private AnnotationConfigApplicationContext cachedReadsContext() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean("transactionManager", PlatformTransactionManager.class, () -> transactionManager);
+        context.registerBean(EntityManager.class, () -> entityManager);
+        context.register(CachedReadsConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    private <T> T inTransaction(boolean readOnly, Supplier<T> work) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> work.get());
+    }
+
+    @Configuration
+    @EnableCaching
+    @EnableTransactionManagement
+    @EnableAspectJAutoProxy
+    static class CachedReadsConfig {
+
+        @Bean
+        public CacheLoadRoutingAspect cacheLoadRoutingAspect() {
+            return new CacheLoadRoutingAspect();
+        }
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("firstNames");
+        }
+
+        @Bean
+        public UserNames userNames(EntityManager entityManager, CacheManager cacheManager) {
+            return new UserNames(entityManager, cacheManager);
+        }
+    }
+
+    /**
+     * A cached read and a write that evicts it after commit, like the DTO caches.
+     */
+    static class UserNames {
+
+        private final EntityManager entityManager;
+        private final CacheManager cacheManager;
+
+        UserNames(EntityManager entityManager, CacheManager cacheManager) {
+            this.entityManager = entityManager;
+            this.cacheManager = cacheManager;
+        }
+
+        @Transactional(readOnly = true)
+        @Cacheable(cacheNames = "firstNames", key = "#id")
+        public String firstName(Long id) {
+            return entityManager.createQuery("SELECT u.firstName FROM User u WHERE u.id = :id", String.class)
+                    .setParameter("id", id)
+                    .getSingleResult();
+        }
+
+        @Transactional
+        public void rename(Long id, String firstName) {
+            entityManager.createQuery("UPDATE User u SET u.firstName = :name WHERE u.id = :id")
+                    .setParameter("name", firstName)
+                    .setParameter("id", id)
+                    .executeUpdate();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cacheManager.getCache("firstNames").evict(id);
+                }
+            });
+        }
+    }
+}
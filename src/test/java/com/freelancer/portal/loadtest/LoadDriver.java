@@ -0,0 +1,118 @@
+package com.freelancer.portal.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a closed workload: a fixed number of virtual users, each looping over scenarios drawn
+ * from a weighted mix with an optional think time in between. Requests in the warm-up period
+ * are sent but not recorded. Every virtual user has its own seeded random stream, so the same
+ * settings replay the same sequence of scenarios and IDs. Process CPU time is recorded over the
+ * measured period, so the cost per request of a change can be compared between runs.
+ */
+@Slf4j
+class LoadDriver {
+
+    /**
+     * @param virtualUsers concurrent users; they are spread round-robin over the seeded tenants
+     * @param mix          relative weight of each scenario; scenarios with weight 0 never run
+     */
+    record Settings(int virtualUsers, Duration warmUp, Duration duration, Duration thinkTime, long seed,
+                    Map<LoadScenario, Integer> mix) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Settings settings;
+
+    LoadDriver(ObjectMapper objectMapper, String baseUrl, Settings settings) {
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+    }
+
+    /**
+     * Run the workload against the given tenants and wait for it to finish.
+     *
+     * @return the recorded measurements
+     */
+    LoadReport run(List<SyntheticDataGenerator.Tenant> tenants) throws Exception {
+        LoadReport report = new LoadReport();
+        List<LoadScenario> scenarios = new ArrayList<>();
+        settings.mix().forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                scenarios.add(scenario);
+            }
+        });
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("The scenario mix has no positive weight");
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(executor)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .build()) {
+            List<VirtualUser> users = new ArrayList<>(settings.virtualUsers());
+            for (int i = 0; i < settings.virtualUsers(); i++) {
+                VirtualUser user = new VirtualUser(httpClient, objectMapper, baseUrl,
+                        tenants.get(i % tenants.size()), settings.seed() + i, report);
+                user.login();
+                users.add(user);
+            }
+
+            long measureFrom = System.nanoTime() + settings.warmUp().toNanos();
+            long end = measureFrom + settings.duration().toNanos();
+            log.info("Running {} virtual users: {} warm-up, {} measured", users.size(), settings.warmUp(),
+                    settings.duration());
+            List<Future<?>> running = new ArrayList<>(users.size());
+            for (VirtualUser user : users) {
+                running.add(executor.submit(() -> {
+                    loop(user, scenarios, measureFrom, end);
+                    return null;
+                }));
+            }
+            Thread.sleep(Duration.ofNanos(Math.max(0, measureFrom - System.nanoTime())));
+            long cpuStart = processCpuNanos();
+            for (Future<?> future : running) {
+                future.get();
+            }
+            report.setProcessCpuNanos(processCpuNanos() - cpuStart);
+        }
+        return report;
+    }
+
+    /**
+     * CPU time used by this JVM, which hosts both the application and the load generator.
+     *
+     * @return the CPU time in nanoseconds, or 0 where the JVM does not report it
+     */
+    private static long processCpuNanos() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return Math.max(0, os.getProcessCpuTime());
+        }
+        return 0;
+    }
+
+    private void loop(VirtualUser user, List<LoadScenario> scenarios, long measureFrom, long end) throws Exception {
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            user.setRecording(now >= measureFrom);
+            scenarios.get(user.random().nextInt(scenarios.size())).run(user);
+            if (!settings.thinkTime().isZero()) {
+                Thread.sleep(settings.thinkTime());
+            }
+        }
+    }
+}
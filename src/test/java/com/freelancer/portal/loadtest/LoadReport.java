@@ -0,0 +1,116 @@
+package com.freelancer.portal.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Response times and error counts per endpoint template, recorded lock-free by all virtual
+ * users and summarized as throughput and latency percentiles once the run is over.
+ */
+class LoadReport {
+
+    private static final long MAX_TRACKED_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private volatile long processCpuNanos;
+
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, name -> new EndpointStats());
+        stats.latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_TRACKED_MICROS));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    void setProcessCpuNanos(long processCpuNanos) {
+        this.processCpuNanos = processCpuNanos;
+    }
+
+    /**
+     * Process CPU used during the measured period, in total and per recorded request.
+     */
+    CpuSummary cpu(List<EndpointSummary> rows) {
+        long requests = rows.stream().mapToLong(EndpointSummary::requests).sum();
+        double cpuMillis = processCpuNanos / 1e6;
+        return new CpuSummary(cpuMillis / 1000, requests > 0 ? cpuMillis / requests : 0,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Summarize the recorded requests.
+     *
+     * @param measuredNanos the length of the measured window, used for throughput
+     * @return one row per endpoint, busiest first
+     */
+    List<EndpointSummary> summarize(long measuredNanos) {
+        double seconds = measuredNanos / 1e9;
+        List<EndpointSummary> rows = new ArrayList<>(endpoints.size());
+        endpoints.forEach((endpoint, stats) -> {
+            Histogram latencies = stats.latencies.copy();
+            long count = latencies.getTotalCount();
+            rows.add(new EndpointSummary(endpoint, count, stats.errors.sum(), count / seconds,
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(90)),
+                    millis(latencies.getValueAtPercentile(95)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getMaxValue())));
+        });
+        rows.sort(Comparator.comparingLong(EndpointSummary::requests).reversed());
+        return rows;
+    }
+
+    /**
+     * Render the summary as a fixed-width table for the test log.
+     */
+    static String format(List<EndpointSummary> rows) {
+        StringBuilder table = new StringBuilder(String.format("%n%-36s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms"));
+        for (EndpointSummary row : rows) {
+            table.append(String.format("%-36s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.endpoint(), row.requests(), row.errors(), row.throughput(),
+                    row.p50(), row.p90(), row.p95(), row.p99(), row.max()));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Build the JSON document written next to the test results.
+     */
+    static Map<String, Object> document(Map<String, Object> settings, List<EndpointSummary> rows, CpuSummary cpu) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("settings", settings);
+        document.put("endpoints", rows);
+        document.put("cpu", cpu);
+        return document;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    record EndpointSummary(String endpoint, long requests, long errors, double throughput,
+                           double p50, double p90, double p95, double p99, double max) {
+    }
+
+    /**
+     * @param processCpuSeconds   CPU time of the whole JVM, load generator included
+     * @param cpuMillisPerRequest {@code processCpuSeconds} spread over the recorded requests
+     */
+    record CpuSummary(double processCpuSeconds, double cpuMillisPerRequest, int availableProcessors) {
+    }
+
+    private static final class EndpointStats {
+        private final Histogram latencies = new ConcurrentHistogram(MAX_TRACKED_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
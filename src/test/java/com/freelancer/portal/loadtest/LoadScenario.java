@@ -0,0 +1,58 @@
+package com.freelancer.portal.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * The scripted user journeys a virtual user picks from. Each step is recorded under the
+ * endpoint template passed to {@link VirtualUser}, so IDs do not fragment the report.
+ */
+enum LoadScenario {
+
+    /** Browse the invoice list and open one invoice. */
+    INVOICE_LIST {
+        @Override
+        void run(VirtualUser user) throws Exception {
+            user.get("GET /invoices?mode=cursor", "/invoices?mode=cursor&size=20");
+            user.get("GET /invoices/{id}", "/invoices/" + user.pick(user.tenant().invoiceIds()));
+        }
+    },
+
+    /** Start and stop a timer, then reload the time entry list. */
+    TIME_TRACKING {
+        @Override
+        void run(VirtualUser user) throws Exception {
+            JsonNode started = user.post("POST /time-entries/start", "/time-entries/start", Map.of(
+                    "projectId", user.pick(user.tenant().projectIds()),
+                    "description", "Load test session",
+                    "billable", true));
+            if (started != null) {
+                user.put("PUT /time-entries/{id}/stop", "/time-entries/" + started.path("id").asLong() + "/stop");
+            }
+            user.get("GET /time-entries?mode=cursor", "/time-entries?mode=cursor&size=20");
+        }
+    },
+
+    /** Open the inbox, read a conversation and reply to it. */
+    MESSAGING {
+        @Override
+        void run(VirtualUser user) throws Exception {
+            Long conversationId = user.pick(user.tenant().conversationIds());
+            user.get("GET /conversations", "/conversations?size=20");
+            user.get("GET /messages/conversation/{id}", "/messages/conversation/" + conversationId + "?size=50");
+            user.post("POST /messages/conversation/{id}", "/messages/conversation/" + conversationId,
+                    Map.of("content", "Load test reply"));
+        }
+    },
+
+    /** Download an invoice as PDF. */
+    PDF_DOWNLOAD {
+        @Override
+        void run(VirtualUser user) throws Exception {
+            user.get("GET /invoices/{id}/pdf", "/invoices/" + user.pick(user.tenant().invoiceIds()) + "/pdf");
+        }
+    };
+
+    abstract void run(VirtualUser user) throws Exception;
+}
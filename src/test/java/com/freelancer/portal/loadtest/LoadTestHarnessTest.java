@@ -0,0 +1,126 @@
+package com.freelancer.portal.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.freelancer.portal.support.DatabaseTest;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test: seeds synthetic tenants into a freshly created schema, starts the
+ * application on a random port and drives the invoice list, time tracking, messaging and PDF
+ * download journeys over HTTP. Throughput and latency percentiles per endpoint are logged and
+ * written as JSON to {@code loadtest.report}.
+ * <p>
+ * The schema is dropped and recreated on every run, so runs with the same settings are
+ * comparable. It defaults to {@code freelancer_portal_loadtest} on the local MySQL server; point
+ * {@code loadtest.datasource.url} elsewhere if needed, but never at a database with real data.
+ * It is a {@link DatabaseTest}: run it with {@code -Pdatabase-tests -Dtest=LoadTestHarnessTest}; the
+ * {@code loadtest.*} properties below size the data and the workload.
+ * </p>
+ */
+@DatabaseTest
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=${loadtest.datasource.url:jdbc:mysql://localhost:3306/freelancer_portal_loadtest"
+                + "?createDatabaseIfNotExist=true&useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC}",
+        "spring.datasource.hikari.maximum-pool-size=${loadtest.pool-size:20}",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "file.upload-dir=target/loadtest/uploads",
+        "app.access-log.success-sample-rate=${loadtest.access-log-sample-rate:1.0}"
+})
+@Slf4j
+class LoadTestHarnessTest {
+
+    private static final String DEFAULT_MIX = "INVOICE_LIST:40,TIME_TRACKING:30,MESSAGING:25,PDF_DOWNLOAD:5";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void runWorkload() throws Exception {
+        long seed = Long.getLong("loadtest.seed", 42L);
+        SyntheticDataGenerator.Shape shape = new SyntheticDataGenerator.Shape(
+                Integer.getInteger("loadtest.freelancers", 20),
+                Integer.getInteger("loadtest.clients", 5),
+                Integer.getInteger("loadtest.projects", 2),
+                Integer.getInteger("loadtest.invoices", 10),
+                Integer.getInteger("loadtest.items", 5),
+                Integer.getInteger("loadtest.time-entries", 50),
+                Integer.getInteger("loadtest.messages", 30));
+        LoadDriver.Settings settings = new LoadDriver.Settings(
+                Integer.getInteger("loadtest.users", 50),
+                Duration.parse(System.getProperty("loadtest.warm-up", "PT30S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT2M")),
+                Duration.parse(System.getProperty("loadtest.think-time", "PT0S")),
+                seed,
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)));
+
+        // Hash once; BCrypt per seeded user would dominate the seeding time
+        String encodedPassword = passwordEncoder.encode(SyntheticDataGenerator.PASSWORD);
+        List<SyntheticDataGenerator.Tenant> tenants =
+                new SyntheticDataGenerator(entityManager, transactionManager, encodedPassword).generate(shape, seed);
+
+        LoadReport report = new LoadDriver(objectMapper, "http://localhost:" + port, settings).run(tenants);
+        List<LoadReport.EndpointSummary> rows = report.summarize(settings.duration().toNanos());
+        LoadReport.CpuSummary cpu = report.cpu(rows);
+        log.info("Load test results: {}", LoadReport.format(rows));
+        log.info("Process CPU: {} s, {} ms per request", String.format("%.1f", cpu.processCpuSeconds()),
+                String.format("%.3f", cpu.cpuMillisPerRequest()));
+
+        Map<String, Object> recordedSettings = new LinkedHashMap<>();
+        recordedSettings.put("seed", seed);
+        recordedSettings.put("shape", shape);
+        recordedSettings.put("workload", settings);
+        Path output = Path.of(System.getProperty("loadtest.report", "target/loadtest/report.json"));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter()
+                .writeValue(output.toFile(), LoadReport.document(recordedSettings, rows, cpu));
+        log.info("Load test report written to {}", output.toAbsolutePath());
+
+        long requests = rows.stream().mapToLong(LoadReport.EndpointSummary::requests).sum();
+        long errors = rows.stream().mapToLong(LoadReport.EndpointSummary::errors).sum();
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+        assertTrue(requests > 0, "No requests were recorded");
+        assertTrue(errors <= requests * maxErrorRate,
+                "Error rate " + errors + "/" + requests + " exceeds " + maxErrorRate);
+    }
+
+    private static Map<LoadScenario, Integer> parseMix(String mix) {
+        Map<LoadScenario, Integer> weights = new EnumMap<>(LoadScenario.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(LoadScenario.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,235 @@
+package com.freelancer.portal.loadtest;
+
+import com.freelancer.portal.model.Client;
+import com.freelancer.portal.model.Company;
+import com.freelancer.portal.model.Conversation;
+import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.model.InvoiceItem;
+import com.freelancer.portal.model.Message;
+import com.freelancer.portal.model.Project;
+import com.freelancer.portal.model.TimeEntry;
+import com.freelancer.portal.model.User;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds synthetic tenants: freelancers with their clients, projects, invoices, time entries and
+ * project conversations. The same seed and {@link Shape} always produce the same data, so load
+ * test runs against different builds start from identical databases.
+ * <p>
+ * Rows go through the entity manager so lifecycle callbacks fill in what the application would,
+ * and each freelancer is written in its own transaction with the persistence context cleared
+ * afterwards to keep memory flat for large shapes.
+ * </p>
+ */
+@Slf4j
+class SyntheticDataGenerator {
+
+    static final String PASSWORD = "LoadTest-2024!";
+
+    private static final LocalDate EPOCH = LocalDate.of(2024, 1, 1);
+    private static final String[] WORK = {
+            "Backend development", "Frontend polish", "Code review", "Client call", "Deployment",
+            "Bug fixing", "Database tuning", "Design review", "Documentation", "Sprint planning"
+    };
+
+    /**
+     * How many rows of each kind to create; counts below the freelancer level are per parent.
+     */
+    record Shape(int freelancers, int clientsPerFreelancer, int projectsPerClient, int invoicesPerProject,
+                 int itemsPerInvoice, int timeEntriesPerProject, int messagesPerProject) {
+
+        long totalRows() {
+            long projects = (long) freelancers * clientsPerFreelancer * projectsPerClient;
+            long invoices = projects * invoicesPerProject;
+            return freelancers + (long) freelancers * clientsPerFreelancer * 3 + projects * 2
+                    + invoices * (1 + itemsPerInvoice) + projects * (timeEntriesPerProject + messagesPerProject);
+        }
+    }
+
+    /**
+     * The IDs a workload needs to address one seeded freelancer's data.
+     */
+    record Tenant(String email, List<Long> projectIds, List<Long> invoiceIds, List<Long> conversationIds) {
+    }
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final String encodedPassword;
+
+    SyntheticDataGenerator(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                           String encodedPassword) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.encodedPassword = encodedPassword;
+    }
+
+    /**
+     * Create all tenants of the shape.
+     *
+     * @param shape the number of rows to create
+     * @param seed  the seed for every random choice; the same seed yields the same data
+     * @return the seeded tenants, in creation order
+     */
+    List<Tenant> generate(Shape shape, long seed) {
+        long start = System.nanoTime();
+        List<Tenant> tenants = new ArrayList<>(shape.freelancers());
+        for (int f = 0; f < shape.freelancers(); f++) {
+            // One random stream per tenant keeps a tenant's data independent of the tenant count
+            Random random = new Random(seed * 31 + f);
+            int tenantIndex = f;
+            tenants.add(transactionTemplate.execute(status -> {
+                Tenant tenant = createTenant(shape, tenantIndex, random);
+                entityManager.flush();
+                entityManager.clear();
+                return tenant;
+            }));
+        }
+        log.info("Seeded {} tenants, about {} rows, in {} ms", tenants.size(), shape.totalRows(),
+                (System.nanoTime() - start) / 1_000_000);
+        return tenants;
+    }
+
+    private Tenant createTenant(Shape shape, int f, Random random) {
+        User freelancer = user("freelancer-" + f, User.Role.FREELANCER);
+        List<Project> projects = new ArrayList<>();
+        List<Invoice> invoices = new ArrayList<>();
+        List<Conversation> conversations = new ArrayList<>();
+
+        for (int c = 0; c < shape.clientsPerFreelancer(); c++) {
+            String name = "Client " + f + "-" + c;
+            User clientUser = user("client-" + f + "-" + c, User.Role.CLIENT);
+
+            Company company = new Company();
+            company.setName(name + " Ltd");
+            company.setOwner(clientUser);
+            entityManager.persist(company);
+
+            Client client = new Client();
+            client.setName(name);
+            client.setEmail(clientUser.getEmail());
+            client.setCurrency("USD");
+            client.setFreelancer(freelancer);
+            client.setCompany(company);
+            client.setUser(clientUser);
+            entityManager.persist(client);
+
+            for (int p = 0; p < shape.projectsPerClient(); p++) {
+                Project project = project(freelancer, client, "Project " + f + "-" + c + "-" + p, random);
+                projects.add(project);
+                invoices.addAll(invoices(shape, freelancer, client, project, random, invoices.size()));
+                timeEntries(shape, freelancer, project, random);
+                conversations.add(conversation(shape, freelancer, clientUser, project, random));
+            }
+        }
+        return new Tenant(freelancer.getEmail(),
+                projects.stream().map(Project::getId).toList(),
+                invoices.stream().map(Invoice::getId).toList(),
+                conversations.stream().map(Conversation::getId).toList());
+    }
+
+    private User user(String name, User.Role role) {
+        User user = new User();
+        user.setFirstName(name);
+        user.setLastName("Loadtest");
+        user.setEmail("loadtest-" + name + "@example.com");
+        user.setPassword(encodedPassword);
+        user.setRole(role);
+        user.setEmailVerified(true);
+        user.setAccountLocked(false);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Project project(User freelancer, Client client, String name, Random random) {
+        Project project = new Project();
+        project.setName(name);
+        project.setStatus(Project.Status.IN_PROGRESS);
+        project.setStartDate(EPOCH.plusDays(random.nextInt(90)));
+        project.setHourlyRate(BigDecimal.valueOf(40 + random.nextInt(120)));
+        project.setBudget(BigDecimal.valueOf(5_000 + random.nextInt(50_000)));
+        project.setClient(client);
+        project.setFreelancer(freelancer);
+        entityManager.persist(project);
+        return project;
+    }
+
+    private List<Invoice> invoices(Shape shape, User freelancer, Client client, Project project, Random random,
+                                   int offset) {
+        Invoice.Status[] statuses = Invoice.Status.values();
+        List<Invoice> invoices = new ArrayList<>(shape.invoicesPerProject());
+        for (int i = 0; i < shape.invoicesPerProject(); i++) {
+            LocalDate issueDate = EPOCH.plusDays(random.nextInt(365));
+            Invoice invoice = new Invoice();
+            invoice.setInvoiceNumber(String.format("LT-%d-%06d", freelancer.getId(), offset + i + 1));
+            invoice.setStatus(statuses[random.nextInt(statuses.length)]);
+            invoice.setIssueDate(issueDate);
+            invoice.setDueDate(issueDate.plusDays(30));
+            invoice.setCurrency("USD");
+            invoice.setTaxRate(new BigDecimal("20.00"));
+            invoice.setClient(client);
+            invoice.setProject(project);
+            invoice.setFreelancer(freelancer);
+
+            BigDecimal subtotal = BigDecimal.ZERO;
+            for (int n = 0; n < shape.itemsPerInvoice(); n++) {
+                InvoiceItem item = new InvoiceItem();
+                item.setDescription(WORK[random.nextInt(WORK.length)]);
+                item.setQuantity(BigDecimal.valueOf(1 + random.nextInt(40)));
+                item.setUnitPrice(project.getHourlyRate());
+                item.setAmount(item.getQuantity().multiply(item.getUnitPrice()).setScale(2, RoundingMode.HALF_UP));
+                item.setInvoice(invoice);
+                invoice.getItems().add(item);
+                subtotal = subtotal.add(item.getAmount());
+            }
+            invoice.setSubtotal(subtotal);
+            entityManager.persist(invoice);
+            invoices.add(invoice);
+        }
+        return invoices;
+    }
+
+    private void timeEntries(Shape shape, User freelancer, Project project, Random random) {
+        for (int t = 0; t < shape.timeEntriesPerProject(); t++) {
+            LocalDateTime start = EPOCH.atTime(8, 0).plusDays(random.nextInt(365)).plusMinutes(random.nextInt(480));
+            TimeEntry entry = new TimeEntry();
+            entry.setProject(project);
+            entry.setUser(freelancer);
+            entry.setDescription(WORK[random.nextInt(WORK.length)]);
+            entry.setStartTime(start);
+            entry.setEndTime(start.plusMinutes(15 + random.nextInt(240)));
+            entry.setBillable(random.nextInt(10) < 8);
+            entityManager.persist(entry);
+        }
+    }
+
+    private Conversation conversation(Shape shape, User freelancer, User clientUser, Project project, Random random) {
+        Conversation conversation = new Conversation();
+        conversation.setTitle(project.getName());
+        conversation.setProject(project);
+        conversation.getParticipants().add(freelancer);
+        conversation.getParticipants().add(clientUser);
+        entityManager.persist(conversation);
+
+        for (int m = 0; m < shape.messagesPerProject(); m++) {
+            Message message = new Message();
+            message.setConversation(conversation);
+            message.setProject(project);
+            message.setSender(random.nextBoolean() ? freelancer : clientUser);
+            message.setContent(WORK[random.nextInt(WORK.length)] + " update #" + m);
+            message.setIsRead(random.nextInt(4) > 0);
+            entityManager.persist(message);
+        }
+        return conversation;
+    }
+}
@@ -0,0 +1,120 @@
+package com.freelancer.portal.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * One simulated freelancer: logs in once and then issues the requests of the scenarios it runs,
+ * recording each response time under the endpoint's template.
+ */
+class VirtualUser {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final SyntheticDataGenerator.Tenant tenant;
+    private final Random random;
+    private final LoadReport report;
+    private volatile boolean recording;
+    private String token;
+
+    VirtualUser(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl,
+                SyntheticDataGenerator.Tenant tenant, long seed, LoadReport report) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.tenant = tenant;
+        this.random = new Random(seed);
+        this.report = report;
+    }
+
+    SyntheticDataGenerator.Tenant tenant() {
+        return tenant;
+    }
+
+    Random random() {
+        return random;
+    }
+
+    /**
+     * Start or stop recording response times; requests during warm-up are sent but not recorded.
+     */
+    void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    void login() throws IOException, InterruptedException {
+        JsonNode response = send("POST /auth/login", request("/auth/login")
+                .POST(json(Map.of("email", tenant.email(), "password", SyntheticDataGenerator.PASSWORD))), true);
+        if (response == null) {
+            throw new IllegalStateException("Login failed for " + tenant.email());
+        }
+        token = response.path("token").asText();
+    }
+
+    <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    JsonNode get(String endpoint, String path) throws IOException, InterruptedException {
+        return send(endpoint, authorized(path).GET(), false);
+    }
+
+    JsonNode post(String endpoint, String path, Map<String, ?> body) throws IOException, InterruptedException {
+        return send(endpoint, authorized(path).POST(json(body)), true);
+    }
+
+    JsonNode put(String endpoint, String path) throws IOException, InterruptedException {
+        return send(endpoint, authorized(path).PUT(HttpRequest.BodyPublishers.noBody()), true);
+    }
+
+    /**
+     * Send a request and record its response time.
+     *
+     * @return the parsed JSON body when {@code parse} is set and the request succeeded, otherwise {@code null}
+     */
+    private JsonNode send(String endpoint, HttpRequest.Builder builder, boolean parse)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException ex) {
+            if (recording) {
+                report.record(endpoint, System.nanoTime() - start, false);
+            }
+            return null;
+        }
+        boolean success = response.statusCode() < 400;
+        if (recording) {
+            report.record(endpoint, System.nanoTime() - start, success);
+        }
+        return success && parse ? objectMapper.readTree(response.body()) : null;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return request(path).header("Authorization", "Bearer " + token);
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+}
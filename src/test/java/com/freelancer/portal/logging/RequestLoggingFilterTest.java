@@ -0,0 +1,77 @@
+package com.freelancer.portal.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestLoggingFilterTest {
+
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger(RequestLoggingFilter.ACCESS_LOGGER);
+    private final ListAppender<ILoggingEvent> events = new ListAppender<>();
+
+    @BeforeEach
+    void captureAccessLog() {
+        events.start();
+        accessLogger.addAppender(events);
+    }
+
+    @AfterEach
+    void detach() {
+        accessLogger.detachAppender(events);
+    }
+
+    @Test
+    void logsOneSanitizedLinePerRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/invoices");
+        request.addHeader("User-Agent", "curl/8.0 \"quoted\"\n");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new RequestLoggingFilter(1.0).doFilter(request, response, chainReturning(200));
+
+        assertEquals(1, events.list.size());
+        String line = events.list.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("method=GET uri=/invoices status=200 durationUs="), line);
+        assertTrue(line.endsWith("userAgent=\"curl/8.0 _quoted__\""), line);
+        assertEquals(line, events.list.get(0).getMessage());
+        assertNotNull(response.getHeader("X-Correlation-ID"));
+    }
+
+    @Test
+    void unsampledSuccessesAreSkippedButErrorsAreAlwaysLogged() throws Exception {
+        RequestLoggingFilter filter = new RequestLoggingFilter(0.0);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/invoices"), new MockHttpServletResponse(),
+                chainReturning(200));
+        filter.doFilter(new MockHttpServletRequest("GET", "/invoices/9"), new MockHttpServletResponse(),
+                chainReturning(404));
+        filter.doFilter(new MockHttpServletRequest("POST", "/invoices"), new MockHttpServletResponse(),
+                chainReturning(500));
+
+        assertEquals(2, events.list.size());
+        assertTrue(events.list.get(0).getFormattedMessage().contains("status=404"));
+        assertTrue(events.list.get(1).getFormattedMessage().contains("status=500"));
+    }
+
+    private static MockFilterChain chainReturning(int status) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                response.setStatus(status);
+            }
+        });
+    }
+}
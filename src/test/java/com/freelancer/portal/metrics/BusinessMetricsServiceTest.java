@@ -0,0 +1,37 @@
+package com.freelancer.portal.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BusinessMetricsServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BusinessMetricsService service = new BusinessMetricsService(registry);
+
+    @Test
+    void reusesOneTimerPerEndpointAndStatus() {
+        service.recordApiCallTiming("/invoices/{id}", 200, 20);
+        service.recordApiCallTiming("/invoices/{id}", 200, 40);
+        service.recordApiCallTiming("/invoices/{id}", 404, 5);
+
+        Timer ok = registry.get("freelancer.api.request.duration")
+                .tags("endpoint", "/invoices/{id}", "status", "200")
+                .timer();
+        assertEquals(2, ok.count());
+        assertEquals(60, ok.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(2, registry.get("freelancer.api.request.duration").timers().size());
+    }
+
+    @Test
+    void activeSessionsGaugeFollowsLatestValue() {
+        service.recordActiveSessions(7);
+        service.recordActiveSessions(3);
+
+        assertEquals(3, registry.get("freelancer.users.active_sessions").gauge().value());
+    }
+}
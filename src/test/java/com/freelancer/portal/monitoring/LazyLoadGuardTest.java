@@ -0,0 +1,54 @@
+package com.freelancer.portal.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class LazyLoadGuardTest {
+
+    private static final String ROLE = "com.freelancer.portal.model.Invoice.items";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void failModeRejectsLazyLoadOutsideTransaction() {
+        LazyLoadGuard guard = guard("fail");
+
+        assertThrows(IllegalStateException.class, () -> guard.check(ROLE));
+        assertEquals(1.0, registry.get("jpa.lazy.loads.outside.transaction").tag("target", ROLE).counter().count());
+    }
+
+    @Test
+    void lazyLoadInsideTransactionIsAllowed() {
+        LazyLoadGuard guard = guard("fail");
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertDoesNotThrow(() -> guard.check(ROLE));
+        assertEquals(0, registry.find("jpa.lazy.loads.outside.transaction").counters().size());
+    }
+
+    @Test
+    void logModeCountsWithoutFailing() {
+        LazyLoadGuard guard = guard("log");
+
+        assertDoesNotThrow(() -> guard.check(ROLE));
+        assertEquals(1.0, registry.get("jpa.lazy.loads.outside.transaction").counter().count());
+    }
+
+    private LazyLoadGuard guard(String mode) {
+        return new LazyLoadGuard(mock(EntityManagerFactory.class), registry, mode);
+    }
+}
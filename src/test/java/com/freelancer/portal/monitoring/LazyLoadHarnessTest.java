@@ -0,0 +1,106 @@
+package com.freelancer.portal.monitoring;
+
+import com.freelancer.portal.model.User;
+import com.freelancer.portal.monitoring.sql.SqlBudgetExceededException;
+import com.freelancer.portal.repository.ClientRepository;
+import com.freelancer.portal.repository.InvoiceRepository;
+import com.freelancer.portal.repository.PaymentRepository;
+import com.freelancer.portal.repository.ProjectRepository;
+import com.freelancer.portal.repository.TimeEntryRepository;
+import com.freelancer.portal.support.DatabaseTest;
+import com.freelancer.portal.support.SeededData;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Requests the read endpoints with open-session-in-view disabled and the lazy load guard in
+ * {@code fail} mode. Any endpoint that renders an association missing from its fetch plan
+ * answers with a server error. SQL budgets are enforced too, so an endpoint over its
+ * {@code @SqlBudget} fails the request.
+ * <p>
+ * Needs a seeded database, so it is a {@link DatabaseTest}; requests are made as the freelancer
+ * with the most invoices.
+ * </p>
+ */
+@DatabaseTest
+@SpringBootTest(properties = {
+        "spring.jpa.open-in-view=false",
+        "app.jpa.lazy-load-guard=fail",
+        "monitoring.sql.budget.enforce=true"
+})
+@AutoConfigureMockMvc
+class LazyLoadHarnessTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private TimeEntryRepository timeEntryRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Test
+    void readEndpointsDoNotLazyLoadOutsideTransactions() throws Exception {
+        User freelancer = SeededData.busiestFreelancer(entityManager);
+
+        List<String> paths = new ArrayList<>(List.of(
+                "/clients", "/projects", "/invoices", "/time-entries", "/payments", "/time-entries/active",
+                "/invoices?mode=cursor&includeTotal=true", "/time-entries?mode=cursor&includeTotal=true",
+                "/payments?mode=cursor&includeTotal=true", "/files?mode=cursor&includeTotal=true",
+                "/notifications?mode=cursor&includeTotal=true"));
+        clientRepository.findByFreelancer(freelancer, PageRequest.of(0, 1))
+                .forEach(client -> paths.add("/clients/" + client.getId()));
+        projectRepository.findByFreelancer(freelancer, PageRequest.of(0, 1)).forEach(project -> {
+            paths.add("/projects/" + project.getId());
+            paths.add("/messages/project/" + project.getId());
+            paths.add("/invoices/project/" + project.getId());
+            paths.add("/time-entries/project/" + project.getId());
+        });
+        invoiceRepository.findListRowsByFreelancer(freelancer, PageRequest.of(0, 1)).forEach(invoice -> {
+            paths.add("/invoices/" + invoice.id());
+            paths.add("/payments/invoice/" + invoice.id());
+        });
+        timeEntryRepository.findListRowsByUserId(freelancer.getId(), PageRequest.of(0, 1))
+                .forEach(entry -> paths.add("/time-entries/" + entry.id()));
+        paymentRepository.findListRowsByFreelancer(freelancer, PageRequest.of(0, 1))
+                .forEach(payment -> paths.add("/payments/" + payment.id()));
+
+        List<String> failures = new ArrayList<>();
+        for (String path : paths) {
+            try {
+                int status = mockMvc.perform(get(path).with(user(freelancer))).andReturn().getResponse().getStatus();
+                if (status >= 500) {
+                    failures.add(path + " -> " + status);
+                }
+            } catch (SqlBudgetExceededException ex) {
+                failures.add(path + " -> " + ex.getMessage());
+            }
+        }
+        assertTrue(failures.isEmpty(), "Endpoints without a complete fetch plan or over budget: " + failures);
+    }
+}
@@ -0,0 +1,56 @@
+package com.freelancer.portal.monitoring;
+
+import com.freelancer.portal.service.ProjectBudgetService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MethodTimingAspectTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void recordsServiceCallsOnCachedTimersByOutcome() {
+        ProjectBudgetService target = mock(ProjectBudgetService.class);
+        when(target.calculateRemainingBudget(1L)).thenReturn(BigDecimal.TEN);
+        when(target.calculateRemainingBudget(2L)).thenThrow(new IllegalStateException("boom"));
+        ProjectBudgetService service = proxy(target, 1.0);
+
+        service.calculateRemainingBudget(1L);
+        service.calculateRemainingBudget(1L);
+        assertThrows(IllegalStateException.class, () -> service.calculateRemainingBudget(2L));
+
+        Timer success = registry.get("service.execution.time")
+                .tags("service", "ProjectBudgetService", "method", "calculateRemainingBudget", "outcome", "success")
+                .timer();
+        Timer error = registry.get("service.execution.time").tag("outcome", "error").timer();
+        assertEquals(2, success.count());
+        assertEquals(1, error.count());
+        assertSame(success, registry.get("service.execution.time").tag("outcome", "success").timer());
+    }
+
+    @Test
+    void unsampledCallsAreNotRecorded() {
+        ProjectBudgetService service = proxy(mock(ProjectBudgetService.class), 0.0);
+
+        service.isOverBudget(1L);
+
+        assertEquals(0, registry.find("service.execution.time").timers().size());
+    }
+
+    private ProjectBudgetService proxy(ProjectBudgetService target, double sampleRate) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(ProjectBudgetService.class);
+        factory.addAspect(new MethodTimingAspect(registry, sampleRate, false, 500));
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,135 @@
+package com.freelancer.portal.monitoring.alerting;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AlertEvaluatorTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final AlertSignals signals = new AlertSignals(Duration.ofSeconds(5), Duration.ofMinutes(15));
+    private final List<Alert> sent = new ArrayList<>();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void errorRatioFiresOnceAndResolvesWithinTheWindow() {
+        AlertEvaluator evaluator = evaluator(ratioRule());
+        SlidingWindow requests = signals.counter(AlertSignals.HTTP_REQUESTS);
+        SlidingWindow errors = signals.counter(AlertSignals.HTTP_ERRORS);
+
+        // A long healthy history must not dilute a later burst of errors
+        for (int minute = 0; minute < 10; minute++) {
+            requests.add(clock.get(), 0, 1000);
+            advance(Duration.ofMinutes(1));
+        }
+        requests.add(clock.get(), 0, 100);
+        errors.add(clock.get(), 0, 30);
+        evaluator.evaluate();
+        evaluator.evaluate();
+
+        assertEquals(1, sent.size());
+        assertEquals(Alert.State.FIRING, sent.get(0).state());
+        assertEquals(0.3, sent.get(0).value(), 1e-9);
+        assertEquals(1.0, registry.get("alerts.firing").gauge().value());
+
+        advance(Duration.ofMinutes(1).plusSeconds(5));
+        requests.add(clock.get(), 0, 100);
+        evaluator.evaluate();
+
+        assertEquals(2, sent.size());
+        assertEquals(Alert.State.RESOLVED, sent.get(1).state());
+        assertEquals(0.0, registry.get("alerts.firing").gauge().value());
+    }
+
+    @Test
+    void ratioStaysSilentBelowMinimumEvents() {
+        AlertEvaluator evaluator = evaluator(ratioRule());
+        signals.counter(AlertSignals.HTTP_REQUESTS).add(clock.get(), 0, 5);
+        signals.counter(AlertSignals.HTTP_ERRORS).add(clock.get(), 0, 5);
+
+        evaluator.evaluate();
+
+        assertEquals(0, sent.size());
+    }
+
+    @Test
+    void firingRuleRepeatsOnlyAfterCoolDown() {
+        AlertProperties.Rule rule = rule("heap", AlertProperties.Rule.Type.GAUGE, AlertSignals.JVM_HEAP_USAGE, 0.85);
+        rule.setCoolDown(Duration.ofMinutes(10));
+        signals.gauge(AlertSignals.JVM_HEAP_USAGE, () -> 0.9);
+        AlertEvaluator evaluator = evaluator(rule);
+
+        evaluator.evaluate();
+        advance(Duration.ofMinutes(5));
+        evaluator.evaluate();
+        advance(Duration.ofMinutes(5));
+        evaluator.evaluate();
+
+        assertEquals(2, sent.size());
+        assertEquals(Alert.State.FIRING, sent.get(1).state());
+    }
+
+    @Test
+    void percentileRuleUsesLatencyBuckets() {
+        AlertProperties.Rule rule = rule("p95", AlertProperties.Rule.Type.PERCENTILE, AlertSignals.HTTP_LATENCY, 500);
+        AlertEvaluator evaluator = evaluator(rule);
+        LatencyWindow latency = signals.latency(AlertSignals.HTTP_LATENCY);
+        for (int i = 0; i < 90; i++) {
+            latency.record(clock.get(), TimeUnit.MILLISECONDS.toNanos(40));
+        }
+        for (int i = 0; i < 10; i++) {
+            latency.record(clock.get(), TimeUnit.MILLISECONDS.toNanos(800));
+        }
+
+        evaluator.evaluate();
+
+        assertEquals(1, sent.size());
+        assertEquals(1000.0, sent.get(0).value());
+    }
+
+    @Test
+    void ruleWindowLongerThanHorizonIsRejected() {
+        AlertProperties.Rule rule = ratioRule();
+        rule.setWindow(Duration.ofHours(1));
+
+        assertThrows(IllegalArgumentException.class, () -> evaluator(rule));
+    }
+
+    private AlertEvaluator evaluator(AlertProperties.Rule rule) {
+        AlertProperties properties = new AlertProperties();
+        properties.getRules().add(rule);
+        AlertSink sink = sent::add;
+        return new AlertEvaluator(properties, signals, List.of(sink), registry, clock::get);
+    }
+
+    private static AlertProperties.Rule ratioRule() {
+        AlertProperties.Rule rule = rule("errors", AlertProperties.Rule.Type.RATIO, AlertSignals.HTTP_ERRORS, 0.05);
+        rule.setDenominator(AlertSignals.HTTP_REQUESTS);
+        rule.setWindow(Duration.ofMinutes(1));
+        rule.setMinEvents(50);
+        return rule;
+    }
+
+    private static AlertProperties.Rule rule(String name, AlertProperties.Rule.Type type, String signal,
+                                             double threshold) {
+        AlertProperties.Rule rule = new AlertProperties.Rule();
+        rule.setName(name);
+        rule.setType(type);
+        rule.setSignal(signal);
+        rule.setThreshold(threshold);
+        return rule;
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toMillis());
+    }
+}
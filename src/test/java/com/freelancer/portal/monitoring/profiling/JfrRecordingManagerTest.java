@@ -0,0 +1,85 @@
+package com.freelancer.portal.monitoring.profiling;
+
+import com.freelancer.portal.logging.RequestLoggingFilter;
+import com.freelancer.portal.monitoring.sql.StatementExecutionListener;
+import com.p6spy.engine.common.PreparedStatementInformation;
+import jdk.jfr.RecordingState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JfrRecordingManagerTest {
+
+    private final JfrRecordingManager manager = new JfrRecordingManager(false, Duration.ofMinutes(1), 10,
+            Duration.ofMinutes(1), Duration.ofMinutes(5), 2);
+
+    @AfterEach
+    void close() {
+        manager.closeAll();
+        MDC.clear();
+    }
+
+    @Test
+    void jdbcPresetAttributesStatementsToTheirRequest() throws Exception {
+        long id = manager.start(ProfilingPreset.JDBC, Duration.ofMinutes(1)).id();
+        request("slow-request", "select i.id from invoices i where i.client_id=?", 3);
+        request("other-request", "select p.id from projects p", 1);
+        assertEquals(RecordingState.STOPPED, manager.stop(id).orElseThrow().state());
+
+        Path file = manager.dump(id).orElseThrow();
+        try {
+            RecordingSummary all = RecordingSummary.of(file, 10, null);
+            RecordingSummary one = RecordingSummary.of(file, 10, "slow-request");
+
+            assertEquals(2, all.jdbcStatements().size());
+            assertEquals(2, all.slowestRequests().size());
+            assertEquals(1, one.jdbcStatements().size());
+            assertEquals(3, one.jdbcStatements().get(0).count());
+            assertEquals("select i.id from invoices i where i.client_id=?", one.jdbcStatements().get(0).name());
+            assertEquals("/invoices", one.slowestRequests().get(0).uri());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void oldestStoppedRecordingMakesRoomAndRunningOnesAreKept() {
+        long first = manager.start(ProfilingPreset.CPU, null).id();
+        manager.start(ProfilingPreset.LOCKS, null);
+        assertThrows(IllegalStateException.class, () -> manager.start(ProfilingPreset.ALLOCATION, null));
+
+        manager.stop(first);
+        manager.start(ProfilingPreset.ALLOCATION, null);
+
+        assertEquals(2, manager.list().size());
+        assertTrue(manager.list().stream().noneMatch(info -> info.id() == first));
+        assertThrows(IllegalArgumentException.class, () -> manager.start(ProfilingPreset.CPU, Duration.ofHours(1)));
+    }
+
+    private static void request(String correlationId, String sql, int statements) {
+        MDC.put(RequestLoggingFilter.CORRELATION_ID_KEY, correlationId);
+        HttpRequestEvent request = new HttpRequestEvent();
+        request.begin();
+        StatementExecutionListener listener = new StatementExecutionListener();
+        PreparedStatementInformation statement = new PreparedStatementInformation(null, sql);
+        for (int i = 0; i < statements; i++) {
+            listener.onBeforeExecuteQuery(statement);
+            listener.onAfterExecuteQuery(statement, 1_000, null);
+        }
+        request.end();
+        request.correlationId = correlationId;
+        request.method = "GET";
+        request.uri = "/invoices";
+        request.status = 200;
+        request.commit();
+        MDC.remove(RequestLoggingFilter.CORRELATION_ID_KEY);
+    }
+}
@@ -0,0 +1,61 @@
+package com.freelancer.portal.monitoring.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SlowQueryLogTest {
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(300);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void normalizeReplacesLiteralsAndPaddedInLists() {
+        assertEquals("select i1_0.id from invoices i1_0 where i1_0.status=? and i1_0.total>? and i1_0.id in (?...)",
+                SlowQueryLog.normalize("select i1_0.id from invoices i1_0\n    where i1_0.status='O''Neil'"
+                        + " and i1_0.total>12.5 and i1_0.id in (?, ?, ?, ?)"));
+    }
+
+    @Test
+    void executionsAreAggregatedByShapeAndSlowOnesKeptNewestFirst() {
+        SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(200), 2, 10, registry);
+
+        log.record("select * from invoices where id in (?, ?)", FAST);
+        log.record("select * from invoices where id in (?, ?, ?, ?)", SLOW);
+        log.record("select * from projects where id=?", SLOW + 1);
+        log.record("select * from clients where id=?", SLOW + 2);
+
+        List<SlowQueryLog.ShapeSummary> slowest = log.slowest(2);
+        assertEquals(List.of("select * from clients where id=?", "select * from projects where id=?"),
+                slowest.stream().map(SlowQueryLog.ShapeSummary::shape).toList());
+        SlowQueryLog.ShapeSummary invoices = log.slowest(3).get(2);
+        assertEquals("select * from invoices where id in (?...)", invoices.shape());
+        assertEquals(2, invoices.calls());
+        assertEquals(1, invoices.slowCalls());
+        assertEquals(300.0, invoices.maxMs(), 1e-9);
+
+        // The ring buffer holds the last two slow executions
+        assertEquals(List.of("select * from clients where id=?", "select * from projects where id=?"),
+                log.recent().stream().map(SlowQueryLog.SlowExecution::shape).toList());
+        assertEquals(3.0, registry.get("sql.statements.slow").functionCounter().count());
+    }
+
+    @Test
+    void shapesBeyondTheLimitAreOnlyCounted() {
+        SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(200), 10, 1, registry);
+
+        log.record("select * from invoices where id=?", FAST);
+        log.record("select * from projects where id=?", FAST);
+
+        assertEquals(1, log.slowest(10).size());
+        assertEquals(1, log.untrackedExecutions());
+    }
+}
@@ -0,0 +1,81 @@
+package com.freelancer.portal.monitoring.sql;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SqlStatementBudgetFilterTest {
+
+    private static final String ITEM_SELECT = "select ii.id, ii.description from invoice_items ii where ii.invoice_id=?";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlStatementCountingInspector inspector = new SqlStatementCountingInspector();
+
+    @Test
+    void recordsStatementsPerEndpointAndFlagsRepeatedShapes() throws Exception {
+        SqlStatementBudgetFilter filter = new SqlStatementBudgetFilter(registry, true, 5, false);
+
+        filter.doFilter(request("list"), new MockHttpServletResponse(), chainIssuing(7));
+
+        assertEquals(7, registry.get("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", "/invoices").summary().totalAmount());
+        assertEquals(1, registry.get("sql.statements.repeated").counter().count());
+        assertNull(SqlStatementTracker.current());
+    }
+
+    @Test
+    void overBudgetRequestsFailOnlyWhenEnforced() throws Exception {
+        SqlStatementBudgetFilter logging = new SqlStatementBudgetFilter(registry, true, 5, false);
+        SqlStatementBudgetFilter enforcing = new SqlStatementBudgetFilter(registry, true, 5, true);
+
+        assertDoesNotThrow(() -> logging.doFilter(request("list"), new MockHttpServletResponse(), chainIssuing(3)));
+        assertThrows(SqlBudgetExceededException.class,
+                () -> enforcing.doFilter(request("list"), new MockHttpServletResponse(), chainIssuing(3)));
+        assertEquals(2, registry.get("sql.budget.exceeded").counter().count());
+    }
+
+    @Test
+    void requestsWithinBudgetPass() {
+        SqlStatementBudgetFilter enforcing = new SqlStatementBudgetFilter(registry, true, 5, true);
+
+        assertDoesNotThrow(() -> enforcing.doFilter(request("list"), new MockHttpServletResponse(), chainIssuing(2)));
+    }
+
+    private MockHttpServletRequest request(String handlerMethod) throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/invoices");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/invoices");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new BudgetedController(), BudgetedController.class.getMethod(handlerMethod)));
+        return request;
+    }
+
+    private MockFilterChain chainIssuing(int statements) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                for (int i = 0; i < statements; i++) {
+                    inspector.inspect(ITEM_SELECT);
+                }
+            }
+        });
+    }
+
+    static class BudgetedController {
+
+        @SqlBudget(2)
+        public void list() {
+        }
+    }
+}
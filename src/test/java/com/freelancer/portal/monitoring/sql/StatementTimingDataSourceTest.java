@@ -0,0 +1,92 @@
+package com.freelancer.portal.monitoring.sql;
+
+import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.model.InvoiceItem;
+import com.freelancer.portal.support.OfflineJpa;
+import com.freelancer.portal.support.RecordingDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs Hibernate over {@link StatementTimingDataSource} and checks that every execution reaches
+ * the {@link SlowQueryLog} under the SQL that was actually executed, including the table
+ * generator's statements, which bypass the statement inspector, and batched inserts.
+ */
+class StatementTimingDataSourceTest {
+
+    private static final int ITEM_COUNT = 30;
+
+    private final RecordingDataSource dataSource = new RecordingDataSource("primary");
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofSeconds(10), 10, 50, new SimpleMeterRegistry());
+
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory = OfflineJpa.entityManagerFactory(new StatementTimingDataSource(dataSource),
+                OfflineJpa.applicationProperties("hibernate.jdbc.", "hibernate.order_inserts"));
+        // The item ID generator reads its next block from the id_sequences table
+        dataSource.answer(sql -> sql.contains("id_sequences") ? List.<Object[]>of(new Object[]{1L}) : List.of());
+        slowQueryLog.activate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowQueryLog.deactivate();
+        entityManagerFactory.close();
+    }
+
+    @Test
+    void executionsAreRecordedUnderTheirOwnSql() {
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        new TransactionTemplate(new JpaTransactionManager(entityManagerFactory)).executeWithoutResult(status -> {
+            Invoice invoice = entityManager.getReference(Invoice.class, 7L);
+            for (int i = 0; i < ITEM_COUNT; i++) {
+                entityManager.persist(InvoiceItem.builder()
+                        .invoice(invoice)
+                        .description("Item " + i)
+                        .quantity(BigDecimal.ONE)
+                        .unitPrice(BigDecimal.TEN)
+                        .build());
+            }
+        });
+
+        Map<String, Long> callsByStatement = slowQueryLog.slowest(50).stream()
+                .collect(Collectors.toMap(summary -> summary.shape().split(" ")[0] + " " + table(summary.shape()),
+                        SlowQueryLog.ShapeSummary::calls, Long::sum));
+        Map<String, Long> executedByStatement = dataSource.statements().stream()
+                .collect(Collectors.groupingBy(sql -> sql.split(" ")[0] + " " + table(sql), Collectors.counting()));
+
+        assertTrue(executedByStatement.containsKey("select id_sequences"), executedByStatement::toString);
+        assertEquals(1L, callsByStatement.get("insert invoice_items"), callsByStatement::toString);
+        assertEquals(executedByStatement.get("select id_sequences"), callsByStatement.get("select id_sequences"),
+                callsByStatement::toString);
+        assertEquals(executedByStatement.get("update id_sequences"), callsByStatement.get("update id_sequences"),
+                callsByStatement::toString);
+    }
+
+    private static String table(String sql) {
+        for (String table : List.of("invoice_items", "id_sequences")) {
+            if (sql.contains(table)) {
+                return table;
+            }
+        }
+        return "other";
+    }
+}
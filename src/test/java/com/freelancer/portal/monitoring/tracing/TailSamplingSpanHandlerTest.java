@@ -0,0 +1,93 @@
+package com.freelancer.portal.monitoring.tracing;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import brave.sampler.Sampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.brave.bridge.CompositeSpanHandler;
+import io.micrometer.tracing.exporter.FinishedSpan;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TailSamplingSpanHandlerTest {
+
+    private static final long START_MICROS = 1_700_000_000_000_000L;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final InMemorySpanReporter reporter = new InMemorySpanReporter(100);
+    private final TailSamplingSpanHandler handler = new TailSamplingSpanHandler(
+            new CompositeSpanHandler(List.of(), List.of(reporter), List.of()),
+            Duration.ofMillis(500), 2, 10, Duration.ofMinutes(1), registry);
+    private final Tracing tracing = Tracing.newBuilder()
+            .sampler(Sampler.NEVER_SAMPLE)
+            .alwaysSampleLocal()
+            .addSpanHandler(handler)
+            .build();
+    private final Tracer tracer = tracing.tracer();
+
+    @AfterEach
+    void closeTracing() {
+        tracing.close();
+    }
+
+    @Test
+    void slowTraceIsExportedWithItsChildren() {
+        Span root = tracer.newTrace().name("root").start(START_MICROS);
+        tracer.newChild(root.context()).name("child").start(START_MICROS + 1_000).finish(START_MICROS + 2_000);
+        root.finish(START_MICROS + 600_000);
+
+        List<FinishedSpan> spans = reporter.spans();
+        assertEquals(List.of("child", "root"), spans.stream().map(FinishedSpan::getName).toList());
+        assertEquals(spans.get(1).getSpanId(), spans.get(0).getParentId());
+        assertEquals(1.0, decisions("kept_slow"));
+        assertEquals(0, handler.pendingTraces());
+    }
+
+    @Test
+    void fastTraceIsDroppedUnlessASpanFailed() {
+        Span fast = tracer.newTrace().name("fast").start(START_MICROS);
+        tracer.newChild(fast.context()).name("query").start(START_MICROS + 1_000).finish(START_MICROS + 2_000);
+        fast.finish(START_MICROS + 10_000);
+
+        Span failing = tracer.newTrace().name("failing").start(START_MICROS);
+        tracer.newChild(failing.context()).name("store").start(START_MICROS + 1_000)
+                .error(new IllegalStateException("disk full")).finish(START_MICROS + 2_000);
+        failing.finish(START_MICROS + 10_000);
+
+        assertEquals(List.of("store", "failing"), reporter.spans().stream().map(FinishedSpan::getName).toList());
+        assertEquals(1.0, decisions("dropped"));
+        assertEquals(1.0, decisions("kept_error"));
+    }
+
+    @Test
+    void serverErrorStatusMarksTheTraceAsFailed() {
+        Span root = tracer.newTrace().name("http post /invoices").start(START_MICROS);
+        root.tag("outcome", "SERVER_ERROR").finish(START_MICROS + 10_000);
+
+        assertEquals(1, reporter.spans().size());
+    }
+
+    @Test
+    void pendingTracesAreBounded() {
+        for (int i = 0; i < 3; i++) {
+            Span root = tracer.newTrace().name("open").start(START_MICROS);
+            tracer.newChild(root.context()).name("child").start(START_MICROS).finish(START_MICROS + 1_000);
+        }
+
+        assertEquals(2, handler.pendingTraces());
+        assertEquals(1.0, decisions("overflow"));
+        assertTrue(reporter.spans().isEmpty());
+    }
+
+    private double decisions(String decision) {
+        return registry.get("tracing.tail.traces").tag("decision", decision).counter().count();
+    }
+}
@@ -0,0 +1,76 @@
+package com.freelancer.portal.pagination;
+
+import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.support.OfflineJpa;
+import com.freelancer.portal.support.RecordingDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KeysetSliceExecutorTest {
+
+    private final RecordingDataSource dataSource = new RecordingDataSource("primary");
+    private final KeysetSliceExecutor executor = new KeysetSliceExecutor();
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+
+    @BeforeEach
+    public void setUp() {
+        entityManagerFactory = OfflineJpa.entityManagerFactory(dataSource, Map.of());
+        entityManager = entityManagerFactory.createEntityManager();
+        ReflectionTestUtils.setField(executor, "entityManager", entityManager);
+        ReflectionTestUtils.setField(executor, "totalCap", 1000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Test
+    public void testApproximateTotalIsCountedByTheDatabaseUpToTheCap() {
+        dataSource.answer(sql -> sql.contains("count(") ? List.<Object[]>of(new Object[]{1000L}) : List.of());
+
+        CursorSlice<Long> slice = executor.fetch(Invoice.class, null, request(true), Invoice::getId);
+
+        assertEquals(1000L, slice.approximateTotal());
+        List<String> statements = dataSource.statements();
+        assertEquals(2, statements.size());
+        String count = statements.get(1);
+        assertTrue(count.matches("select count\\(.+\\) from \\(select .+ limit \\?\\) .*"), count);
+    }
+
+    @Test
+    public void testPageMapperSeesTheWholePageAndNestedFetchPathsAreOuterJoined() {
+        List<Integer> pageSizes = new ArrayList<>();
+
+        CursorSlice<Long> slice = executor.fetchPage(Invoice.class, null, request(false), invoices -> {
+            pageSizes.add(invoices.size());
+            return invoices.stream().map(Invoice::getId).toList();
+        }, "client.company", "project");
+
+        assertEquals(List.of(0), pageSizes);
+        assertFalse(slice.hasNext());
+        List<String> statements = dataSource.statements();
+        assertEquals(1, statements.size());
+        assertEquals(3, statements.get(0).split("left join").length - 1, statements.get(0));
+    }
+
+    private static CursorPageRequest request(boolean includeTotal) {
+        return new CursorPageRequest("issueDate", Sort.Direction.DESC, 20, null, includeTotal);
+    }
+}
@@ -0,0 +1,48 @@
+package com.freelancer.portal.pagination;
+
+import com.freelancer.portal.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PageCursorTest {
+
+    @Test
+    public void testRoundTrip() {
+        PageCursor cursor = new PageCursor("createdAt", Sort.Direction.DESC, "2024-03-01T10:15:30", 42L);
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    public void testRoundTripPreservesNullAndSeparatorsInSortValue() {
+        PageCursor nullValue = new PageCursor("dueDate", Sort.Direction.ASC, null, 7L);
+        assertNull(PageCursor.decode(nullValue.encode()).sortValue());
+
+        PageCursor multiline = new PageCursor("description", Sort.Direction.ASC, "line one\nline two", 8L);
+        assertEquals(multiline, PageCursor.decode(multiline.encode()));
+    }
+
+    @Test
+    public void testMalformedCursorIsRejected() {
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode("bm90IGEgY3Vyc29y"));
+    }
+
+    @Test
+    public void testCursorMustMatchRequestedSort() {
+        String token = new PageCursor("id", Sort.Direction.DESC, "42", 42L).encode();
+        assertThrows(InvalidCursorException.class,
+                () -> CursorPageRequest.of(token, 20, 100, "amount", "DESC", false));
+        assertThrows(InvalidCursorException.class,
+                () -> CursorPageRequest.of(token, 20, 100, "id", "ASC", false));
+        assertEquals(42L, CursorPageRequest.of(token, 20, 100, "id", "DESC", false).after().id());
+    }
+
+    @Test
+    public void testPageSizeIsCapped() {
+        assertEquals(100, CursorPageRequest.of(null, 5000, 100, "id", "DESC", false).size());
+    }
+}
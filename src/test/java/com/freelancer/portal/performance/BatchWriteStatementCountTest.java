@@ -0,0 +1,159 @@
+package com.freelancer.portal.performance;
+
+import com.freelancer.portal.dto.InvoiceItemRequestDto;
+import com.freelancer.portal.dto.InvoiceRequestDto;
+import com.freelancer.portal.model.Client;
+import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.model.User;
+import com.freelancer.portal.repository.ClientRepository;
+import com.freelancer.portal.repository.InvoiceRepository;
+import com.freelancer.portal.repository.TimeEntryRepository;
+import com.freelancer.portal.service.InvoiceService;
+import com.freelancer.portal.support.DatabaseTest;
+import com.freelancer.portal.support.SeededData;
+import jakarta.persistence.EntityManager;
+import org.hibernate.BaseSessionEventListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts JDBC round-trips on the batch write paths: invoice creation must insert all of its
+ * items in one batch, and billing time entries must be a single UPDATE however many IDs are
+ * passed. Every test runs in a transaction that is rolled back.
+ * <p>
+ * Needs a seeded database, so it is a {@link DatabaseTest}; it writes as the freelancer with the
+ * most invoices. {@link BatchWriteStatementInspectorTest} checks the same paths in every build.
+ * </p>
+ */
+@DatabaseTest
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session.events.auto="
+                + "com.freelancer.portal.performance.BatchWriteStatementCountTest$RoundTripCounter"
+})
+class BatchWriteStatementCountTest {
+
+    private static final int ITEM_COUNT = 40;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private TimeEntryRepository timeEntryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User freelancer;
+
+    @BeforeEach
+    void authenticate() {
+        freelancer = SeededData.busiestFreelancer(entityManager);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(freelancer, null, freelancer.getAuthorities()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void invoiceItemsAreInsertedInOneBatch() {
+        Client client = clientRepository.findByFreelancer(freelancer, PageRequest.of(0, 1)).getContent().get(0);
+        List<InvoiceItemRequestDto> items = IntStream.range(0, ITEM_COUNT)
+                .mapToObj(i -> InvoiceItemRequestDto.builder()
+                        .description("Item " + i)
+                        .quantity(BigDecimal.ONE)
+                        .unitPrice(BigDecimal.TEN)
+                        .build())
+                .toList();
+        InvoiceRequestDto request = InvoiceRequestDto.builder()
+                .clientId(client.getId())
+                .issueDate(LocalDate.now())
+                .dueDate(LocalDate.now().plusDays(30))
+                .items(items)
+                .build();
+
+        inRolledBackTransaction(() -> {
+            RoundTripCounter.reset();
+            invoiceService.createInvoice(request);
+            entityManager.flush();
+
+            assertEquals(1, RoundTripCounter.BATCHES.get(), "invoice items should be written in one JDBC batch");
+        });
+    }
+
+    @Test
+    void billingIsOneUpdateRegardlessOfEntryCount() {
+        Invoice invoice = invoiceRepository.findListRowsByFreelancer(freelancer, PageRequest.of(0, 1)).getContent()
+                .stream().findFirst()
+                .map(row -> invoiceRepository.getReferenceById(row.id()))
+                .orElseThrow();
+        List<Long> ids = LongStream.rangeClosed(1, 500).boxed().toList();
+
+        inRolledBackTransaction(() -> {
+            RoundTripCounter.reset();
+            timeEntryRepository.markBilled(ids, freelancer.getId(), invoice, LocalDateTime.now());
+
+            assertEquals(1, RoundTripCounter.STATEMENTS.get(), "billing should be a single UPDATE");
+        });
+    }
+
+    private void inRolledBackTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            work.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    /**
+     * Counts JDBC executions of every session; registered through {@code hibernate.session.events.auto}.
+     */
+    public static class RoundTripCounter extends BaseSessionEventListener {
+
+        static final AtomicInteger STATEMENTS = new AtomicInteger();
+        static final AtomicInteger BATCHES = new AtomicInteger();
+
+        static void reset() {
+            STATEMENTS.set(0);
+            BATCHES.set(0);
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            STATEMENTS.incrementAndGet();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            BATCHES.incrementAndGet();
+        }
+    }
+}
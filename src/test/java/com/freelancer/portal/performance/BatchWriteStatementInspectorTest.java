@@ -0,0 +1,178 @@
+package com.freelancer.portal.performance;
+
+import com.freelancer.portal.dto.InvoiceItemRequestDto;
+import com.freelancer.portal.dto.InvoiceRequestDto;
+import com.freelancer.portal.model.Client;
+import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.model.User;
+import com.freelancer.portal.pagination.KeysetSliceExecutor;
+import com.freelancer.portal.repository.ClientRepository;
+import com.freelancer.portal.repository.FileMetadataRepository;
+import com.freelancer.portal.repository.InvoiceItemRepository;
+import com.freelancer.portal.repository.InvoiceRepository;
+import com.freelancer.portal.repository.ProjectRepository;
+import com.freelancer.portal.repository.TimeEntryRepository;
+import com.freelancer.portal.repository.UserRepository;
+import com.freelancer.portal.security.SecurityUtils;
+import com.freelancer.portal.service.FileService;
+import com.freelancer.portal.service.NotificationService;
+import com.freelancer.portal.service.PaymentService;
+import com.freelancer.portal.service.ProjectService;
+import com.freelancer.portal.service.impl.InvoiceServiceImpl;
+import com.freelancer.portal.service.invoice.InvoiceNumberAllocator;
+import com.freelancer.portal.service.invoice.InvoicePdfRenderer;
+import com.freelancer.portal.service.invoice.InvoiceTotals;
+import com.freelancer.portal.support.OfflineJpa;
+import com.freelancer.portal.support.RecordingDataSource;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the statements the batch write paths send, with a Hibernate statement inspector on real
+ * Hibernate and the JDBC settings from application.properties, but without a database.
+ * {@link BatchWriteStatementCountTest} counts the round-trips against a real database.
+ */
+public class BatchWriteStatementInspectorTest {
+
+    private static final int ITEM_COUNT = 40;
+
+    private final RecordingDataSource dataSource = new RecordingDataSource("primary");
+    private final List<String> inspected = new CopyOnWriteArrayList<>();
+    private final User freelancer = User.builder().id(1L).build();
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private TransactionTemplate transaction;
+    private JpaRepositoryFactory repositories;
+
+    @BeforeEach
+    public void setUp() {
+        Map<String, Object> properties = new HashMap<>(OfflineJpa.applicationProperties(
+                "hibernate.jdbc.", "hibernate.order_inserts", "hibernate.order_updates"));
+        properties.put("hibernate.session_factory.statement_inspector", (StatementInspector) sql -> {
+            inspected.add(sql);
+            return sql;
+        });
+        entityManagerFactory = OfflineJpa.entityManagerFactory(dataSource, properties);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        transaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        repositories = new JpaRepositoryFactory(entityManager);
+        // The item ID generator reads its next block from the id_sequences table
+        dataSource.answer(sql -> sql.contains("id_sequences") ? List.<Object[]>of(new Object[]{1L}) : List.of());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    @Test
+    public void testInvoiceItemsAreInsertedWithOneBatchStatement() {
+        InvoiceServiceImpl invoiceService = invoiceService();
+        List<InvoiceItemRequestDto> items = IntStream.range(0, ITEM_COUNT)
+                .mapToObj(i -> InvoiceItemRequestDto.builder()
+                        .description("Item " + i)
+                        .quantity(BigDecimal.ONE)
+                        .unitPrice(BigDecimal.TEN)
+                        .build())
+                .toList();
+        InvoiceRequestDto request = InvoiceRequestDto.builder()
+                .clientId(3L)
+                .issueDate(LocalDate.now())
+                .dueDate(LocalDate.now().plusDays(30))
+                .items(items)
+                .build();
+
+        invoiceService.createInvoice(request);
+
+        assertEquals(1, count("insert into invoices"), inspected::toString);
+        assertEquals(1, count("insert into invoice_items"), "invoice items should be one batch statement: " + inspected);
+        assertEquals(0, count("update "), "totals are calculated before the insert: " + inspected);
+    }
+
+    @Test
+    public void testInvoiceNumberIsReservedBeforeTheInvoiceTransaction() {
+        List<Boolean> transactionActive = new CopyOnWriteArrayList<>();
+        InvoiceServiceImpl invoiceService = invoiceService(freelancerId -> {
+            transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return "INV-0001";
+        });
+        InvoiceRequestDto request = InvoiceRequestDto.builder()
+                .clientId(3L)
+                .issueDate(LocalDate.now())
+                .dueDate(LocalDate.now().plusDays(30))
+                .build();
+
+        invoiceService.createInvoice(request);
+
+        // A block reservation inside it would hold a second pool connection
+        assertEquals(List.of(false), transactionActive);
+        assertEquals(1, count("insert into invoices"), inspected::toString);
+    }
+
+    @Test
+    public void testBillingIsOneUpdateRegardlessOfEntryCount() {
+        TimeEntryRepository timeEntryRepository = repositories.getRepository(TimeEntryRepository.class);
+        List<Long> ids = LongStream.rangeClosed(1, 500).boxed().toList();
+
+        transaction.executeWithoutResult(status -> timeEntryRepository.markBilled(ids, freelancer.getId(),
+                entityManager.getReference(Invoice.class, 7L), LocalDateTime.now()));
+
+        assertEquals(1, inspected.size(), inspected::toString);
+        assertEquals(1, count("update time_entries"), inspected::toString);
+    }
+
+    private InvoiceServiceImpl invoiceService() {
+        return invoiceService(freelancerId -> "INV-0001");
+    }
+
+    private InvoiceServiceImpl invoiceService(Function<Long, String> invoiceNumbers) {
+        SecurityUtils securityUtils = mock(SecurityUtils.class);
+        when(securityUtils.getCurrentUser()).thenReturn(freelancer);
+        ClientRepository clientRepository = mock(ClientRepository.class);
+        when(clientRepository.findById(3L)).thenReturn(Optional.of(Client.builder().id(3L).freelancer(freelancer).build()));
+        InvoiceNumberAllocator invoiceNumberAllocator = mock(InvoiceNumberAllocator.class);
+        when(invoiceNumberAllocator.nextInvoiceNumber(anyLong()))
+                .thenAnswer(invocation -> invoiceNumbers.apply(invocation.getArgument(0)));
+
+        return new InvoiceServiceImpl(repositories.getRepository(InvoiceRepository.class),
+                mock(InvoiceItemRepository.class), mock(ProjectRepository.class), mock(UserRepository.class),
+                mock(FileMetadataRepository.class), mock(FileService.class), clientRepository,
+                securityUtils, mock(ProjectService.class), entityManager, mock(NotificationService.class),
+                mock(PaymentService.class), mock(ApplicationEventPublisher.class), mock(KeysetSliceExecutor.class),
+                invoiceNumberAllocator, ObservationRegistry.NOOP, new InvoiceTotals(),
+                new InvoicePdfRenderer(), transaction);
+    }
+
+    private long count(String prefix) {
+        return inspected.stream().filter(sql -> sql.startsWith(prefix)).count();
+    }
+}
@@ -4,6 +4,7 @@ import com.freelancer.portal.model.*;
 import com.freelancer.portal.repository.*;
 import com.freelancer.portal.specification.InvoiceSpecification;
 import com.freelancer.portal.specification.TimeEntrySpecification;
+import com.freelancer.portal.support.DatabaseTest;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,7 +32,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * Performance tests for database queries.
  * These tests measure the execution time of various queries
  * to help identify potential bottlenecks.
+ * They assume data exists in the configured database.
  */
+@DatabaseTest
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
 public class DatabasePerformanceTest {
@@ -0,0 +1,95 @@
+package com.freelancer.portal.performance;
+
+import com.freelancer.portal.model.FileMetadata;
+import com.freelancer.portal.repository.impl.FileMetadataIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares file metadata lookup latency of the in-memory index against the
+ * linear scan used by the previous map-based repository; the index must be faster.
+ * The 1M entry run is opt-in: pass -Dbenchmark.large=true.
+ */
+public class FileMetadataIndexBenchmarkTest {
+
+    private static final String[] ENTITY_TYPES = {"invoice", "message", "project"};
+    private static final int INDEX_LOOKUPS = 100_000;
+    private static final int SCAN_LOOKUPS = 50;
+
+    @Test
+    public void testLookupLatencyWith10kEntries() {
+        runBenchmark(10_000);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.large", matches = "true")
+    public void testLookupLatencyWith1mEntries() {
+        runBenchmark(1_000_000);
+    }
+
+    private void runBenchmark(int entries) {
+        Random random = new Random(42);
+        FileMetadataIndex index = new FileMetadataIndex();
+        Map<String, FileMetadata> scanStorage = new ConcurrentHashMap<>();
+        int entityIds = Math.max(1, entries / 3);
+
+        for (long id = 1; id <= entries; id++) {
+            FileMetadata metadata = FileMetadata.builder()
+                    .id(id)
+                    .filename("file-" + id)
+                    .entityType(ENTITY_TYPES[(int) (id % ENTITY_TYPES.length)])
+                    .entityId((long) random.nextInt(entityIds))
+                    .projectId((long) random.nextInt(1_000))
+                    .userId((long) random.nextInt(1_000))
+                    .build();
+            index.put(metadata);
+            scanStorage.put(metadata.getFilename(), metadata);
+        }
+
+        // Warm up both paths so the JIT has compiled them before measuring
+        for (int i = 0; i < 5; i++) {
+            scan(scanStorage, "invoice", (long) i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            index.findByEntity("invoice", (long) i);
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < SCAN_LOOKUPS; i++) {
+            scan(scanStorage, "invoice", (long) random.nextInt(entityIds));
+        }
+        double scanMicros = (System.nanoTime() - startTime) / 1_000.0 / SCAN_LOOKUPS;
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < INDEX_LOOKUPS; i++) {
+            index.findByEntity("invoice", (long) random.nextInt(entityIds));
+        }
+        double indexMicros = (System.nanoTime() - startTime) / 1_000.0 / INDEX_LOOKUPS;
+
+        assertTrue(indexMicros < scanMicros, String.format(
+                "File metadata lookup with %d entries: index %.3f us is not faster than scan %.2f us",
+                entries, indexMicros, scanMicros));
+
+        for (long entityId = 0; entityId < 100; entityId++) {
+            assertEquals(
+                    scan(scanStorage, "invoice", entityId).stream().map(FileMetadata::getId).collect(Collectors.toSet()),
+                    index.findByEntity("invoice", entityId).stream().map(FileMetadata::getId).collect(Collectors.toSet()));
+        }
+    }
+
+    private static Collection<FileMetadata> scan(Map<String, FileMetadata> storage, String entityType, Long entityId) {
+        return storage.values().stream()
+                .filter(metadata -> entityType.equals(metadata.getEntityType()) &&
+                        entityId.equals(metadata.getEntityId()))
+                .collect(Collectors.toList());
+    }
+}
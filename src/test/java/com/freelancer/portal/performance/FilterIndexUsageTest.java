@@ -0,0 +1,192 @@
+package com.freelancer.portal.performance;
+
+import com.freelancer.portal.config.FilterConfig;
+import com.freelancer.portal.specification.AttributeValues;
+import com.freelancer.portal.specification.filter.FilterAllowlist;
+import com.freelancer.portal.specification.filter.FilterCompiler;
+import com.freelancer.portal.specification.filter.FilterOperator;
+import com.freelancer.portal.support.DatabaseTest;
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that every filter an allowlist accepts is served by an index.
+ * <p>
+ * The mapping check always runs: each allowlisted attribute's column must be part of an index
+ * declared on the entity, be unique, or be a foreign key column, which MySQL indexes itself.
+ * The EXPLAIN check runs every allowed filter, combined with the owner predicate the services
+ * add, against a real MySQL schema and fails on a full table scan. It needs the database, so
+ * it is a {@link DatabaseTest}.
+ * </p>
+ */
+public class FilterIndexUsageTest {
+
+    private static final FilterConfig FILTER_CONFIG = new FilterConfig();
+
+    private static List<FilterAllowlist> allowlists() {
+        return List.of(FILTER_CONFIG.invoiceFilters(), FILTER_CONFIG.timeEntryFilters(), FILTER_CONFIG.paymentFilters());
+    }
+
+    @Test
+    public void testEveryAllowlistedAttributeIsIndexed() {
+        for (FilterAllowlist allowlist : allowlists()) {
+            Class<?> entityClass = allowlist.getEntityClass();
+            Index[] indexes = entityClass.getAnnotation(Table.class).indexes();
+            for (String path : allowlist.getOperators().keySet()) {
+                Field field = ReflectionUtils.findField(entityClass, path.split("\\.")[0]);
+                assertNotNull(field, path + " does not resolve on " + entityClass.getSimpleName());
+
+                JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+                if (joinColumn != null) {
+                    // Foreign key columns are indexed by MySQL
+                    continue;
+                }
+                Column column = field.getAnnotation(Column.class);
+                if (column != null && column.unique()) {
+                    continue;
+                }
+                String columnName = column != null && !column.name().isEmpty() ? column.name() : field.getName();
+                boolean indexed = Arrays.stream(indexes)
+                        .flatMap(index -> Arrays.stream(index.columnList().split(",")))
+                        .map(String::trim)
+                        .anyMatch(columnName::equals);
+                assertTrue(indexed, entityClass.getSimpleName() + "." + path + " is allowlisted but column "
+                        + columnName + " is not part of any declared index");
+            }
+        }
+    }
+
+    /**
+     * Runs the allowlisted filters against MySQL and inspects the query plans.
+     */
+    @Nested
+    @SpringBootTest(properties = {
+            "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                    + "com.freelancer.portal.performance.FilterIndexUsageTest$CapturingStatementInspector"
+    })
+    @DatabaseTest
+    @Transactional
+    class ExplainPlans {
+
+        /**
+         * The owner predicate each service adds to its list queries.
+         */
+        private static final Map<String, String> OWNER_PATHS = Map.of(
+                "Invoice", "freelancer.id",
+                "TimeEntry", "user.id",
+                "Payment", "invoice.id");
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private FilterCompiler filterCompiler;
+
+        @Test
+        public void testAllowedFiltersAvoidFullTableScans() {
+            List<String> failures = new ArrayList<>();
+            for (FilterAllowlist allowlist : allowlists()) {
+                allowlist.getOperators().forEach((path, operators) -> {
+                    for (FilterOperator operator : operators) {
+                        String filter = path + "_" + operator.name().toLowerCase();
+                        String sql = captureSql(allowlist.getEntityClass(), filter,
+                                sampleValue(allowlist.getEntityClass(), path, operator));
+                        for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + sql)) {
+                            if ("ALL".equals(row.get("type")) || row.get("key") == null) {
+                                failures.add(allowlist.getEntityClass().getSimpleName() + " " + filter + ": " + row);
+                            }
+                        }
+                    }
+                });
+            }
+            assertTrue(failures.isEmpty(), "Filters not served by an index:\n" + String.join("\n", failures));
+        }
+
+        private <T> String captureSql(Class<T> entityClass, String filter, String value) {
+            Specification<T> spec = filterCompiler.compile(entityClass, Map.of(filter, value));
+            String[] ownerPath = OWNER_PATHS.get(entityClass.getSimpleName()).split("\\.");
+
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<T> query = cb.createQuery(entityClass);
+            Root<T> root = query.from(entityClass);
+            query.where(cb.equal(root.get(ownerPath[0]).get(ownerPath[1]), 1L),
+                    spec.toPredicate(root, query, cb));
+
+            CapturingStatementInspector.LAST_SQL.remove();
+            entityManager.createQuery(query).setMaxResults(20).getResultList();
+            String sql = CapturingStatementInspector.LAST_SQL.get();
+            assertNotNull(sql, "No SQL captured for " + filter);
+            assertFalse(sql.contains("?"), "Expected inlined values in " + sql);
+            return sql;
+        }
+
+        private String sampleValue(Class<?> entityClass, String path, FilterOperator operator) {
+            Class<?> type = entityClass;
+            for (String segment : path.split("\\.")) {
+                type = ReflectionUtils.findField(type, segment).getType();
+            }
+            type = AttributeValues.wrap(type);
+            String value;
+            if (type.isEnum()) {
+                value = ((Enum<?>) type.getEnumConstants()[0]).name();
+            } else if (type == LocalDate.class) {
+                value = "2024-01-01";
+            } else if (type == LocalDateTime.class) {
+                value = "2024-01-01T00:00:00";
+            } else if (type == Boolean.class) {
+                value = "true";
+            } else if (type == String.class) {
+                value = "INV";
+            } else {
+                value = "1";
+            }
+            return operator.getArity() == 1 ? value : value + "," + value;
+        }
+    }
+
+    /**
+     * Records the last SQL statement prepared on the current thread.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final ThreadLocal<String> LAST_SQL = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            LAST_SQL.set(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.freelancer.portal.performance;
+
+import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.model.Payment;
+import com.freelancer.portal.model.TimeEntry;
+import com.freelancer.portal.model.User;
+import com.freelancer.portal.repository.InvoiceRepository;
+import com.freelancer.portal.repository.PaymentRepository;
+import com.freelancer.portal.repository.TimeEntryRepository;
+import com.freelancer.portal.support.DatabaseTest;
+import com.freelancer.portal.support.SeededData;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares heap allocation per page of the list view projections against hydrating the same
+ * page as managed entities with their associations, as the list endpoints did before.
+ * Runs against the configured database and expects it to contain data, so it is a
+ * {@link DatabaseTest}; each projection must allocate less per page than its entity graph.
+ */
+@DatabaseTest
+@SpringBootTest
+@Transactional
+public class ListProjectionAllocationBenchmarkTest {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 100;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private TimeEntryRepository timeEntryRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private User freelancer;
+    private Pageable pageable;
+
+    @BeforeEach
+    public void setUp() {
+        freelancer = SeededData.busiestFreelancer(entityManager);
+        pageable = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    @Test
+    public void testInvoiceListAllocation() {
+        compare("invoices",
+                () -> entityManager.createQuery("SELECT i FROM Invoice i JOIN FETCH i.client c "
+                                + "LEFT JOIN FETCH c.company LEFT JOIN FETCH i.project "
+                                + "WHERE i.freelancer = :freelancer ORDER BY i.id DESC", Invoice.class)
+                        .setParameter("freelancer", freelancer)
+                        .setMaxResults(PAGE_SIZE)
+                        .getResultList(),
+                () -> invoiceRepository.findListRowsByFreelancer(freelancer, pageable).getContent());
+    }
+
+    @Test
+    public void testTimeEntryListAllocation() {
+        compare("time entries",
+                () -> entityManager.createQuery("SELECT t FROM TimeEntry t JOIN FETCH t.project p "
+                                + "LEFT JOIN FETCH p.client JOIN FETCH t.user LEFT JOIN FETCH t.invoice "
+                                + "WHERE t.user.id = :userId ORDER BY t.id DESC", TimeEntry.class)
+                        .setParameter("userId", freelancer.getId())
+                        .setMaxResults(PAGE_SIZE)
+                        .getResultList(),
+                () -> timeEntryRepository.findListRowsByUserId(freelancer.getId(), pageable).getContent());
+    }
+
+    @Test
+    public void testPaymentListAllocation() {
+        compare("payments",
+                () -> entityManager.createQuery("SELECT p FROM Payment p JOIN FETCH p.invoice i "
+                                + "JOIN FETCH i.client c LEFT JOIN FETCH c.company LEFT JOIN FETCH i.project "
+                                + "WHERE c.freelancer = :freelancer ORDER BY p.id DESC", Payment.class)
+                        .setParameter("freelancer", freelancer)
+                        .setMaxResults(PAGE_SIZE)
+                        .getResultList(),
+                () -> paymentRepository.findListRowsByFreelancer(freelancer, pageable).getContent());
+    }
+
+    private void compare(String label, PageQuery entityPage, PageQuery projectionPage) {
+        long entityBytes = allocationPerPage(entityPage);
+        long projectionBytes = allocationPerPage(projectionPage);
+        assertTrue(projectionBytes < entityBytes, String.format(
+                "%s: %d bytes/page as projections, not less than %d bytes/page as entities",
+                label, projectionBytes, entityBytes));
+    }
+
+    /**
+     * Average bytes allocated by the current thread to load one page, including the flush
+     * a read-write transaction performs before commit.
+     */
+    private long allocationPerPage(PageQuery page) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runPage(page);
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            runPage(page);
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / MEASURED_ITERATIONS;
+    }
+
+    private void runPage(PageQuery page) {
+        page.load();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        List<?> load();
+    }
+}
@@ -0,0 +1,109 @@
+package com.freelancer.portal.repository.impl;
+
+import com.freelancer.portal.model.FileMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileMetadataIndexTest {
+
+    private final FileMetadataIndex index = new FileMetadataIndex();
+
+    @Test
+    void entriesAreFoundByEveryKey() {
+        index.put(metadata(1L, "a.pdf", "project", 10L));
+        index.put(metadata(2L, "b.pdf", "project", 10L));
+        index.put(metadata(3L, "c.pdf", "invoice", 10L));
+
+        assertEquals("a.pdf", index.findById(1L).orElseThrow().getFilename());
+        assertEquals(2L, index.findByFilename("b.pdf").orElseThrow().getId());
+        assertEquals(List.of(1L, 2L), ids(index.findByEntity("project", 10L)));
+        assertEquals(List.of(3L), ids(index.findByEntity("invoice", 10L)));
+        assertEquals(List.of(1L, 2L, 3L), ids(index.findByProjectId(10L)));
+        assertEquals(List.of(1L, 2L, 3L), ids(index.findByUserId(7L)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void callersCannotChangeIndexedEntries() {
+        FileMetadata saved = metadata(1L, "a.pdf", "project", 10L);
+        index.put(saved);
+        saved.setStatus(FileMetadata.Status.QUARANTINED);
+        saved.setEntityId(11L);
+
+        FileMetadata found = index.findById(1L).orElseThrow();
+        found.setFilename("renamed.pdf");
+
+        assertNotSame(found, index.findById(1L).orElseThrow());
+        assertEquals(FileMetadata.Status.READY, index.findById(1L).orElseThrow().getStatus());
+        assertEquals("a.pdf", index.findById(1L).orElseThrow().getFilename());
+        assertEquals(List.of(1L), ids(index.findByEntity("project", 10L)));
+        assertTrue(index.findByEntity("project", 11L).isEmpty());
+    }
+
+    @Test
+    void replacingAnEntryMovesItsKeys() {
+        index.put(metadata(1L, "a.pdf", "project", 10L));
+        FileMetadata moved = metadata(1L, "a-v2.pdf", "project", 20L);
+        moved.setProjectId(20L);
+        index.put(moved);
+
+        assertEquals(Optional.empty(), index.findByFilename("a.pdf"));
+        assertEquals(1L, index.findByFilename("a-v2.pdf").orElseThrow().getId());
+        assertTrue(index.findByEntity("project", 10L).isEmpty());
+        assertEquals(List.of(1L), ids(index.findByEntity("project", 20L)));
+        assertTrue(index.findByProjectId(10L).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void statusChangesMoveEntriesBetweenStatusKeys() {
+        index.put(metadata(1L, "a.pdf", "project", 10L));
+        FileMetadata pending = metadata(2L, "b.pdf", "project", 10L);
+        pending.setStatus(FileMetadata.Status.PENDING);
+        index.put(pending);
+
+        assertEquals(List.of(2L), ids(index.findByStatus(FileMetadata.Status.PENDING)));
+        pending.setStatus(FileMetadata.Status.READY);
+        index.put(pending);
+
+        assertTrue(index.findByStatus(FileMetadata.Status.PENDING).isEmpty());
+        assertEquals(List.of(1L, 2L), ids(index.findByStatus(FileMetadata.Status.READY)));
+    }
+
+    @Test
+    void removingAnEntryKeepsAFilenameTakenOverByAnother() {
+        index.put(metadata(1L, "a.pdf", "project", 10L));
+        index.put(metadata(2L, "a.pdf", "project", 10L));
+
+        index.remove(1L);
+
+        assertEquals(2L, index.findByFilename("a.pdf").orElseThrow().getId());
+        assertEquals(List.of(2L), ids(index.findByEntity("project", 10L)));
+        index.remove(2L);
+        assertEquals(Optional.empty(), index.findByFilename("a.pdf"));
+        assertTrue(index.findByUserId(7L).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    private static FileMetadata metadata(Long id, String filename, String entityType, Long entityId) {
+        return FileMetadata.builder()
+                .id(id)
+                .filename(filename)
+                .entityType(entityType)
+                .entityId(entityId)
+                .projectId(10L)
+                .userId(7L)
+                .status(FileMetadata.Status.READY)
+                .build();
+    }
+
+    private static List<Long> ids(List<FileMetadata> metadata) {
+        return metadata.stream().map(FileMetadata::getId).sorted().toList();
+    }
+}
@@ -0,0 +1,132 @@
+package com.freelancer.portal.repository.impl;
+
+import com.freelancer.portal.model.FileMetadata;
+import com.freelancer.portal.repository.FileMetadataJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FileMetadataRepositoryImplTest {
+
+    private final FileMetadataJpaRepository jpaRepository = mock(FileMetadataJpaRepository.class);
+    private final TransactionTemplate transaction = new TransactionTemplate(new NoOpTransactionManager());
+    private final AtomicLong ids = new AtomicLong();
+
+    private FileMetadataRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        when(jpaRepository.findByIdGreaterThan(any(), any())).thenReturn(new SliceImpl<>(List.of()));
+        when(jpaRepository.save(any())).thenAnswer(invocation -> {
+            FileMetadata metadata = invocation.getArgument(0);
+            if (metadata.getId() == null) {
+                metadata.setId(ids.incrementAndGet());
+            }
+            return metadata;
+        });
+        repository = new FileMetadataRepositoryImpl(jpaRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(repository, "loadBatchSize", 100);
+        repository.loadIndex();
+    }
+
+    @Test
+    void writesReachTheIndexOnCommitAndAreVisibleToTheirOwnTransactionBefore() {
+        Long id = transaction.execute(status -> {
+            Long saved = repository.save(metadata("invoice", 5L)).getId();
+
+            assertEquals(saved, repository.findById(saved).orElseThrow().getId());
+            assertEquals(1, repository.findByEntityTypeAndEntityId("invoice", 5L).size());
+            assertEquals(Optional.empty(), CompletableFuture.supplyAsync(() -> repository.findById(saved)).join());
+            return saved;
+        });
+
+        assertEquals(Optional.of(id), CompletableFuture.supplyAsync(() -> repository.findById(id)).join()
+                .map(FileMetadata::getId));
+    }
+
+    @Test
+    void rolledBackWritesNeverReachTheIndex() {
+        assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+            repository.save(metadata("invoice", 5L));
+            throw new IllegalStateException("rollback");
+        }));
+
+        assertTrue(repository.findByEntityTypeAndEntityId("invoice", 5L).isEmpty());
+    }
+
+    @Test
+    void deletesAreHiddenFromTheirTransactionAndAppliedOnCommit() {
+        FileMetadata saved = repository.save(metadata("invoice", 5L));
+
+        transaction.executeWithoutResult(status -> {
+            repository.delete(saved);
+
+            assertEquals(Optional.empty(), repository.findById(saved.getId()));
+            assertTrue(repository.findByEntityTypeAndEntityId("invoice", 5L).isEmpty());
+            assertEquals(1, CompletableFuture.supplyAsync(() -> repository.findAllByProjectId(3L)).join().size());
+        });
+
+        assertTrue(repository.findAllByProjectId(3L).isEmpty());
+    }
+
+    @Test
+    void changesToReturnedMetadataStayLocalUntilSaved() {
+        FileMetadata saved = repository.save(metadata("invoice", 5L));
+
+        repository.findById(saved.getId()).orElseThrow().setStatus(FileMetadata.Status.QUARANTINED);
+        saved.setStatus(FileMetadata.Status.FAILED);
+
+        assertEquals(FileMetadata.Status.PENDING, repository.findById(saved.getId()).orElseThrow().getStatus());
+    }
+
+    private static FileMetadata metadata(String entityType, Long entityId) {
+        return FileMetadata.builder()
+                .filename(entityType + "-" + entityId + ".pdf")
+                .entityType(entityType)
+                .entityId(entityId)
+                .projectId(3L)
+                .status(FileMetadata.Status.PENDING)
+                .build();
+    }
+
+    /**
+     * Drives transaction synchronization without any resources, like a JPA transaction would.
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
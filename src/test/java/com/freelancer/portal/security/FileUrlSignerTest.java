@@ -0,0 +1,79 @@
+package com.freelancer.portal.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FileUrlSignerTest {
+
+    private static final String SECRET = "file-url-signing-key-for-tests-0123456789";
+    private static final String JWT_SECRET = "jwt-signing-key-for-tests-0123456789abcdef";
+
+    private final FileUrlSigner signer = new FileUrlSigner(SECRET, JWT_SECRET, Duration.ofMinutes(5));
+
+    @Test
+    void signedUrlVerifiesToItsGrant() {
+        UriComponents url = parse(signer.sign(12L, 3L, "uuid_report.pdf", Instant.now().plusSeconds(60)));
+
+        assertEquals(new FileUrlSigner.Grant(12L, 3L, "uuid_report.pdf"), verify(url, "12"));
+    }
+
+    @Test
+    void tamperedPartsAreRejected() {
+        UriComponents url = parse(signer.sign(12L, 3L, "uuid_report.pdf", Instant.now().plusSeconds(60)));
+        String expires = param(url, FileUrlSigner.PARAM_EXPIRES);
+        String signature = param(url, FileUrlSigner.PARAM_SIGNATURE);
+
+        assertNull(verify(url, "13"));
+        assertNull(signer.verify("12", "uuid_other.pdf", "3", expires, signature));
+        assertNull(signer.verify("12", "uuid_report.pdf", "4", expires, signature));
+        assertNull(signer.verify("12", "uuid_report.pdf", "3", String.valueOf(Long.parseLong(expires) + 3600), signature));
+        assertNull(signer.verify("12", "uuid_report.pdf", "3", expires, signature.substring(1) + "A"));
+        assertNull(signer.verify("12", "uuid_report.pdf", "3", expires, null));
+        assertNull(signer.verify("x", "uuid_report.pdf", "3", expires, signature));
+    }
+
+    @Test
+    void urlsSignedWithAnotherKeyAreRejected() {
+        FileUrlSigner other = new FileUrlSigner(SECRET + "-rotated", JWT_SECRET, Duration.ofMinutes(5));
+        UriComponents url = parse(other.sign(12L, 3L, "uuid_report.pdf", Instant.now().plusSeconds(60)));
+
+        assertNull(verify(url, "12"));
+    }
+
+    @Test
+    void expiredUrlsAreRejected() {
+        UriComponents url = parse(signer.sign(12L, 3L, "uuid_report.pdf", Instant.now().minusSeconds(1)));
+
+        assertNull(verify(url, "12"));
+    }
+
+    @Test
+    void missingWeakOrSharedSecretsFailAtStartup() {
+        assertThrows(IllegalStateException.class, () -> new FileUrlSigner("", JWT_SECRET, Duration.ofMinutes(5)));
+        assertThrows(IllegalStateException.class, () -> new FileUrlSigner("short", JWT_SECRET, Duration.ofMinutes(5)));
+        assertThrows(IllegalStateException.class, () -> new FileUrlSigner(JWT_SECRET, JWT_SECRET, Duration.ofMinutes(5)));
+    }
+
+    private FileUrlSigner.Grant verify(UriComponents url, String fileId) {
+        return signer.verify(fileId, param(url, FileUrlSigner.PARAM_PATH), param(url, FileUrlSigner.PARAM_USER),
+                param(url, FileUrlSigner.PARAM_EXPIRES), param(url, FileUrlSigner.PARAM_SIGNATURE));
+    }
+
+    private static UriComponents parse(String url) {
+        return UriComponentsBuilder.fromUriString(url).build(true);
+    }
+
+    private static String param(UriComponents url, String name) {
+        return UriUtils.decode(url.getQueryParams().getFirst(name), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,89 @@
+package com.freelancer.portal.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.test.context.support.TestPropertySourceUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class MetricsScrapeSecurityConfigTest {
+
+    private AnnotationConfigWebApplicationContext context;
+
+    @AfterEach
+    public void tearDown() {
+        context.close();
+    }
+
+    @Test
+    public void testScrapeWithTheCredentialIsAllowed() throws Exception {
+        mockMvc("app.metrics.scrape.password=scrape-secret")
+                .perform(get(MetricsScrapeSecurityConfig.SCRAPE_PATH).with(httpBasic("prometheus", "scrape-secret")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testScrapeWithoutCredentialsIsRejected() throws Exception {
+        mockMvc("app.metrics.scrape.password=scrape-secret")
+                .perform(get(MetricsScrapeSecurityConfig.SCRAPE_PATH))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testScrapeWithAWrongPasswordIsRejected() throws Exception {
+        mockMvc("app.metrics.scrape.password=scrape-secret")
+                .perform(get(MetricsScrapeSecurityConfig.SCRAPE_PATH).with(httpBasic("prometheus", "guess")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testScrapeIsRefusedWhenNoPasswordIsConfigured() throws Exception {
+        mockMvc()
+                .perform(get(MetricsScrapeSecurityConfig.SCRAPE_PATH).with(httpBasic("prometheus", "")))
+                .andExpect(status().is4xxClientError());
+    }
+
+    private MockMvc mockMvc(String... properties) {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        TestPropertySourceUtils.addInlinedPropertiesToEnvironment(context, properties);
+        context.register(ScrapeTestConfig.class);
+        context.refresh();
+        return MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @EnableWebSecurity
+    @Import(MetricsScrapeSecurityConfig.class)
+    static class ScrapeTestConfig {
+
+        @Bean
+        public ScrapeEndpoint scrapeEndpoint() {
+            return new ScrapeEndpoint();
+        }
+    }
+
+    @RestController
+    static class ScrapeEndpoint {
+
+        @GetMapping(MetricsScrapeSecurityConfig.SCRAPE_PATH)
+        public String scrape() {
+            return "# metrics";
+        }
+    }
+}
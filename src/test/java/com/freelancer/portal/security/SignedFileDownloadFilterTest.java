@@ -0,0 +1,131 @@
+package com.freelancer.portal.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SignedFileDownloadFilterTest {
+
+    private static final String STORED_PREFIX = "0b6f1c2e-8a4d-4f7e-9c3b-2d1e5f6a7b8c_";
+
+    @TempDir
+    Path storage;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final FileUrlSigner signer = new FileUrlSigner("file-url-signing-key-for-tests-0123456789",
+            "jwt-signing-key-for-tests-0123456789abcdef", Duration.ofMinutes(5));
+
+    @Test
+    void imagesAreServedInline() throws Exception {
+        Files.write(storage.resolve(STORED_PREFIX + "logo.png"), new byte[]{1, 2, 3});
+
+        MockHttpServletResponse response = get(signer.sign(7L, 3L, STORED_PREFIX + "logo.png", inAMinute()));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("image/png", response.getContentType());
+        assertTrue(response.getHeader("Content-Disposition").startsWith("inline;"));
+        assertEquals("sandbox", response.getHeader("Content-Security-Policy"));
+        assertEquals(3, response.getContentAsByteArray().length);
+        assertEquals(1.0, downloads("served"));
+    }
+
+    @Test
+    void scriptableTypesAreForcedToDownload() throws Exception {
+        for (String name : new String[]{"page.html", "drawing.svg", "notes"}) {
+            Files.writeString(storage.resolve(STORED_PREFIX + name), "<script>alert(1)</script>");
+
+            MockHttpServletResponse response = get(signer.sign(7L, 3L, STORED_PREFIX + name, inAMinute()));
+
+            assertEquals(200, response.getStatus());
+            assertEquals("application/octet-stream", response.getContentType(), name);
+            assertTrue(response.getHeader("Content-Disposition").startsWith("attachment;"), name);
+            assertTrue(response.getHeader("Content-Disposition").contains(name), name);
+            assertEquals("sandbox", response.getHeader("Content-Security-Policy"));
+            assertEquals("nosniff", response.getHeader("X-Content-Type-Options"));
+        }
+    }
+
+    @Test
+    void tamperedAndExpiredLinksAreRejected() throws Exception {
+        Files.write(storage.resolve(STORED_PREFIX + "logo.png"), new byte[]{1});
+        String valid = signer.sign(7L, 3L, STORED_PREFIX + "logo.png", inAMinute());
+
+        assertEquals(403, get(valid.replace("/files/signed/7?", "/files/signed/8?")).getStatus());
+        assertEquals(403, get(valid.replace("uid=3", "uid=4")).getStatus());
+        assertEquals(403, get(signer.sign(7L, 3L, STORED_PREFIX + "logo.png", Instant.now().minusSeconds(1)))
+                .getStatus());
+        assertEquals(3.0, downloads("rejected"));
+    }
+
+    @Test
+    void validlySignedPathsOutsideTheUploadDirectoryAreRejected() throws Exception {
+        Path outside = Files.writeString(storage.resolveSibling(storage.getFileName() + "-secret.txt"), "secret");
+        try {
+            MockHttpServletResponse response = get(signer.sign(7L, 3L, "../" + outside.getFileName(), inAMinute()));
+
+            assertEquals(403, response.getStatus());
+            assertEquals(0, response.getContentAsByteArray().length);
+        } finally {
+            Files.deleteIfExists(outside);
+        }
+    }
+
+    @Test
+    void otherRequestsPassThrough() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/7/download");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter().doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertEquals(request, chain.getRequest());
+    }
+
+    @Test
+    void missingFilesAreNotFound() throws Exception {
+        MockHttpServletResponse response = get(signer.sign(7L, 3L, STORED_PREFIX + "gone.png", inAMinute()));
+
+        assertEquals(404, response.getStatus());
+    }
+
+    private MockHttpServletResponse get(String signedUrl) throws Exception {
+        UriComponents url = UriComponentsBuilder.fromUriString(signedUrl).build(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", url.getPath());
+        url.getQueryParams().forEach((name, values) ->
+                request.addParameter(name, UriUtils.decode(values.get(0), StandardCharsets.UTF_8)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            throw new AssertionError("Signed downloads must not reach the filter chain");
+        };
+        filter().doFilter(request, response, chain);
+        return response;
+    }
+
+    private SignedFileDownloadFilter filter() {
+        return new SignedFileDownloadFilter(signer, storage.toString(), registry);
+    }
+
+    private double downloads(String result) {
+        return registry.get("files.signed.downloads").tag("result", result).counter().count();
+    }
+
+    private static Instant inAMinute() {
+        return Instant.now().plusSeconds(60);
+    }
+}
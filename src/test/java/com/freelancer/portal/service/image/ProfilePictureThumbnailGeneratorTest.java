@@ -0,0 +1,142 @@
+package com.freelancer.portal.service.image;
+
+import com.freelancer.portal.event.UserChangedEvent;
+import com.freelancer.portal.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProfilePictureThumbnailGeneratorTest {
+
+    private static final String PICTURE_URL = "/uploads/profile-pictures/profile_7.png";
+
+    @TempDir
+    Path uploadDir;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private Path source;
+
+    @BeforeEach
+    void writeSource() throws IOException {
+        source = uploadDir.resolve("profile_7.png");
+        Files.write(source, png(400, 200));
+    }
+
+    @Test
+    void renderThumbnailCropsToASquareJpeg() throws IOException {
+        byte[] thumbnail = generator(new SyncTaskExecutor(), 40_000_000).renderThumbnail(Files.newInputStream(source));
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail));
+        assertEquals(128, image.getWidth());
+        assertEquals(128, image.getHeight());
+        // The red left and blue right bands are cropped away, only the green centre remains
+        Color centre = new Color(image.getRGB(64, 64));
+        assertTrue(centre.getGreen() > 200 && centre.getRed() < 60 && centre.getBlue() < 60, centre.toString());
+    }
+
+    @Test
+    void renderThumbnailRejectsUndecodableAndOversizedSources() throws IOException {
+        ProfilePictureThumbnailGenerator generator = generator(new SyncTaskExecutor(), 10_000);
+
+        assertNull(generator.renderThumbnail(new ByteArrayInputStream("not an image".getBytes())));
+        assertNull(generator.renderThumbnail(Files.newInputStream(source)));
+    }
+
+    @Test
+    void scheduledThumbnailIsWrittenUnderAFingerprintedNameAndRecorded() throws IOException {
+        when(userRepository.updateProfilePictureThumbnailUrl(eq(7L), eq(PICTURE_URL), any())).thenReturn(1);
+
+        generator(new SyncTaskExecutor(), 40_000_000).scheduleThumbnail(7L, PICTURE_URL, source);
+
+        List<Path> thumbnails = thumbnails();
+        assertEquals(1, thumbnails.size());
+        String name = thumbnails.get(0).getFileName().toString();
+        assertTrue(name.matches("profile_7_[0-9a-f]{16}_128\\.jpg"), name);
+        verify(userRepository).updateProfilePictureThumbnailUrl(7L, PICTURE_URL,
+                "/uploads/profile-pictures/thumbnails/" + name);
+        verify(eventPublisher).publishEvent(new UserChangedEvent(7L));
+    }
+
+    @Test
+    void thumbnailOfAReplacedPictureIsDiscarded() throws IOException {
+        when(userRepository.updateProfilePictureThumbnailUrl(eq(7L), eq(PICTURE_URL), startsWith("/uploads/")))
+                .thenReturn(0);
+
+        generator(new SyncTaskExecutor(), 40_000_000).scheduleThumbnail(7L, PICTURE_URL, source);
+
+        assertTrue(thumbnails().isEmpty());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void fullQueueSkipsTheThumbnail() {
+        TaskExecutor rejecting = task -> {
+            throw new TaskRejectedException("queue full");
+        };
+
+        assertDoesNotThrow(() -> generator(rejecting, 40_000_000).scheduleThumbnail(7L, PICTURE_URL, source));
+        verify(userRepository, never()).updateProfilePictureThumbnailUrl(any(), any(), any());
+    }
+
+    private ProfilePictureThumbnailGenerator generator(TaskExecutor executor, long maxSourcePixels) {
+        return new ProfilePictureThumbnailGenerator(userRepository, executor, eventPublisher, uploadDir.toString(),
+                "/uploads/profile-pictures/thumbnails/", 128, 0.85f, maxSourcePixels);
+    }
+
+    private List<Path> thumbnails() throws IOException {
+        Path directory = uploadDir.resolve("thumbnails");
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, width / 4, height);
+        graphics.setColor(Color.GREEN);
+        graphics.fillRect(width / 4, 0, width / 2, height);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(width * 3 / 4, 0, width / 4, height);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertNotNull(ImageIO.getImageWritersByFormatName("png").next());
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
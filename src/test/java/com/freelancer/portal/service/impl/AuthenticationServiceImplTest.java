@@ -0,0 +1,62 @@
+package com.freelancer.portal.service.impl;
+
+import com.freelancer.portal.dto.AuthenticationResponse;
+import com.freelancer.portal.dto.RegisterRequest;
+import com.freelancer.portal.model.User;
+import com.freelancer.portal.repository.UserRepository;
+import com.freelancer.portal.security.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthenticationServiceImplTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AuthenticationServiceImpl service = new AuthenticationServiceImpl(userRepository,
+            mock(PasswordEncoder.class), mock(JwtService.class), mock(AuthenticationManager.class),
+            mock(ApplicationEventPublisher.class));
+
+    @Test
+    void registrationCannotGrantAdmin() {
+        assertThrows(AccessDeniedException.class, () -> service.register(request(User.Role.ADMIN)));
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void registrationKeepsTheChosenNonPrivilegedRole() {
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AuthenticationResponse response = service.register(request(User.Role.FREELANCER));
+
+        assertEquals(User.Role.FREELANCER, response.getUser().getRole());
+    }
+
+    @Test
+    void registrationDefaultsToUser() {
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AuthenticationResponse response = service.register(request(null));
+
+        assertEquals(User.Role.USER, response.getUser().getRole());
+    }
+
+    private RegisterRequest request(User.Role role) {
+        return RegisterRequest.builder()
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .email("ada@example.com")
+                .password("correct-horse")
+                .role(role)
+                .build();
+    }
+}
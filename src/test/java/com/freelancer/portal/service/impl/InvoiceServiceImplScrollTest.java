@@ -0,0 +1,102 @@
+package com.freelancer.portal.service.impl;
+
+import com.freelancer.portal.dto.InvoiceItemResponseDto;
+import com.freelancer.portal.dto.InvoiceResponseDto;
+import com.freelancer.portal.model.Client;
+import com.freelancer.portal.model.Company;
+import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.model.Project;
+import com.freelancer.portal.model.User;
+import com.freelancer.portal.pagination.CursorPageRequest;
+import com.freelancer.portal.pagination.CursorSlice;
+import com.freelancer.portal.pagination.KeysetSliceExecutor;
+import com.freelancer.portal.repository.ClientRepository;
+import com.freelancer.portal.repository.FileMetadataRepository;
+import com.freelancer.portal.repository.InvoiceItemRepository;
+import com.freelancer.portal.repository.InvoiceRepository;
+import com.freelancer.portal.repository.ProjectRepository;
+import com.freelancer.portal.repository.UserRepository;
+import com.freelancer.portal.repository.projection.InvoiceItemRow;
+import com.freelancer.portal.security.SecurityUtils;
+import com.freelancer.portal.service.FileService;
+import com.freelancer.portal.service.NotificationService;
+import com.freelancer.portal.service.PaymentService;
+import com.freelancer.portal.service.ProjectService;
+import com.freelancer.portal.service.invoice.InvoiceNumberAllocator;
+import com.freelancer.portal.service.invoice.InvoicePdfRenderer;
+import com.freelancer.portal.service.invoice.InvoiceTotals;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InvoiceServiceImplScrollTest {
+
+    private final InvoiceItemRepository invoiceItemRepository = mock(InvoiceItemRepository.class);
+    private final SecurityUtils securityUtils = mock(SecurityUtils.class);
+    private final KeysetSliceExecutor keysetSliceExecutor = mock(KeysetSliceExecutor.class);
+    private final InvoiceServiceImpl service = new InvoiceServiceImpl(mock(InvoiceRepository.class),
+            invoiceItemRepository, mock(ProjectRepository.class), mock(UserRepository.class),
+            mock(FileMetadataRepository.class), mock(FileService.class), mock(ClientRepository.class),
+            securityUtils, mock(ProjectService.class), mock(EntityManager.class), mock(NotificationService.class),
+            mock(PaymentService.class), mock(ApplicationEventPublisher.class), keysetSliceExecutor,
+            mock(InvoiceNumberAllocator.class), ObservationRegistry.NOOP, new InvoiceTotals(),
+            new InvoicePdfRenderer(), mock(TransactionTemplate.class));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void cursorPageLoadsItemsForAllInvoicesWithOneQuery() {
+        when(securityUtils.getCurrentUser()).thenReturn(User.builder().id(1L).build());
+        Project project = Project.builder().id(5L).name("Website").build();
+        Client client = Client.builder().id(3L).name("Acme").company(Company.builder().name("Acme Ltd").build()).build();
+        List<Invoice> page = List.of(invoice(11L, client, project), invoice(12L, client, null), invoice(13L, client, project));
+        when(keysetSliceExecutor.fetchPage(eq(Invoice.class), any(), any(), any(), eq("client.company"), eq("project")))
+                .thenAnswer(invocation -> {
+                    Function<List<Invoice>, List<InvoiceResponseDto>> mapper = invocation.getArgument(3);
+                    return new CursorSlice<>(mapper.apply(page), 3, false, null, null);
+                });
+        when(invoiceItemRepository.findRowsByInvoiceIdIn(List.of(11L, 12L, 13L))).thenReturn(List.of(
+                new InvoiceItemRow(11L, 101L, "Design", BigDecimal.ONE, BigDecimal.TEN, BigDecimal.TEN),
+                new InvoiceItemRow(13L, 102L, "Build", BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE),
+                new InvoiceItemRow(13L, 103L, "Host", BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE)));
+
+        CursorSlice<InvoiceResponseDto> slice = service.scrollInvoices(null,
+                new CursorPageRequest("issueDate", Sort.Direction.DESC, 3, null, false));
+
+        List<InvoiceResponseDto> invoices = slice.content();
+        assertEquals(List.of(11L, 12L, 13L), invoices.stream().map(InvoiceResponseDto::getId).toList());
+        assertEquals(List.of(101L), itemIds(invoices.get(0)));
+        assertEquals(List.of(), itemIds(invoices.get(1)));
+        assertEquals(List.of(102L, 103L), itemIds(invoices.get(2)));
+        assertEquals(5L, invoices.get(2).getItems().get(0).getProjectId());
+        assertEquals("Acme Ltd", invoices.get(0).getClientCompanyName());
+        verify(invoiceItemRepository, never()).findByInvoiceId(anyLong());
+    }
+
+    private static Invoice invoice(Long id, Client client, Project project) {
+        Invoice invoice = new Invoice();
+        invoice.setId(id);
+        invoice.setClient(client);
+        invoice.setProject(project);
+        return invoice;
+    }
+
+    private static List<Long> itemIds(InvoiceResponseDto invoice) {
+        return invoice.getItems().stream().map(InvoiceItemResponseDto::getId).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package com.freelancer.portal.service.invoice;
+
+import com.freelancer.portal.repository.InvoiceNumberSequenceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InvoiceNumberAllocatorTest {
+
+    private final InvoiceNumberSequenceRepository repository = mock(InvoiceNumberSequenceRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    void handsOutReservedBlockFromMemory() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        AtomicLong stored = new AtomicLong(1);
+        when(repository.advance(eq(7L), eq(3L))).thenAnswer(invocation -> {
+            stored.addAndGet(3);
+            return 1;
+        });
+        when(repository.findNextValue(7L)).thenAnswer(invocation -> stored.get());
+        InvoiceNumberAllocator allocator = allocator(3);
+
+        assertEquals("INV-7-000001", allocator.nextInvoiceNumber(7L));
+        assertEquals("INV-7-000002", allocator.nextInvoiceNumber(7L));
+        assertEquals("INV-7-000003", allocator.nextInvoiceNumber(7L));
+        assertEquals("INV-7-000004", allocator.nextInvoiceNumber(7L));
+
+        verify(repository, times(2)).advance(7L, 3L);
+    }
+
+    @Test
+    void createsSequenceOnFirstUseAndRetriesWhenAnotherNodeWins() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(repository.advance(eq(9L), anyLong())).thenReturn(0, 1);
+        when(repository.create(9L, 6L)).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        // The other node took [1, 5], our retry advances past it
+        when(repository.findNextValue(9L)).thenReturn(11L);
+        InvoiceNumberAllocator allocator = allocator(5);
+
+        assertEquals(6L, allocator.nextValue(9L));
+    }
+
+    private InvoiceNumberAllocator allocator(int blockSize) {
+        return new InvoiceNumberAllocator(repository, transactionManager, new SimpleMeterRegistry(), "INV", blockSize);
+    }
+}
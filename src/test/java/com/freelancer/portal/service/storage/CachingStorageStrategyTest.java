@@ -0,0 +1,170 @@
+package com.freelancer.portal.service.storage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingStorageStrategyTest {
+
+    private static final String BASE_URL = "/api/v1/files/";
+
+    @TempDir
+    Path storage;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final RecordingStorage delegate = new RecordingStorage();
+    private final CachingStorageStrategy cache =
+            new CachingStorageStrategy(delegate, BASE_URL, 1024, 4096, registry);
+
+    @Test
+    void smallFilesAreServedFromMemoryUntilDeleted() throws IOException {
+        Files.writeString(storage.resolve("a.txt"), "alpha");
+
+        assertEquals("alpha", read(cache.retrieve(BASE_URL + "a.txt")));
+        Resource hit = cache.retrieve("a.txt");
+
+        assertInstanceOf(ByteBufferResource.class, hit);
+        assertEquals("alpha", read(hit));
+        assertEquals(1, delegate.retrievals.get());
+        assertEquals(1.0, hits());
+
+        cache.delete(BASE_URL + "a.txt");
+        assertEquals(0.0, cachedEntries());
+    }
+
+    @Test
+    void deleteDuringALoadKeepsTheLoadedBytesOutOfTheCache() throws IOException {
+        Files.writeString(storage.resolve("b.txt"), "bravo");
+        // The delete lands after the delegate has resolved the file but before it is cached
+        delegate.onRetrieve = () -> delete(BASE_URL + "b.txt");
+
+        assertEquals("bravo", read(cache.retrieve(BASE_URL + "b.txt")));
+
+        assertEquals(0.0, cachedEntries());
+        delegate.onRetrieve = null;
+        cache.retrieve(BASE_URL + "b.txt");
+        assertEquals(2, delegate.retrievals.get());
+        // The tombstone went away with the load it guarded, so the key is cacheable again
+        assertEquals(1.0, cachedEntries());
+    }
+
+    @Test
+    void concurrentLoadsOfADeletedKeyAreNotCached() throws Exception {
+        Files.writeString(storage.resolve("c.txt"), "charlie");
+        CountDownLatch bothLoading = new CountDownLatch(2);
+        CountDownLatch deleted = new CountDownLatch(1);
+        delegate.onRetrieve = () -> {
+            bothLoading.countDown();
+            await(deleted);
+        };
+
+        ExecutorService readers = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Resource>> loads = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                loads.add(readers.submit(() -> cache.retrieve(BASE_URL + "c.txt")));
+            }
+            await(bothLoading);
+            cache.delete(BASE_URL + "c.txt");
+            deleted.countDown();
+            for (Future<Resource> load : loads) {
+                assertEquals("charlie", read(load.get(5, TimeUnit.SECONDS)));
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+
+        assertEquals(0.0, cachedEntries());
+    }
+
+    @Test
+    void filesOverTheEntryLimitAreNotCached() throws IOException {
+        Files.write(storage.resolve("big.bin"), new byte[2048]);
+
+        cache.retrieve("big.bin");
+        cache.retrieve("big.bin");
+
+        assertEquals(2, delegate.retrievals.get());
+        assertEquals(0.0, cachedEntries());
+    }
+
+    private double hits() {
+        return registry.get("storage.read.cache.requests").tag("result", "hit").counter().count();
+    }
+
+    private double cachedEntries() {
+        return registry.get("storage.read.cache.entries").gauge().value();
+    }
+
+    private void delete(String fileUrl) {
+        try {
+            cache.delete(fileUrl);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String read(Resource resource) throws IOException {
+        return resource.getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Resolves files from the temp directory. Deletes leave the bytes in place, so a load that raced
+     * with a delete can still read them.
+     */
+    private class RecordingStorage implements StorageStrategy {
+
+        volatile Runnable onRetrieve;
+        final AtomicInteger retrievals = new AtomicInteger();
+
+        @Override
+        public String store(MultipartFile file, String entityType, Long entityId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Resource retrieve(String fileUrl) {
+            retrievals.incrementAndGet();
+            Resource resource = new FileSystemResource(storage.resolve(fileUrl.replace(BASE_URL, "")));
+            Runnable hook = onRetrieve;
+            if (hook != null) {
+                hook.run();
+            }
+            return resource;
+        }
+
+        @Override
+        public void delete(String fileUrl) {
+        }
+    }
+}
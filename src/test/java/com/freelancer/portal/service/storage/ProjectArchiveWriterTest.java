@@ -0,0 +1,96 @@
+package com.freelancer.portal.service.storage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProjectArchiveWriterTest {
+
+    @TempDir
+    Path storage;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ProjectArchiveWriter writer = new ProjectArchiveWriter(registry, 1, Duration.ofMinutes(10));
+
+    @Test
+    void storedFilesAreZippedAndMissingOnesSkipped() throws IOException {
+        Path brief = Files.writeString(storage.resolve("brief.txt"), "project brief");
+        Path logo = Files.writeString(storage.resolve("logo.svg"), "<svg/>");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long bytes = writer.write(List.of(
+                new ProjectArchiveWriter.ArchiveEntry("brief.txt", brief),
+                new ProjectArchiveWriter.ArchiveEntry("gone.pdf", storage.resolve("gone.pdf")),
+                new ProjectArchiveWriter.ArchiveEntry("logo.svg", logo)), out);
+
+        assertEquals(Map.of("brief.txt", "project brief", "logo.svg", "<svg/>"), unzip(out.toByteArray()));
+        assertEquals(19, bytes);
+        assertEquals(19.0, registry.get("files.archive.bytes").counter().count());
+        assertEquals(1, registry.get("files.archive.duration").timer().count());
+        assertEquals(0.0, registry.get("files.archive.cancelled").counter().count());
+    }
+
+    @Test
+    void clientDisconnectCountsAsCancelled() throws IOException {
+        Path brief = Files.writeString(storage.resolve("brief.txt"), "project brief");
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> writer.write(
+                List.of(new ProjectArchiveWriter.ArchiveEntry("brief.txt", brief)), disconnected));
+
+        assertEquals(1.0, registry.get("files.archive.cancelled").counter().count());
+        assertEquals(0.0, registry.get("files.archive.failed").counter().count());
+        assertEquals(0, registry.get("files.archive.duration").timer().count());
+    }
+
+    @Test
+    void unreadableStoredFileCountsAsFailed() throws IOException {
+        // Opening a directory succeeds, reading it fails like a damaged file would
+        Path unreadable = Files.createDirectory(storage.resolve("contract.pdf"));
+
+        assertThrows(IOException.class, () -> writer.write(
+                List.of(new ProjectArchiveWriter.ArchiveEntry("contract.pdf", unreadable)), new ByteArrayOutputStream()));
+
+        assertEquals(1.0, registry.get("files.archive.failed").counter().count());
+        assertEquals(0.0, registry.get("files.archive.cancelled").counter().count());
+    }
+
+    private static Map<String, String> unzip(byte[] archive) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
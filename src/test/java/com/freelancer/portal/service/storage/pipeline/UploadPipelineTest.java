@@ -0,0 +1,296 @@
+package com.freelancer.portal.service.storage.pipeline;
+
+import com.freelancer.portal.exception.FileNotReadyException;
+import com.freelancer.portal.model.FileMetadata;
+import com.freelancer.portal.pagination.KeysetSliceExecutor;
+import com.freelancer.portal.repository.FileMetadataRepository;
+import com.freelancer.portal.repository.FileRepository;
+import com.freelancer.portal.repository.ProjectRepository;
+import com.freelancer.portal.security.FileUrlSigner;
+import com.freelancer.portal.security.SecurityUtils;
+import com.freelancer.portal.service.impl.FileServiceImpl;
+import com.freelancer.portal.service.storage.LocalStorageStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class UploadPipelineTest {
+
+    private static final String EICAR =
+            "X5O!P%@AP[4\\PZX54(P^)7CC)7}$EICAR-STANDARD-ANTIVIRUS-TEST-FILE!$H+H*";
+
+    @TempDir
+    Path tempDir;
+
+    private final InMemoryFileMetadataRepository repository = new InMemoryFileMetadataRepository();
+    private final Queue<Runnable> queued = new ArrayDeque<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private Path uploadDir;
+    private Path storageDir;
+    private LocalStorageStrategy storage;
+    private FileServiceImpl fileService;
+
+    @BeforeEach
+    void setUp() {
+        uploadDir = tempDir.resolve("uploads");
+        storageDir = tempDir.resolve("storage");
+        storage = new LocalStorageStrategy(storageDir.toString(), uploadDir.toString(), "/api/v1/files/",
+                ObservationRegistry.NOOP);
+        fileService = new FileServiceImpl(mock(FileRepository.class), mock(ProjectRepository.class),
+                mock(SecurityUtils.class), repository, storage, newPipeline(), mock(FileUrlSigner.class),
+                mock(KeysetSliceExecutor.class), mock(ApplicationEventPublisher.class));
+    }
+
+    private UploadPipeline newPipeline() {
+        return new UploadPipeline(
+                List.of(new ChecksumStage(), new VirusScanStage(new SignatureVirusScanner())),
+                queued::add, storage, repository, registry, mock(PlatformTransactionManager.class), Set.of("invoice"),
+                Duration.ofMinutes(10));
+    }
+
+    @Test
+    void uploadIsStoredAsOnePendingRowUntilProcessed() throws IOException {
+        FileMetadata uploaded = fileService.upload("document", 3L, text("brief.txt", "project brief"));
+
+        assertEquals(1, repository.rows.size());
+        assertEquals(FileMetadata.Status.PENDING, uploaded.getStatus());
+        FileNotReadyException notReady = assertThrows(FileNotReadyException.class,
+                () -> fileService.download(uploaded.getId()));
+        assertEquals(HttpStatus.CONFLICT,
+                AnnotationUtils.findAnnotation(notReady.getClass(), ResponseStatus.class).value());
+
+        runQueued();
+
+        FileMetadata processed = repository.findById(uploaded.getId()).orElseThrow();
+        assertEquals(FileMetadata.Status.READY, processed.getStatus());
+        assertNotNull(processed.getChecksum());
+        assertEquals("project brief", fileService.download(uploaded.getId()).getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(1, repository.rows.size());
+    }
+
+    @Test
+    void eicarUploadIsQuarantinedAndItsBytesDeleted() throws IOException {
+        FileMetadata uploaded = fileService.upload("document", 3L, text("eicar.com", EICAR));
+
+        runQueued();
+
+        FileMetadata processed = repository.findById(uploaded.getId()).orElseThrow();
+        assertEquals(FileMetadata.Status.QUARANTINED, processed.getStatus());
+        assertEquals("Virus scan detected EICAR-Test-File", processed.getStatusReason());
+        assertThrows(FileNotReadyException.class, () -> fileService.download(uploaded.getId()));
+        try (Stream<Path> stored = Files.list(storageDir)) {
+            assertEquals(0, stored.count());
+        }
+        assertEquals(1.0, registry.get("upload.pipeline.outcome").tag("status", "quarantined").counter().count());
+    }
+
+    @Test
+    void trustedEntityTypesSkipProcessing() throws IOException {
+        FileMetadata uploaded = fileService.upload("invoice", 9L, text("invoice.pdf", "%PDF-1.7"));
+
+        assertEquals(FileMetadata.Status.READY, uploaded.getStatus());
+        assertTrue(queued.isEmpty());
+        assertEquals(1, repository.rows.size());
+    }
+
+    @Test
+    void insideATransactionProcessingStartsAfterCommit() throws IOException {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            fileService.upload("document", 3L, text("brief.txt", "project brief"));
+
+            assertTrue(queued.isEmpty());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, queued.size());
+    }
+
+    @Test
+    void pendingBytesAreNotStoredInTheServedUploadDir() throws IOException {
+        fileService.upload("document", 3L, text("brief.txt", "project brief"));
+
+        assertFalse(Files.exists(uploadDir));
+        try (Stream<Path> stored = Files.list(storageDir)) {
+            assertEquals(1, stored.count());
+        }
+    }
+
+    @Test
+    void filesStoredInTheUploadDirBeforeStorageMovedAreStillServed() throws IOException {
+        Files.createDirectories(uploadDir);
+        Files.writeString(uploadDir.resolve("legacy_brief.txt"), "project brief");
+
+        assertEquals("project brief",
+                storage.retrieve("/api/v1/files/legacy_brief.txt").getContentAsString(StandardCharsets.UTF_8));
+        storage.delete("/api/v1/files/legacy_brief.txt");
+        assertFalse(Files.exists(uploadDir.resolve("legacy_brief.txt")));
+    }
+
+    @Test
+    void pendingFilesLeftByAPreviousRunAreResubmittedOnStartup() throws IOException {
+        FileMetadata uploaded = fileService.upload("document", 3L, text("brief.txt", "project brief"));
+        // The application stops before the queued task runs
+        queued.clear();
+
+        newPipeline().resubmitPendingOnStartup();
+
+        assertEquals(1, queued.size());
+        runQueued();
+        assertEquals(FileMetadata.Status.READY, repository.findById(uploaded.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void sweepOnlyResubmitsFilesPendingLongerThanTheTimeout() throws IOException {
+        FileMetadata uploaded = fileService.upload("document", 3L, text("brief.txt", "project brief"));
+        queued.clear();
+        UploadPipeline pipeline = newPipeline();
+
+        pipeline.resubmitStalePending();
+        assertTrue(queued.isEmpty());
+
+        uploaded.setUploadedAt(LocalDateTime.now().minusMinutes(11));
+        repository.save(uploaded);
+        pipeline.resubmitStalePending();
+        assertEquals(1, queued.size());
+    }
+
+    @Test
+    void queuedFilesAreNotResubmittedTwice() throws IOException {
+        UploadPipeline pipeline = newPipeline();
+        repository.save(FileMetadata.builder()
+                .filename("brief.txt")
+                .status(FileMetadata.Status.PENDING)
+                .uploadedAt(LocalDateTime.now().minusHours(1))
+                .build());
+
+        assertEquals(1, pipeline.resubmitPending(LocalDateTime.now()));
+        assertEquals(0, pipeline.resubmitPending(LocalDateTime.now()));
+        assertEquals(1, queued.size());
+    }
+
+    @Test
+    void metadataWithoutStatusIsNotServed() {
+        assertFalse(new FileMetadata().isReady());
+    }
+
+    private void runQueued() {
+        Runnable task;
+        while ((task = queued.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static MockMultipartFile text(String name, String content) {
+        return new MockMultipartFile("file", name, "text/plain", content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Keeps copies, like the database would, so the pipeline cannot rely on sharing instances.
+     */
+    private static class InMemoryFileMetadataRepository implements FileMetadataRepository {
+
+        private final Map<Long, FileMetadata> rows = new TreeMap<>();
+        private final AtomicLong ids = new AtomicLong();
+
+        @Override
+        public FileMetadata save(FileMetadata metadata) {
+            if (metadata.getId() == null) {
+                metadata.setId(ids.incrementAndGet());
+            }
+            rows.put(metadata.getId(), copy(metadata));
+            return metadata;
+        }
+
+        @Override
+        public Optional<FileMetadata> findById(Long id) {
+            return Optional.ofNullable(rows.get(id)).map(InMemoryFileMetadataRepository::copy);
+        }
+
+        @Override
+        public boolean saveProcessingResult(FileMetadata metadata) {
+            if (!rows.containsKey(metadata.getId())) {
+                return false;
+            }
+            rows.put(metadata.getId(), copy(metadata));
+            return true;
+        }
+
+        @Override
+        public void delete(FileMetadata metadata) {
+            rows.remove(metadata.getId());
+        }
+
+        @Override
+        public Optional<FileMetadata> findByFilename(String filename) {
+            return rows.values().stream().filter(m -> filename.equals(m.getFilename())).findFirst();
+        }
+
+        @Override
+        public List<FileMetadata> findAllByProjectId(Long projectId) {
+            return rows.values().stream().filter(m -> projectId.equals(m.getProjectId())).toList();
+        }
+
+        @Override
+        public List<FileMetadata> findAllByUserId(Long userId) {
+            return rows.values().stream().filter(m -> userId.equals(m.getUserId())).toList();
+        }
+
+        @Override
+        public List<FileMetadata> findAllByStatus(FileMetadata.Status status) {
+            return rows.values().stream().filter(m -> status == m.getStatus()).map(InMemoryFileMetadataRepository::copy).toList();
+        }
+
+        @Override
+        public void deleteByFilename(String filename) {
+            findByFilename(filename).ifPresent(this::delete);
+        }
+
+        @Override
+        public Collection<FileMetadata> findByEntityTypeAndEntityId(String entityType, Long entityId) {
+            return rows.values().stream()
+                    .filter(m -> entityType.equals(m.getEntityType()) && entityId.equals(m.getEntityId()))
+                    .toList();
+        }
+
+        private static FileMetadata copy(FileMetadata metadata) {
+            return metadata.toBuilder().build();
+        }
+    }
+}
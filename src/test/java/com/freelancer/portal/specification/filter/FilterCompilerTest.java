@@ -0,0 +1,145 @@
+package com.freelancer.portal.specification.filter;
+
+import com.freelancer.portal.config.FilterConfig;
+import com.freelancer.portal.exception.InvalidFilterException;
+import com.freelancer.portal.model.Invoice;
+import com.freelancer.portal.model.Notification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FilterCompilerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private FilterCompiler filterCompiler;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filterCompiler = compiler(meterRegistry, false);
+    }
+
+    @Test
+    public void testAllowedFiltersCompile() {
+        assertNotNull(filterCompiler.compile(Invoice.class, Map.of(
+                "status_in", "SENT,OVERDUE",
+                "dueDate_lt", "2024-01-31",
+                "client.id", "7")));
+        assertNull(filterCompiler.compile(Invoice.class, Map.of("status", "")));
+    }
+
+    @Test
+    public void testFiltersOutsideTheAllowlistAreRejected() {
+        assertThrows(InvalidFilterException.class,
+                () -> filterCompiler.compile(Invoice.class, Map.of("notes_like", "x")));
+        assertThrows(InvalidFilterException.class,
+                () -> filterCompiler.compile(Invoice.class, Map.of("totalAmount_gt", "100")));
+        assertThrows(InvalidFilterException.class,
+                () -> filterCompiler.compile(Invoice.class, Map.of("status_gt", "SENT")));
+        assertThrows(InvalidFilterException.class,
+                () -> filterCompiler.compile(Notification.class, Map.of("read", "true")));
+        assertEquals(4, meterRegistry.counter("filter.rejected").count());
+    }
+
+    @Test
+    public void testOnlyOneRangeFilterIsAllowed() {
+        assertThrows(InvalidFilterException.class, () -> filterCompiler.compile(Invoice.class, Map.of(
+                "dueDate_lt", "2024-01-31",
+                "issueDate_gt", "2023-12-01")));
+    }
+
+    @Test
+    public void testMalformedValuesAreRejected() {
+        assertThrows(InvalidFilterException.class,
+                () -> filterCompiler.compile(Invoice.class, Map.of("dueDate_lt", "yesterday")));
+        assertThrows(InvalidFilterException.class,
+                () -> filterCompiler.compile(Invoice.class, Map.of("status", "UNKNOWN")));
+        assertThrows(InvalidFilterException.class,
+                () -> filterCompiler.compile(Invoice.class, Map.of("dueDate_between", "2024-01-01")));
+        assertThrows(InvalidFilterException.class,
+                () -> filterCompiler.compile(Invoice.class, Map.of("client.id_in", "1,2,3,4")));
+    }
+
+    @Test
+    public void testPlansAreCachedPerShape() {
+        filterCompiler.compile(Invoice.class, Map.of("status", "SENT", "dueDate_lt", "2024-01-31"));
+        filterCompiler.compile(Invoice.class, Map.of("dueDate_lt", "2024-02-29", "status", "PAID"));
+        filterCompiler.compile(Invoice.class, Map.of("status", "SENT"));
+
+        assertEquals(1, meterRegistry.counter("filter.plan.cache", "result", "hit").count());
+        assertEquals(2, meterRegistry.counter("filter.plan.cache", "result", "miss").count());
+    }
+
+    @Test
+    public void testRejectedShapesAreNotCached() {
+        for (int i = 0; i < 10; i++) {
+            String junk = "junk" + i;
+            assertThrows(InvalidFilterException.class, () -> filterCompiler.compile(Invoice.class, Map.of(junk, "x")));
+        }
+        assertEquals(0.0, planCacheSize(meterRegistry));
+
+        filterCompiler.compile(Invoice.class, Map.of("status", "SENT"));
+        assertEquals(1.0, planCacheSize(meterRegistry));
+    }
+
+    @Test
+    public void testDeprecatedFiltersAreAcceptedWhileLegacyFiltersAreEnabled() {
+        SimpleMeterRegistry legacyRegistry = new SimpleMeterRegistry();
+        FilterCompiler legacy = compiler(legacyRegistry, true);
+
+        Specification<Invoice> like = legacy.compile(Invoice.class, Map.of("notes_like", "rush"));
+        assertInstanceOf(DeprecatedFilter.class, like);
+        assertTrue(((DeprecatedFilter<Invoice>) like).getWarning().contains("notes_like"));
+        assertInstanceOf(DeprecatedFilter.class, legacy.compile(Invoice.class, Map.of("status_neq", "PAID")));
+        assertInstanceOf(DeprecatedFilter.class, legacy.compile(Invoice.class, Map.of("paidDate_isnull", "true")));
+        assertInstanceOf(DeprecatedFilter.class, legacy.compile(Invoice.class, Map.of(
+                "dueDate_lt", "2024-01-31",
+                "issueDate_gt", "2023-12-01")));
+        assertInstanceOf(DeprecatedFilter.class, legacy.compile(Notification.class, Map.of("isRead", "false")));
+        // Allowlisted filters are not deprecated
+        assertFalse(legacy.compile(Invoice.class, Map.of("status", "SENT")) instanceof DeprecatedFilter);
+
+        assertEquals(5, legacyRegistry.counter("filter.deprecated").count());
+        assertEquals(1.0, planCacheSize(legacyRegistry));
+    }
+
+    @Test
+    public void testLegacyFiltersAreLimitedToOwnAttributesAndAssociationIds() {
+        SimpleMeterRegistry legacyRegistry = new SimpleMeterRegistry();
+        FilterCompiler legacy = compiler(legacyRegistry, true);
+
+        assertThrows(InvalidFilterException.class,
+                () -> legacy.compile(Invoice.class, Map.of("freelancer.password_like", "a")));
+        assertThrows(InvalidFilterException.class,
+                () -> legacy.compile(Invoice.class, Map.of("client.name", "Acme")));
+        assertThrows(InvalidFilterException.class,
+                () -> legacy.compile(Invoice.class, Map.of("amount_like", "10")));
+        assertThrows(InvalidFilterException.class,
+                () -> legacy.compile(Invoice.class, Map.of("client_join", "name:eq:Acme")));
+        assertNotNull(legacy.compile(Invoice.class, Map.of("freelancer.id_neq", "3")));
+        assertEquals(4, legacyRegistry.counter("filter.rejected").count());
+    }
+
+    private static FilterCompiler compiler(SimpleMeterRegistry meterRegistry, boolean legacyEnabled) {
+        FilterConfig filterConfig = new FilterConfig();
+        return new FilterCompiler(
+                List.of(filterConfig.invoiceFilters(), filterConfig.timeEntryFilters(), filterConfig.paymentFilters()),
+                meterRegistry, 1024, 3, legacyEnabled);
+    }
+
+    private static double planCacheSize(SimpleMeterRegistry meterRegistry) {
+        return meterRegistry.get("filter.plan.cache.size").gauge().value();
+    }
+}
@@ -0,0 +1,31 @@
+package com.freelancer.portal.support;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a Spring Boot test that needs the configured database and usually data in it.
+ * <p>
+ * These tests are tagged {@value #TAG} and excluded from the default build; run them with
+ * {@code mvn -Pdatabase-tests test}, pointing {@code SPRING_DATASOURCE_URL} and friends at the database.
+ * The settings the application refuses to start without, such as the signed download secret,
+ * are supplied here, and can still be overridden from the environment.
+ * </p>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Tag(DatabaseTest.TAG)
+@TestPropertySource(properties = {
+        "app.file-storage.signed-url.secret=${FILE_URL_SECRET:database-tests-file-url-signing-secret}"
+})
+public @interface DatabaseTest {
+
+    String TAG = "database";
+}
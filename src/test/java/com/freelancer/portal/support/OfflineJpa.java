@@ -0,0 +1,78 @@
+package com.freelancer.portal.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Boots Hibernate over the application's entities without connecting to a database, so tests can
+ * run real queries against a {@link RecordingDataSource} and check the SQL they issue.
+ */
+public final class OfflineJpa {
+
+    private static final String JPA_PROPERTIES = "spring.jpa.properties.";
+
+    private OfflineJpa() {
+    }
+
+    /**
+     * Create an entity manager factory for the application's entities.
+     *
+     * @param dataSource where statements go, typically a {@link RecordingDataSource}
+     * @param properties additional Hibernate properties, e.g. a statement inspector
+     * @return the entity manager factory; close it after the test
+     */
+    public static EntityManagerFactory entityManagerFactory(DataSource dataSource, Map<String, Object> properties) {
+        Map<String, Object> jpaProperties = new HashMap<>();
+        jpaProperties.put("hibernate.dialect", "org.hibernate.dialect.MySQLDialect");
+        jpaProperties.put("hibernate.boot.allow_jdbc_metadata_access", false);
+        jpaProperties.put("hibernate.hbm2ddl.auto", "none");
+        jpaProperties.put("hibernate.cache.use_second_level_cache", false);
+        jpaProperties.put("hibernate.cache.use_query_cache", false);
+        jpaProperties.putAll(properties);
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.freelancer.portal.model");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(jpaProperties);
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    /**
+     * Read Hibernate settings from application.properties, so a test runs with what the
+     * application ships.
+     *
+     * @param prefixes the Hibernate property prefixes to read, e.g. {@code hibernate.jdbc.}
+     * @return the matching {@code spring.jpa.properties.*} settings, without that prefix
+     */
+    public static Map<String, Object> applicationProperties(String... prefixes) {
+        Properties application;
+        try {
+            application = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        Map<String, Object> properties = new HashMap<>();
+        for (String name : application.stringPropertyNames()) {
+            if (name.startsWith(JPA_PROPERTIES)) {
+                String key = name.substring(JPA_PROPERTIES.length());
+                if (Arrays.stream(prefixes).anyMatch(key::startsWith)) {
+                    properties.put(key, application.getProperty(name));
+                }
+            }
+        }
+        return properties;
+    }
+}
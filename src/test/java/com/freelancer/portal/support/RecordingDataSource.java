@@ -0,0 +1,210 @@
+package com.freelancer.portal.support;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A JDBC data source without a database, for running real Hibernate queries in unit tests.
+ * <p>
+ * Every statement is recorded. Queries are answered by a function from SQL to result rows, whose
+ * columns are read by position like Hibernate reads them; by default every query returns no rows.
+ * Updates report one affected row, batches one row per statement, and every insert generates the
+ * next key of a single sequence.
+ * </p>
+ */
+public class RecordingDataSource extends AbstractDataSource {
+
+    private final String name;
+    private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong generatedKeys = new AtomicLong();
+    private volatile Function<String, List<Object[]>> results = sql -> List.of();
+
+    public RecordingDataSource(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Answer queries with the given rows.
+     *
+     * @param results maps the SQL of each query to its rows
+     */
+    public void answer(Function<String, List<Object[]>> results) {
+        this.results = results;
+    }
+
+    /**
+     * @return the SQL of every statement prepared so far, in order
+     */
+    public List<String> statements() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+
+    @Override
+    public Connection getConnection() {
+        return proxy(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+            case "prepareStatement", "prepareCall" -> statement((String) args[0]);
+            case "createStatement" -> statement(null);
+            case "getAutoCommit", "isValid" -> true;
+            case "isWrapperFor" -> false;
+            case "toString" -> "RecordingConnection[" + name + "]";
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+        return getConnection();
+    }
+
+    @Override
+    public String toString() {
+        return "RecordingDataSource[" + name + "]";
+    }
+
+    private PreparedStatement statement(String preparedSql) {
+        if (preparedSql != null) {
+            statements.add(preparedSql);
+        }
+        int[] batched = {0};
+        return proxy(PreparedStatement.class, (proxy, method, args) -> switch (method.getName()) {
+            case "executeQuery" -> {
+                String sql = preparedSql != null ? preparedSql : record((String) args[0]);
+                yield resultSet(results.apply(sql));
+            }
+            case "execute" -> {
+                if (preparedSql == null) {
+                    record((String) args[0]);
+                }
+                yield false;
+            }
+            case "executeUpdate" -> {
+                if (preparedSql == null) {
+                    record((String) args[0]);
+                }
+                yield 1;
+            }
+            case "executeLargeUpdate" -> 1L;
+            case "addBatch" -> {
+                batched[0]++;
+                yield null;
+            }
+            case "executeBatch" -> {
+                int[] counts = new int[batched[0]];
+                Arrays.fill(counts, 1);
+                batched[0] = 0;
+                yield counts;
+            }
+            case "getUpdateCount" -> -1;
+            case "getGeneratedKeys" -> resultSet(List.<Object[]>of(new Object[]{generatedKeys.incrementAndGet()}));
+            case "toString" -> "RecordingStatement[" + preparedSql + "]";
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    private String record(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    private static ResultSet resultSet(List<Object[]> rows) {
+        int[] row = {-1};
+        Object[] last = {null};
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "next":
+                    return ++row[0] < rows.size();
+                case "wasNull":
+                    return last[0] == null;
+                case "close", "isClosed":
+                    return method.getReturnType() == boolean.class ? false : null;
+                case "getMetaData":
+                    return metaData(rows.isEmpty() ? 0 : rows.get(0).length);
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    break;
+            }
+            if (method.getName().startsWith("get") && args != null && args[0] instanceof Integer column) {
+                last[0] = rows.get(row[0])[column - 1];
+                return convert(last[0], method.getReturnType());
+            }
+            return defaultValue(method.getReturnType());
+        });
+    }
+
+    private static ResultSetMetaData metaData(int columns) {
+        return proxy(ResultSetMetaData.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getColumnCount" -> columns;
+            case "getColumnLabel", "getColumnName" -> "column" + args[0];
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    private static Object convert(Object value, Class<?> type) {
+        if (value == null) {
+            return defaultValue(type);
+        }
+        if (value instanceof Number number) {
+            if (type == long.class || type == Long.class) {
+                return number.longValue();
+            }
+            if (type == int.class || type == Integer.class) {
+                return number.intValue();
+            }
+            if (type == BigDecimal.class) {
+                return new BigDecimal(number.toString());
+            }
+        }
+        if (type == String.class) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        Class<?>[] interfaces = type == PreparedStatement.class
+                ? new Class<?>[]{PreparedStatement.class, Statement.class}
+                : new Class<?>[]{type};
+        return (T) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(), interfaces, handler);
+    }
+}
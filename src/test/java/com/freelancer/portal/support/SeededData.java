@@ -0,0 +1,33 @@
+package com.freelancer.portal.support;
+
+import com.freelancer.portal.model.User;
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+
+/**
+ * Finds the data {@link DatabaseTest}s run against in the configured database.
+ */
+public final class SeededData {
+
+    private SeededData() {
+    }
+
+    /**
+     * The freelancer with the most invoices, so pages and fetch plans are exercised with real rows.
+     *
+     * @param entityManager the entity manager of the test
+     * @return the freelancer
+     * @throws IllegalStateException if the database has no invoices
+     */
+    public static User busiestFreelancer(EntityManager entityManager) {
+        List<User> busiest = entityManager.createQuery(
+                        "SELECT i.freelancer FROM Invoice i GROUP BY i.freelancer ORDER BY COUNT(i) DESC", User.class)
+                .setMaxResults(1)
+                .getResultList();
+        if (busiest.isEmpty()) {
+            throw new IllegalStateException("Database tests need a database with invoices");
+        }
+        return busiest.get(0);
+    }
+}